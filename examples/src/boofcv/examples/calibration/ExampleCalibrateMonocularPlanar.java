@@ -23,14 +23,13 @@ import boofcv.abst.calib.ConfigChessboard;
 import boofcv.abst.calib.ConfigSquareGrid;
 import boofcv.abst.calib.PlanarCalibrationDetector;
 import boofcv.alg.geo.calibration.PlanarCalibrationTarget;
-import boofcv.core.image.ConvertBufferedImage;
 import boofcv.factory.calib.FactoryPlanarCalibrationTarget;
-import boofcv.io.image.UtilImageIO;
+import boofcv.io.image.ImageBatchLoader;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
 
-import java.awt.image.BufferedImage;
 import java.util.List;
 
 /**
@@ -115,12 +114,14 @@ public class ExampleCalibrateMonocularPlanar {
 		// tell it type type of target and which parameters to estimate
 		calibrationAlg.configure(target, true, 2);
 
-		for( String n : images ) {
-			BufferedImage input = UtilImageIO.loadImage(n);
-			if( n != null ) {
-				ImageFloat32 image = ConvertBufferedImage.convertFrom(input,(ImageFloat32)null);
-				if( !calibrationAlg.addImage(image) )
-					System.err.println("Failed to detect target in "+n);
+		// Images are loaded and converted in parallel, in the background, while the target is being detected
+		ImageBatchLoader<ImageFloat32> loader =
+				new ImageBatchLoader<ImageFloat32>(images, ImageType.single(ImageFloat32.class), true);
+		while( loader.hasNext() ) {
+			ImageBatchLoader.Result<ImageFloat32> r = loader.next();
+			if( r.image != null ) {
+				if( !calibrationAlg.addImage(r.image) )
+					System.err.println("Failed to detect target in "+r.path);
 			}
 		}
 		// process and compute intrinsic parameters
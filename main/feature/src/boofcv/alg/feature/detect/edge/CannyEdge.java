@@ -21,10 +21,11 @@ package boofcv.alg.feature.detect.edge;
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSInt8;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
 import boofcv.struct.image.ImageUInt8;
 import georegression.struct.point.Point2D_I32;
 
@@ -50,22 +51,22 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 	// computes the image gradient
 	private ImageGradient<T,D> gradient;
 
-	// blurred input image
-	private T blurred;
+	// type of images used internally
+	private ImageType<T> blurredType;
+	private ImageType<D> derivType;
 
+	// work space.  Borrowed from the global ImagePool while an image is being processed
+	private T blurred;
 	// image gradient
 	private D derivX;
 	private D derivY;
-
 	// edge intensity
-	private ImageFloat32 intensity = new ImageFloat32(1,1);
-	protected ImageFloat32 suppressed = new ImageFloat32(1,1);
+	private ImageFloat32 intensity;
+	protected ImageFloat32 suppressed;
 	// edge direction in radians
-	private ImageFloat32 angle = new ImageFloat32(1,1);
+	private ImageFloat32 angle;
 	// quantized direction
-	private ImageSInt8 direction = new ImageSInt8(1,1);
-	// work space
-	private ImageUInt8 work = new ImageUInt8(1,1);
+	private ImageSInt8 direction;
 
 	// different algorithms for performing hysteresis thresholding
 	protected HysteresisEdgeTracePoints hysteresisPts; // saves a list of points
@@ -82,11 +83,8 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 		this.blur = blur;
 		this.gradient = gradient;
 
-		Class<T> imageType = blur.getInputType();
-
-		blurred = GeneralizedImageOps.createSingleBand(imageType, 1, 1);
-		derivX = gradient.getDerivType().createImage(1,1);
-		derivY = gradient.getDerivType().createImage(1, 1);
+		blurredType = ImageType.single(blur.getInputType());
+		derivType = gradient.getDerivType();
 
 		if( saveTrace ) {
 			hysteresisPts = new HysteresisEdgeTracePoints();
@@ -118,25 +116,35 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 				throw new IllegalArgumentException("An output image must be specified when configured to mark edge points");
 		}
 
-		// setup internal data structures
-		blurred.reshape(input.width,input.height);
-		derivX.reshape(input.width,input.height);
-		derivY.reshape(input.width,input.height);
-		intensity.reshape(input.width,input.height);
-		suppressed.reshape(input.width,input.height);
-		angle.reshape(input.width,input.height);
-		direction.reshape(input.width,input.height);
-		work.reshape(input.width,input.height);
-
-		// run canny edge detector
-		blur.process(input,blurred);
-		gradient.process(blurred, derivX, derivY);
-		GGradientToEdgeFeatures.intensityAbs(derivX, derivY, intensity);
-		GGradientToEdgeFeatures.direction(derivX, derivY, angle);
-		GradientToEdgeFeatures.discretizeDirection4(angle, direction);
-		GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction, suppressed);
-
-		performThresholding(threshLow, threshHigh, output);
+		// borrow work space from the pool so that it can be shared with other instances
+		ImagePool pool = ImagePool.getGlobal();
+		int w = input.width, h = input.height;
+		blurred = pool.borrow(blurredType, w, h);
+		derivX = pool.borrow(derivType, w, h);
+		derivY = pool.borrow(derivType, w, h);
+		intensity = pool.borrow(ImageFloat32.class, w, h);
+		suppressed = pool.borrow(ImageFloat32.class, w, h);
+		angle = pool.borrow(ImageFloat32.class, w, h);
+		direction = pool.borrow(ImageSInt8.class, w, h);
+
+		try {
+			// run canny edge detector
+			blur.process(input,blurred);
+			gradient.process(blurred, derivX, derivY);
+			GGradientToEdgeFeatures.intensityAbs(derivX, derivY, intensity);
+			GGradientToEdgeFeatures.direction(derivX, derivY, angle);
+			GradientToEdgeFeatures.discretizeDirection4(angle, direction);
+			GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction, suppressed);
+
+			performThresholding(threshLow, threshHigh, output);
+		} finally {
+			pool.release(blurred, derivX, derivY, intensity, suppressed, angle, direction);
+			// the images could be handed out again, make sure they aren't accidentally used
+			blurred = null;
+			derivX = derivY = null;
+			intensity = suppressed = angle = null;
+			direction = null;
+		}
 	}
 
 	protected void performThresholding(float threshLow, float threshHigh, ImageUInt8 output) {
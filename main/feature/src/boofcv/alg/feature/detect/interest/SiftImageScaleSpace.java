@@ -19,6 +19,7 @@
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.impl.ImplGaussianRecursive;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
 import boofcv.factory.filter.derivative.FactoryDerivative;
@@ -84,6 +85,9 @@ public class SiftImageScaleSpace {
 	// storage for applying blur
 	protected ImageFloat32 storage;
 
+	// if not null the blur is applied using a recursive filter
+	protected ImplGaussianRecursive recursive;
+
 	/**
 	 * Configures the scale-space.
 	 *
@@ -216,6 +220,13 @@ public class SiftImageScaleSpace {
 	 * the output image
 	 */
 	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma ) {
+		if( recursive != null ) {
+			recursive.setSigma(sigma);
+			recursive.horizontal(input,output);
+			recursive.vertical(output,output);
+			return;
+		}
+
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
 
 		storage.reshape(input.width,input.height);
@@ -319,6 +330,18 @@ public class SiftImageScaleSpace {
 		}
 	}
 
+	public boolean isRecursiveBlur() {
+		return recursive != null;
+	}
+
+	/**
+	 * If true then blur is applied using {@link ImplGaussianRecursive}, whose cost doesn't grow with sigma.
+	 * Image borders are extended instead of the kernel being normalized.
+	 */
+	public void setRecursiveBlur( boolean recursiveBlur ) {
+		recursive = recursiveBlur ? new ImplGaussianRecursive() : null;
+	}
+
 	public int getNumOctaves() {
 		return numOctaves;
 	}
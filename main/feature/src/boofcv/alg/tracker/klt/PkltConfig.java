@@ -32,4 +32,10 @@ public class PkltConfig{
 
 	/** Scale factor for each layer in the pyramid */
 	public int pyramidScaling[] = new int[]{1,2,4};
+
+	/**
+	 * If true the image pyramid is blurred with a binomial kernel instead of a Gaussian.  For ImageUInt8 input
+	 * this pyramid is computed using only integer arithmetic, which is faster on hardware with slow floating point.
+	 */
+	public boolean binomialPyramid = false;
 }
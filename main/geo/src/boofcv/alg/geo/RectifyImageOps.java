@@ -22,8 +22,11 @@ import boofcv.alg.distort.*;
 import boofcv.alg.geo.rectify.RectifyCalibrated;
 import boofcv.alg.geo.rectify.RectifyFundamental;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.core.image.border.BorderType;
 import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.distort.PointTransform_F32;
 import boofcv.struct.distort.PointTransform_F64;
@@ -464,7 +467,8 @@ public class RectifyImageOps {
 
 	/**
 	 * Creates an {@link ImageDistort} for rectifying an image given its radial distortion and
-	 * rectification matrix.
+	 * rectification matrix.  If {@link BoofConcurrency#USE_CONCURRENT} is true then the image
+	 * will be rectified using multiple threads.
 	 *
 	 * @param param Intrinsic parameters.
 	 * @param rectify Transform for rectifying the image.
@@ -475,10 +479,31 @@ public class RectifyImageOps {
 	rectifyImage(IntrinsicParameters param,
 				 DenseMatrix64F rectify , Class<T> imageType)
 	{
-		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
+		return rectifyImage(param,rectify,imageType,BoofConcurrency.USE_CONCURRENT);
+	}
 
+	/**
+	 * Creates an {@link ImageDistort} for rectifying an image given its radial distortion and
+	 * rectification matrix.
+	 *
+	 * @param param Intrinsic parameters.
+	 * @param rectify Transform for rectifying the image.
+	 * @param imageType Type of single band image the transform is to be applied to.
+	 * @param concurrent If true the rectified image is split into tiles which are processed in parallel.
+	 * @return ImageDistort for rectifying the image.
+	 */
+	public static <T extends ImageSingleBand> ImageDistort<T>
+	rectifyImage(IntrinsicParameters param,
+				 DenseMatrix64F rectify , Class<T> imageType , boolean concurrent )
+	{
 		// only compute the transform once
-		ImageDistort<T> ret = FactoryDistort.distortCached(interp,null,imageType);
+		ImageDistort<T> ret;
+		if( concurrent ) {
+			ret = FactoryDistort.distortConcurrent(TypeInterpolate.BILINEAR, BorderType.SKIP, imageType);
+		} else {
+			InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
+			ret = FactoryDistort.distortCached(interp,null,imageType);
+		}
 
 		PointTransform_F32 transform = transformRectToPixel_F32(param, rectify);
 
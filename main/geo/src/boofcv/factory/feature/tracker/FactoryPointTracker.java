@@ -134,7 +134,11 @@ public class FactoryPointTracker {
 
 		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType, derivType);
 
-		PyramidDiscrete<I> pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true,imageType);
+		PyramidDiscrete<I> pyramid;
+		if( config.binomialPyramid )
+			pyramid = FactoryPyramid.discreteBinomial(config.pyramidScaling,2,true,imageType);
+		else
+			pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true,imageType);
 
 		return new PointTrackerKltPyramid<I, D>(config.config,config.templateRadius,pyramid,detector,
 				gradient,interpInput,interpDeriv,derivType);
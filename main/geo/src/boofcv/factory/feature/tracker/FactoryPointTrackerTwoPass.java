@@ -60,7 +60,11 @@ public class FactoryPointTrackerTwoPass {
 
 		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType, derivType);
 
-		PyramidDiscrete<I> pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true,imageType);
+		PyramidDiscrete<I> pyramid;
+		if( config.binomialPyramid )
+			pyramid = FactoryPyramid.discreteBinomial(config.pyramidScaling,2,true,imageType);
+		else
+			pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true,imageType);
 
 		return new PointTrackerTwoPassKltPyramid<I, D>(config.config,config.templateRadius,pyramid,detector,
 				gradient,interpInput,interpDeriv);
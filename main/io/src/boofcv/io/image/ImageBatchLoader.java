@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.core.image.ConvertBufferedImage;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Loads a list of images using multiple threads and converts them into the requested image type.  Images are
+ * returned one at a time, either in the same order as the list of paths or in the order that they finish loading.
+ * To bound memory usage only a limited number of images are loaded ahead of time.  Once an image has been
+ * returned by {@link #next()} it belongs to the user and another image will start loading.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * ImageBatchLoader&lt;ImageFloat32&gt; loader = new ImageBatchLoader&lt;ImageFloat32&gt;(paths,
+ *         ImageType.single(ImageFloat32.class),true);
+ * while( loader.hasNext() ) {
+ *     ImageBatchLoader.Result&lt;ImageFloat32&gt; r = loader.next();
+ *     ...
+ * }
+ * loader.close();
+ * </pre>
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBatchLoader<T extends ImageBase> {
+
+	// images which are to be loaded
+	List<String> paths;
+	// type of image they are converted into
+	ImageType<T> imageType;
+	// should images be returned in the same order as paths
+	boolean ordered;
+	// maximum number of images which are being loaded or waiting to be returned
+	int maxPending;
+
+	ExecutorService executor;
+	// used when images are returned in the order they are loaded
+	CompletionService<Result<T>> completion;
+	// used when images are returned in order
+	List<Future<Result<T>>> futures;
+
+	// index of the next image to be submitted
+	int nextSubmit;
+	// number of images which have been returned
+	int numReturned;
+
+	/**
+	 * Creates a loader which uses {@link Runtime#availableProcessors()} threads and loads up to twice that
+	 * many images ahead of time.
+	 *
+	 * @param paths Path to each image.
+	 * @param imageType Type of image they are converted into.
+	 * @param ordered If true images are returned in the same order as paths.  Otherwise in the order they are loaded.
+	 */
+	public ImageBatchLoader(List<String> paths, ImageType<T> imageType, boolean ordered) {
+		this(paths, imageType, ordered, Runtime.getRuntime().availableProcessors(),
+				2*Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates the loader and starts loading images.
+	 *
+	 * @param paths Path to each image.
+	 * @param imageType Type of image they are converted into.
+	 * @param ordered If true images are returned in the same order as paths.  Otherwise in the order they are loaded.
+	 * @param numThreads Number of threads used to load images.
+	 * @param maxPending Maximum number of images which are loaded ahead of time.  Must be &ge; numThreads.
+	 */
+	public ImageBatchLoader(List<String> paths, ImageType<T> imageType, boolean ordered,
+							int numThreads , int maxPending ) {
+		if( numThreads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		if( maxPending < numThreads )
+			throw new IllegalArgumentException("maxPending must be at least the number of threads");
+
+		this.paths = new ArrayList<String>(paths);
+		this.imageType = imageType;
+		this.ordered = ordered;
+		this.maxPending = maxPending;
+
+		executor = Executors.newFixedThreadPool(numThreads,new LoaderThreadFactory());
+		if( ordered )
+			futures = new ArrayList<Future<Result<T>>>();
+		else
+			completion = new ExecutorCompletionService<Result<T>>(executor);
+
+		if( this.paths.isEmpty() )
+			close();
+		else
+			submitImages();
+	}
+
+	/**
+	 * Returns true if there are more images to be returned
+	 */
+	public boolean hasNext() {
+		return numReturned < paths.size();
+	}
+
+	/**
+	 * Returns the next image, blocking until it has been loaded.  If an image could not be loaded then
+	 * {@link Result#image} will be null.  If an exception is thrown while loading an image it is rethrown
+	 * here and the following call will return the next image.
+	 */
+	public Result<T> next() {
+		if( !hasNext() )
+			throw new IllegalArgumentException("No more images");
+		if( executor == null )
+			throw new IllegalArgumentException("The loader has been closed");
+
+		Future<Result<T>> future;
+		try {
+			future = ordered ? futures.get(numReturned) : completion.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+
+		Result<T> result;
+		try {
+			result = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			// the image has been consumed, otherwise the next call would try to return it again
+			advance();
+			Throwable cause = e.getCause();
+			if( cause instanceof RuntimeException )
+				throw (RuntimeException)cause;
+			if( cause instanceof Error )
+				throw (Error)cause;
+			throw new RuntimeException(cause);
+		}
+		advance();
+
+		return result;
+	}
+
+	/**
+	 * Marks the current image as returned and starts loading more images
+	 */
+	private void advance() {
+		// drop the reference so that the image can be garbage collected after the user is done with it
+		if( ordered )
+			futures.set(numReturned, null);
+		numReturned++;
+
+		if( numReturned == paths.size() )
+			close();
+		else
+			submitImages();
+	}
+
+	/**
+	 * Stops loading images and shuts down the threads.  Automatically called once the last image is returned.
+	 */
+	public void close() {
+		if( executor != null ) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Submits more images until the maximum number of pending images has been reached
+	 */
+	private void submitImages() {
+		while( nextSubmit < paths.size() && nextSubmit - numReturned < maxPending ) {
+			LoadTask task = new LoadTask(nextSubmit++);
+			if( ordered )
+				futures.add(executor.submit(task));
+			else
+				completion.submit(task);
+		}
+	}
+
+	/**
+	 * Loads and converts a single image
+	 */
+	private class LoadTask implements Callable<Result<T>> {
+		int index;
+
+		private LoadTask(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public Result<T> call() {
+			Result<T> result = new Result<T>();
+			result.index = index;
+			result.path = paths.get(index);
+
+			BufferedImage buffered = UtilImageIO.loadImage(result.path);
+			if( buffered != null ) {
+				result.image = imageType.createImage(buffered.getWidth(),buffered.getHeight());
+				ConvertBufferedImage.convertFrom(buffered, result.image, true);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Creates daemon threads so that the loader does not prevent the application from exiting.
+	 */
+	private static class LoaderThreadFactory implements ThreadFactory {
+		AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r,"ImageBatchLoader-"+count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+
+	/**
+	 * An image and where it came from
+	 */
+	public static class Result<T extends ImageBase> {
+		/**
+		 * Index of the image in the list of paths
+		 */
+		public int index;
+		/**
+		 * Path to the image
+		 */
+		public String path;
+		/**
+		 * The loaded image or null if it could not be loaded
+		 */
+		public T image;
+	}
+}
@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.struct.image.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * Reads and writes images in BoofCV's raw image format.  The image's type, shape, and the value of every pixel are
+ * saved exactly as they are in memory, which makes it much faster than going through a BufferedImage and works for
+ * every data type, including floating point images.  Single band, {@link MultiSpectral}, and
+ * {@link ImageInterleaved} images are supported.  Pixel data can optionally be compressed with deflate.
+ * </p>
+ *
+ * <p>
+ * File format.  All numbers are little endian.
+ * <pre>
+ * Bytes  0 to 7   "BOOFRAW" followed by a zero
+ * Bytes  8 to 11  Format version
+ * Byte   12       Image family: 0 = single band, 1 = multi-spectral, 2 = interleaved
+ * Byte   13       Data type: 0 = U8, 1 = S8, 2 = U16, 3 = S16, 4 = S32, 5 = S64, 6 = F32, 7 = F64
+ * Byte   14       Compression: 0 = none, 1 = deflate
+ * Byte   15       Reserved
+ * Bytes 16 to 27  Width, height, number of bands
+ * Bytes 28 to 31  Number of rows in each compressed block
+ * Bytes 32 to end Pixel data
+ * </pre>
+ * Pixel data is saved one plane at a time.  Single band and interleaved images have one plane and multi-spectral
+ * images have one plane for each band.  Rows are packed next to each other.  If compressed, each plane is split
+ * into blocks of rows and each block is saved as its compressed length, as a 32-bit integer, followed by
+ * the compressed data.
+ * </p>
+ *
+ * <p>
+ * Uncompressed files can be memory mapped using {@link #map(String)}, which provides access to the pixels
+ * without reading or copying them.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RawImageIO {
+
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 32;
+
+	// Identifies the file
+	private static final byte[] MAGIC = new byte[]{'B','O','O','F','R','A','W',0};
+	// Data types in the order they are encoded
+	private static final ImageDataType[] TYPES = new ImageDataType[]{
+			ImageDataType.U8,ImageDataType.S8,ImageDataType.U16,ImageDataType.S16,
+			ImageDataType.S32,ImageDataType.S64,ImageDataType.F32,ImageDataType.F64};
+	// Approximate number of bytes in each block of rows
+	private static final int BLOCK_BYTES = 1024*1024;
+
+	/**
+	 * Saves the image without compression.
+	 *
+	 * @param image The image which is to be saved.
+	 * @param fileName Name of the output file.
+	 */
+	public static void save( ImageBase image , String fileName ) throws IOException {
+		save(image,fileName,false);
+	}
+
+	/**
+	 * Saves the image.
+	 *
+	 * @param image The image which is to be saved.  Can be a sub-image.
+	 * @param fileName Name of the output file.
+	 * @param compress If true the pixel data will be compressed with deflate.
+	 */
+	public static void save( ImageBase image , String fileName , boolean compress ) throws IOException {
+		ImageType type = typeOf(image);
+		Header header = new Header();
+		header.family = type.getFamily();
+		header.dataType = type.getDataType();
+		header.compressed = compress;
+		header.width = image.width;
+		header.height = image.height;
+		header.numBands = type.getNumBands();
+		header.rowsPerBlock = Math.max(1,BLOCK_BYTES/Math.max(1,header.rowBytes()));
+
+		FileOutputStream out = new FileOutputStream(fileName);
+		try {
+			FileChannel channel = out.getChannel();
+			writeFully(channel, header.encode());
+
+			ByteBuffer block = ByteBuffer.allocate(header.rowsPerBlock*header.rowBytes()).order(ByteOrder.LITTLE_ENDIAN);
+			ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			Deflater deflater = compress ? new Deflater() : null;
+			byte[] compressed = new byte[0];
+
+			try {
+				for( int plane = 0; plane < header.numPlanes(); plane++ ) {
+					ImageBase p = planeOf(image, plane);
+					for( int y0 = 0; y0 < header.height; y0 += header.rowsPerBlock ) {
+						int y1 = Math.min(header.height, y0 + header.rowsPerBlock);
+
+						block.clear();
+						for( int y = y0; y < y1; y++ )
+							toBytes(p, y, header.rowElements(), block);
+						block.flip();
+
+						if( compress ) {
+							deflater.reset();
+							deflater.setInput(block.array(), 0, block.limit());
+							deflater.finish();
+							int total = 0;
+							while( !deflater.finished() ) {
+								if( total == compressed.length ) {
+									byte[] tmp = new byte[Math.max(1024,compressed.length*2)];
+									System.arraycopy(compressed,0,tmp,0,total);
+									compressed = tmp;
+								}
+								total += deflater.deflate(compressed, total, compressed.length - total);
+							}
+							length.clear();
+							length.putInt(total);
+							length.flip();
+							writeFully(channel, length);
+							writeFully(channel, ByteBuffer.wrap(compressed, 0, total));
+						} else {
+							writeFully(channel, block);
+						}
+					}
+				}
+			} finally {
+				if( deflater != null )
+					deflater.end();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads the image's type from the file's header
+	 *
+	 * @param fileName Name of the file.
+	 * @return The image's type
+	 */
+	public static ImageType readType( String fileName ) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName,"r");
+		try {
+			return readHeader(file.getChannel()).imageType();
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Loads an image and creates a new image of the appropriate type.
+	 *
+	 * @param fileName Name of the file.
+	 * @return The image.
+	 */
+	public static ImageBase load( String fileName ) throws IOException {
+		return load(fileName,null);
+	}
+
+	/**
+	 * Loads an image into the provided storage.
+	 *
+	 * @param fileName Name of the file.
+	 * @param storage Where the image is written to.  Reshaped if its shape doesn't match.  If null a new image is
+	 *                declared.
+	 * @return The image.
+	 * @throws IllegalArgumentException If storage is not the same type as the saved image.
+	 */
+	public static <T extends ImageBase> T load( String fileName , T storage ) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName,"r");
+		try {
+			FileChannel channel = file.getChannel();
+			Header header = readHeader(channel);
+
+			ImageType type = header.imageType();
+			if( storage == null ) {
+				storage = (T)type.createImage(header.width, header.height);
+			} else {
+				ImageType found = typeOf(storage);
+				if( found.getFamily() != type.getFamily() || found.getDataType() != type.getDataType() ||
+						found.getNumBands() != type.getNumBands() )
+					throw new IllegalArgumentException("Image type of storage doesn't match the file. "+type);
+				if( storage.width != header.width || storage.height != header.height )
+					storage.reshape(header.width, header.height);
+			}
+
+			ByteBuffer block = ByteBuffer.allocate(header.rowsPerBlock*header.rowBytes()).order(ByteOrder.LITTLE_ENDIAN);
+			ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			Inflater inflater = header.compressed ? new Inflater() : null;
+			byte[] compressed = new byte[0];
+
+			try {
+				for( int plane = 0; plane < header.numPlanes(); plane++ ) {
+					ImageBase p = planeOf(storage, plane);
+					for( int y0 = 0; y0 < header.height; y0 += header.rowsPerBlock ) {
+						int y1 = Math.min(header.height, y0 + header.rowsPerBlock);
+						int blockBytes = (y1-y0)*header.rowBytes();
+
+						block.clear();
+						if( header.compressed ) {
+							length.clear();
+							readFully(channel, length);
+							int total = length.getInt(0);
+							if( total < 0 )
+								throw new IOException("Negative block length");
+							if( compressed.length < total )
+								compressed = new byte[total];
+							readFully(channel, ByteBuffer.wrap(compressed, 0, total));
+
+							inflater.reset();
+							inflater.setInput(compressed, 0, total);
+							try {
+								int found = 0;
+								while( found < blockBytes && !inflater.finished() ) {
+									int n = inflater.inflate(block.array(), found, blockBytes - found);
+									if( n == 0 && (inflater.needsInput() || inflater.needsDictionary()) )
+										break;
+									found += n;
+								}
+								if( found != blockBytes )
+									throw new IOException("Unexpected number of bytes in block");
+							} catch (DataFormatException e) {
+								throw new IOException(e);
+							}
+							block.limit(blockBytes);
+						} else {
+							block.limit(blockBytes);
+							readFully(channel, block);
+							block.flip();
+						}
+
+						for( int y = y0; y < y1; y++ )
+							fromBytes(block, p, y, header.rowElements());
+					}
+				}
+			} finally {
+				if( inflater != null )
+					inflater.end();
+			}
+		} finally {
+			file.close();
+		}
+
+		return storage;
+	}
+
+	/**
+	 * <p>
+	 * Memory maps an uncompressed image.  Pixels are read from the file as they are accessed, instead of
+	 * being copied into memory.  One image is returned for each plane in the file.  Single band
+	 * and interleaved images have one plane and multi-spectral images have one plane for each band.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned images are read only and use little endian byte order.  The file is closed once all the
+	 * returned images have been garbage collected.
+	 * </p>
+	 *
+	 * @param fileName Name of the file.
+	 * @return The image in each plane.
+	 * @throws IllegalArgumentException If the file is compressed.
+	 */
+	public static ImageByteBuffer[] map( String fileName ) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName,"r");
+		try {
+			FileChannel channel = file.getChannel();
+			Header header = readHeader(channel);
+			if( header.compressed )
+				throw new IllegalArgumentException("Compressed images can't be memory mapped");
+
+			int bandsInPlane = header.family == ImageType.Family.INTERLEAVED ? header.numBands : 1;
+			long planeBytes = (long)header.rowBytes()*header.height;
+
+			ImageByteBuffer[] planes = new ImageByteBuffer[ header.numPlanes() ];
+			for( int i = 0; i < planes.length; i++ ) {
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + i*planeBytes, planeBytes);
+				buffer.order(ByteOrder.LITTLE_ENDIAN);
+				planes[i] = new ImageByteBuffer(buffer,header.width,header.height,bandsInPlane,header.dataType);
+			}
+			return planes;
+		} finally {
+			// mapped buffers remain valid after the channel has been closed
+			file.close();
+		}
+	}
+
+	private static Header readHeader( FileChannel channel ) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(channel, buffer);
+		return Header.decode(buffer);
+	}
+
+	/**
+	 * Determines the image's type from its class.  Not all images have their type set, e.g. sub-images.
+	 */
+	private static ImageType typeOf( ImageBase image ) {
+		if( image instanceof ImageSingleBand ) {
+			return new ImageType(ImageType.Family.SINGLE_BAND,((ImageSingleBand)image).getDataType(),1);
+		} else if( image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)image;
+			return new ImageType(ImageType.Family.MULTI_SPECTRAL,ImageDataType.classToType(ms.getType()),
+					ms.getNumBands());
+		} else if( image instanceof ImageInterleaved ) {
+			ImageInterleaved inter = (ImageInterleaved)image;
+			return new ImageType(ImageType.Family.INTERLEAVED,inter.getDataType(),inter.getNumBands());
+		}
+		throw new IllegalArgumentException("Unsupported image type: "+image.getClass().getSimpleName());
+	}
+
+	private static ImageBase planeOf( ImageBase image , int plane ) {
+		if( image instanceof MultiSpectral )
+			return ((MultiSpectral)image).getBand(plane);
+		return image;
+	}
+
+	/**
+	 * Writes a row from the image into the buffer
+	 */
+	private static void toBytes( ImageBase image , int y , int length , ByteBuffer buffer ) {
+		int index = image.startIndex + y*image.stride;
+		int position = buffer.position();
+
+		if( image instanceof ImageInt8 ) {
+			buffer.put(((ImageInt8)image).data, index, length);
+		} else if( image instanceof InterleavedI8 ) {
+			buffer.put(((InterleavedI8)image).data, index, length);
+		} else if( image instanceof ImageInt16 ) {
+			buffer.asShortBuffer().put(((ImageInt16)image).data, index, length);
+			buffer.position(position + length*2);
+		} else if( image instanceof InterleavedI16 ) {
+			buffer.asShortBuffer().put(((InterleavedI16)image).data, index, length);
+			buffer.position(position + length*2);
+		} else if( image instanceof ImageSInt32 ) {
+			buffer.asIntBuffer().put(((ImageSInt32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof InterleavedS32 ) {
+			buffer.asIntBuffer().put(((InterleavedS32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof ImageSInt64 ) {
+			buffer.asLongBuffer().put(((ImageSInt64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof InterleavedS64 ) {
+			buffer.asLongBuffer().put(((InterleavedS64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof ImageFloat32 ) {
+			buffer.asFloatBuffer().put(((ImageFloat32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof InterleavedF32 ) {
+			buffer.asFloatBuffer().put(((InterleavedF32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof ImageFloat64 ) {
+			buffer.asDoubleBuffer().put(((ImageFloat64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof InterleavedF64 ) {
+			buffer.asDoubleBuffer().put(((InterleavedF64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Reads a row from the buffer into the image
+	 */
+	private static void fromBytes( ByteBuffer buffer , ImageBase image , int y , int length ) {
+		int index = image.startIndex + y*image.stride;
+		int position = buffer.position();
+
+		if( image instanceof ImageInt8 ) {
+			buffer.get(((ImageInt8)image).data, index, length);
+		} else if( image instanceof InterleavedI8 ) {
+			buffer.get(((InterleavedI8)image).data, index, length);
+		} else if( image instanceof ImageInt16 ) {
+			buffer.asShortBuffer().get(((ImageInt16)image).data, index, length);
+			buffer.position(position + length*2);
+		} else if( image instanceof InterleavedI16 ) {
+			buffer.asShortBuffer().get(((InterleavedI16)image).data, index, length);
+			buffer.position(position + length*2);
+		} else if( image instanceof ImageSInt32 ) {
+			buffer.asIntBuffer().get(((ImageSInt32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof InterleavedS32 ) {
+			buffer.asIntBuffer().get(((InterleavedS32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof ImageSInt64 ) {
+			buffer.asLongBuffer().get(((ImageSInt64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof InterleavedS64 ) {
+			buffer.asLongBuffer().get(((InterleavedS64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof ImageFloat32 ) {
+			buffer.asFloatBuffer().get(((ImageFloat32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof InterleavedF32 ) {
+			buffer.asFloatBuffer().get(((InterleavedF32)image).data, index, length);
+			buffer.position(position + length*4);
+		} else if( image instanceof ImageFloat64 ) {
+			buffer.asDoubleBuffer().get(((ImageFloat64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else if( image instanceof InterleavedF64 ) {
+			buffer.asDoubleBuffer().get(((InterleavedF64)image).data, index, length);
+			buffer.position(position + length*8);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	private static void writeFully( FileChannel channel , ByteBuffer buffer ) throws IOException {
+		while( buffer.hasRemaining() )
+			channel.write(buffer);
+	}
+
+	private static void readFully( FileChannel channel , ByteBuffer buffer ) throws IOException {
+		while( buffer.hasRemaining() ) {
+			if( channel.read(buffer) < 0 )
+				throw new IOException("Unexpected end of file");
+		}
+	}
+
+	/**
+	 * Information stored in the file's header
+	 */
+	private static class Header {
+		ImageType.Family family;
+		ImageDataType dataType;
+		boolean compressed;
+		int width,height,numBands;
+		int rowsPerBlock;
+
+		int numPlanes() {
+			return family == ImageType.Family.MULTI_SPECTRAL ? numBands : 1;
+		}
+
+		int rowElements() {
+			return family == ImageType.Family.INTERLEAVED ? width*numBands : width;
+		}
+
+		int rowBytes() {
+			return rowElements()*dataType.getNumBits()/8;
+		}
+
+		ImageType imageType() {
+			return new ImageType(family,dataType,numBands);
+		}
+
+		ByteBuffer encode() {
+			int typeCode = -1;
+			for( int i = 0; i < TYPES.length; i++ ) {
+				if( TYPES[i] == dataType )
+					typeCode = i;
+			}
+			if( typeCode < 0 )
+				throw new IllegalArgumentException("Unsupported data type: "+dataType);
+
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.put(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.put((byte)family.ordinal());
+			buffer.put((byte)typeCode);
+			buffer.put((byte)(compressed ? 1 : 0));
+			buffer.put((byte)0);
+			buffer.putInt(width);
+			buffer.putInt(height);
+			buffer.putInt(numBands);
+			buffer.putInt(rowsPerBlock);
+			buffer.flip();
+			return buffer;
+		}
+
+		static Header decode( ByteBuffer buffer ) throws IOException {
+			buffer.flip();
+			for( int i = 0; i < MAGIC.length; i++ ) {
+				if( buffer.get() != MAGIC[i] )
+					throw new IOException("Not a BoofCV raw image");
+			}
+			int version = buffer.getInt();
+			if( version != VERSION )
+				throw new IOException("Unsupported version "+version);
+
+			Header h = new Header();
+			int family = buffer.get();
+			int typeCode = buffer.get();
+			int compression = buffer.get();
+			buffer.get();
+			if( family < 0 || family >= ImageType.Family.values().length )
+				throw new IOException("Unknown image family "+family);
+			if( typeCode < 0 || typeCode >= TYPES.length )
+				throw new IOException("Unknown data type "+typeCode);
+			if( compression < 0 || compression > 1 )
+				throw new IOException("Unknown compression "+compression);
+
+			h.family = ImageType.Family.values()[family];
+			h.dataType = TYPES[typeCode];
+			h.compressed = compression == 1;
+			h.width = buffer.getInt();
+			h.height = buffer.getInt();
+			h.numBands = buffer.getInt();
+			h.rowsPerBlock = buffer.getInt();
+
+			if( h.width < 0 || h.height < 0 || h.numBands < 1 || h.rowsPerBlock < 1 )
+				throw new IOException("Invalid header");
+
+			return h;
+		}
+	}
+}
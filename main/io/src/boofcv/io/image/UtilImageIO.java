@@ -19,7 +19,10 @@
 package boofcv.io.image;
 
 import boofcv.core.image.ConvertBufferedImage;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
 import org.ddogleg.struct.GrowQueue_I8;
@@ -31,6 +34,9 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
 import java.security.AccessControlException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Class for loading and saving images.
@@ -92,6 +98,63 @@ public class UtilImageIO {
 		return ConvertBufferedImage.convertFromSingle(img, (T) null, imageType);
 	}
 
+	/**
+	 * Loads a list of images using multiple threads and converts them into the specified image type.
+	 * All the images are kept in memory.  For large data sets see {@link ImageBatchLoader}, which returns
+	 * images one at a time.
+	 *
+	 * @param paths Path to each image file.
+	 * @param imageType Type of image that should be returned.
+	 * @return List of images in the same order as paths.  If an image could not be loaded its element is null.
+	 */
+	public static <T extends ImageBase> List<T> loadImages( List<String> paths , ImageType<T> imageType ) {
+		return loadImages(paths, imageType, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Loads a list of images using the specified number of threads and converts them into the specified image type.
+	 * If there are fewer images than threads then only one thread per image is used.
+	 *
+	 * @param paths Path to each image file.
+	 * @param imageType Type of image that should be returned.
+	 * @param numThreads Maximum number of threads used to load images.
+	 * @return List of images in the same order as paths.  If an image could not be loaded its element is null.
+	 */
+	public static <T extends ImageBase> List<T> loadImages( List<String> paths , ImageType<T> imageType ,
+															int numThreads ) {
+		numThreads = Math.max(1, Math.min(numThreads, paths.size()));
+
+		List<T> images = new ArrayList<T>(paths.size());
+		ImageBatchLoader<T> loader = new ImageBatchLoader<T>(paths,imageType,true,
+				numThreads,Math.max(numThreads,paths.size()));
+		try {
+			while( loader.hasNext() ) {
+				images.add(loader.next().image);
+			}
+		} finally {
+			loader.close();
+		}
+		return images;
+	}
+
+	/**
+	 * Loads all the images in a directory whose name contains the prefix using multiple threads.  Files are sorted by
+	 * name.
+	 *
+	 * @see #loadImages(java.util.List, boofcv.struct.image.ImageType)
+	 *
+	 * @param directory Directory containing the images.
+	 * @param prefix Only files which contain this string are loaded.
+	 * @param imageType Type of image that should be returned.
+	 * @return List of images.  If an image could not be loaded its element is null.
+	 */
+	public static <T extends ImageBase> List<T> loadImages( String directory , String prefix ,
+															ImageType<T> imageType ) {
+		List<String> paths = BoofMiscOps.directoryList(directory, prefix);
+		Collections.sort(paths);
+		return loadImages(paths, imageType);
+	}
+
 	public static void saveImage(BufferedImage img, String fileName) {
 		try {
 			String type;
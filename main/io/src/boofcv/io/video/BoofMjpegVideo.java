@@ -19,11 +19,11 @@
 package boofcv.io.video;
 
 import boofcv.io.image.SimpleImageSequence;
-import boofcv.io.wrapper.images.MjpegStreamSequence;
+import boofcv.io.wrapper.images.MjpegFileSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 /**
  * @author Peter Abeles
@@ -33,8 +33,8 @@ public class BoofMjpegVideo implements VideoInterface {
 	public <T extends ImageBase> SimpleImageSequence<T> load(String fileName, ImageType<T> imageType) {
 
 		try {
-			return new MjpegStreamSequence(fileName,imageType);
-		} catch (FileNotFoundException e) {
+			return new MjpegFileSequence<T>(fileName,imageType);
+		} catch (IOException e) {
 			return null;
 		}
 	}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Provides random access to the frames inside of an MJPEG file without loading the whole file into memory.
+ * When opened the file is scanned once and the location of each JPEG image is saved.  Individual frames are
+ * then read from the disk when requested.  Memory usage is independent of the file's size and files larger
+ * than 2 GB are supported.
+ * </p>
+ *
+ * <p>
+ * A frame starts with a start of image (SOI) marker and ends with an end of image (EOI) marker, same as in
+ * {@link VideoMjpegCodec}.  Both markers are included in the frame's data.  A frame which is missing its EOI
+ * marker at the end of the file, e.g. from a recording which was cut short, is ignored.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFile {
+
+	// size of the buffer used when scanning the file
+	private static final int SCAN_BUFFER = 1024*1024;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+
+	// location of the first byte in each frame
+	private long[] offsets = new long[16];
+	// number of bytes in each frame
+	private GrowQueue_I32 lengths = new GrowQueue_I32();
+
+	/**
+	 * Opens the file and finds all the frames inside of it.
+	 *
+	 * @param file MJPEG file
+	 * @throws IOException If the file can't be read
+	 */
+	public MjpegFile( File file ) throws IOException {
+		this.file = new RandomAccessFile(file,"r");
+		this.channel = this.file.getChannel();
+
+		try {
+			findFrames();
+		} catch( IOException e ) {
+			close();
+			throw e;
+		}
+	}
+
+	public MjpegFile( String fileName ) throws IOException {
+		this(new File(fileName));
+	}
+
+	/**
+	 * Scans through the file searching for the start and end of each image
+	 */
+	private void findFrames() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+		byte[] data = buffer.array();
+
+		boolean insideFrame = false;
+		boolean foundFF = false;
+		long frameStart = 0;
+
+		long position = 0;
+		int length;
+		while( (length = channel.read(buffer,position)) > 0 ) {
+			for( int i = 0; i < length; i++ ) {
+				byte b = data[i];
+				if( foundFF ) {
+					if( !insideFrame && b == VideoMjpegCodec.SOI ) {
+						insideFrame = true;
+						frameStart = position + i - 1;
+						foundFF = false;
+					} else if( insideFrame && b == VideoMjpegCodec.EOI ) {
+						insideFrame = false;
+						long frameEnd = position + i + 1;
+						if( frameEnd-frameStart > Integer.MAX_VALUE )
+							throw new IOException("Frame is too large");
+						if( lengths.size == offsets.length ) {
+							long[] tmp = new long[ offsets.length*2 ];
+							System.arraycopy(offsets,0,tmp,0,lengths.size);
+							offsets = tmp;
+						}
+						offsets[lengths.size] = frameStart;
+						lengths.add((int)(frameEnd-frameStart));
+						foundFF = false;
+					} else if( b != (byte)0xFF ) {
+						foundFF = false;
+					}
+				} else if( b == (byte)0xFF ) {
+					foundFF = true;
+				}
+			}
+
+			position += length;
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Number of frames in the file
+	 */
+	public int getTotalFrames() {
+		return lengths.size;
+	}
+
+	/**
+	 * Number of bytes in the specified frame
+	 */
+	public int getFrameLength( int frame ) {
+		return lengths.get(frame);
+	}
+
+	/**
+	 * Reads the JPEG data for a frame into a new array.
+	 *
+	 * @param frame Which frame.
+	 * @return JPEG data.
+	 * @throws IOException If the file can't be read.
+	 */
+	public byte[] readFrame( int frame ) throws IOException {
+		byte[] data = new byte[ lengths.get(frame) ];
+		readFrame(frame, data);
+		return data;
+	}
+
+	/**
+	 * Reads the JPEG data for a frame into the provided array.
+	 *
+	 * @param frame Which frame.
+	 * @param storage Array the data is written into.  Must be at least {@link #getFrameLength} long.
+	 * @return Number of bytes in the frame.
+	 * @throws IOException If the file can't be read.
+	 */
+	public int readFrame( int frame , byte[] storage ) throws IOException {
+		if( frame < 0 || frame >= lengths.size )
+			throw new IllegalArgumentException("Frame out of bounds: "+frame);
+		int length = lengths.get(frame);
+		if( storage.length < length )
+			throw new IllegalArgumentException("Storage is too small");
+
+		ByteBuffer buffer = ByteBuffer.wrap(storage,0,length);
+		long position = offsets[frame];
+		while( buffer.hasRemaining() ) {
+			int read = channel.read(buffer,position+buffer.position());
+			if( read < 0 )
+				throw new IOException("Unexpected end of file");
+		}
+		return length;
+	}
+
+	/**
+	 * Closes the file
+	 */
+	public void close() {
+		try {
+			file.close();
+		} catch (IOException ignore) {
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.core.image.ConvertBufferedImage;
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.video.MjpegFile;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * <p>
+ * Image sequence for MJPEG files which supports seeking to any frame.  Uses {@link MjpegFile} to find all the
+ * frames when opened and then reads and decompresses one frame at a time as they are requested.  Unlike
+ * {@link JpegByteImageSequence} the compressed images are not all kept in memory.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFileSequence<T extends ImageBase> implements SimpleImageSequence<T> {
+
+	MjpegFile file;
+
+	// index of the next frame which will be read
+	int index;
+	// index of the most recently read frame
+	int frameNumber = -1;
+
+	// storage for compressed image data
+	byte[] jpegData = new byte[0];
+
+	// type of image it outputs
+	ImageType<T> imageType;
+
+	BufferedImage imageGUI;
+	T output;
+
+	// loop back and forth in the sequence
+	boolean loop = false;
+	// is it traversing in the forwards or backwards direction
+	boolean forward = true;
+
+	public MjpegFileSequence(MjpegFile file, ImageType<T> imageType) {
+		this.file = file;
+		this.imageType = imageType;
+
+		output = imageType.createImage(1,1);
+	}
+
+	public MjpegFileSequence(String fileName, ImageType<T> imageType) throws IOException {
+		this(new MjpegFile(fileName),imageType);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if( loop )
+			return file.getTotalFrames() > 0;
+		return index < file.getTotalFrames();
+	}
+
+	@Override
+	public T next() {
+		frameNumber = index;
+		try {
+			int length = file.getFrameLength(index);
+			if( jpegData.length < length )
+				jpegData = new byte[length];
+			file.readFrame(index, jpegData);
+			imageGUI = ImageIO.read(new ByteArrayInputStream(jpegData,0,length));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		if(forward) {
+			index++;
+			if( loop && index >= file.getTotalFrames() ) {
+				index = Math.max(0,file.getTotalFrames()-2);
+				forward = false;
+			}
+		} else {
+			index--;
+			if( loop && index < 0) {
+				index = Math.min(1,file.getTotalFrames()-1);
+				forward = true;
+			}
+		}
+
+		output.reshape(imageGUI.getWidth(),imageGUI.getHeight());
+		ConvertBufferedImage.convertFrom(imageGUI, output, true );
+
+		return output;
+	}
+
+	/**
+	 * Changes the frame which will be read next by {@link #next()}.
+	 *
+	 * @param frame Index of the frame.
+	 */
+	public void seek( int frame ) {
+		if( frame < 0 || frame >= file.getTotalFrames() )
+			throw new IllegalArgumentException("Frame out of bounds: "+frame);
+		index = frame;
+	}
+
+	/**
+	 * Total number of frames in the file
+	 */
+	public int getTotalFrames() {
+		return file.getTotalFrames();
+	}
+
+	@Override
+	public void setLoop(boolean loop) {
+		this.loop = loop;
+	}
+
+	@Override
+	public BufferedImage getGuiImage() {
+		return imageGUI;
+	}
+
+	@Override
+	public void close() {
+		file.close();
+	}
+
+	/**
+	 * Index of the frame which was most recently returned by {@link #next()} or -1 if none have been.
+	 */
+	@Override
+	public int getFrameNumber() {
+		return frameNumber;
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	@Override
+	public void reset() {
+		index = 0;
+		frameNumber = -1;
+		forward = true;
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * <p>
+ * Wrapper around any {@link SimpleImageSequence} which reads images ahead of time in a background thread.  This
+ * allows images to be decoded while the previous image is being processed.  Up to a fixed number of images are
+ * read ahead and copied into a ring of images which are recycled.  The image returned by {@link #next()} is
+ * recycled the next time {@link #next()} is called, same as most other image sequences.
+ * </p>
+ *
+ * <p>
+ * The frame number and GUI image are recorded at the same time as each image is read, so {@link #getFrameNumber()}
+ * and {@link #getGuiImage()} refer to the image most recently returned by {@link #next()} and not to the one
+ * being read in the background.  If the wrapped sequence recycles its GUI image then it can be modified by the
+ * background thread.  The wrapped sequence should not be accessed directly while this class is in use.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PrefetchImageSequence<T extends ImageBase> implements SimpleImageSequence<T> {
+
+	// the sequence which is being read
+	SimpleImageSequence<T> sequence;
+
+	// all variables below are guarded by lock
+	final Object lock = new Object();
+	// images which have been read and are waiting to be returned, oldest first
+	Deque<Frame<T>> ready = new ArrayDeque<Frame<T>>();
+	// images which can be read into
+	Deque<Frame<T>> free = new ArrayDeque<Frame<T>>();
+	// true if the background thread has reached the end of the sequence
+	boolean finished;
+	// tells the background thread to stop
+	boolean stopRequested;
+	// exception or error thrown while reading the sequence
+	Throwable error;
+
+	// image most recently returned by next()
+	Frame<T> current;
+	// frame number before next() has been called
+	int initialFrameNumber;
+
+	Thread thread;
+
+	/**
+	 * Wraps the sequence and starts reading images from it.
+	 *
+	 * @param sequence The sequence which is to be read.
+	 * @param numAhead Maximum number of images which are read ahead of time.  Must be &ge; 1.
+	 */
+	public PrefetchImageSequence(SimpleImageSequence<T> sequence, int numAhead) {
+		if( numAhead < 1 )
+			throw new IllegalArgumentException("Must read at least one image ahead");
+		this.sequence = sequence;
+
+		// one more than the number ahead since the user is processing an image while the others are read
+		for( int i = 0; i <= numAhead; i++ ) {
+			free.add(new Frame<T>(sequence.getImageType().createImage(1, 1)));
+		}
+
+		initialFrameNumber = sequence.getFrameNumber();
+		start();
+	}
+
+	@Override
+	public boolean hasNext() {
+		synchronized (lock) {
+			waitForImage();
+			return !ready.isEmpty() || error != null;
+		}
+	}
+
+	@Override
+	public T next() {
+		synchronized (lock) {
+			if( current != null ) {
+				free.add(current);
+				current = null;
+				lock.notifyAll();
+			}
+
+			waitForImage();
+
+			if( ready.isEmpty() ) {
+				if( error != null ) {
+					Throwable e = error;
+					error = null;
+					if( e instanceof RuntimeException )
+						throw (RuntimeException)e;
+					if( e instanceof Error )
+						throw (Error)e;
+					throw new RuntimeException(e);
+				}
+				throw new RuntimeException("No more images in the sequence");
+			}
+
+			current = ready.removeFirst();
+			return current.image;
+		}
+	}
+
+	/**
+	 * Blocks until an image has been read or the end of the sequence has been reached.  Must be called while
+	 * holding the lock.
+	 */
+	private void waitForImage() {
+		boolean interrupted = false;
+		while( ready.isEmpty() && !finished ) {
+			try {
+				lock.wait();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+	}
+
+	@Override
+	public <InternalImage> InternalImage getGuiImage() {
+		synchronized (lock) {
+			return current == null ? null : (InternalImage)current.gui;
+		}
+	}
+
+	@Override
+	public void close() {
+		stop();
+		sequence.close();
+	}
+
+	@Override
+	public int getFrameNumber() {
+		synchronized (lock) {
+			return current == null ? initialFrameNumber : current.frameNumber;
+		}
+	}
+
+	/**
+	 * Images which have already been read are kept, since looping only changes what happens at the end of the
+	 * sequence.
+	 */
+	@Override
+	public void setLoop(boolean loop) {
+		stop();
+		sequence.setLoop(loop);
+		start();
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return sequence.getImageType();
+	}
+
+	/**
+	 * Discards all images which have been read ahead and starts reading from the start of the sequence
+	 */
+	@Override
+	public void reset() {
+		stop();
+		sequence.reset();
+
+		synchronized (lock) {
+			if( current != null ) {
+				free.add(current);
+				current = null;
+			}
+			while( !ready.isEmpty() )
+				free.add(ready.removeFirst());
+			initialFrameNumber = sequence.getFrameNumber();
+		}
+		start();
+	}
+
+	/**
+	 * The sequence which is being read
+	 */
+	public SimpleImageSequence<T> getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Starts the background thread
+	 */
+	private void start() {
+		synchronized (lock) {
+			finished = false;
+			error = null;
+			stopRequested = false;
+		}
+		thread = new Thread(new Reader(),"PrefetchImageSequence");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the background thread and waits for it to finish.  The thread is not interrupted since
+	 * that can close files which are read using channels.
+	 */
+	private void stop() {
+		if( thread == null )
+			return;
+
+		synchronized (lock) {
+			stopRequested = true;
+			lock.notifyAll();
+		}
+
+		boolean interrupted = false;
+		while( thread.isAlive() ) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		thread = null;
+	}
+
+	/**
+	 * Reads images from the sequence until it runs out of images or is told to stop
+	 */
+	private class Reader implements Runnable {
+		@Override
+		public void run() {
+			try {
+				readImages();
+			} catch( Throwable e ) {
+				synchronized (lock) {
+					if( error == null )
+						error = e;
+				}
+			} finally {
+				// always release the user, even if an Error was thrown, or it will wait forever
+				synchronized (lock) {
+					finished = true;
+					lock.notifyAll();
+				}
+			}
+		}
+
+		private void readImages() {
+			while( true ) {
+				Frame<T> frame;
+				synchronized (lock) {
+					while( !stopRequested && free.isEmpty() ) {
+						try {
+							lock.wait();
+						} catch (InterruptedException e) {
+							stopRequested = true;
+						}
+					}
+					if( stopRequested )
+						return;
+					frame = free.removeFirst();
+				}
+
+				// the lock isn't held while reading so that the user can access images which are ready
+				try {
+					if( !sequence.hasNext() ) {
+						synchronized (lock) {
+							free.addFirst(frame);
+						}
+						return;
+					}
+
+					T image = sequence.next();
+					frame.image.reshape(image.width,image.height);
+					frame.image.setTo(image);
+					frame.frameNumber = sequence.getFrameNumber();
+					frame.gui = sequence.getGuiImage();
+				} catch( Throwable e ) {
+					synchronized (lock) {
+						free.addFirst(frame);
+						error = e;
+					}
+					return;
+				}
+
+				synchronized (lock) {
+					ready.addLast(frame);
+					lock.notifyAll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Storage for an image which has been read and information about it
+	 */
+	private static class Frame<T extends ImageBase> {
+		T image;
+		int frameNumber;
+		Object gui;
+
+		private Frame(T image) {
+			this.image = image;
+		}
+	}
+}
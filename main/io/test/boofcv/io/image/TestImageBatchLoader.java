@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBatchLoader {
+
+	File directory;
+	List<String> paths = new ArrayList<String>();
+
+	/**
+	 * Creates a directory with images that have different widths and a file which isn't an image
+	 */
+	@Before
+	public void before() throws IOException {
+		directory = File.createTempFile("batch","");
+		assertTrue(directory.delete());
+		assertTrue(directory.mkdir());
+
+		for( int i = 0; i < 9; i++ ) {
+			String path = new File(directory,String.format("image%02d.png",i)).getPath();
+			if( i == 4 ) {
+				FileOutputStream out = new FileOutputStream(path);
+				out.write(new byte[]{1,2,3,4});
+				out.close();
+			} else {
+				BufferedImage image = new BufferedImage(10+i,8,BufferedImage.TYPE_INT_RGB);
+				image.setRGB(2,3,0x00FF00);
+				UtilImageIO.saveImage(image, path);
+			}
+			paths.add(path);
+		}
+	}
+
+	@After
+	public void after() {
+		for( String p : paths )
+			new File(p).delete();
+		directory.delete();
+	}
+
+	@Test
+	public void ordered() {
+		ImageBatchLoader<ImageFloat32> alg = new ImageBatchLoader<ImageFloat32>(paths,
+				ImageType.single(ImageFloat32.class),true,3,3);
+
+		int total = 0;
+		while( alg.hasNext() ) {
+			ImageBatchLoader.Result<ImageFloat32> r = alg.next();
+			assertEquals(total, r.index);
+			assertEquals(paths.get(total), r.path);
+			checkImage(r.index, r.image);
+			total++;
+		}
+		assertEquals(paths.size(), total);
+	}
+
+	@Test
+	public void unordered() {
+		ImageBatchLoader<MultiSpectral<ImageUInt8>> alg = new ImageBatchLoader<MultiSpectral<ImageUInt8>>(paths,
+				ImageType.ms(3, ImageUInt8.class),false,2,4);
+
+		boolean found[] = new boolean[paths.size()];
+		while( alg.hasNext() ) {
+			ImageBatchLoader.Result<MultiSpectral<ImageUInt8>> r = alg.next();
+			assertFalse(found[r.index]);
+			found[r.index] = true;
+			assertEquals(paths.get(r.index), r.path);
+
+			if( r.index == 4 ) {
+				assertTrue(r.image == null);
+			} else {
+				assertEquals(10+r.index, r.image.width);
+				assertEquals(255, r.image.getBand(1).get(2, 3));
+				assertEquals(0, r.image.getBand(0).get(2, 3));
+			}
+		}
+		for( boolean b : found )
+			assertTrue(b);
+	}
+
+	@Test
+	public void empty() {
+		ImageBatchLoader<ImageFloat32> alg = new ImageBatchLoader<ImageFloat32>(new ArrayList<String>(),
+				ImageType.single(ImageFloat32.class),true);
+		assertFalse(alg.hasNext());
+	}
+
+	@Test
+	public void loadImages() {
+		List<ImageFloat32> found = UtilImageIO.loadImages(paths, ImageType.single(ImageFloat32.class));
+		assertEquals(paths.size(), found.size());
+		for( int i = 0; i < found.size(); i++ )
+			checkImage(i,found.get(i));
+
+		found = UtilImageIO.loadImages(directory.getPath(),"image", ImageType.single(ImageFloat32.class));
+		assertEquals(paths.size(), found.size());
+		for( int i = 0; i < found.size(); i++ )
+			checkImage(i,found.get(i));
+	}
+
+	/**
+	 * There are fewer images than threads.  The number of threads is specified so that the test doesn't depend
+	 * on the number of cores.
+	 */
+	@Test
+	public void loadImages_fewerImagesThanThreads() {
+		List<String> two = paths.subList(0,2);
+		List<ImageFloat32> found = UtilImageIO.loadImages(two, ImageType.single(ImageFloat32.class), 8);
+		assertEquals(2, found.size());
+		for( int i = 0; i < found.size(); i++ )
+			checkImage(i,found.get(i));
+
+		found = UtilImageIO.loadImages(new ArrayList<String>(), ImageType.single(ImageFloat32.class), 8);
+		assertEquals(0, found.size());
+	}
+
+	/**
+	 * If loading an image throws an exception it should be passed on and the following image returned next
+	 */
+	@Test
+	public void ordered_exception() {
+		List<String> input = new ArrayList<String>(paths);
+		// a null path causes an exception to be thrown while loading
+		input.set(1, null);
+
+		ImageBatchLoader<ImageFloat32> alg = new ImageBatchLoader<ImageFloat32>(input,
+				ImageType.single(ImageFloat32.class),true,2,2);
+
+		checkImage(0, alg.next().image);
+		try {
+			alg.next();
+			fail("Exception should have been thrown");
+		} catch( NullPointerException ignore ) {}
+
+		int total = 2;
+		while( alg.hasNext() ) {
+			ImageBatchLoader.Result<ImageFloat32> r = alg.next();
+			assertEquals(total, r.index);
+			checkImage(r.index, r.image);
+			total++;
+		}
+		assertEquals(input.size(), total);
+	}
+
+	private void checkImage( int index , ImageFloat32 image ) {
+		if( index == 4 ) {
+			assertTrue(image == null);
+		} else {
+			assertEquals(10+index, image.width);
+			assertEquals(8, image.height);
+			assertTrue(image.get(2,3) > 50);
+			assertEquals(0, image.get(3,3), 1e-4);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRawImageIO {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 25;
+
+	String fileName = "temp.boofraw";
+
+	ImageType[] types = new ImageType[]{
+			ImageType.single(ImageUInt8.class),
+			ImageType.single(ImageSInt16.class),
+			ImageType.single(ImageSInt64.class),
+			ImageType.single(ImageFloat32.class),
+			ImageType.ms(3, ImageFloat64.class),
+			ImageType.ms(2, ImageSInt32.class),
+			ImageType.interleaved(3, InterleavedU8.class),
+			ImageType.interleaved(2, InterleavedF32.class)};
+
+	@After
+	public void after() {
+		new File(fileName).delete();
+	}
+
+	@Test
+	public void saveLoad() throws IOException {
+		for( ImageType type : types ) {
+			for( boolean compress : new boolean[]{false,true}) {
+				ImageBase orig = type.createImage(width,height);
+				GImageMiscOps.fillUniform(orig, rand, -100, 100);
+
+				RawImageIO.save(orig, fileName, compress);
+				ImageBase found = RawImageIO.load(fileName);
+
+				assertEquals(type.toString(), RawImageIO.readType(fileName).toString());
+				assertTrue(orig.getClass() == found.getClass());
+				BoofTesting.assertEquals(orig, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Saves sub-images and loads into sub-images
+	 */
+	@Test
+	public void subimage() throws IOException {
+		for( ImageType type : types ) {
+			for( boolean compress : new boolean[]{false,true}) {
+				ImageBase orig = type.createImage(width,height);
+				GImageMiscOps.fillUniform(orig, rand, -100, 100);
+				orig = BoofTesting.createSubImageOf(orig);
+
+				RawImageIO.save(orig, fileName, compress);
+				ImageBase found = BoofTesting.createSubImageOf(type.createImage(width, height));
+				RawImageIO.load(fileName,found);
+
+				BoofTesting.assertEquals(orig, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Large enough that it's split into multiple compressed blocks
+	 */
+	@Test
+	public void multipleBlocks() throws IOException {
+		ImageFloat64 orig = new ImageFloat64(400,500);
+		GImageMiscOps.fillUniform(orig, rand, -100, 100);
+
+		RawImageIO.save(orig, fileName, true);
+		ImageFloat64 found = RawImageIO.load(fileName,new ImageFloat64(1,1));
+
+		BoofTesting.assertEquals(orig, found, 0);
+	}
+
+	@Test
+	public void load_wrongStorage() throws IOException {
+		RawImageIO.save(new ImageFloat32(width,height), fileName);
+
+		try {
+			RawImageIO.load(fileName, new ImageUInt8(width,height));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void map() throws IOException {
+		for( ImageType type : types ) {
+			ImageBase orig = type.createImage(width,height);
+			GImageMiscOps.fillUniform(orig, rand, -100, 100);
+			RawImageIO.save(orig, fileName);
+
+			ImageByteBuffer[] planes = RawImageIO.map(fileName);
+
+			int numBands = type.getNumBands();
+			if( type.getFamily() == ImageType.Family.MULTI_SPECTRAL ) {
+				assertEquals(numBands, planes.length);
+				for( int i = 0; i < numBands; i++ ) {
+					checkMapped(((MultiSpectral)orig).getBand(i), planes[i], 1);
+				}
+			} else {
+				assertEquals(1, planes.length);
+				checkMapped(orig, planes[0], numBands);
+			}
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void map_compressed() throws IOException {
+		RawImageIO.save(new ImageFloat32(width,height), fileName, true);
+		RawImageIO.map(fileName);
+	}
+
+	private void checkMapped( ImageBase expected , ImageByteBuffer found , int numBands ) {
+		assertEquals(width, found.width);
+		assertEquals(height, found.height);
+		assertEquals(numBands, found.numBands);
+		assertEquals(expected.getImageType().getDataType(), found.dataType);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int b = 0; b < numBands; b++ ) {
+					double value;
+					if( expected instanceof ImageSingleBand )
+						value = GeneralizedImageOps.get((ImageSingleBand)expected,x,y);
+					else
+						value = GeneralizedImageOps.get((ImageInterleaved)expected,x,y,b);
+					assertEquals(value, found.get(x,y,b), 0);
+				}
+			}
+		}
+	}
+}
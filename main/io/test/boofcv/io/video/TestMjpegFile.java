@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import boofcv.io.wrapper.images.MjpegFileSequence;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMjpegFile {
+
+	/**
+	 * Creates JPEG images which have different sizes so that they can be told apart
+	 */
+	public static List<byte[]> createFrames( int total ) throws IOException {
+		List<byte[]> frames = new ArrayList<byte[]>();
+		for( int i = 0; i < total; i++ ) {
+			BufferedImage image = new BufferedImage(20+i,15,BufferedImage.TYPE_INT_RGB);
+			image.setRGB(i,2,0xFFFFFF);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageIO.write(image,"jpg",out);
+			frames.add(out.toByteArray());
+		}
+		return frames;
+	}
+
+	/**
+	 * Saves the frames into a temporary file with junk before, between, and after them
+	 */
+	public static File save( List<byte[]> frames , boolean truncated ) throws IOException {
+		File file = File.createTempFile("mjpeg",".mjpeg");
+		file.deleteOnExit();
+
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(new byte[]{1,2,(byte)0xFF,5});
+		for( byte[] data : frames ) {
+			out.write(data);
+			out.write(new byte[]{(byte)0xFF,0,3});
+		}
+		if( truncated ) {
+			byte[] data = frames.get(0);
+			out.write(data,0,data.length/2);
+		}
+		out.close();
+
+		return file;
+	}
+
+	@Test
+	public void readFrames() throws IOException {
+		List<byte[]> frames = createFrames(4);
+		MjpegFile alg = new MjpegFile(save(frames,false));
+
+		assertEquals(4, alg.getTotalFrames());
+		byte[] storage = new byte[10];
+		for( int i = 3; i >= 0; i-- ) {
+			byte[] expected = frames.get(i);
+			assertEquals(expected.length, alg.getFrameLength(i));
+			assertArrayEquals(expected, alg.readFrame(i));
+
+			if( storage.length < expected.length )
+				storage = new byte[expected.length];
+			assertEquals(expected.length, alg.readFrame(i, storage));
+			for( int j = 0; j < expected.length; j++ )
+				assertEquals(expected[j],storage[j]);
+		}
+		alg.close();
+	}
+
+	/**
+	 * An incomplete frame at the end of the file should be ignored
+	 */
+	@Test
+	public void truncatedFrame() throws IOException {
+		List<byte[]> frames = createFrames(3);
+		MjpegFile alg = new MjpegFile(save(frames,true));
+
+		assertEquals(3, alg.getTotalFrames());
+		assertArrayEquals(frames.get(2), alg.readFrame(2));
+		alg.close();
+	}
+
+	/**
+	 * Frames should be decoded in order and seek and reset should change which frame is read next
+	 */
+	@Test
+	public void sequence_seek() throws IOException {
+		List<byte[]> frames = createFrames(5);
+		File file = save(frames,false);
+		MjpegFileSequence<ImageUInt8> alg =
+				new MjpegFileSequence<ImageUInt8>(file.getPath(), ImageType.single(ImageUInt8.class));
+
+		assertEquals(5, alg.getTotalFrames());
+		assertEquals(-1, alg.getFrameNumber());
+
+		int total = 0;
+		while( alg.hasNext() ) {
+			ImageUInt8 image = alg.next();
+			assertEquals(total, alg.getFrameNumber());
+			assertEquals(20+total, image.width);
+			assertEquals(15, image.height);
+			total++;
+		}
+		assertEquals(5, total);
+
+		alg.seek(2);
+		assertEquals(22, alg.next().width);
+		assertEquals(2, alg.getFrameNumber());
+
+		alg.reset();
+		assertEquals(-1, alg.getFrameNumber());
+		assertEquals(20, alg.next().width);
+		alg.close();
+	}
+}
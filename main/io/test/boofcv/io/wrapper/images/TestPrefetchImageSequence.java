@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPrefetchImageSequence {
+
+	/**
+	 * Read all the images and see if they are in the expected order
+	 */
+	@Test
+	public void readAll() {
+		Dummy dummy = new Dummy(7);
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(dummy,3);
+
+		assertEquals(-1, alg.getFrameNumber());
+		assertTrue(alg.getGuiImage() == null);
+
+		int total = 0;
+		while( alg.hasNext() ) {
+			ImageUInt8 image = alg.next();
+			checkImage(image,total);
+			assertEquals(total, alg.getFrameNumber());
+			assertEquals(total, ((Integer) alg.getGuiImage()).intValue());
+			total++;
+		}
+		assertEquals(7,total);
+
+		alg.close();
+		assertTrue(dummy.closed);
+	}
+
+	/**
+	 * Returned images should not be modified until next() is called again
+	 */
+	@Test
+	public void imagesNotOverwritten() throws InterruptedException {
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(new Dummy(20),2);
+
+		for( int i = 0; i < 20; i++ ) {
+			ImageUInt8 image = alg.next();
+			// give the background thread a chance to read ahead
+			Thread.sleep(2);
+			checkImage(image,i);
+		}
+		assertFalse(alg.hasNext());
+		alg.close();
+	}
+
+	@Test
+	public void reset() {
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(new Dummy(10),3);
+
+		alg.next();
+		alg.next();
+		alg.reset();
+		assertEquals(-1, alg.getFrameNumber());
+
+		int total = 0;
+		while( alg.hasNext() ) {
+			checkImage(alg.next(),total++);
+		}
+		assertEquals(10,total);
+
+		// start over after reaching the end
+		alg.reset();
+		assertTrue(alg.hasNext());
+		checkImage(alg.next(),0);
+		alg.close();
+	}
+
+	@Test
+	public void setLoop() {
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(new Dummy(3),2);
+
+		for( int i = 0; i < 3; i++ )
+			alg.next();
+		assertFalse(alg.hasNext());
+
+		alg.setLoop(true);
+		for( int i = 0; i < 10; i++ ) {
+			assertTrue(alg.hasNext());
+			checkImage(alg.next(),(i+3)%3);
+		}
+		alg.close();
+	}
+
+	/**
+	 * An exception in the background thread should be thrown by next()
+	 */
+	@Test
+	public void exception() {
+		Dummy dummy = new Dummy(5);
+		dummy.failAt = 2;
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(dummy,3);
+
+		checkImage(alg.next(),0);
+		checkImage(alg.next(),1);
+		assertTrue(alg.hasNext());
+		try {
+			alg.next();
+			fail("Exception should have been thrown");
+		} catch( RuntimeException e ) {
+			assertEquals("Foo",e.getMessage());
+		}
+		alg.close();
+	}
+
+	/**
+	 * An Error, such as running out of memory, must also be passed on instead of the user waiting forever
+	 */
+	@Test(timeout = 10000)
+	public void error() {
+		Dummy dummy = new Dummy(5);
+		dummy.failAt = 1;
+		dummy.failWithError = true;
+		PrefetchImageSequence<ImageUInt8> alg = new PrefetchImageSequence<ImageUInt8>(dummy,3);
+
+		checkImage(alg.next(),0);
+		assertTrue(alg.hasNext());
+		try {
+			alg.next();
+			fail("Error should have been thrown");
+		} catch( Error e ) {
+			assertEquals("Foo",e.getMessage());
+		}
+		assertFalse(alg.hasNext());
+		alg.close();
+	}
+
+	private void checkImage( ImageUInt8 image , int frame ) {
+		assertEquals(10+frame, image.width);
+		assertEquals(5, image.height);
+		for( int i = 0; i < image.height; i++ )
+			for( int j = 0; j < image.width; j++ )
+				assertEquals(frame, image.get(j,i));
+	}
+
+	/**
+	 * Sequence where each image has a different size and is filled with its frame number.  The output image
+	 * is recycled
+	 */
+	private static class Dummy implements SimpleImageSequence<ImageUInt8> {
+		int total;
+		int index = 0;
+		int failAt = -1;
+		boolean failWithError;
+		boolean loop;
+		boolean closed;
+		ImageUInt8 output = new ImageUInt8(1,1);
+
+		private Dummy(int total) {
+			this.total = total;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return loop || index < total;
+		}
+
+		@Override
+		public ImageUInt8 next() {
+			if( index == failAt ) {
+				if( failWithError )
+					throw new Error("Foo");
+				throw new RuntimeException("Foo");
+			}
+			int frame = index % total;
+			output.reshape(10+frame,5);
+			for( int i = 0; i < output.data.length; i++ )
+				output.data[i] = (byte)frame;
+			index++;
+			return output;
+		}
+
+		@Override
+		public <InternalImage> InternalImage getGuiImage() {
+			return (InternalImage)Integer.valueOf(getFrameNumber());
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public int getFrameNumber() {
+			return (index-1) % total;
+		}
+
+		@Override
+		public void setLoop(boolean loop) {
+			this.loop = loop;
+		}
+
+		@Override
+		public ImageType<ImageUInt8> getImageType() {
+			return ImageType.single(ImageUInt8.class);
+		}
+
+		@Override
+		public void reset() {
+			index = 0;
+		}
+	}
+}
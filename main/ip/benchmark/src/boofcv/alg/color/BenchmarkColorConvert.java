@@ -19,9 +19,12 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 import java.util.Random;
@@ -38,6 +41,9 @@ public class BenchmarkColorConvert {
 
 	public static MultiSpectral<ImageFloat32> src_F32;
 	public static MultiSpectral<ImageFloat32> dst_F32;
+	public static MultiSpectral<ImageUInt8> src_U8;
+	public static InterleavedU8 src_IU8;
+	public static InterleavedU8 dst_IU8;
 
 	public static class RGB_to_HSV_F32 extends PerformerBase {
 
@@ -71,6 +77,54 @@ public class BenchmarkColorConvert {
 		}
 	}
 
+	public static class RGB_to_LAB_F32 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab.rgbToLab_F32(src_F32,dst_F32);
+		}
+	}
+
+	public static class RGB_to_LAB_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab.rgbToLab_U8(src_U8,dst_F32);
+		}
+	}
+
+	public static class RGB_to_LAB_Interleaved_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab.rgbToLab_U8(src_IU8,dst_IU8);
+		}
+	}
+
+	public static class RGB_to_LAB_F32_MT extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab_MT.rgbToLab_F32(src_F32,dst_F32);
+		}
+	}
+
+	public static class RGB_to_LAB_Interleaved_U8_MT extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab_MT.rgbToLab_U8(src_IU8,dst_IU8);
+		}
+	}
+
+	public static class RGB_to_HSV_F32_MT extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorHsv_MT.rgbToHsv_F32(src_F32,dst_F32);
+		}
+	}
+
 	public static void main( String args[] ) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 		System.out.println();
@@ -78,11 +132,26 @@ public class BenchmarkColorConvert {
 		src_F32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,imgWidth,imgHeight,3);
 		dst_F32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,imgWidth,imgHeight,3);
 
+		src_U8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,imgWidth,imgHeight,3);
+		src_IU8 = new InterleavedU8(imgWidth,imgHeight,3);
+		dst_IU8 = new InterleavedU8(imgWidth,imgHeight,3);
+
 		GImageMiscOps.addUniform(src_F32,rand,0,255);
+		GImageMiscOps.fillUniform(src_U8,rand,0,255);
+		GImageMiscOps.fillUniform(src_IU8,rand,0,255);
 
 		ProfileOperation.printOpsPerSec(new RGB_to_HSV_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HSV_to_RGB_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new RGB_to_YUV_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new YUV_to_RGB_F32(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_F32(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_Interleaved_U8(),TEST_TIME);
+
+		System.out.println();
+		System.out.println("Concurrent with "+BoofConcurrency.getMaxThreads()+" threads");
+		ProfileOperation.printOpsPerSec(new RGB_to_HSV_F32_MT(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_F32_MT(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_Interleaved_U8_MT(),TEST_TIME);
 	}
 }
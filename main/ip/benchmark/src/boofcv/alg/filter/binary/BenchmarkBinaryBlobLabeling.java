@@ -19,6 +19,7 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.ConnectRule;
@@ -64,6 +65,64 @@ public class BenchmarkBinaryBlobLabeling {
 		}
 	}
 
+	public static class NewAlgStatistics8 extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+
+		public NewAlgStatistics8() {
+			alg.setStatistics(new BlobStatistics());
+		}
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class Concurrent8 extends PerformerBase {
+
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(ConnectRule.EIGHT,false);
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class Concurrent4 extends PerformerBase {
+
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(ConnectRule.FOUR,false);
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class ConcurrentContour8 extends PerformerBase {
+
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(ConnectRule.EIGHT,true);
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class ConcurrentStatistics8 extends PerformerBase {
+
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(ConnectRule.EIGHT,false);
+
+		public ConcurrentStatistics8() {
+			alg.setStatistics(new BlobStatistics());
+		}
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
 
@@ -81,6 +140,14 @@ public class BenchmarkBinaryBlobLabeling {
 
 		ProfileOperation.printOpsPerSec(new NewAlg8(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new NewAlg4(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new NewAlgStatistics8(), TEST_TIME);
+
+		System.out.println();
+		System.out.println("Concurrent with "+BoofConcurrency.getMaxThreads()+" threads");
+		ProfileOperation.printOpsPerSec(new Concurrent8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Concurrent4(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ConcurrentContour8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ConcurrentStatistics8(), TEST_TIME);
 
 	}
 }
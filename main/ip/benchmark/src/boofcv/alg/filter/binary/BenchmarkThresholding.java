@@ -42,6 +42,9 @@ public class BenchmarkThresholding extends SimpleBenchmark {
 	static ImageUInt8 work = new ImageUInt8(imgWidth, imgHeight);
 	static ImageUInt8 work2 = new ImageUInt8(imgWidth, imgHeight);
 
+	static ThresholdLocalStreaming streamMean = new ThresholdLocalStreaming(20,true);
+	static ThresholdLocalStreaming streamSauvola = new ThresholdLocalStreaming(20,true);
+
 	static int threshLower = 20;
 	static int threshUpper = 30;
 
@@ -49,6 +52,8 @@ public class BenchmarkThresholding extends SimpleBenchmark {
 	public BenchmarkThresholding() {
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		streamMean.configureMean(0);
+		streamSauvola.configureSauvola(0.3,128);
 	}
 
 	public int timeThreshold(int reps) {
@@ -63,6 +68,18 @@ public class BenchmarkThresholding extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timeAdaptiveSquareStreaming(int reps) {
+		for( int i = 0; i < reps; i++ )
+			streamMean.process(input, output_U8);
+		return 0;
+	}
+
+	public int timeSauvolaStreaming(int reps) {
+		for( int i = 0; i < reps; i++ )
+			streamSauvola.process(input, output_U8);
+		return 0;
+	}
+
 	public int timeAdaptiveGaussian(int reps) {
 		for( int i = 0; i < reps; i++ )
 			ThresholdImageOps.adaptiveGaussian(input, output_U8, 20, 0, true, work, work2);
@@ -21,6 +21,7 @@ package boofcv.alg.filter.convolve;
 import boofcv.alg.filter.convolve.noborder.ImplConvolveBox;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageFloat32;
@@ -58,6 +59,8 @@ public class BenchmarkConvolveBox extends SimpleBenchmark {
 
 	// iterate through different sized kernel radius
 	@Param({"1", "2", "3", "5","10"}) private int radius;
+	// number of threads used by the concurrent variants
+	@Param({"1", "2", "4"}) private int threads;
 
 	public BenchmarkConvolveBox() {
 		ImageMiscOps.fillUniform(input_I8,rand,0,20);
@@ -66,6 +69,7 @@ public class BenchmarkConvolveBox extends SimpleBenchmark {
 	}
 
 	@Override protected void setUp() throws Exception {
+		BoofConcurrency.setMaxThreads(threads);
 		kernelF32 = FactoryKernel.table1D_F32(radius,false);
 		kernelI32 = FactoryKernel.table1D_I32(radius);
 	}
@@ -136,6 +140,36 @@ public class BenchmarkConvolveBox extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timeBox_MT_U8_I16_Vertical(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageBox_MT.vertical(input_I8,out_I16,radius);
+		return 0;
+	}
+
+	public int timeBox_MT_F32_F32_Vertical(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageBox_MT.vertical(input_F32,out_F32,radius);
+		return 0;
+	}
+
+	public int timeBox_MT_U8_I16_Horizontal(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageBox_MT.horizontal(input_I8,out_I16,radius);
+		return 0;
+	}
+
+	public int timeBox_MT_F32_F32_Horizontal(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageBox_MT.horizontal(input_F32,out_F32,radius);
+		return 0;
+	}
+
+	public int timeMean_MT_F32_F32_Vertical(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageMean_MT.vertical(input_F32,out_F32,radius);
+		return 0;
+	}
+
 	public static void main( String args[] ) {
 		Runner.main(BenchmarkConvolveBox.class, args);
 	}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Compares spatial 2D convolution against FFT convolution for different sized kernels.  Used to select
+ * {@link GConvolveImageOps#FOURIER_MIN_WIDTH}.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkConvolveFourier extends SimpleBenchmark {
+	static int width = 640;
+	static int height = 480;
+
+	Random rand = new Random(234);
+
+	static Kernel2D_F32 kernel;
+	static ImageFloat32 input = new ImageFloat32(width,height);
+	static ImageFloat32 output = new ImageFloat32(width,height);
+
+	static ConvolveFourier_F32 fourier = new ConvolveFourier_F32();
+
+	@Param({"2", "4", "6", "8", "12", "25"}) private int radius;
+
+	public BenchmarkConvolveFourier() {
+		ImageMiscOps.fillUniform(input,rand,0,200);
+	}
+
+	@Override protected void setUp() throws Exception {
+		kernel = FactoryKernelGaussian.gaussian(Kernel2D_F32.class,-1,radius);
+	}
+
+	public int timeSpatial(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder.convolve(kernel, input, output);
+		return 0;
+	}
+
+	public int timeFourier(int reps) {
+		for( int i = 0; i < reps; i++ )
+			fourier.convolve(kernel, input, output);
+		return 0;
+	}
+
+	public int timeSpatialNormalized(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveNormalized.convolve(kernel, input, output);
+		return 0;
+	}
+
+	public int timeFourierNormalized(int reps) {
+		for( int i = 0; i < reps; i++ )
+			fourier.convolveNormalized(kernel, input, output);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size "+ width +" x "+ height +" ==========");
+
+		Runner.main(BenchmarkConvolveFourier.class, args);
+	}
+}
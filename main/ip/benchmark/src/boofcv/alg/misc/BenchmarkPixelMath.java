@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Compares the run time of fused operations in {@link PixelMath} and {@link ImageStatistics} against
+ * performing the same operations one pass at a time.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkPixelMath {
+	static int width = 3840;
+	static int height = 2160;
+	static long TEST_TIME = 1000;
+
+	static ImageUInt8 inputA_U8 = new ImageUInt8(width,height);
+	static ImageUInt8 inputB_U8 = new ImageUInt8(width,height);
+	static ImageUInt8 output_U8 = new ImageUInt8(width,height);
+	static ImageFloat32 input_F32 = new ImageFloat32(width,height);
+	static ImageFloat32 output_F32 = new ImageFloat32(width,height);
+
+	public static class MultiplyThenPlus_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiply(inputA_U8,1.5,output_U8);
+			PixelMath.plus(output_U8,10,0,255,output_U8);
+		}
+	}
+
+	public static class MultiplyPlus_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiplyPlus(inputA_U8,1.5,10,0,255,output_U8);
+		}
+	}
+
+	public static class MultiplyThenPlus_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiply(input_F32,1.5f,output_F32);
+			PixelMath.plus(output_F32,10f,0f,255f,output_F32);
+		}
+	}
+
+	public static class MultiplyPlus_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiplyPlus(input_F32,1.5f,10f,0f,255f,output_F32);
+		}
+	}
+
+	public static class DiffAbsThenSum_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.diffAbs(inputA_U8,inputB_U8,output_U8);
+			ImageStatistics.sum(output_U8);
+		}
+	}
+
+	public static class SumDiffAbs_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			ImageStatistics.sumDiffAbs(inputA_U8,inputB_U8);
+		}
+	}
+
+	public static void main(String args[]) {
+
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(inputA_U8, rand, 0, 200);
+		ImageMiscOps.fillUniform(inputB_U8, rand, 0, 200);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 200);
+
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new MultiplyThenPlus_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new MultiplyPlus_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new MultiplyThenPlus_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new MultiplyPlus_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DiffAbsThenSum_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new SumDiffAbs_U8(), TEST_TIME);
+	}
+}
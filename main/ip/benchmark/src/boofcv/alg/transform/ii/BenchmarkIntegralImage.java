@@ -19,9 +19,14 @@
 package boofcv.alg.transform.ii;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.misc.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
 
 import java.util.Random;
 
@@ -40,6 +45,9 @@ public class BenchmarkIntegralImage {
 
 	static ImageFloat32 output = new ImageFloat32(width,height);
 
+	static ImageUInt8 input_U8 = new ImageUInt8(width,height);
+	static ImageSInt32 integral_S32 = new ImageSInt32(width,height);
+
 
 	public static class ComputeIntegral extends PerformerBase {
 		@Override
@@ -48,6 +56,27 @@ public class BenchmarkIntegralImage {
 		}
 	}
 
+	public static class ComputeIntegral_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			ImplIntegralImageOps.transform(input_U8,integral_S32);
+		}
+	}
+
+	public static class ComputeIntegral_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ImplIntegralImageOps_MT.transform(input,integral);
+		}
+	}
+
+	public static class ComputeIntegral_MT_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			ImplIntegralImageOps_MT.transform(input_U8,integral_S32);
+		}
+	}
+
 	public static class DerivXX extends PerformerBase {
 
 		IntegralKernel kernel = DerivativeIntegralImage.kernelDerivXX(9,null);
@@ -73,12 +102,20 @@ public class BenchmarkIntegralImage {
 
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 100);
 		IntegralImageOps.transform(input,integral);
 
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new ComputeIntegral(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeIntegral_U8(), TEST_TIME);
+		for( int threads = 1; threads <= 8; threads *= 2 ) {
+			System.out.println("Threads = "+threads);
+			BoofConcurrency.setMaxThreads(threads);
+			ProfileOperation.printOpsPerSec(new ComputeIntegral_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new ComputeIntegral_MT_U8(), TEST_TIME);
+		}
 		ProfileOperation.printOpsPerSec(new DerivXX(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new GenericDerivXX(), TEST_TIME);
 	}
@@ -25,8 +25,10 @@ import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -44,12 +46,18 @@ public class BenchmarkImagePyramids {
 	static long TEST_TIME = 1000;
 
 	static ImageFloat32 input = new ImageFloat32(width,height);
+	static ImageUInt8 input_U8 = new ImageUInt8(width,height);
 
 	static int scalesD[] = new int[]{1,2,4,8};
 	static double scalesF[] = new double[]{1,2,4,8};
 
 	static PyramidDiscrete<ImageFloat32> pyramidD;
 	static PyramidFloat<ImageFloat32> pyramidF;
+	static PyramidDiscrete<ImageUInt8> pyramidD_U8;
+	static PyramidDiscrete<ImageUInt8> pyramidFixed_U8;
+
+	// region of interest around a small target
+	static ImageRectangle region = new ImageRectangle(300,200,360,260);
 
 	static Class<ImageFloat32> imageType = ImageFloat32.class;
 
@@ -69,6 +77,38 @@ public class BenchmarkImagePyramids {
 		}
 	}
 
+	public static class DiscreteRegion_F32 extends PerformerBase {
+
+		@Override
+		public void process() {
+			pyramidD.process(input,region);
+		}
+	}
+
+	public static class Discrete_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			pyramidD_U8.process(input_U8);
+		}
+	}
+
+	public static class FixedPoint_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			pyramidFixed_U8.process(input_U8);
+		}
+	}
+
+	public static class FixedPointRegion_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			pyramidFixed_U8.process(input_U8,region);
+		}
+	}
+
 	private static void createUpdate() {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1.0,2);
 		pyramidD = new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,2,ImageFloat32.class,true,scalesD);
@@ -76,12 +116,16 @@ public class BenchmarkImagePyramids {
 		InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(ImageFloat32.class);
 		pyramidF = FactoryPyramid.scaleSpacePyramid(scalesF, ImageFloat32.class);
 
+		pyramidD_U8 = FactoryPyramid.discreteGaussian(scalesD,-1,2,true,ImageUInt8.class);
+		pyramidFixed_U8 = new PyramidDiscreteFixedPoint_U8(2,true,scalesD);
+
 	}
 
 	public static void main(String args[]) {
 
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 100);
 		createUpdate();
 
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
@@ -89,5 +133,9 @@ public class BenchmarkImagePyramids {
 
 		ProfileOperation.printOpsPerSec(new Float_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Discrete_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DiscreteRegion_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Discrete_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new FixedPoint_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new FixedPointRegion_U8(), TEST_TIME);
 	}
 }
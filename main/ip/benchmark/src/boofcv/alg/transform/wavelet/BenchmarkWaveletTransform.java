@@ -86,6 +86,16 @@ public class BenchmarkWaveletTransform {
 		}
 	}
 
+	public static class Lifting_F32 extends PerformerBase {
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc_F32);
+
+		@Override
+		public void process() {
+			alg.transformN(orig_F32,temp1_F32,1);
+		}
+	}
+
 	public static class FullLevel3_F32 extends PerformerBase {
 
 		static ImageFloat32 copy = new ImageFloat32(imgWidth,imgHeight);
@@ -107,6 +117,22 @@ public class BenchmarkWaveletTransform {
 	}
 
 
+	public static class LiftingLevel3_F32 extends PerformerBase {
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc_F32);
+		ImageFloat32 tran;
+
+		public LiftingLevel3_F32() {
+			ImageDimension dim = UtilWavelet.transformDimension(orig_F32,3);
+			tran = new ImageFloat32(dim.width,dim.height);
+		}
+
+		@Override
+		public void process() {
+			alg.transformN(orig_F32,tran,3);
+		}
+	}
+
 	public static void main(String args[]) {
 
 		Random rand = new Random(234);
@@ -117,8 +143,10 @@ public class BenchmarkWaveletTransform {
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new FullLevel3_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new LiftingLevel3_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Naive_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Standard_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Lifting_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Naive_I32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Standard_I32(), TEST_TIME);
 	}
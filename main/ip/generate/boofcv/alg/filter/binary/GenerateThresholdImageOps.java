@@ -51,8 +51,8 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
-				"import boofcv.struct.image.*;\n" +
 				"import boofcv.alg.filter.blur.BlurImageOps;\n" +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -71,6 +71,7 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 
 	public void printAll( AutoTypeImage imageIn ) {
 		printThreshold(imageIn);
+		printThresholdPacked(imageIn);
 	}
 
 	public void printAdaptive( AutoTypeImage imageIn ) {
@@ -129,6 +130,51 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printThresholdPacked( AutoTypeImage imageIn ) {
+		String bitwise = imageIn.getBitWise();
+
+		out.print("\t/**\n" +
+				"\t * Applies a global threshold across the whole image and writes the results directly into a packed\n" +
+				"\t * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the\n" +
+				"\t * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and\n" +
+				"\t * the others set to 0.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Packed binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param threshold threshold value.\n" +
+				"\t * @param down If true then the inequality <= is used, otherwise if false then >= is used.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageBinaryPacked thresholdPacked( "+imageIn.getSingleBandName()+" input , ImageBinaryPacked output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t\t\t\t"+imageIn.getSumType()+" threshold , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output);\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\tint indexOut = y*output.stride;\n" +
+				"\n" +
+				"\t\t\tfor( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {\n" +
+				"\t\t\t\tint length = Math.min(ImageBinaryPacked.BITS, input.width-x);\n" +
+				"\n" +
+				"\t\t\t\tlong word = 0;\n" +
+				"\t\t\t\tif( down ) {\n" +
+				"\t\t\t\t\tfor( int j = 0; j < length; j++ , indexIn++ ) {\n" +
+				"\t\t\t\t\t\tword |= ((input.data[indexIn]"+bitwise+") <= threshold ? 1L : 0L) << j;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tfor( int j = 0; j < length; j++ , indexIn++ ) {\n" +
+				"\t\t\t\t\t\tword |= ((input.data[indexIn]"+bitwise+") >= threshold ? 1L : 0L) << j;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\toutput.data[indexOut] = word;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public void printAdaptiveSquare( AutoTypeImage imageIn ) {
 
 		String imageName = imageIn.getSingleBandName();
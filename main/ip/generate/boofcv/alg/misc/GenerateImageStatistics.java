@@ -67,6 +67,7 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			printMean();
 			printVariance();
 			printMeanDiffSq();
+			printSumDiffAbs();
 			printMeanDiffAbs();
 			printHistogram();
 		}
@@ -85,10 +86,11 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int minValue , int histogram[] ) {\n" +
 					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
 					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+					"\n" +
+					contiguousRows("input") +
+					"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
+					"\t\t\tint end = index + columns;\n" +
 					"\n" +
 					"\t\t\tfor( ; index < end; index++ ) {\n" +
 					"\t\t\t\t// floor value. just convert to int rounds towards zero\n");
@@ -112,10 +114,11 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int histogram[] ) {\n" +
 					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
 					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+					"\n" +
+					contiguousRows("input") +
+					"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
+					"\t\t\tint end = index + columns;\n" +
 					"\n" +
 					"\t\t\tfor( ; index < end; index++ ) {\n" +
 					"\t\t\t\thistogram[input.data[index]"+input.getBitWise()+"]++;\n" +
@@ -136,18 +139,22 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\n" +
 				"\t\t"+input.getSumType()+" max = 0;\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\t\tint end = index + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; index < end; index++ ) {\n");
 		if( input.isSigned() )
 			out.print("\t\t\t\t"+input.getSumType()+" v = Math.abs(input.data[index]);\n");
 		else
 			out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index]"+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v > max )\n" +
-				"\t\t\t\t\tmax = v;\n" +
-				"\t\t\t}\n" +
+		if( input.isInteger() )
+			out.print("\t\t\t\tmax = Math.max(max,v);\n");
+		else
+			out.print("\t\t\t\tif( v > max )\n" +
+					"\t\t\t\t\tmax = v;\n");
+		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t\treturn max;\n" +
 				"\t}\n\n");
@@ -164,15 +171,19 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\n" +
 				"\t\t"+input.getSumType()+" max = input.get(0,0);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\t\tint end = index + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; index < end; index++ ) {\n");
 		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v > max )\n" +
-				"\t\t\t\t\tmax = v;\n" +
-				"\t\t\t}\n" +
+		if( input.isInteger() )
+			out.print("\t\t\t\tmax = Math.max(max,v);\n");
+		else
+			out.print("\t\t\t\tif( v > max )\n" +
+					"\t\t\t\t\tmax = v;\n");
+		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t\treturn max;\n" +
 				"\t}\n\n");
@@ -189,15 +200,19 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\n" +
 				"\t\t"+input.getSumType()+" min = input.get(0,0);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\t\tint end = index + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; index < end; index++ ) {\n");
 		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v < min )\n" +
-				"\t\t\t\t\tmin = v;\n" +
-				"\t\t\t}\n" +
+		if( input.isInteger() )
+			out.print("\t\t\t\tmin = Math.min(min,v);\n");
+		else
+			out.print("\t\t\t\tif( v < min )\n" +
+					"\t\t\t\t\tmin = v;\n");
+		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t\treturn min;\n" +
 				"\t}\n\n");
@@ -216,16 +231,12 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static "+input.getSumType()+" sum( "+input.getSingleBandName()+" img ) {\n" +
 				"\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
-				"\t\tfinal int w = img.getWidth();\n" +
-				"\n" +
 				"\t\t"+input.getSumType()+" total = 0;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				"\n" +
+				contiguousRows("img") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = index+columns;\n" +
 				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
 				"\t\t\t\ttotal += img.data[index] "+bitWise+";\n" +
 				"\t\t\t}\n" +
@@ -262,11 +273,11 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\n" +
 				"\t\tdouble variance = 0;\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < img.height; y++) {\n" +
+				contiguousRows("img") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
 				"\n" +
-				"\t\t\tint indexEnd = index+img.width;\n" +
-				"\t\t\t// for(int x = 0; x < img.width; x++ ) {\n" +
+				"\t\t\tint indexEnd = index+columns;\n" +
 				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
 				"\t\t\t\tdouble d = (img.data[index]"+bitWise+") - mean; \n" +
 				"\t\t\t\tvariance += d*d;\n" +
@@ -294,10 +305,11 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\tpublic static double meanDiffSq("+imageName+" imgA, "+imageName+" imgB ) {\n" +
 				"\t\t"+largeSumType+" total = 0;\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
+				contiguousRows("imgA","imgB") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
+				"\t\t\tfor (int x = 0; x < columns; x++,indexA++,indexB++) {\n" +
 				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
 				"\t\t\t\ttotal += difference*difference;\n" +
 				"\t\t\t}\n" +
@@ -307,35 +319,75 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
-	public void printMeanDiffAbs() {
+	public void printSumDiffAbs() {
 
 		String imageName = input.getSingleBandName();
 		String bitWise = input.getBitWise();
 		String sumType = input.getSumType();
 
 		out.print("\t/**\n" +
-				"\t * <p>Computes the mean squared error (MSE) between the two images.</p>\n" +
+				"\t * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is\n" +
+				"\t * summed up as it is computed, so no image is created to store it.</p>\n" +
 				"\t *\n" +
 				"\t * @param imgA first image. Not modified.\n" +
 				"\t * @param imgB second image. Not modified.\n" +
-				"\t * @return error between the two images.\n" +
+				"\t * @return sum of absolute differences between the two images.\n" +
 				"\t */\n" +
-				"\tpublic static double meanDiffAbs("+imageName+" imgA, "+imageName+" imgB ) {\n" +
+				"\tpublic static "+sumType+" sumDiffAbs("+imageName+" imgA, "+imageName+" imgB ) {\n" +
 				"\t\t"+sumType+" total = 0;\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
+				contiguousRows("imgA","imgB") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
+				"\t\t\tfor (int x = 0; x < columns; x++,indexA++,indexB++) {\n" +
 				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
 				"\t\t\t\ttotal += Math.abs(difference);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
+				"\t\treturn total;\n" +
+				"\t}\n\n");
+	}
+
+	public void printMeanDiffAbs() {
+
+		String imageName = input.getSingleBandName();
+
+		out.print("\t/**\n" +
+				"\t * <p>Computes the mean absolute error (MAE) between the two images.</p>\n" +
+				"\t *\n" +
+				"\t * @param imgA first image. Not modified.\n" +
+				"\t * @param imgB second image. Not modified.\n" +
+				"\t * @return error between the two images.\n" +
+				"\t */\n" +
+				"\tpublic static double meanDiffAbs("+imageName+" imgA, "+imageName+" imgB ) {\n" +
+				"\t\treturn sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);\n" +
 				"\t}\n\n");
 	}
 
+	/**
+	 * Declares the number of rows and columns which are traversed.  If none of the images are sub-images then
+	 * their pixels are contiguous in memory and they are processed as a single long row, which lets the inner
+	 * loop run as long as possible.
+	 */
+	private String contiguousRows( String... images ) {
+		String condition = "";
+		for( int i = 0; i < images.length; i++ ) {
+			if( i > 0 )
+				condition += " && ";
+			condition += "!"+images[i]+".isSubimage()";
+		}
+
+		return "\t\tint rows = "+images[0]+".height;\n" +
+				"\t\tint columns = "+images[0]+".width;\n" +
+				"\t\tif( "+condition+" ) {\n" +
+				"\t\t\tcolumns *= rows;\n" +
+				"\t\t\trows = 1;\n" +
+				"\t\t}\n" +
+				"\n";
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateImageStatistics gen = new GenerateImageStatistics();
 		gen.generate();
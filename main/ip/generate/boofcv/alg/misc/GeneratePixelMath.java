@@ -72,6 +72,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 			printDivideBounded();
 			printPlus();
 			printPlusBounded();
+			printMultiplyPlus();
+			printMultiplyPlusBounded();
 			printBoundImage();
 			printDiffAbs();
 			printAverageBand();
@@ -102,6 +104,41 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 		}
 	}
 
+	/**
+	 * Declares the number of rows and columns which are traversed.  If none of the images are sub-images then
+	 * their pixels are contiguous in memory and they are processed as a single long row, which lets the inner
+	 * loop run as long as possible.
+	 */
+	private String contiguousRows( String... images ) {
+		String condition = "";
+		for( int i = 0; i < images.length; i++ ) {
+			if( i > 0 )
+				condition += " && ";
+			condition += "!"+images[i]+".isSubimage()";
+		}
+
+		return "\t\tint rows = "+images[0]+".height;\n" +
+				"\t\tint columns = "+images[0]+".width;\n" +
+				"\t\tif( "+condition+" ) {\n" +
+				"\t\t\tcolumns *= rows;\n" +
+				"\t\t\trows = 1;\n" +
+				"\t\t}\n" +
+				"\n";
+	}
+
+	/**
+	 * Bounds a variable.  Integer types use min and max, which the JIT turns into conditional moves instead of
+	 * branches.  Floating point types keep the comparisons so that NaN and -0 are handled the same as before.
+	 */
+	private String printBound( String variable , String lower , String upper ) {
+		if( input.isInteger() ) {
+			return "\t\t\t\t"+variable+" = Math.min("+upper+",Math.max("+lower+","+variable+"));\n";
+		} else {
+			return "\t\t\t\tif( "+variable+" < "+lower+" ) "+variable+" = "+lower+";\n" +
+					"\t\t\t\tif( "+variable+" > "+upper+" ) "+variable+" = "+upper+";\n";
+		}
+	}
+
 	public void printAbs()
 	{
 		out.print("\t/**\n" +
@@ -114,11 +151,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\tpublic static void abs( "+ input.getSingleBandName()+" input , "+ input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
-				"\t\t\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"Math.abs(input.data[indexSrc]);\n" +
@@ -138,10 +176,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"-input.data[indexSrc];\n" +
@@ -165,10 +204,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
@@ -196,15 +236,15 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
+				printBound("val","lower","upper") +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
@@ -228,10 +268,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
@@ -260,15 +301,83 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
+				printBound("val","lower","upper") +
+				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public void printMultiplyPlus() {
+		String scaleType = input.isInteger() ? "double" : input.getSumType();
+		String typeCast = scaleType.compareTo(input.getSumType()) != 0 ? "("+input.getDataType()+")" : "";
+
+		out.print("\t/**\n" +
+				"\t * Multiply each element by a scalar value and then add an offset to it, in a single pass.\n" +
+				"\t * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.\n" +
+				"\t *\n" +
+				"\t * @param input The input image. Not modified.\n" +
+				"\t * @param scale What each element is multiplied by.\n" +
+				"\t * @param offset What is added to each element after it has been multiplied.\n" +
+				"\t * @param output The output image. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static void multiplyPlus( "+input.getSingleBandName()+" input , "+scaleType+" scale , "+
+				scaleType+" offset , "+input.getSingleBandName()+" output ) {\n" +
+				"\n" +
+				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				"\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
+				"\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+")*scale + offset);\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public void printMultiplyPlusBounded() {
+		String scaleType = input.isInteger() ? "double" : input.getSumType();
+		String sumType = input.getSumType();
+		String typeCast = scaleType.compareTo(input.getSumType()) != 0 ? "("+input.getSumType()+")" : "";
+
+		out.print("\t/**\n" +
+				"\t * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.\n" +
+				"\t * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can\n" +
+				"\t * be the same instance.\n" +
+				"\t *\n" +
+				"\t * @param input The input image. Not modified.\n" +
+				"\t * @param scale What each element is multiplied by.\n" +
+				"\t * @param offset What is added to each element after it has been multiplied.\n" +
+				"\t * @param lower Lower bound on output\n" +
+				"\t * @param upper Upper bound on output\n" +
+				"\t * @param output The output image. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static void multiplyPlus( "+input.getSingleBandName()+" input , "+scaleType+" scale , "+
+				scaleType+" offset , "+sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
+				"\n" +
+				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				"\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
+				"\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+")*scale + offset);\n" +
+				printBound("val","lower","upper") +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
@@ -287,10 +396,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") + value);\n" +
@@ -316,15 +426,15 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
 				"\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") + value;\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
+				printBound("val","lower","upper") +
 				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
@@ -344,22 +454,23 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param max maximum value.\n" +
 				"\t */\n" +
 				"\tpublic static void boundImage( "+input.getSingleBandName()+" img , "+sumType+" min , "+sumType+" max ) {\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
-				"\t\tfinal int w = img.getWidth();\n" +
-				"\n" +
 				"\t\t"+input.getDataType()+"[] data = img.data;\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("img") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = index+columns;\n" +
 				"\t\t\tfor (; index < indexEnd; index++) {\n" +
-				"\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n" +
-				"\t\t\t\tif( value < min )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"min;\n" +
-				"\t\t\t\telse if( value > max )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
-				"\t\t\t}\n" +
+				"\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n");
+		if( input.isInteger() ) {
+			out.print("\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"Math.min(max,Math.max(min,value));\n");
+		} else {
+			out.print("\t\t\t\tif( value < min )\n" +
+					"\t\t\t\t\tdata[index] = min;\n" +
+					"\t\t\t\telse if( value > max )\n" +
+					"\t\t\t\t\tdata[index] = max;\n");
+		}
+		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
 	}
@@ -380,17 +491,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void diffAbs( "+input.getSingleBandName()+" imgA , "+input.getSingleBandName()+" imgB , "+input.getSingleBandName()+" diff ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,diff);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("imgA","imgB","diff") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
 				"\t\t\tint indexDiff = diff.getStartIndex() + y * diff.getStride();\n" +
 				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexA+columns;\n" +
 				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {\n" +
 				"\t\t\t\tdiff.data[indexDiff] = "+typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
@@ -414,17 +522,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void add( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("imgA","imgB","output") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
 				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
 				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexA+columns;\n" +
 				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
 				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
@@ -449,17 +554,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\tpublic static void subtract( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "
 				+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("imgA","imgB","output") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
 				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
 				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexA+columns;\n" +
 				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
 				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
@@ -483,17 +585,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void multiply( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("imgA","imgB","output") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
 				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
 				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexA+columns;\n" +
 				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
 				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
@@ -516,10 +615,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				contiguousRows("input","output") +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\t\t\tint end = indexSrc + columns;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
 				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n" +
@@ -544,17 +644,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void divide( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				contiguousRows("imgA","imgB","output") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
 				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
 				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexA+columns;\n" +
 				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
 				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
@@ -577,17 +674,14 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param output Gray scale image containing average pixel values\n" +
 				"\t */\n" +
 				"\tpublic static void averageBand( MultiSpectral<"+imageName+"> input , "+imageName+" output ) {\n" +
-				"\t\tfinal int h = input.getHeight();\n" +
-				"\t\tfinal int w = input.getWidth();\n" +
-				"\n" +
 				"\t\t"+imageName+"[] bands = input.bands;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				"\n" +
+				contiguousRows("input","output") +
+				"\t\tfor (int y = 0; y < rows; y++) {\n" +
 				"\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
 				"\t\t\tint indexOutput = output.getStartIndex() + y * output.getStride();\n" +
 				"\n" +
-				"\t\t\tint indexEnd = indexInput+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tint indexEnd = indexInput+columns;\n" +
 				"\t\t\tfor (; indexInput < indexEnd; indexInput++, indexOutput++ ) {\n" +
 				"\t\t\t\t"+sumType+" total = 0;\n" +
 				"\t\t\t\tfor( int i = 0; i < bands.length; i++ ) {\n" +
@@ -110,7 +110,7 @@ public class FactoryImageDenoise {
 
 		if( !imageType.isInteger()) {
 			WaveletDescription<WlCoef_F32> waveletDesc_F32 = FactoryWaveletDaub.daubJ_F32(4);
-			descTran = FactoryWaveletTransform.create_F32(waveletDesc_F32,numLevels,
+			descTran = FactoryWaveletTransform.createLifting_F32(waveletDesc_F32,numLevels,
 					(float)minPixelValue,(float)maxPixelValue);
 		} else {
 			WaveletDescription<WlCoef_I32> waveletDesc_I32 = FactoryWaveletDaub.biorthogonal_I32(5, BorderType.REFLECT);
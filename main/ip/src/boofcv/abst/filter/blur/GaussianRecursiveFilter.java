@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.blur;
+
+import boofcv.alg.filter.blur.impl.ImplGaussianRecursive;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Gaussian blur filter whose cost per pixel doesn't depend on sigma.  See {@link ImplGaussianRecursive}.
+ * Can be used in place of {@link BlurStorageFilter} when blurring with a Gaussian.  Since the filter has
+ * infinite support, its radius is the radius a convolution kernel with the same sigma would have.
+ *
+ * @author Peter Abeles
+ */
+public class GaussianRecursiveFilter<T extends ImageSingleBand> implements BlurFilter<T> {
+
+	ImplGaussianRecursive alg = new ImplGaussianRecursive();
+
+	// stores intermediate results when the input isn't floating point
+	private ImageFloat32 storage;
+
+	// type of image it processes
+	Class<T> inputType;
+
+	/**
+	 * Configures the filter
+	 *
+	 * @param inputType Type of image it processes.  {@link ImageUInt8} or {@link ImageFloat32}
+	 * @param sigma Gaussian's standard deviation.  Must be &gt; 0
+	 */
+	public GaussianRecursiveFilter( Class<T> inputType , double sigma ) {
+		if( inputType != ImageFloat32.class && inputType != ImageUInt8.class )
+			throw new IllegalArgumentException("Unsupported image type: "+inputType.getSimpleName());
+		this.inputType = inputType;
+		alg.setSigma(sigma);
+	}
+
+	public double getSigma() {
+		return alg.getSigma();
+	}
+
+	public void setSigma( double sigma ) {
+		alg.setSigma(sigma);
+	}
+
+	@Override
+	public int getRadius() {
+		return FactoryKernelGaussian.radiusForSigma(alg.getSigma(), 0);
+	}
+
+	/**
+	 * Sets sigma to the value which a convolution kernel with this radius would use.
+	 */
+	@Override
+	public void setRadius(int radius) {
+		alg.setSigma(FactoryKernelGaussian.sigmaForRadius(radius, 0));
+	}
+
+	@Override
+	public void process(T input, T output) {
+		if( input instanceof ImageFloat32 ) {
+			alg.horizontal((ImageFloat32)input,(ImageFloat32)output);
+			alg.vertical((ImageFloat32)output,(ImageFloat32)output);
+		} else {
+			if( storage == null )
+				storage = new ImageFloat32(input.width,input.height);
+			else
+				storage.reshape(input.width,input.height);
+
+			alg.horizontal((ImageUInt8)input,storage);
+			alg.vertical(storage,storage);
+			ImplGaussianRecursive.round(storage,(ImageUInt8)output);
+		}
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return 0;
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return inputType;
+	}
+}
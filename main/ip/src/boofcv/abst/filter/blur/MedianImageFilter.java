@@ -27,7 +27,8 @@ import java.lang.reflect.Method;
 
 /**
  * Simplified interface for using a median filter.  Reflections are used to look up a function inside
- * of {@link BlurImageOps} which is then invoked later on.
+ * of {@link BlurImageOps} which is then invoked later on.  The algorithm used depends on the radius, see
+ * {@link BlurImageOps#MEDIAN_CONSTANT_RADIUS}.
  *
  * @author Peter Abeles
  */
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.alg.filter.derivative.FusedBlurGradient_F32;
+import boofcv.alg.filter.derivative.FusedBlurGradient_U8;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.filter.derivative.GradientThree;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.*;
+
+/**
+ * Computes the gradient of an image after it has been blurred by a Gaussian kernel.  The blur and gradient
+ * are computed in a single pass, see {@link FusedBlurGradient_F32}, which avoids saving the blurred image.
+ * The image border is always {@link BorderType#EXTENDED extended}.
+ *
+ * @author Peter Abeles
+ */
+public class ImageGradient_BlurFused<I extends ImageSingleBand, D extends ImageSingleBand>
+		implements ImageGradient<I, D> {
+
+	// which image type is processed
+	FusedBlurGradient_F32 algF32;
+	FusedBlurGradient_U8 algU8;
+
+	Class<D> derivType;
+
+	/**
+	 * Configures the operator.
+	 *
+	 * @param sigma Gaussian blur's standard deviation.  If &le; 0 then computed from the radius.
+	 * @param radius Gaussian blur's radius.  If &le; 0 then computed from sigma.
+	 * @param gradientType Gradient operator.  {@link GradientSobel} or {@link GradientThree}
+	 * @param inputType Type of input image.  {@link ImageFloat32} or {@link ImageUInt8}
+	 * @param derivType Type of derivative image.  {@link ImageFloat32} or {@link ImageSInt16}
+	 */
+	public ImageGradient_BlurFused(double sigma, int radius, Class<?> gradientType,
+								   Class<I> inputType, Class<D> derivType) {
+		this.derivType = derivType;
+		boolean sobel = isSobel(gradientType);
+
+		if( inputType == ImageFloat32.class && derivType == ImageFloat32.class ) {
+			algF32 = new FusedBlurGradient_F32(
+					FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, radius), sobel);
+		} else if( inputType == ImageUInt8.class && derivType == ImageSInt16.class ) {
+			algU8 = new FusedBlurGradient_U8(
+					FactoryKernelGaussian.gaussian(Kernel1D_I32.class, sigma, radius), sobel);
+		} else {
+			throw new IllegalArgumentException("Unsupported image types");
+		}
+	}
+
+	static boolean isSobel( Class<?> gradientType ) {
+		if( gradientType == GradientSobel.class )
+			return true;
+		else if( gradientType == GradientThree.class )
+			return false;
+		throw new IllegalArgumentException("Gradient must be GradientSobel or GradientThree");
+	}
+
+	@Override
+	public void process(I inputImage, D derivX, D derivY) {
+		if( algF32 != null )
+			algF32.process((ImageFloat32)inputImage, null, (ImageFloat32)derivX, (ImageFloat32)derivY, null, null, null);
+		else
+			algU8.process((ImageUInt8)inputImage, null, (ImageSInt16)derivX, (ImageSInt16)derivY, null, null, null);
+	}
+
+	/**
+	 * Only {@link BorderType#EXTENDED} is supported
+	 */
+	@Override
+	public void setBorderType(BorderType type) {
+		if( type != BorderType.EXTENDED )
+			throw new IllegalArgumentException("Only extended borders are supported");
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return BorderType.EXTENDED;
+	}
+
+	@Override
+	public int getBorder() {
+		return 0;
+	}
+
+	@Override
+	public ImageType<D> getDerivType() {
+		return ImageType.single(derivType);
+	}
+}
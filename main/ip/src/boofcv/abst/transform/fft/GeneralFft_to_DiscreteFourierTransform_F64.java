@@ -20,23 +20,37 @@ package boofcv.abst.transform.fft;
 
 import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
 import boofcv.alg.transform.fft.GeneralPurposeFFT_F64_2D;
+import boofcv.alg.transform.fft.GeneralPurposeFFT_F64_2D_MT;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageFloat64;
 import boofcv.struct.image.InterleavedF64;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Wrapper around {@link GeneralPurposeFFT_F64_2D} which implements {@link DiscreteFourierTransform}
+ * <p>
+ * Wrapper around {@link GeneralPurposeFFT_F64_2D} which implements {@link DiscreteFourierTransform}.  If
+ * {@link BoofConcurrency#USE_CONCURRENT} is true then {@link GeneralPurposeFFT_F64_2D_MT} is used instead.
+ * </p>
+ *
+ * <p>
+ * Creating the transform for an image size is expensive, so the transforms for the most recently
+ * used sizes are saved and reused.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class GeneralFft_to_DiscreteFourierTransform_F64
 		implements DiscreteFourierTransform<ImageFloat64,InterleavedF64>
 {
-	// previous size of input image
-	private int prevWidth = -1;
-	private int prevHeight = -1;
+	// maximum number of image sizes the transform is saved for
+	private static final int MAX_PLANS = 4;
 
-	// performs the FFT
-	private GeneralPurposeFFT_F64_2D alg;
+	// transforms for recently used image sizes, the most recent is first
+	private List<Plan> plans = new ArrayList<Plan>();
+	// transform for the current image size
+	private Plan plan;
 
 	// storage for temporary results
 	private InterleavedF64 tmp = new InterleavedF64(1,1,2);
@@ -56,7 +70,10 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 		System.arraycopy(image.data,0,transform.data,0,N);
 
 		// the transform over writes the input data
-		alg.realForwardFull(transform.data);
+		if( BoofConcurrency.USE_CONCURRENT )
+			plan.concurrent().realForwardFull(transform.data);
+		else
+			plan.alg.realForwardFull(transform.data);
 	}
 
 	@Override
@@ -77,7 +94,10 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 			workImage = tmp;
 		}
 
-		alg.complexInverse(workImage.data, true);
+		if( BoofConcurrency.USE_CONCURRENT )
+			plan.concurrent().complexInverse(workImage.data, true);
+		else
+			plan.alg.complexInverse(workImage.data, true);
 
 		// copy the real portion.  imaginary should be zeros
 		int N = image.width*image.height;
@@ -87,14 +107,27 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 	}
 
 	/**
-	 * Declare the algorithm if the image size has changed
+	 * Selects the transform for the image's size, declaring it if needed
 	 */
 	private void checkDeclareAlg(ImageFloat64 image) {
-		if( prevWidth != image.width || prevHeight != image.height ) {
-			prevWidth = image.width;
-			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F64_2D(image.height,image.width);
+		if( plan != null && plan.width == image.width && plan.height == image.height )
+			return;
+
+		plan = null;
+		for( int i = 0; i < plans.size(); i++ ) {
+			Plan p = plans.get(i);
+			if( p.width == image.width && p.height == image.height ) {
+				plan = plans.remove(i);
+				break;
+			}
+		}
+
+		if( plan == null ) {
+			plan = new Plan(image.width,image.height);
+			if( plans.size() >= MAX_PLANS )
+				plans.remove(plans.size()-1);
 		}
+		plans.add(0,plan);
 	}
 
 	@Override
@@ -106,4 +139,25 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 	public boolean isModifyInputs() {
 		return modifyInputs;
 	}
+
+	/**
+	 * Transforms for a single image size.  The concurrent transform is only declared when first used.
+	 */
+	private static class Plan {
+		int width,height;
+		GeneralPurposeFFT_F64_2D alg;
+		GeneralPurposeFFT_F64_2D_MT algConcurrent;
+
+		private Plan(int width, int height) {
+			this.width = width;
+			this.height = height;
+			alg = new GeneralPurposeFFT_F64_2D(height,width);
+		}
+
+		GeneralPurposeFFT_F64_2D_MT concurrent() {
+			if( algConcurrent == null )
+				algConcurrent = new GeneralPurposeFFT_F64_2D_MT(height,width);
+			return algConcurrent;
+		}
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.transform.wavelet.impl;
+
+import boofcv.abst.transform.wavelet.WaveletTransform;
+import boofcv.alg.transform.wavelet.UtilWavelet;
+import boofcv.alg.transform.wavelet.WaveletLifting_F32;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImageDimension;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+
+
+/**
+ * Implementation of {@link boofcv.abst.transform.wavelet.WaveletTransform} for {@link ImageFloat32} which
+ * uses the lifting scheme, see {@link WaveletLifting_F32}.  The forward transform is computed inside the
+ * output image and only one internal image is needed by the inverse.
+ *
+ * @author Peter Abeles
+ */
+public class WaveletTransformLiftingFloat32 implements WaveletTransform<ImageFloat32,ImageFloat32, WlCoef_F32> {
+
+	ImageFloat32 copy = new ImageFloat32(1,1);
+	WaveletLifting_F32 alg;
+	// number of levels in the transform
+	int numLevels;
+
+	// minimum and maximum allowed pixel values
+	float minPixelValue;
+	float maxPixelValue;
+
+	public WaveletTransformLiftingFloat32(WaveletDescription<WlCoef_F32> desc, int numLevels,
+										  float minPixelValue , float maxPixelValue ) {
+		this.alg = new WaveletLifting_F32(desc);
+		this.numLevels = numLevels;
+		this.minPixelValue = minPixelValue;
+		this.maxPixelValue = maxPixelValue;
+	}
+
+	@Override
+	public ImageFloat32 transform(ImageFloat32 original, ImageFloat32 transformed) {
+
+		if( transformed == null ) {
+			ImageDimension d = UtilWavelet.transformDimension(original,numLevels);
+			transformed = new ImageFloat32(d.width,d.height);
+		}
+
+		alg.transformN(original,transformed,numLevels);
+
+		return transformed;
+	}
+
+	@Override
+	public void invert(ImageFloat32 transformed, ImageFloat32 original) {
+		copy.reshape(transformed.width,transformed.height);
+		copy.setTo(transformed);
+
+		alg.inverseN(copy,original,numLevels,minPixelValue,maxPixelValue);
+	}
+
+	@Override
+	public int getLevels() {
+		return numLevels;
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return UtilWavelet.convertToType(alg.getDescription().getBorder());
+	}
+
+	@Override
+	public WaveletDescription<WlCoef_F32> getDescription() {
+		return alg.getDescription();
+	}
+
+	@Override
+	public Class<ImageFloat32> getOriginalType() {
+		return ImageFloat32.class;
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg;
 
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 
@@ -77,6 +78,37 @@ public class InputSanityCheck {
 			throw new IllegalArgumentException("Image heights do not match.");
 	}
 
+	/**
+	 * If the output has not been declared a new instance is declared.  If an instance of the output
+	 * is provided its bounds are checked.
+	 */
+	public static ImageBinaryPacked checkDeclare(ImageBase<?> input, ImageBinaryPacked output) {
+		if (output == null) {
+			output = new ImageBinaryPacked(input.width, input.height);
+		} else if (output.width != input.width || output.height != input.height)
+			throw new IllegalArgumentException("Width and/or height of input and output do not match.");
+		return output;
+	}
+
+	/**
+	 * If the output has not been declared a new instance is declared.  If an instance of the output
+	 * is provided its bounds are checked.
+	 */
+	public static ImageBinaryPacked checkDeclare(ImageBinaryPacked input, ImageBinaryPacked output) {
+		if (output == null) {
+			output = new ImageBinaryPacked(input.width, input.height);
+		} else if (output.width != input.width || output.height != input.height)
+			throw new IllegalArgumentException("Width and/or height of input and output do not match.");
+		return output;
+	}
+
+	public static void checkSameShape(ImageBinaryPacked imgA, ImageBinaryPacked imgB) {
+		if (imgA.width != imgB.width)
+			throw new IllegalArgumentException("Image widths do not match.");
+		if (imgA.height != imgB.height)
+			throw new IllegalArgumentException("Image heights do not match.");
+	}
+
 	public static void checkSameShape(ImagePyramid<?> imgA, ImagePyramid<?> imgB) {
 		if (imgA.getNumLayers() != imgB.getNumLayers())
 			throw new IllegalArgumentException("Number of layers do not match");
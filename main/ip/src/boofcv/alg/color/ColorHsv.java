@@ -19,7 +19,10 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorHsv;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -252,57 +255,12 @@ public class ColorHsv {
 
 		InputSanityCheck.checkSameShape(hsv, rgb);
 
-		ImageFloat32 H = hsv.getBand(0);
-		ImageFloat32 S = hsv.getBand(1);
-		ImageFloat32 V = hsv.getBand(2);
-
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		for( int row = 0; row < hsv.height; row++ ) {
-			int indexYuv = hsv.startIndex + row*hsv.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < hsv.width; col++ , indexYuv++ , indexRgb++) {
-				float h = H.data[indexRgb];
-				float s = S.data[indexRgb];
-				float v = V.data[indexRgb];
-
-				h /= d60_F64;
-				int h_int = (int)h;
-				float remainder = h - h_int;
-				float p = v * ( 1 - s );
-				float q = v * ( 1 - s * remainder );
-				float t = v * ( 1 - s * ( 1 - remainder ) );
-
-				if( h_int < 1 ) {
-					R.data[indexRgb] = v;
-					G.data[indexRgb] = t;
-					B.data[indexRgb] = p;
-				} else if( h_int < 2 ) {
-					R.data[indexRgb] = q;
-					G.data[indexRgb] = v;
-					B.data[indexRgb] = p;
-				} else if( h_int < 3 ) {
-					R.data[indexRgb] = p;
-					G.data[indexRgb] = v;
-					B.data[indexRgb] = t;
-				} else if( h_int < 4 ) {
-					R.data[indexRgb] = p;
-					G.data[indexRgb] = q;
-					B.data[indexRgb] = v;
-				} else if( h_int < 5 ) {
-					R.data[indexRgb] = t;
-					G.data[indexRgb] = p;
-					B.data[indexRgb] = v;
-				} else {
-					R.data[indexRgb] = v;
-					G.data[indexRgb] = p;
-					B.data[indexRgb] = q;
-				}
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorHsv_MT.hsvToRgb_F32(hsv,rgb);
+			return;
 		}
+
+		ImplColorHsv.hsvToRgb_F32(hsv,rgb);
 	}
 
 	/**
@@ -315,53 +273,33 @@ public class ColorHsv {
 
 		InputSanityCheck.checkSameShape(rgb, hsv);
 
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		ImageFloat32 H = hsv.getBand(0);
-		ImageFloat32 S = hsv.getBand(1);
-		ImageFloat32 V = hsv.getBand(2);
-
-		for( int row = 0; row < hsv.height; row++ ) {
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-			int indexHsv = hsv.startIndex + row*hsv.stride;
-
-			for( int col = 0; col < hsv.width; col++ , indexHsv++ , indexRgb++) {
-
-				float r = R.data[indexRgb];
-				float g = G.data[indexRgb];
-				float b = B.data[indexRgb];
-
-				float max = r > g ? ( r > b ? r : b) : ( g > b ? g : b );
-				float min = r < g ? ( r < b ? r : b) : ( g < b ? g : b );
-
-				float delta = max - min;
-
-				V.data[indexHsv] = max;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorHsv_MT.rgbToHsv_F32(rgb,hsv);
+			return;
+		}
 
-				if( max != 0 )
-					S.data[indexHsv] = delta / max;
-				else {
-					H.data[indexHsv] = Float.NaN;
-					S.data[indexHsv] = 0;
-					continue;
-				}
+		ImplColorHsv.rgbToHsv_F32(rgb,hsv);
+	}
 
-				float h;
-				if( r == max )
-					h = ( g - b ) / delta;
-				else if( g == max )
-					h = 2 + ( b - r ) / delta;
-				else
-					h = 4 + ( r - g ) / delta;
+	/**
+	 * Converts a 3-band {@link InterleavedU8} image from RGB into HSV.  "Value" will have the same range as
+	 * the input, 0:255.  Images from cameras are often in this format, so they don't need to be converted into
+	 * a {@link MultiSpectral} image first.
+	 *
+	 * @param rgb (Input) Image in RGB format
+	 * @param hsv (Output) Image in HSV format
+	 */
+	public static void rgbToHsv_U8( InterleavedU8 rgb , MultiSpectral<ImageFloat32> hsv ) {
 
-				h *= d60_F32;
-				if( h < 0 )
-					h += PI2_F32;
+		InputSanityCheck.checkSameShape(rgb, hsv);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected a 3-band interleaved image");
 
-				H.data[indexHsv] = h;
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorHsv_MT.rgbToHsv_U8(rgb,hsv);
+			return;
 		}
+
+		ImplColorHsv.rgbToHsv_U8(rgb,hsv);
 	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorHsv;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Concurrent version of {@link ColorHsv}.  The image is split into bands of rows which are converted in parallel
+ * using the same code as the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorHsv_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Converts an image from HSV into RGB using row bands.
+	 *
+	 * @see ColorHsv#hsvToRgb_F32(MultiSpectral, MultiSpectral)
+	 */
+	public static void hsvToRgb_F32( final MultiSpectral<ImageFloat32> hsv , final MultiSpectral<ImageFloat32> rgb ) {
+		InputSanityCheck.checkSameShape(hsv, rgb);
+
+		BoofConcurrency.loopBlocks(0, hsv.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorHsv.hsvToRgb_F32(hsv.subimage(0,y0,hsv.width,y1,null),
+						rgb.subimage(0,y0,rgb.width,y1,null));
+			}
+		});
+	}
+
+	/**
+	 * Converts an image from RGB into HSV using row bands.
+	 *
+	 * @see ColorHsv#rgbToHsv_F32(MultiSpectral, MultiSpectral)
+	 */
+	public static void rgbToHsv_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> hsv ) {
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		BoofConcurrency.loopBlocks(0, rgb.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorHsv.rgbToHsv_F32(rgb.subimage(0,y0,rgb.width,y1,null),
+						hsv.subimage(0,y0,hsv.width,y1,null));
+			}
+		});
+	}
+
+	/**
+	 * Converts a 3-band {@link InterleavedU8} image from RGB into HSV using row bands.
+	 *
+	 * @see ColorHsv#rgbToHsv_U8(InterleavedU8, MultiSpectral)
+	 */
+	public static void rgbToHsv_U8( final InterleavedU8 rgb , final MultiSpectral<ImageFloat32> hsv ) {
+		InputSanityCheck.checkSameShape(rgb, hsv);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected 3-band interleaved images");
+
+		BoofConcurrency.loopBlocks(0, rgb.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorHsv.rgbToHsv_U8((InterleavedU8)rgb.subimage(0,y0,rgb.width,y1,null),
+						hsv.subimage(0,y0,hsv.width,y1,null));
+			}
+		});
+	}
+}
@@ -19,8 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorLab;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -116,44 +119,12 @@ public class ColorLab {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
-		ImageUInt8 R = rgb.getBand(0);
-		ImageUInt8 G = rgb.getBand(1);
-		ImageUInt8 B = rgb.getBand(2);
-
-		ImageFloat32 L_ = lab.getBand(0);
-		ImageFloat32 A_ = lab.getBand(1);
-		ImageFloat32 B_ = lab.getBand(2);
-
-		for( int row = 0; row < lab.height; row++ ) {
-			int indexLab = lab.startIndex + row*lab.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
-				float r = (R.data[indexRgb]&0xFF)/255f;
-				float g = (G.data[indexRgb]&0xFF)/255f;
-				float b = (B.data[indexRgb]&0xFF)/255f;
-
-				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
-
-				L_.data[indexLab] = 116.0f*fy-16.0f;
-				A_.data[indexLab] = 500.0f*(fx-fy);
-				B_.data[indexLab] = 200.0f*(fy-fz);
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorLab_MT.rgbToLab_U8(rgb,lab);
+			return;
 		}
+
+		ImplColorLab.rgbToLab_U8(rgb,lab);
 	}
 
 	/**
@@ -169,43 +140,63 @@ public class ColorLab {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		ImageFloat32 L_ = lab.getBand(0);
-		ImageFloat32 A_ = lab.getBand(1);
-		ImageFloat32 B_ = lab.getBand(2);
-
-		for( int row = 0; row < lab.height; row++ ) {
-			int indexLab = lab.startIndex + row*lab.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
-				float r = R.data[indexRgb]/255f;
-				float g = G.data[indexRgb]/255f;
-				float b = B.data[indexRgb]/255f;
-
-				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
-
-				L_.data[indexLab] = 116.0f*fy-16.0f;
-				A_.data[indexLab] = 500.0f*(fx-fy);
-				B_.data[indexLab] = 200.0f*(fy-fz);
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorLab_MT.rgbToLab_F32(rgb,lab);
+			return;
+		}
+
+		ImplColorLab.rgbToLab_F32(rgb,lab);
+	}
+
+	/**
+	 * Convert a 3-band {@link InterleavedU8} image from RGB into LAB.  RGB is assumed to have a range from 0:255.
+	 * Images from cameras are often in this format, so they don't need to be converted into
+	 * a {@link MultiSpectral} image first.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) LAB encoded image
+	 */
+	public static void rgbToLab_U8( InterleavedU8 rgb , MultiSpectral<ImageFloat32> lab ) {
+
+		InputSanityCheck.checkSameShape(rgb, lab);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected a 3-band interleaved image");
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorLab_MT.rgbToLab_U8(rgb,lab);
+			return;
+		}
+
+		ImplColorLab.rgbToLab_U8(rgb,lab);
+	}
+
+	/**
+	 * <p>
+	 * Convert a 3-band {@link InterleavedU8} image from RGB into an 8-bit encoded LAB image.  RGB is assumed to
+	 * have a range from 0:255.
+	 * </p>
+	 *
+	 * <p>
+	 * To fit into 8-bits L is scaled from 0:100 to 0:255, while 128 is added to A and B.  All values are rounded
+	 * to the nearest integer and bounded to be inside of 0:255.
+	 * </p>
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) 8-bit LAB encoded image
+	 */
+	public static void rgbToLab_U8( InterleavedU8 rgb , InterleavedU8 lab ) {
+
+		InputSanityCheck.checkSameShape(rgb, lab);
+		if( rgb.numBands != 3 || lab.numBands != 3 )
+			throw new IllegalArgumentException("Expected 3-band interleaved images");
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorLab_MT.rgbToLab_U8(rgb,lab);
+			return;
 		}
+
+		ImplColorLab.rgbToLab_U8(rgb,lab);
 	}
 }
@@ -19,8 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorXyz;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -110,28 +113,12 @@ public class ColorXyz {
 
 		InputSanityCheck.checkSameShape(xyz, rgb);
 
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		ImageFloat32 X = xyz.getBand(0);
-		ImageFloat32 Y = xyz.getBand(1);
-		ImageFloat32 Z = xyz.getBand(2);
-
-		for( int row = 0; row < xyz.height; row++ ) {
-			int indexXyz = xyz.startIndex + row*xyz.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb++) {
-				float r = R.data[indexRgb]/255f;
-				float g = G.data[indexRgb]/255f;
-				float b = B.data[indexRgb]/255f;
-
-				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorXyz_MT.rgbToXyz_F32(rgb,xyz);
+			return;
 		}
+
+		ImplColorXyz.rgbToXyz_F32(rgb,xyz);
 	}
 
 	/**
@@ -147,27 +134,33 @@ public class ColorXyz {
 
 		InputSanityCheck.checkSameShape(xyz, rgb);
 
-		ImageUInt8 R = rgb.getBand(0);
-		ImageUInt8 G = rgb.getBand(1);
-		ImageUInt8 B = rgb.getBand(2);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorXyz_MT.rgbToXyz_U8(rgb,xyz);
+			return;
+		}
 
-		ImageFloat32 X = xyz.getBand(0);
-		ImageFloat32 Y = xyz.getBand(1);
-		ImageFloat32 Z = xyz.getBand(2);
+		ImplColorXyz.rgbToXyz_U8(rgb,xyz);
+	}
 
-		for( int row = 0; row < xyz.height; row++ ) {
-			int indexXyz = xyz.startIndex + row*xyz.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
+	/**
+	 * Convert a 3-band {@link InterleavedU8} image from RGB into XYZ.  RGB is assumed to have a range from 0:255.
+	 * Images from cameras are often in this format, so they don't need to be converted into
+	 * a {@link MultiSpectral} image first.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param xyz (Output) XYZ encoded image
+	 */
+	public static void rgbToXyz_U8( InterleavedU8 rgb , MultiSpectral<ImageFloat32> xyz ) {
 
-			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb++) {
-				float r = (R.data[indexRgb]&0xFF)/255f;
-				float g = (G.data[indexRgb]&0xFF)/255f;
-				float b = (B.data[indexRgb]&0xFF)/255f;
+		InputSanityCheck.checkSameShape(rgb, xyz);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected a 3-band interleaved image");
 
-				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorXyz_MT.rgbToXyz_U8(rgb,xyz);
+			return;
 		}
+
+		ImplColorXyz.rgbToXyz_U8(rgb,xyz);
 	}
 }
@@ -19,8 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorYuv;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -141,28 +144,12 @@ public class ColorYuv {
 
 		InputSanityCheck.checkSameShape(yuv,rgb);
 
-		ImageFloat32 Y = yuv.getBand(0);
-		ImageFloat32 U = yuv.getBand(1);
-		ImageFloat32 V = yuv.getBand(2);
-
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		for( int row = 0; row < yuv.height; row++ ) {
-			int indexYuv = yuv.startIndex + row*yuv.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < yuv.width; col++ , indexYuv++ , indexRgb++) {
-				float y = Y.data[indexYuv];
-				float u = U.data[indexYuv];
-				float v = V.data[indexYuv];
-
-				R.data[indexRgb] = y + 1.13983f*v;
-				G.data[indexRgb] = y - 0.39465f*u - 0.58060f*v;
-				B.data[indexRgb] = y + 2.032f*u;
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorYuv_MT.yuvToRgb_F32(yuv,rgb);
+			return;
 		}
+
+		ImplColorYuv.yuvToRgb_F32(yuv,rgb);
 	}
 
 	/**
@@ -177,30 +164,12 @@ public class ColorYuv {
 
 		InputSanityCheck.checkSameShape(yuv,rgb);
 
-		ImageFloat32 R = rgb.getBand(0);
-		ImageFloat32 G = rgb.getBand(1);
-		ImageFloat32 B = rgb.getBand(2);
-
-		ImageFloat32 Y = yuv.getBand(0);
-		ImageFloat32 U = yuv.getBand(1);
-		ImageFloat32 V = yuv.getBand(2);
-
-		for( int row = 0; row < yuv.height; row++ ) {
-			int indexYuv = yuv.startIndex + row*yuv.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < yuv.width; col++ , indexYuv++ , indexRgb++) {
-				float r = R.data[indexRgb];
-				float g = G.data[indexRgb];
-				float b = B.data[indexRgb];
-
-				float y = 0.299f*r + 0.587f*g + 0.114f*b;
-
-				Y.data[indexYuv] = y;
-				U.data[indexYuv] = 0.492f*(b-y);
-				V.data[indexYuv] = 0.877f*(r-y);
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorYuv_MT.rgbToYuv_F32(rgb,yuv);
+			return;
 		}
+
+		ImplColorYuv.rgbToYuv_F32(rgb,yuv);
 	}
 
 	/**
@@ -213,41 +182,34 @@ public class ColorYuv {
 	 */
 	public static void ycbcrToRgb_U8( MultiSpectral<ImageUInt8> yuv , MultiSpectral<ImageUInt8> rgb ) {
 
-		ImageUInt8 Y = yuv.getBand(0);
-		ImageUInt8 U = yuv.getBand(1);
-		ImageUInt8 V = yuv.getBand(2);
-
-		ImageUInt8 R = rgb.getBand(0);
-		ImageUInt8 G = rgb.getBand(1);
-		ImageUInt8 B = rgb.getBand(2);
-
-		for( int row = 0; row < yuv.height; row++ ) {
-			int indexYuv = yuv.startIndex + row*yuv.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
+		InputSanityCheck.checkSameShape(yuv,rgb);
 
-			for( int col = 0; col < yuv.width; col++ , indexYuv++ , indexRgb++) {
-				int y = 1191*((Y.data[indexYuv]&0xFF) - 16);
-				int cb = (U.data[indexYuv]&0xFF) - 128;
-				int cr = (V.data[indexYuv]&0xFF) - 128;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorYuv_MT.ycbcrToRgb_U8(yuv,rgb);
+			return;
+		}
 
-				if( y < 0 ) y = 0;
+		ImplColorYuv.ycbcrToRgb_U8(yuv,rgb);
+	}
 
-				int r = (y + 1836*cr) >> 10;
-				int g = (y - 547*cr - 218*cb) >> 10;
-				int b = (y + 2165*cb) >> 10;
+	/**
+	 * Conversion from a 3-band {@link InterleavedU8} RGB image into YCbCr.  Images from cameras are often in this
+	 * format, so they don't need to be converted into a {@link MultiSpectral} image first.
+	 *
+	 * @param rgb RGB encoded 8-bit image
+	 * @param yuv YCbCr encoded 8-bit image
+	 */
+	public static void rgbToYCbCr_U8( InterleavedU8 rgb , MultiSpectral<ImageUInt8> yuv ) {
 
-				if( r < 0 ) r = 0;
-				else if( r > 255 ) r = 255;
-				if( g < 0 ) g = 0;
-				else if( g > 255 ) g = 255;
-				if( b < 0 ) b = 0;
-				else if( b > 255 ) b = 255;
+		InputSanityCheck.checkSameShape(rgb,yuv);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected a 3-band interleaved image");
 
-				R.data[indexRgb] = (byte)r;
-				G.data[indexRgb] = (byte)g;
-				B.data[indexRgb] = (byte)b;
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ColorYuv_MT.rgbToYCbCr_U8(rgb,yuv);
+			return;
 		}
-	}
 
+		ImplColorYuv.rgbToYCbCr_U8(rgb,yuv);
+	}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorYuv;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Concurrent version of {@link ColorYuv}.  The image is split into bands of rows which are converted in parallel
+ * using the same code as the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorYuv_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Convert a 3-channel {@link MultiSpectral} image from YUV into RGB using row bands.
+	 *
+	 * @see ColorYuv#yuvToRgb_F32(MultiSpectral, MultiSpectral)
+	 */
+	public static void yuvToRgb_F32( final MultiSpectral<ImageFloat32> yuv , final MultiSpectral<ImageFloat32> rgb ) {
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		BoofConcurrency.loopBlocks(0, yuv.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorYuv.yuvToRgb_F32(yuv.subimage(0,y0,yuv.width,y1,null),
+						rgb.subimage(0,y0,rgb.width,y1,null));
+			}
+		});
+	}
+
+	/**
+	 * Convert a 3-channel {@link MultiSpectral} image from RGB into YUV using row bands.
+	 *
+	 * @see ColorYuv#rgbToYuv_F32(MultiSpectral, MultiSpectral)
+	 */
+	public static void rgbToYuv_F32( final MultiSpectral<ImageFloat32> rgb , final MultiSpectral<ImageFloat32> yuv ) {
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		BoofConcurrency.loopBlocks(0, rgb.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorYuv.rgbToYuv_F32(rgb.subimage(0,y0,rgb.width,y1,null),
+						yuv.subimage(0,y0,yuv.width,y1,null));
+			}
+		});
+	}
+
+	/**
+	 * Conversion from YCbCr to RGB using row bands.
+	 *
+	 * @see ColorYuv#ycbcrToRgb_U8(MultiSpectral, MultiSpectral)
+	 */
+	public static void ycbcrToRgb_U8( final MultiSpectral<ImageUInt8> yuv , final MultiSpectral<ImageUInt8> rgb ) {
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		BoofConcurrency.loopBlocks(0, yuv.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorYuv.ycbcrToRgb_U8(yuv.subimage(0,y0,yuv.width,y1,null),
+						rgb.subimage(0,y0,rgb.width,y1,null));
+			}
+		});
+	}
+
+	/**
+	 * Conversion from a 3-band {@link InterleavedU8} RGB image into YCbCr using row bands.
+	 *
+	 * @see ColorYuv#rgbToYCbCr_U8(InterleavedU8, MultiSpectral)
+	 */
+	public static void rgbToYCbCr_U8( final InterleavedU8 rgb , final MultiSpectral<ImageUInt8> yuv ) {
+		InputSanityCheck.checkSameShape(rgb, yuv);
+		if( rgb.numBands != 3 )
+			throw new IllegalArgumentException("Expected 3-band interleaved images");
+
+		BoofConcurrency.loopBlocks(0, rgb.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplColorYuv.rgbToYCbCr_U8((InterleavedU8)rgb.subimage(0,y0,rgb.width,y1,null),
+						yuv.subimage(0,y0,yuv.width,y1,null));
+			}
+		});
+	}
+}
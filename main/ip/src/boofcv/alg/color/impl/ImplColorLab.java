@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+import static boofcv.alg.color.ColorLab.*;
+
+/**
+ * <p>
+ * Implementation of functions in {@link boofcv.alg.color.ColorLab}.  No sanity checks are performed on the input.
+ * </p>
+ *
+ * <p>
+ * Instead of calling Math.pow() for every pixel the cube root is computed using a lookup table with linear
+ * interpolation, which is then refined by one Newton iteration.  This is several times faster and the error is
+ * about the same as single precision floating point.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplColorLab {
+
+	// number of intervals the cube root lookup table is divided into across [0,1]
+	private static final int TABLE_SIZE = 1024;
+	// values below this index are computed directly
+	private static final int MIN_TABLE_INDEX = 8;
+	// cube root of i/TABLE_SIZE
+	private static final float cubeRootTable[] = new float[ TABLE_SIZE+2 ];
+
+	static {
+		for( int i = 0; i < cubeRootTable.length; i++ ) {
+			cubeRootTable[i] = (float)Math.cbrt(i/(double)TABLE_SIZE);
+		}
+	}
+
+	/**
+	 * Computes the cube root of a non-negative number.  Values inside of [0.0078,1] are looked up, anything
+	 * else falls back onto Math.cbrt().
+	 *
+	 * @param t A number &ge; 0
+	 * @return cube root of t
+	 */
+	public static float cubeRoot( float t ) {
+		float s = t*TABLE_SIZE;
+		int i = (int)s;
+		// the cube root is too steep near zero for the table.  LAB only uses values above epsilon
+		if( i < MIN_TABLE_INDEX || i >= TABLE_SIZE )
+			return (float)Math.cbrt(t);
+
+		float y = cubeRootTable[i] + (s-i)*(cubeRootTable[i+1]-cubeRootTable[i]);
+		// one Newton step removes most of the interpolation error
+		return (2*y + t/(y*y))*(1.0f/3.0f);
+	}
+
+	/**
+	 * Non-linear function in the conversion from XYZ into LAB.
+	 */
+	private static float f( float t ) {
+		if( t > epsilon_f )
+			return cubeRoot(t);
+		else
+			return (kappa_f*t + 16.0f)/116.0f;
+	}
+
+	public static void rgbToLab_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> lab ) {
+
+		ImageUInt8 R = rgb.getBand(0);
+		ImageUInt8 G = rgb.getBand(1);
+		ImageUInt8 B = rgb.getBand(2);
+
+		ImageFloat32 L_ = lab.getBand(0);
+		ImageFloat32 A_ = lab.getBand(1);
+		ImageFloat32 B_ = lab.getBand(2);
+
+		for( int row = 0; row < lab.height; row++ ) {
+			int indexLab = lab.startIndex + row*lab.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
+				float r = (R.data[indexRgb]&0xFF)/255f;
+				float g = (G.data[indexRgb]&0xFF)/255f;
+				float b = (B.data[indexRgb]&0xFF)/255f;
+
+				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
+
+				L_.data[indexLab] = 116.0f*fy-16.0f;
+				A_.data[indexLab] = 500.0f*(fx-fy);
+				B_.data[indexLab] = 200.0f*(fy-fz);
+			}
+		}
+	}
+
+	public static void rgbToLab_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> lab ) {
+
+		ImageFloat32 R = rgb.getBand(0);
+		ImageFloat32 G = rgb.getBand(1);
+		ImageFloat32 B = rgb.getBand(2);
+
+		ImageFloat32 L_ = lab.getBand(0);
+		ImageFloat32 A_ = lab.getBand(1);
+		ImageFloat32 B_ = lab.getBand(2);
+
+		for( int row = 0; row < lab.height; row++ ) {
+			int indexLab = lab.startIndex + row*lab.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
+				float r = R.data[indexRgb]/255f;
+				float g = G.data[indexRgb]/255f;
+				float b = B.data[indexRgb]/255f;
+
+				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
+
+				L_.data[indexLab] = 116.0f*fy-16.0f;
+				A_.data[indexLab] = 500.0f*(fx-fy);
+				B_.data[indexLab] = 200.0f*(fy-fz);
+			}
+		}
+	}
+
+	public static void rgbToLab_U8( InterleavedU8 rgb , MultiSpectral<ImageFloat32> lab ) {
+
+		ImageFloat32 L_ = lab.getBand(0);
+		ImageFloat32 A_ = lab.getBand(1);
+		ImageFloat32 B_ = lab.getBand(2);
+
+		for( int row = 0; row < lab.height; row++ ) {
+			int indexLab = lab.startIndex + row*lab.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb += 3 ) {
+				float r = (rgb.data[indexRgb  ]&0xFF)/255f;
+				float g = (rgb.data[indexRgb+1]&0xFF)/255f;
+				float b = (rgb.data[indexRgb+2]&0xFF)/255f;
+
+				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
+
+				L_.data[indexLab] = 116.0f*fy-16.0f;
+				A_.data[indexLab] = 500.0f*(fx-fy);
+				B_.data[indexLab] = 200.0f*(fy-fz);
+			}
+		}
+	}
+
+	public static void rgbToLab_U8( InterleavedU8 rgb , InterleavedU8 lab ) {
+
+		for( int row = 0; row < lab.height; row++ ) {
+			int indexLab = lab.startIndex + row*lab.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < lab.width; col++ , indexLab += 3 , indexRgb += 3 ) {
+				float r = (rgb.data[indexRgb  ]&0xFF)/255f;
+				float g = (rgb.data[indexRgb+1]&0xFF)/255f;
+				float b = (rgb.data[indexRgb+2]&0xFF)/255f;
+
+				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+
+				float fx = f(X/Xr_f);
+				float fy = f(Y/Yr_f);
+				float fz = f(Z/Zr_f);
+
+				// L is scaled from [0,100] to [0,255] and A and B are offset by 128
+				int L = (int)((116.0f*fy-16.0f)*2.55f + 0.5f);
+				int A = (int)Math.floor(500.0f*(fx-fy) + 128.5f);
+				int B = (int)Math.floor(200.0f*(fy-fz) + 128.5f);
+
+				lab.data[indexLab  ] = (byte)Math.min(255,Math.max(0,L));
+				lab.data[indexLab+1] = (byte)Math.min(255,Math.max(0,A));
+				lab.data[indexLab+2] = (byte)Math.min(255,Math.max(0,B));
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * Implementation of functions in {@link boofcv.alg.color.ColorXyz}.  No sanity checks are performed on the input.
+ *
+ * @author Peter Abeles
+ */
+public class ImplColorXyz {
+
+	public static void rgbToXyz_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> xyz ) {
+
+		ImageFloat32 R = rgb.getBand(0);
+		ImageFloat32 G = rgb.getBand(1);
+		ImageFloat32 B = rgb.getBand(2);
+
+		ImageFloat32 X = xyz.getBand(0);
+		ImageFloat32 Y = xyz.getBand(1);
+		ImageFloat32 Z = xyz.getBand(2);
+
+		for( int row = 0; row < xyz.height; row++ ) {
+			int indexXyz = xyz.startIndex + row*xyz.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb++) {
+				float r = R.data[indexRgb]/255f;
+				float g = G.data[indexRgb]/255f;
+				float b = B.data[indexRgb]/255f;
+
+				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+			}
+		}
+	}
+
+	public static void rgbToXyz_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> xyz ) {
+
+		ImageUInt8 R = rgb.getBand(0);
+		ImageUInt8 G = rgb.getBand(1);
+		ImageUInt8 B = rgb.getBand(2);
+
+		ImageFloat32 X = xyz.getBand(0);
+		ImageFloat32 Y = xyz.getBand(1);
+		ImageFloat32 Z = xyz.getBand(2);
+
+		for( int row = 0; row < xyz.height; row++ ) {
+			int indexXyz = xyz.startIndex + row*xyz.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb++) {
+				float r = (R.data[indexRgb]&0xFF)/255f;
+				float g = (G.data[indexRgb]&0xFF)/255f;
+				float b = (B.data[indexRgb]&0xFF)/255f;
+
+				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+			}
+		}
+	}
+
+	public static void rgbToXyz_U8( InterleavedU8 rgb , MultiSpectral<ImageFloat32> xyz ) {
+
+		ImageFloat32 X = xyz.getBand(0);
+		ImageFloat32 Y = xyz.getBand(1);
+		ImageFloat32 Z = xyz.getBand(2);
+
+		for( int row = 0; row < xyz.height; row++ ) {
+			int indexXyz = xyz.startIndex + row*xyz.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < xyz.width; col++ , indexXyz++ , indexRgb += 3 ) {
+				float r = (rgb.data[indexRgb  ]&0xFF)/255f;
+				float g = (rgb.data[indexRgb+1]&0xFF)/255f;
+				float b = (rgb.data[indexRgb+2]&0xFF)/255f;
+
+				X.data[indexXyz] = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+				Y.data[indexXyz] = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+				Z.data[indexXyz] = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+			}
+		}
+	}
+}
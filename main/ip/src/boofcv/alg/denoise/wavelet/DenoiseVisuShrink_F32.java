@@ -21,6 +21,8 @@ package boofcv.alg.denoise.wavelet;
 import boofcv.alg.denoise.DenoiseWavelet;
 import boofcv.alg.denoise.ShrinkThresholdRule;
 import boofcv.alg.transform.wavelet.UtilWavelet;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 
 
@@ -32,6 +34,10 @@ import boofcv.struct.image.ImageFloat32;
  * </p>
  *
  * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the threshold is applied to bands of rows in parallel.
+ * </p>
+ *
+ * <p>
  * D. Donoho and I. Johnstone, "Ideal spatial adaption via wavelet shrinkage," Biometrics, Vol. 81, 425-455, 1994
  * </p>
  *
@@ -39,6 +45,11 @@ import boofcv.struct.image.ImageFloat32;
  */
 public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
 	ShrinkThresholdRule<ImageFloat32> rule = new ShrinkThresholdSoft_F32();
 
 	/**
@@ -61,10 +72,26 @@ public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 
 		ImageFloat32 subbandHH = transform.subimage(w/2,h/2,w,h, null);
 		float sigma = UtilDenoiseWavelet.estimateNoiseStdDev(subbandHH,null);
-		float threshold = (float) UtilDenoiseWavelet.universalThreshold(subbandHH,sigma);
+		final float threshold = (float) UtilDenoiseWavelet.universalThreshold(subbandHH,sigma);
 
 		// apply same threshold to all wavelet coefficients
-		rule.process(transform.subimage(innerWidth,0,w,h, null),threshold);
-		rule.process(transform.subimage(0,innerHeight,innerWidth,h, null),threshold);
+		final ImageFloat32 right = transform.subimage(innerWidth,0,w,h, null);
+		final ImageFloat32 bottom = transform.subimage(0,innerHeight,innerWidth,h, null);
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, h, MIN_BAND_HEIGHT, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					rule.process(right.subimage(0,y0,right.width,y1, null),threshold);
+					if( y1 > innerHeight ) {
+						int start = Math.max(y0,innerHeight)-innerHeight;
+						rule.process(bottom.subimage(0,start,bottom.width,y1-innerHeight, null),threshold);
+					}
+				}
+			});
+		} else {
+			rule.process(right,threshold);
+			rule.process(bottom,threshold);
+		}
 	}
 }
@@ -20,12 +20,24 @@ package boofcv.alg.denoise.wavelet;
 
 import boofcv.alg.denoise.DenoiseWavelet;
 import boofcv.alg.denoise.ShrinkThresholdRule;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
+ * <p>
  * Performs an adaptive threshold based wavelet shrinkage across each of the wavelet subbands in each
  * layer of the transformed image.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then subbands are processed in parallel.  Implementations
+ * of {@link #computeThreshold} must then be safe to call from multiple threads at once.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -55,6 +67,11 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 	 */
 	protected void performShrinkage( I transform , int numLevels ) {
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			performShrinkageConcurrent(transform, numLevels);
+			return;
+		}
+
 		// step through each layer in the pyramid.
 		for( int i = 0; i < numLevels; i++ ) {
 			int w = transform.width;
@@ -89,4 +106,40 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 		}
 
 	}
+
+	/**
+	 * Same as {@link #performShrinkage} but the subbands are processed in parallel.
+	 */
+	private void performShrinkageConcurrent( I transform , int numLevels ) {
+		final List<I> subbands = new ArrayList<I>();
+
+		for( int i = 0; i < numLevels; i++ ) {
+			int w = transform.width;
+			int h = transform.height;
+			int ww = w/2;
+			int hh = h/2;
+
+			subbands.add(transform.subimage(ww,0,w,hh, null));
+			subbands.add(transform.subimage(0,hh,ww,h, null));
+			subbands.add(transform.subimage(ww,hh,w,h, null));
+
+			transform = transform.subimage(0,0,ww,hh, null);
+		}
+
+		// subbands are ordered from largest to smallest.  Each block processes every N-th subband so that
+		// the large subbands in the first level are spread across the threads
+		final int N = BoofConcurrency.numBlocks(subbands.size(),1);
+
+		BoofConcurrency.loopBlocks(0, N, 1, new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				for( int i = i0; i < i1; i++ ) {
+					for( int j = i; j < subbands.size(); j += N ) {
+						I subband = subbands.get(j);
+						rule.process(subband,computeThreshold(subband));
+					}
+				}
+			}
+		});
+	}
 }
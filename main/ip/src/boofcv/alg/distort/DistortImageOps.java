@@ -21,10 +21,13 @@ package boofcv.alg.distort;
 import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.core.image.border.BorderType;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.ImageRectangle_F32;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.distort.PointTransform_F32;
@@ -114,6 +117,39 @@ public class DistortImageOps {
 		distorter.apply(input,output);
 	}
 
+	/**
+	 * Applies a pixel transform to a single band image and optionally processes the image concurrently.
+	 *
+	 * @see ImageDistort_MT
+	 *
+	 * @param input Input (source) image.
+	 * @param output Where the result of transforming the image image is written to.
+	 * @param transform The transform that is being applied to the image
+	 * @param skipOutsidePixels Should pixels that go outside the source image be skipped over
+	 *                          or set to the value of zero.
+	 * @param interpType Which type of pixel interpolation should be used. BILINEAR is in general recommended
+	 * @param concurrent If true the image is processed in parallel.  The transform is computed one row at a time
+	 *                   while other threads interpolate rows which have already been computed.
+	 */
+	public static <T extends ImageSingleBand>
+	void distortSingle(T input, T output,
+					   PixelTransform_F32 transform,
+					   boolean skipOutsidePixels, TypeInterpolate interpType,
+					   boolean concurrent )
+	{
+		if( !concurrent ) {
+			distortSingle(input, output, transform, skipOutsidePixels, interpType);
+			return;
+		}
+
+		Class<T> inputType = (Class<T>)input.getClass();
+		BorderType borderType = skipOutsidePixels ? BorderType.SKIP : BorderType.VALUE;
+
+		ImageDistort<T> distorter = FactoryDistort.distortConcurrent(interpType, borderType, inputType);
+		distorter.setModel(transform);
+		distorter.apply(input,output);
+	}
+
 	/**
 	 * Applies a pixel transform to a single band image.  More flexible but order to use function.
 	 *
@@ -257,6 +293,50 @@ public class DistortImageOps {
 			distortion.apply(input.getBand(band),output.getBand(band));
 	}
 
+	/**
+	 * <p>
+	 * Applies two different distortions to two different images at the same time, e.g. rectifying the left and
+	 * right images from a stereo camera.  If either distortion is an {@link ImageDistort_MT} then they are applied
+	 * one after the other since each one already uses every thread.
+	 * </p>
+	 *
+	 * <p>
+	 * The two distortions must be different instances.
+	 * </p>
+	 *
+	 * @param distortA The first distortion.
+	 * @param inputA Input image for the first distortion. Not modified.
+	 * @param outputA Output image for the first distortion. Modified.
+	 * @param distortB The second distortion.
+	 * @param inputB Input image for the second distortion. Not modified.
+	 * @param outputB Output image for the second distortion. Modified.
+	 */
+	public static <T extends ImageBase>
+	void distortPair( final ImageDistort<T> distortA , final T inputA , final T outputA ,
+					  final ImageDistort<T> distortB , final T inputB , final T outputB )
+	{
+		if( distortA == distortB )
+			throw new IllegalArgumentException("The two distortions must be different instances");
+
+		if( distortA instanceof ImageDistort_MT || distortB instanceof ImageDistort_MT ) {
+			distortA.apply(inputA,outputA);
+			distortB.apply(inputB,outputB);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, 2, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int i = index0; i < index1; i++ ) {
+					if( i == 0 )
+						distortA.apply(inputA,outputA);
+					else
+						distortB.apply(inputB,outputB);
+				}
+			}
+		});
+	}
+
 	/**
 	 * Finds an axis-aligned bounding box which would contain a image after it has been transformed.
 	 * A sanity check is done to made sure it is contained inside the destination image's bounds.
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+
+/**
+ * <p>
+ * Precomputed location in the source image of every pixel in the distorted image, encoded for bilinear
+ * interpolation using fixed point arithmetic.  For each pixel the integer coordinate of the top left
+ * interpolation sample is stored in a short and the subpixel fraction along each axis is stored in a byte.  The
+ * fraction is the bilinear weight of the right/bottom samples in units of 1/{@link #ONE}.  Six bytes are used
+ * per pixel.
+ * </p>
+ *
+ * <p>
+ * Coordinates are rounded to the nearest 1/{@link #ONE} of a pixel.  Source images can be at most 32766 pixels
+ * wide and tall.  Coordinates which are not a number are given a large negative value so that they are always
+ * outside the image.
+ * </p>
+ *
+ * <p>
+ * The table is not modified after it has been constructed.  A single table can be shared between multiple
+ * instances of {@link ImageDistortTableBilinear} and used by multiple threads at the same time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DistortTableFixed {
+
+	/**
+	 * Number of bits used to encode the subpixel fraction.
+	 */
+	public static final int FRACTION_BITS = 8;
+	/**
+	 * Value of a fraction equal to one pixel.
+	 */
+	public static final int ONE = 1 << FRACTION_BITS;
+
+	// coordinates are clamped to this range, which is guaranteed to be outside of any image
+	private static final int MIN_COORDINATE = Short.MIN_VALUE;
+	private static final int MAX_COORDINATE = Short.MAX_VALUE-1;
+
+	// size of the distorted image
+	public final int width,height;
+
+	/**
+	 * Integer coordinate of the top left sample.  Pixel (x,y) is stored at index (y*width + x)*2.  DO NOT MODIFY.
+	 */
+	public final short[] pixel;
+
+	/**
+	 * Unsigned subpixel fraction along x and y axis. Same layout as {@link #pixel}.  DO NOT MODIFY.
+	 */
+	public final byte[] fraction;
+
+	/**
+	 * Computes the table by applying the transform to every pixel in the distorted image.
+	 *
+	 * @param width Width of the distorted image.
+	 * @param height Height of the distorted image.
+	 * @param dstToSrc Transform from distorted image to source image pixels.
+	 */
+	public DistortTableFixed(int width, int height, PixelTransform_F32 dstToSrc) {
+		this(width,height);
+
+		int index = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ , index += 2 ) {
+				dstToSrc.compute(x,y);
+				encode(index,dstToSrc.distX);
+				encode(index+1,dstToSrc.distY);
+			}
+		}
+	}
+
+	/**
+	 * Converts a floating point table into a fixed point table.
+	 *
+	 * @param table Floating point table.  Not modified.
+	 */
+	public DistortTableFixed( DistortTable_F32 table ) {
+		this(table.width,table.height);
+
+		for( int i = 0; i < table.data.length; i++ ) {
+			encode(i,table.data[i]);
+		}
+	}
+
+	private DistortTableFixed(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.pixel = new short[width*height*2];
+		this.fraction = new byte[width*height*2];
+	}
+
+	private void encode( int index , float coordinate ) {
+		if( Float.isNaN(coordinate) ) {
+			pixel[index] = (short)MIN_COORDINATE;
+			fraction[index] = 0;
+			return;
+		}
+
+		int fixed;
+		if( coordinate <= MIN_COORDINATE )
+			fixed = MIN_COORDINATE*ONE;
+		else if( coordinate >= MAX_COORDINATE )
+			fixed = MAX_COORDINATE*ONE;
+		else
+			fixed = Math.round(coordinate*ONE);
+
+		pixel[index] = (short)(fixed >> FRACTION_BITS);
+		fraction[index] = (byte)(fixed & (ONE-1));
+	}
+
+	/**
+	 * Source image x-coordinate of distorted pixel (x,y) after rounding
+	 */
+	public float getX( int x , int y ) {
+		return decode((y*width + x)*2);
+	}
+
+	/**
+	 * Source image y-coordinate of distorted pixel (x,y) after rounding
+	 */
+	public float getY( int x , int y ) {
+		return decode((y*width + x)*2 + 1);
+	}
+
+	private float decode( int index ) {
+		return pixel[index] + (fraction[index] & 0xFF)/(float)ONE;
+	}
+}
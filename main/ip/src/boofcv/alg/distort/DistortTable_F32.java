@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+
+/**
+ * <p>
+ * Precomputed location in the source image of every pixel in the distorted image.  Coordinates are packed into
+ * a single float array, (x,y) interleaved in row-major order, which is much more compact than an array of
+ * point objects.
+ * </p>
+ *
+ * <p>
+ * The table is not modified after it has been constructed.  A single table can be shared between multiple
+ * instances of {@link ImageDistortCache} and used by multiple threads at the same time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DistortTable_F32 {
+
+	// size of the distorted image
+	public final int width,height;
+
+	/**
+	 * Source image coordinates.  Pixel (x,y) is stored at index (y*width + x)*2.  DO NOT MODIFY.
+	 */
+	public final float[] data;
+
+	/**
+	 * Computes the table by applying the transform to every pixel in the distorted image.
+	 *
+	 * @param width Width of the distorted image.
+	 * @param height Height of the distorted image.
+	 * @param dstToSrc Transform from distorted image to source image pixels.
+	 */
+	public DistortTable_F32(int width, int height, PixelTransform_F32 dstToSrc) {
+		this(width,height);
+		computeRows(dstToSrc,0,height);
+	}
+
+	/**
+	 * Declares storage for the table without computing it.  Rows are then filled in using {@link #computeRows}.
+	 */
+	DistortTable_F32(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.data = new float[width*height*2];
+	}
+
+	/**
+	 * Computes the source coordinate of every pixel in the specified rows
+	 *
+	 * @param dstToSrc Transform from distorted image to source image pixels.
+	 * @param y0 First row, inclusive.
+	 * @param y1 Last row, exclusive.
+	 */
+	void computeRows( PixelTransform_F32 dstToSrc , int y0 , int y1 ) {
+		int index = y0*width*2;
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				dstToSrc.compute(x,y);
+				data[index++] = dstToSrc.distX;
+				data[index++] = dstToSrc.distY;
+			}
+		}
+	}
+
+	/**
+	 * Source image x-coordinate of distorted pixel (x,y)
+	 */
+	public float getX( int x , int y ) {
+		return data[(y*width + x)*2];
+	}
+
+	/**
+	 * Source image y-coordinate of distorted pixel (x,y)
+	 */
+	public float getY( int x , int y ) {
+		return data[(y*width + x)*2 + 1];
+	}
+}
@@ -22,20 +22,26 @@ import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageSingleBand;
-import georegression.struct.point.Point2D_F32;
 
 /**
+ * <p>
  * Except for very simple functions, computing the per pixel distortion is an expensive operation.
  * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
  * again the save results are simply recalled and not computed again.
+ * </p>
+ *
+ * <p>
+ * The cache is stored in a {@link DistortTable_F32}, which is read only after being computed.  To process images
+ * in multiple threads with the same distortion, compute the table once and pass it to each thread's instance
+ * using {@link #setTable}.
+ * </p>
  *
  * @author Peter Abeles
  */
 public abstract class ImageDistortCache<T extends ImageSingleBand> implements ImageDistort<T> {
 
-	// size of output image
-	private int width=-1,height=-1;
-	private Point2D_F32 map[];
+	// source pixel coordinate for each pixel in the output image
+	private DistortTable_F32 table;
 	// sub pixel interpolation
 	private InterpolatePixelS<T> interp;
 	// handle the image border
@@ -70,6 +76,25 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		this.dstToSrc = dstToSrc;
 	}
 
+	/**
+	 * Specifies a table which has already been computed.  The table is not modified and can be shared with
+	 * other instances.  The output image must be the same size as the table.
+	 *
+	 * @param table Precomputed distortion.
+	 */
+	public void setTable( DistortTable_F32 table ) {
+		this.table = table;
+		this.dstToSrc = null;
+		this.dirty = false;
+	}
+
+	/**
+	 * Returns the table which contains the cached distortion.  Can be null if it has not yet been computed.
+	 */
+	public DistortTable_F32 getTable() {
+		return table;
+	}
+
 	@Override
 	public void apply(T srcImg, T dstImg) {
 		init(srcImg, dstImg);
@@ -95,23 +120,12 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 	}
 
 	private void init(T srcImg, T dstImg) {
-		if( dirty || width != dstImg.width || height != dstImg.height) {
-			width = dstImg.width;
-			height = dstImg.height;
-			map = new Point2D_F32[width*height];
-			for( int i = 0; i < map.length; i++ ) {
-				map[i] = new Point2D_F32();
-			}
-
-			int index = 0;
-			for( int y = 0; y < height; y++ ) {
-				for( int x = 0; x < width; x++ ) {
-					dstToSrc.compute(x,y);
-					map[index++].set(dstToSrc.distX,dstToSrc.distY);
-				}
-			}
-		} else if( dstImg.width != width || dstImg.height != height )
-			throw new IllegalArgumentException("Unexpected dstImg dimension");
+		if( dirty || table == null || table.width != dstImg.width || table.height != dstImg.height) {
+			if( dstToSrc == null )
+				throw new IllegalArgumentException("dstImg does not match the table's shape and no model was specified");
+			table = new DistortTable_F32(dstImg.width,dstImg.height,dstToSrc);
+			dirty = false;
+		}
 
 		this.srcImg = srcImg;
 		this.dstImg = dstImg;
@@ -130,18 +144,22 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		final float widthF = srcImg.getWidth()-1;
 		final float heightF = srcImg.getHeight()-1;
 
+		final float map[] = table.data;
+
 		for( int y = y0; y < y1; y++ ) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (table.width*y + x0)*2;
 			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if( s.x < minInterpX || s.x > maxInterpX || s.y < minInterpY || s.y > maxInterpY ) {
-					if( s.x < 0f || s.x > widthF || s.y < 0f || s.y > heightF )
-						assign(indexDst,(float)border.getGeneral((int)s.x,(int)s.y));
+				if( sx < minInterpX || sx > maxInterpX || sy < minInterpY || sy > maxInterpY ) {
+					if( sx < 0f || sx > widthF || sy < 0f || sy > heightF )
+						assign(indexDst,(float)border.getGeneral((int)sx,(int)sy));
 					else
-						assign(indexDst,interp.get(s.x, s.y));
+						assign(indexDst,interp.get(sx, sy));
 				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+					assign(indexDst,interp.get_fast(sx, sy));
 				}
 			}
 		}
@@ -156,16 +174,20 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		final float widthF = srcImg.getWidth()-1;
 		final float heightF = srcImg.getHeight()-1;
 
+		final float map[] = table.data;
+
 		for( int y = y0; y < y1; y++ ) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (table.width*y + x0)*2;
 			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if( s.x < minInterpX || s.x > maxInterpX || s.y < minInterpY || s.y > maxInterpY ) {
-					if( s.x >= 0f && s.x <= widthF && s.y >= 0f && s.y <= heightF )
-						assign(indexDst,interp.get(s.x, s.y));
+				if( sx < minInterpX || sx > maxInterpX || sy < minInterpY || sy > maxInterpY ) {
+					if( sx >= 0f && sx <= widthF && sy >= 0f && sy <= heightF )
+						assign(indexDst,interp.get(sx, sy));
 				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+					assign(indexDst,interp.get_fast(sx, sy));
 				}
 			}
 		}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Distorts an image using bilinear interpolation and a precomputed {@link DistortTableFixed}.  Interpolation
+ * weights are read from the table instead of being computed from floating point coordinates, which also allows
+ * 8-bit images to be processed with integer arithmetic.  Compared to {@link ImageDistortCache} the table uses
+ * less memory, but coordinates are only accurate to 1/{@link DistortTableFixed#ONE} of a pixel.
+ * </p>
+ *
+ * <p>
+ * If the table is specified using {@link #setTable} then it can be shared between several instances, e.g. one
+ * for each thread which is undistorting images from cameras with the same calibration.  Instances are not
+ * thread safe.
+ * </p>
+ *
+ * <p>
+ * Pixels whose location in the source image lies outside the image are assigned the border value at the
+ * top left sample.  If there is no border they are not modified.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortTableBilinear<T extends ImageSingleBand> implements ImageDistort<T> {
+
+	protected static final float SCALE = 1.0f/DistortTableFixed.ONE;
+
+	// source pixel coordinate for each pixel in the output image
+	protected DistortTableFixed table;
+	// handle the image border
+	private ImageBorder<T> border;
+
+	// transform
+	private PixelTransform_F32 dstToSrc;
+	private boolean dirty;
+
+	protected T srcImg;
+	protected T dstImg;
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param border How borders are handled. Can be null.
+	 */
+	public ImageDistortTableBilinear(ImageBorder<T> border) {
+		this.border = border;
+	}
+
+	@Override
+	public void setModel(PixelTransform_F32 dstToSrc) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	/**
+	 * Specifies a table which has already been computed.  The table is not modified and can be shared with
+	 * other instances.  The output image must be the same size as the table.
+	 *
+	 * @param table Precomputed distortion.
+	 */
+	public void setTable( DistortTableFixed table ) {
+		this.table = table;
+		this.dstToSrc = null;
+		this.dirty = false;
+	}
+
+	/**
+	 * Returns the table which contains the distortion.  Can be null if it has not yet been computed.
+	 */
+	public DistortTableFixed getTable() {
+		return table;
+	}
+
+	@Override
+	public void apply(T srcImg, T dstImg) {
+		apply(srcImg,dstImg,0,0,dstImg.width,dstImg.height);
+	}
+
+	@Override
+	public void apply(T srcImg, T dstImg, int dstX0, int dstY0, int dstX1, int dstY1) {
+		if( dirty || table == null || table.width != dstImg.width || table.height != dstImg.height) {
+			if( dstToSrc == null )
+				throw new IllegalArgumentException("dstImg does not match the table's shape and no model was specified");
+			table = new DistortTableFixed(dstImg.width,dstImg.height,dstToSrc);
+			dirty = false;
+		}
+		if( srcImg.width >= Short.MAX_VALUE || srcImg.height >= Short.MAX_VALUE )
+			throw new IllegalArgumentException("Source image is too large");
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+		if( border != null )
+			border.setImage(srcImg);
+
+		for( int y = dstY0; y < dstY1; y++ ) {
+			applyRow(y,dstX0,dstX1);
+		}
+	}
+
+	/**
+	 * Distorts pixels inside a single row of the output image.  Pixels whose four interpolation samples
+	 * are all inside the source image should be handled directly and all others passed to {@link #applyEdge}.
+	 *
+	 * @param y Row in the output image
+	 * @param x0 First column, inclusive
+	 * @param x1 Last column, exclusive
+	 */
+	protected abstract void applyRow( int y , int x0 , int x1 );
+
+	/**
+	 * Handles pixels which are along the source image's border or outside of it.
+	 *
+	 * @param indexDst index of the pixel in the output image
+	 * @param px integer x-coordinate of top left sample
+	 * @param py integer y-coordinate of top left sample
+	 * @param fx subpixel fraction along x-axis
+	 * @param fy subpixel fraction along y-axis
+	 */
+	protected void applyEdge( int indexDst , int px , int py , int fx , int fy ) {
+		int lastX = srcImg.width-1;
+		int lastY = srcImg.height-1;
+
+		boolean insideX = px >= 0 && (px < lastX || (px == lastX && fx == 0));
+		boolean insideY = py >= 0 && (py < lastY || (py == lastY && fy == 0));
+
+		if( insideX && insideY ) {
+			int px1 = px < lastX ? px + 1 : px;
+			int py1 = py < lastY ? py + 1 : py;
+
+			float ax = fx*SCALE;
+			float ay = fy*SCALE;
+
+			float top = get(px,py) + ax*(get(px1,py) - get(px,py));
+			float bottom = get(px,py1) + ax*(get(px1,py1) - get(px,py1));
+
+			assign(indexDst, top + ay*(bottom-top));
+		} else if( border != null ) {
+			assign(indexDst,(float)border.getGeneral(px,py));
+		}
+	}
+
+	/**
+	 * Returns the value of a pixel inside the source image
+	 */
+	protected abstract float get( int x , int y );
+
+	/**
+	 * Assigns a value to a pixel in the output image
+	 */
+	protected abstract void assign( int indexDst , float value );
+}
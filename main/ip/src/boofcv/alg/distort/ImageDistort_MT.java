@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImageDistort}.  The destination image is broken up into square tiles
+ * which are distorted in parallel using {@link BoofConcurrency}.  Each thread uses its own {@link ImageDistortCache},
+ * with its own {@link InterpolatePixelS} and {@link ImageBorder}, since neither can be safely shared.
+ * </p>
+ *
+ * <p>
+ * {@link PixelTransform_F32} stores its output inside of itself and can't be called from multiple threads at once.
+ * Instead the distortion is saved into a {@link DistortTable_F32}, which is shared by all the threads.  The
+ * table is only recomputed when the model or the shape of the destination image changes, making this class best
+ * suited for distortions which are fixed, e.g. lens distortion and stereo rectification.
+ * </p>
+ *
+ * <p>
+ * When the table needs to be recomputed the image is processed in bands of rows.  Each row of the table is
+ * computed while holding a lock on the transform and then distorted without the lock, so that while one thread
+ * is computing the transform the others are interpolating.  This way a single call costs about the same as
+ * computing the transform, instead of computing the transform and then distorting the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistort_MT<T extends ImageSingleBand> implements ImageDistort<T> {
+
+	/**
+	 * Minimum number of rows processed by a thread when the table is being computed
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	// how each thread's interpolation and border is created
+	private TypeInterpolate interpType;
+	private BorderType borderType;
+	private Class<T> imageType;
+
+	// width and height of each tile
+	private int tileSize = 64;
+
+	// source pixel coordinate for each pixel in the output image
+	private DistortTable_F32 table;
+	// transform
+	private PixelTransform_F32 dstToSrc;
+	private boolean dirty;
+
+	// distortion algorithms which are not being used by a thread
+	private final List<ImageDistortCache<T>> idle = new ArrayList<ImageDistortCache<T>>();
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interpType Type of interpolation used.
+	 * @param borderType How pixels which are outside the source image are handled.  SKIP will leave the destination
+	 *                   pixel unmodified and VALUE will set it to zero.
+	 * @param imageType Type of image being processed.
+	 */
+	public ImageDistort_MT(TypeInterpolate interpType, BorderType borderType, Class<T> imageType) {
+		this.interpType = interpType;
+		this.borderType = borderType;
+		this.imageType = imageType;
+
+		// sanity check the configuration now instead of inside a thread later on
+		idle.add(createWorker());
+	}
+
+	@Override
+	public void setModel(PixelTransform_F32 dstToSrc) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	/**
+	 * Specifies a table which has already been computed.  The table is not modified and can be shared with
+	 * other instances.  The output image must be the same size as the table.
+	 *
+	 * @param table Precomputed distortion.
+	 */
+	public void setTable( DistortTable_F32 table ) {
+		this.table = table;
+		this.dstToSrc = null;
+		this.dirty = false;
+	}
+
+	/**
+	 * Returns the table which contains the cached distortion.  Can be null if it has not yet been computed.
+	 */
+	public DistortTable_F32 getTable() {
+		return table;
+	}
+
+	@Override
+	public void apply(T srcImg, T dstImg) {
+		apply(srcImg,dstImg,0,0,dstImg.width,dstImg.height);
+	}
+
+	@Override
+	public void apply(final T srcImg, final T dstImg,
+					  final int dstX0, final int dstY0, final int dstX1, final int dstY1) {
+		if( dirty || table == null || table.width != dstImg.width || table.height != dstImg.height) {
+			if( dstToSrc == null )
+				throw new IllegalArgumentException("dstImg does not match the table's shape and no model was specified");
+			computeTableAndApply(srcImg, dstImg, dstX0, dstY0, dstX1, dstY1);
+			dirty = false;
+			return;
+		}
+
+		final DistortTable_F32 table = this.table;
+		final int tilesX = (dstX1-dstX0+tileSize-1)/tileSize;
+		final int tilesY = (dstY1-dstY0+tileSize-1)/tileSize;
+
+		if( tilesX <= 0 || tilesY <= 0 )
+			return;
+
+		BoofConcurrency.loopBlocks(0, tilesX*tilesY, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				ImageDistortCache<T> worker = acquire();
+				try {
+					worker.setTable(table);
+					for( int i = index0; i < index1; i++ ) {
+						int x0 = dstX0 + (i%tilesX)*tileSize;
+						int y0 = dstY0 + (i/tilesX)*tileSize;
+						int x1 = Math.min(dstX1,x0+tileSize);
+						int y1 = Math.min(dstY1,y0+tileSize);
+
+						worker.apply(srcImg,dstImg,x0,y0,x1,y1);
+					}
+				} finally {
+					release(worker);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the table one row at a time and distorts each row right after it has been computed.  Rows outside
+	 * of the region are still computed so that the table can be used for later calls.
+	 */
+	private void computeTableAndApply(final T srcImg, final T dstImg,
+									  final int dstX0, final int dstY0, final int dstX1, final int dstY1) {
+		final DistortTable_F32 table = new DistortTable_F32(dstImg.width,dstImg.height);
+		final PixelTransform_F32 dstToSrc = this.dstToSrc;
+
+		BoofConcurrency.loopBlocks(0, dstImg.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				ImageDistortCache<T> worker = acquire();
+				try {
+					worker.setTable(table);
+					for( int y = row0; y < row1; y++ ) {
+						// the transform can only be used by one thread at a time
+						synchronized( dstToSrc ) {
+							table.computeRows(dstToSrc,y,y+1);
+						}
+						if( y >= dstY0 && y < dstY1 && dstX0 < dstX1 )
+							worker.apply(srcImg,dstImg,dstX0,y,dstX1,y+1);
+					}
+				} finally {
+					release(worker);
+				}
+			}
+		});
+
+		this.table = table;
+	}
+
+	private ImageDistortCache<T> acquire() {
+		synchronized( idle ) {
+			if( idle.size() > 0 )
+				return idle.remove(idle.size()-1);
+		}
+		return createWorker();
+	}
+
+	private void release( ImageDistortCache<T> worker ) {
+		synchronized( idle ) {
+			idle.add(worker);
+		}
+	}
+
+	private ImageDistortCache<T> createWorker() {
+		InterpolatePixelS<T> interp = FactoryInterpolation.createPixelS(0, 255, interpType, imageType);
+
+		ImageBorder<T> border;
+		if( borderType == BorderType.SKIP )
+			border = null;
+		else if( borderType == BorderType.VALUE )
+			border = FactoryImageBorder.value(imageType, 0);
+		else
+			border = FactoryImageBorder.general(imageType, borderType);
+
+		return (ImageDistortCache<T>)FactoryDistort.distortCached(interp,border,imageType);
+	}
+
+	/**
+	 * Width and height of the square tiles the destination image is broken up into.
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	public void setTileSize(int tileSize) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be positive");
+		this.tileSize = tileSize;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.DistortTableFixed;
+import boofcv.alg.distort.ImageDistortTableBilinear;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Implementation of {@link ImageDistortTableBilinear} for {@link ImageUInt8}.  Interpolation is done using
+ * integer arithmetic and the output is rounded to the nearest integer.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortTableBilinear_U8 extends ImageDistortTableBilinear<ImageUInt8> {
+
+	private static final int BITS = DistortTableFixed.FRACTION_BITS;
+	private static final int ROUND = 1 << (2*BITS-1);
+
+	public ImplImageDistortTableBilinear_U8(ImageBorder<ImageUInt8> border) {
+		super(border);
+	}
+
+	@Override
+	protected void applyRow(int y, int x0, int x1) {
+		final short[] pixel = table.pixel;
+		final byte[] fraction = table.fraction;
+		final byte[] dataSrc = srcImg.data;
+		final byte[] dataDst = dstImg.data;
+		final int stride = srcImg.stride;
+		final int lastX = srcImg.width-1;
+		final int lastY = srcImg.height-1;
+
+		int indexTable = (table.width*y + x0)*2;
+		int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+
+		for( int x = x0; x < x1; x++ , indexDst++ , indexTable += 2 ) {
+			int px = pixel[indexTable];
+			int py = pixel[indexTable+1];
+			int fx = fraction[indexTable] & 0xFF;
+			int fy = fraction[indexTable+1] & 0xFF;
+
+			if( px >= 0 && py >= 0 && px < lastX && py < lastY ) {
+				int index = srcImg.startIndex + py*stride + px;
+
+				int p00 = dataSrc[index] & 0xFF;
+				int p10 = dataSrc[index+1] & 0xFF;
+				int p01 = dataSrc[index+stride] & 0xFF;
+				int p11 = dataSrc[index+stride+1] & 0xFF;
+
+				int top = (p00 << BITS) + fx*(p10-p00);
+				int bottom = (p01 << BITS) + fx*(p11-p01);
+
+				dataDst[indexDst] = (byte)(((top << BITS) + fy*(bottom-top) + ROUND) >> (2*BITS));
+			} else {
+				applyEdge(indexDst,px,py,fx,fy);
+			}
+		}
+	}
+
+	@Override
+	protected float get(int x, int y) {
+		return srcImg.unsafe_get(x,y);
+	}
+
+	@Override
+	protected void assign(int indexDst, float value) {
+		dstImg.data[indexDst] = (byte)(value + 0.5f);
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.binary.impl.ImplBinaryBorderOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
@@ -379,17 +380,71 @@ public class BinaryImageOps {
 	 * @return List of found contours for each blob.
 	 */
 	public static List<Contour> contour(ImageUInt8 input, ConnectRule rule, ImageSInt32 output) {
+		return contour(input,rule,output,null);
+	}
+
+	/**
+	 * Same as {@link #contour(ImageUInt8, ConnectRule, ImageSInt32)} but also computes the area, bounding box,
+	 * centroid, and second moments of each blob while the image is being labeled.
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @oaram rule Connectivity rule.  Can be 4 or 8.  8 is more commonly used.
+	 * @param output (Optional) Output labeled image. If null, an image will be declared internally.  Modified.
+	 * @param statistics (Optional) Storage for the statistics of each blob.  If null they are not computed.  Modified.
+	 * @return List of found contours for each blob.
+	 */
+	public static List<Contour> contour(ImageUInt8 input, ConnectRule rule, ImageSInt32 output,
+										BlobStatistics statistics ) {
 		if( output == null ) {
 			output = new ImageSInt32(input.width,input.height);
 		} else {
 			InputSanityCheck.checkSameShape(input,output);
 		}
 
+		// contour tracing is single threaded and would only add the cost of merging strips, so the
+		// concurrent labeling is not used here
 		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+		alg.setStatistics(statistics);
 		alg.process(input,output);
 		return alg.getContours().toList();
 	}
 
+	/**
+	 * <p>
+	 * Labels the blobs in a binary image without computing their contours.  The labeled image is the same as
+	 * the one computed by {@link #contour(ImageUInt8, ConnectRule, ImageSInt32)}.  If
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true then strips of the image are labeled concurrently.
+	 * </p>
+	 *
+	 * @see ConnectedComponentLabel_MT
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @oaram rule Connectivity rule.  Can be 4 or 8.  8 is more commonly used.
+	 * @param output (Optional) Output labeled image. If null, an image will be declared internally.  Modified.
+	 * @param statistics (Optional) Storage for the statistics of each blob.  If null they are not computed.  Modified.
+	 * @return Number of blobs found.
+	 */
+	public static int labelBlobs(ImageUInt8 input, ConnectRule rule, ImageSInt32 output,
+								 BlobStatistics statistics ) {
+		if( output == null ) {
+			output = new ImageSInt32(input.width,input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input,output);
+		}
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(rule,false);
+			alg.setStatistics(statistics);
+			alg.process(input,output);
+			return alg.getNumberOfBlobs();
+		}
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+		alg.setStatistics(statistics);
+		alg.process(input,output);
+		return alg.getContours().size();
+	}
+
 	/**
 	 * Used to change the labels in a labeled binary image.
 	 *
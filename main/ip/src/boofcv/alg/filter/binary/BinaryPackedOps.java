@@ -0,0 +1,636 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageBinaryPacked;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Binary image operations for {@link ImageBinaryPacked}.  Each operation processes 64 pixels at once using
+ * bitwise operators on whole words and produces the same results as the equivalent function in
+ * {@link BinaryImageOps}.  Neighboring pixels along a row are found by shifting a word by one bit and
+ * carrying in the bit from the adjacent word.
+ * </p>
+ *
+ * <p>
+ * Unless otherwise stated the output image can't be the same instance as the input image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BinaryPackedOps {
+
+	/**
+	 * Converts a binary {@link ImageUInt8} into a packed binary image.  Any pixel which is not zero is set to one.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output (Optional) Packed output image.  If null a new instance will be declared. Modified.
+	 * @return The packed image.
+	 */
+	public static ImageBinaryPacked convert( ImageUInt8 input , ImageBinaryPacked output ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				for( int j = 0; j < length; j++ ) {
+					// 1 if the value is not zero, without a branch
+					long v = (-(input.data[indexIn++] & 0xFF)) >>> 31;
+					word |= v << j;
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a binary {@link ImageUInt8} where each pixel has a value of 0 or 1.
+	 *
+	 * @param input Packed binary image. Not modified.
+	 * @param output (Optional) Output binary image.  If null a new instance will be declared. Modified.
+	 * @return The binary image.
+	 */
+	public static ImageUInt8 convert( ImageBinaryPacked input , ImageUInt8 output ) {
+		if( output == null )
+			output = new ImageUInt8(input.width,input.height);
+		else if( output.width != input.width || output.height != input.height )
+			throw new IllegalArgumentException("Width and/or height of input and output do not match.");
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexIn++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = input.data[indexIn];
+				for( int j = 0; j < length; j++ ) {
+					output.data[indexOut++] = (byte)((word >>> j) & 1);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicAnd( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											  ImageBinaryPacked output )
+	{
+		InputSanityCheck.checkSameShape(inputA,inputB);
+		output = InputSanityCheck.checkDeclare(inputA, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicOr( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											 ImageBinaryPacked output )
+	{
+		InputSanityCheck.checkSameShape(inputA,inputB);
+		output = InputSanityCheck.checkDeclare(inputA, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicXor( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											  ImageBinaryPacked output )
+	{
+		InputSanityCheck.checkSameShape(inputA,inputB);
+		output = InputSanityCheck.checkDeclare(inputA, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 4-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked erode4(ImageBinaryPacked input, int numTimes, ImageBinaryPacked output) {
+		output = checkOutput(input, numTimes, output);
+
+		erode4(input, output);
+		if( numTimes > 1 ) {
+			ImageBinaryPacked tmp1 = new ImageBinaryPacked(input.width,input.height);
+			ImageBinaryPacked tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				erode4(tmp2, tmp1);
+
+				ImageBinaryPacked a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 4-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked dilate4(ImageBinaryPacked input, int numTimes, ImageBinaryPacked output) {
+		output = checkOutput(input, numTimes, output);
+
+		dilate4(input, output);
+		if( numTimes > 1 ) {
+			ImageBinaryPacked tmp1 = new ImageBinaryPacked(input.width,input.height);
+			ImageBinaryPacked tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				dilate4(tmp2, tmp1);
+
+				ImageBinaryPacked a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 8-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked erode8(ImageBinaryPacked input, int numTimes, ImageBinaryPacked output) {
+		output = checkOutput(input, numTimes, output);
+
+		erode8(input, output);
+		if( numTimes > 1 ) {
+			ImageBinaryPacked tmp1 = new ImageBinaryPacked(input.width,input.height);
+			ImageBinaryPacked tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				erode8(tmp2, tmp1);
+
+				ImageBinaryPacked a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 8-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked dilate8(ImageBinaryPacked input, int numTimes, ImageBinaryPacked output) {
+		output = checkOutput(input, numTimes, output);
+
+		dilate8(input, output);
+		if( numTimes > 1 ) {
+			ImageBinaryPacked tmp1 = new ImageBinaryPacked(input.width,input.height);
+			ImageBinaryPacked tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				dilate8(tmp2, tmp1);
+
+				ImageBinaryPacked a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Binary operation which is designed to remove all pixels but ones which are on the edge of an object.
+	 * The edge is defined as lying on the object and not being surrounded by a pixel along a 4-neighborhood.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked edge4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		output = checkOutput(input, 1, output);
+
+		// a pixel is not an edge if it would survive erosion
+		erode4(input, output);
+		int N = input.stride*input.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = input.data[i] & ~output.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Binary operation which is designed to remove all pixels but ones which are on the edge of an object.
+	 * The edge is defined as lying on the object and not being surrounded by 8 pixels.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked edge8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		output = checkOutput(input, 1, output);
+
+		erode8(input, output);
+		int N = input.stride*input.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = input.data[i] & ~output.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * Binary operation which is designed to remove small bits of spurious noise.  An 8-neighborhood is used.
+	 * If a pixel is connected to less than 2 neighbors then its value zero.  If connected to more than 6 then
+	 * its value is one.  Otherwise it retains its original value.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked removePointNoise(ImageBinaryPacked input, ImageBinaryPacked output) {
+		output = checkOutput(input, 1, output);
+
+		final long data[] = input.data;
+		final int stride = input.stride;
+		final long mask = input.getLastWordMask();
+		final long neighbors[] = new long[8];
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexRow = y*stride;
+			int indexAbove = y > 0 ? indexRow - stride : -1;
+			int indexBelow = y+1 < input.height ? indexRow + stride : -1;
+
+			for( int i = 0; i < stride; i++ ) {
+				boolean notLast = i+1 < stride;
+
+				long c = data[indexRow+i];
+				long cp = i > 0 ? data[indexRow+i-1] : 0;
+				long cn = notLast ? data[indexRow+i+1] : 0;
+
+				long a = 0, ap = 0, an = 0;
+				if( indexAbove >= 0 ) {
+					a = data[indexAbove+i];
+					ap = i > 0 ? data[indexAbove+i-1] : 0;
+					an = notLast ? data[indexAbove+i+1] : 0;
+				}
+				long b = 0, bp = 0, bn = 0;
+				if( indexBelow >= 0 ) {
+					b = data[indexBelow+i];
+					bp = i > 0 ? data[indexBelow+i-1] : 0;
+					bn = notLast ? data[indexBelow+i+1] : 0;
+				}
+
+				neighbors[0] = a;
+				neighbors[1] = left(a,ap);
+				neighbors[2] = right(a,an);
+				neighbors[3] = left(c,cp);
+				neighbors[4] = right(c,cn);
+				neighbors[5] = b;
+				neighbors[6] = left(b,bp);
+				neighbors[7] = right(b,bn);
+
+				// count the number of neighbors using bit sliced addition.  s0 to s3 are the bits in the sum
+				long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+				for( int k = 0; k < 8; k++ ) {
+					long v = neighbors[k];
+					long c0 = s0 & v; s0 ^= v;
+					long c1 = s1 & c0; s1 ^= c0;
+					long c2 = s2 & c1; s2 ^= c1;
+					s3 |= c2;
+				}
+
+				// fewer than 2 neighbors and more than 6 neighbors
+				long fewer = ~(s1 | s2 | s3);
+				long more = (s0 & s1 & s2) | s3;
+
+				long value = more | (c & ~fewer);
+				if( !notLast )
+					value &= mask;
+				output.data[indexRow+i] = value;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes the image once.  Pixels outside the image are treated as being one, the same as
+	 * {@link BinaryImageOps#erode4}.
+	 */
+	private static void erode4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final long data[] = input.data;
+		final int stride = input.stride;
+		final long mask = input.getLastWordMask();
+		final long outside = ~mask;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexRow = y*stride;
+			boolean hasAbove = y > 0;
+			boolean hasBelow = y+1 < input.height;
+
+			long prev = -1L;
+			for( int i = 0; i < stride; i++ ) {
+				boolean last = i+1 == stride;
+				long c = last ? data[indexRow+i] | outside : data[indexRow+i];
+				long next = last ? -1L : data[indexRow+i+1];
+
+				long value = c & left(c,prev) & right(c,next);
+				if( hasAbove ) value &= data[indexRow+i-stride];
+				if( hasBelow ) value &= data[indexRow+i+stride];
+				if( last ) value &= mask;
+
+				output.data[indexRow+i] = value;
+				prev = c;
+			}
+		}
+	}
+
+	/**
+	 * Dilates the image once.  Pixels outside the image are treated as being zero.
+	 */
+	private static void dilate4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final long data[] = input.data;
+		final int stride = input.stride;
+		final long mask = input.getLastWordMask();
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexRow = y*stride;
+			boolean hasAbove = y > 0;
+			boolean hasBelow = y+1 < input.height;
+
+			long prev = 0;
+			for( int i = 0; i < stride; i++ ) {
+				boolean last = i+1 == stride;
+				long c = data[indexRow+i];
+				long next = last ? 0 : data[indexRow+i+1];
+
+				long value = c | left(c,prev) | right(c,next);
+				if( hasAbove ) value |= data[indexRow+i-stride];
+				if( hasBelow ) value |= data[indexRow+i+stride];
+				if( last ) value &= mask;
+
+				output.data[indexRow+i] = value;
+				prev = c;
+			}
+		}
+	}
+
+	/**
+	 * Erodes the image once using an 8-neighborhood.  The horizontal erosion of each row is computed once and
+	 * saved in a rolling buffer of three rows.
+	 */
+	private static void erode8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int stride = input.stride;
+		final long mask = input.getLastWordMask();
+		if( stride == 0 )
+			return;
+
+		long above[] = new long[ stride ];
+		long center[] = new long[ stride ];
+		long below[] = new long[ stride ];
+
+		// row above the image
+		for( int i = 0; i < stride; i++ )
+			above[i] = -1L;
+		if( input.height > 0 )
+			horizontalAnd(input, 0, center);
+
+		for( int y = 0; y < input.height; y++ ) {
+			if( y+1 < input.height ) {
+				horizontalAnd(input, y+1, below);
+			} else {
+				for( int i = 0; i < stride; i++ )
+					below[i] = -1L;
+			}
+
+			int indexRow = y*stride;
+			for( int i = 0; i < stride; i++ ) {
+				output.data[indexRow+i] = above[i] & center[i] & below[i];
+			}
+			output.data[indexRow+stride-1] &= mask;
+
+			long tmp[] = above;
+			above = center;
+			center = below;
+			below = tmp;
+		}
+	}
+
+	/**
+	 * Dilates the image once using an 8-neighborhood.  The horizontal dilation of each row is computed once and
+	 * saved in a rolling buffer of three rows.
+	 */
+	private static void dilate8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int stride = input.stride;
+		final long mask = input.getLastWordMask();
+		if( stride == 0 )
+			return;
+
+		long above[] = new long[ stride ];
+		long center[] = new long[ stride ];
+		long below[] = new long[ stride ];
+
+		if( input.height > 0 )
+			horizontalOr(input, 0, center);
+
+		for( int y = 0; y < input.height; y++ ) {
+			if( y+1 < input.height ) {
+				horizontalOr(input, y+1, below);
+			} else {
+				for( int i = 0; i < stride; i++ )
+					below[i] = 0;
+			}
+
+			int indexRow = y*stride;
+			for( int i = 0; i < stride; i++ ) {
+				output.data[indexRow+i] = above[i] | center[i] | below[i];
+			}
+			output.data[indexRow+stride-1] &= mask;
+
+			long tmp[] = above;
+			above = center;
+			center = below;
+			below = tmp;
+		}
+	}
+
+	/**
+	 * For each pixel in the row computes the 'and' of it and its left and right neighbors.  Pixels outside
+	 * the image are one.  Bits past the end of the image in the output are not defined.
+	 */
+	private static void horizontalAnd( ImageBinaryPacked input , int y , long output[] ) {
+		final long data[] = input.data;
+		final int stride = input.stride;
+		final long outside = ~input.getLastWordMask();
+		int indexRow = y*stride;
+
+		long prev = -1L;
+		for( int i = 0; i < stride; i++ ) {
+			boolean last = i+1 == stride;
+			long c = last ? data[indexRow+i] | outside : data[indexRow+i];
+			long next = last ? -1L : data[indexRow+i+1];
+
+			output[i] = c & left(c,prev) & right(c,next);
+			prev = c;
+		}
+	}
+
+	/**
+	 * For each pixel in the row computes the 'or' of it and its left and right neighbors.  Pixels outside
+	 * the image are zero.
+	 */
+	private static void horizontalOr( ImageBinaryPacked input , int y , long output[] ) {
+		final long data[] = input.data;
+		final int stride = input.stride;
+		int indexRow = y*stride;
+
+		long prev = 0;
+		for( int i = 0; i < stride; i++ ) {
+			long c = data[indexRow+i];
+			long next = i+1 == stride ? 0 : data[indexRow+i+1];
+
+			output[i] = c | left(c,prev) | right(c,next);
+			prev = c;
+		}
+	}
+
+	/**
+	 * Value of the pixel to the left of each pixel in the word
+	 *
+	 * @param word Word being processed
+	 * @param prev Word which comes before it in the row
+	 */
+	private static long left( long word , long prev ) {
+		return (word << 1) | (prev >>> 63);
+	}
+
+	/**
+	 * Value of the pixel to the right of each pixel in the word
+	 *
+	 * @param word Word being processed
+	 * @param next Word which comes after it in the row
+	 */
+	private static long right( long word , long next ) {
+		return (word >>> 1) | (next << 63);
+	}
+
+	private static ImageBinaryPacked checkOutput(ImageBinaryPacked input, int numTimes, ImageBinaryPacked output) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		if( output == input )
+			throw new IllegalArgumentException("The output can't be the same instance as the input");
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		return output;
+	}
+}
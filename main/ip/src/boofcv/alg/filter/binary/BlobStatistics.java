@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+/**
+ * <p>
+ * Statistics for each blob in a labeled image, which are accumulated one pixel at a time while the image is being
+ * labeled.  Each statistic is stored in an array of primitives which is indexed by the blob's ID.  Since blob IDs
+ * start at 1, element 0 is not used.  Arrays are only declared again when more blobs are found than they can hold.
+ * </p>
+ *
+ * <p>
+ * Raw sums are saved and the centroid and central moments are computed from them when requested.
+ * Coordinates are in pixels in the labeled image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BlobStatistics {
+
+	// number of blobs
+	private int numBlobs;
+
+	/**
+	 * Number of pixels in each blob
+	 */
+	public int area[] = new int[1];
+	/**
+	 * Bounding box of each blob.  The lower extent is inclusive and the upper extent is inclusive.
+	 */
+	public int minX[] = new int[1], minY[] = new int[1], maxX[] = new int[1], maxY[] = new int[1];
+	/**
+	 * Sum of x, y, x*x, y*y, and x*y across every pixel in the blob
+	 */
+	public long sumX[] = new long[1], sumY[] = new long[1];
+	public long sumXX[] = new long[1], sumYY[] = new long[1], sumXY[] = new long[1];
+
+	/**
+	 * Removes all blobs
+	 */
+	public void reset() {
+		numBlobs = 0;
+	}
+
+	/**
+	 * Adds a new blob with no pixels in it.
+	 *
+	 * @return ID of the new blob
+	 */
+	public int addBlob() {
+		int id = ++numBlobs;
+		if( id >= area.length )
+			resize(Math.max(id+1,area.length*2));
+		clear(id);
+		return id;
+	}
+
+	/**
+	 * Removes all blobs and then adds the specified number of blobs with no pixels
+	 *
+	 * @param numBlobs Number of blobs
+	 */
+	public void reset( int numBlobs ) {
+		this.numBlobs = numBlobs;
+		if( numBlobs >= area.length )
+			resize(numBlobs+1);
+		for( int id = 1; id <= numBlobs; id++ )
+			clear(id);
+	}
+
+	private void clear( int id ) {
+		area[id] = 0;
+		minX[id] = Integer.MAX_VALUE;
+		minY[id] = Integer.MAX_VALUE;
+		maxX[id] = Integer.MIN_VALUE;
+		maxY[id] = Integer.MIN_VALUE;
+		sumX[id] = sumY[id] = 0;
+		sumXX[id] = sumYY[id] = sumXY[id] = 0;
+	}
+
+	private void resize( int length ) {
+		area = copy(area,length);
+		minX = copy(minX,length);
+		minY = copy(minY,length);
+		maxX = copy(maxX,length);
+		maxY = copy(maxY,length);
+		sumX = copy(sumX,length);
+		sumY = copy(sumY,length);
+		sumXX = copy(sumXX,length);
+		sumYY = copy(sumYY,length);
+		sumXY = copy(sumXY,length);
+	}
+
+	private static int[] copy( int src[] , int length ) {
+		int dst[] = new int[ length ];
+		System.arraycopy(src,0,dst,0,Math.min(src.length,length));
+		return dst;
+	}
+
+	private static long[] copy( long src[] , int length ) {
+		long dst[] = new long[ length ];
+		System.arraycopy(src,0,dst,0,Math.min(src.length,length));
+		return dst;
+	}
+
+	/**
+	 * Adds a pixel to a blob
+	 *
+	 * @param id ID of the blob
+	 * @param x pixel coordinate
+	 * @param y pixel coordinate
+	 */
+	public final void add( int id , int x , int y ) {
+		area[id]++;
+		if( x < minX[id] ) minX[id] = x;
+		if( x > maxX[id] ) maxX[id] = x;
+		if( y < minY[id] ) minY[id] = y;
+		if( y > maxY[id] ) maxY[id] = y;
+		sumX[id] += x;
+		sumY[id] += y;
+		sumXX[id] += x*(long)x;
+		sumYY[id] += y*(long)y;
+		sumXY[id] += x*(long)y;
+	}
+
+	/**
+	 * Adds the statistics in another instance to this one.  Both must have the same number of blobs.
+	 *
+	 * @param src Statistics which are added to this instance.  Not modified.
+	 */
+	public void add( BlobStatistics src ) {
+		if( src.numBlobs != numBlobs )
+			throw new IllegalArgumentException("Number of blobs do not match");
+
+		for( int id = 1; id <= numBlobs; id++ ) {
+			if( src.area[id] == 0 )
+				continue;
+			area[id] += src.area[id];
+			minX[id] = Math.min(minX[id],src.minX[id]);
+			minY[id] = Math.min(minY[id],src.minY[id]);
+			maxX[id] = Math.max(maxX[id],src.maxX[id]);
+			maxY[id] = Math.max(maxY[id],src.maxY[id]);
+			sumX[id] += src.sumX[id];
+			sumY[id] += src.sumY[id];
+			sumXX[id] += src.sumXX[id];
+			sumYY[id] += src.sumYY[id];
+			sumXY[id] += src.sumXY[id];
+		}
+	}
+
+	/**
+	 * Number of blobs.  Valid IDs are from 1 to the number of blobs, inclusive.
+	 */
+	public int getNumBlobs() {
+		return numBlobs;
+	}
+
+	public int getArea( int id ) {
+		return area[id];
+	}
+
+	public double getCentroidX( int id ) {
+		return sumX[id]/(double)area[id];
+	}
+
+	public double getCentroidY( int id ) {
+		return sumY[id]/(double)area[id];
+	}
+
+	/**
+	 * Second central moment along the x-axis divided by the area, i.e. the variance of x
+	 */
+	public double getCentralXX( int id ) {
+		double cx = getCentroidX(id);
+		return sumXX[id]/(double)area[id] - cx*cx;
+	}
+
+	/**
+	 * Second central moment along the y-axis divided by the area, i.e. the variance of y
+	 */
+	public double getCentralYY( int id ) {
+		double cy = getCentroidY(id);
+		return sumYY[id]/(double)area[id] - cy*cy;
+	}
+
+	/**
+	 * Second central moment between x and y divided by the area, i.e. the covariance of x and y
+	 */
+	public double getCentralXY( int id ) {
+		return sumXY[id]/(double)area[id] - getCentroidX(id)*getCentroidY(id);
+	}
+}
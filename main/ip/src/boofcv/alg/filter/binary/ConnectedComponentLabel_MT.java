@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent connected component labeling which produces the same labeled image as
+ * {@link LinearContourLabelChang2004}.  The image is split into strips of rows which are labeled independently
+ * by a raster scan.  Equivalent labels are tracked using a union-find forest.  Strips are then merged by joining
+ * labels which touch across the boundary between two strips, and finally every pixel is assigned the ID of its
+ * blob.
+ * </p>
+ *
+ * <p>
+ * Each strip has its own range of provisional labels, which increase in raster order, and the root of every set
+ * is its smallest label.  The root of each blob is then the provisional label of its first pixel in raster order.
+ * Blob IDs are assigned in that order starting from 1, which is the same order the single threaded algorithm
+ * encounters each blob.
+ * </p>
+ *
+ * <p>
+ * Optionally the external and internal contours can be found too.  Tracing a contour can cross any number of
+ * strips, so this step is done in a single thread after the image has been labeled.  It follows the same steps
+ * as {@link LinearContourLabelChang2004} so the contours are identical.
+ * </p>
+ *
+ * <p>
+ * Blob statistics can also be computed, see {@link #setStatistics(BlobStatistics)}.  They are accumulated by each
+ * strip while pixels are assigned their blob ID and then added together.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConnectedComponentLabel_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	// connectivity rule
+	private ConnectRule rule;
+	// should it trace the contour of each blob
+	private boolean computeContours;
+
+	// union-find forest of provisional labels.  A parent always has a smaller label than its children
+	private int parent[] = new int[1];
+	// blob ID of each provisional label
+	private int blobID[] = new int[1];
+	// number of provisional labels used by the strip which starts at the row.  -1 if no strip starts there
+	private int stripLabels[] = new int[1];
+	// maximum number of provisional labels a single row can create
+	private int labelsPerRow;
+	// number of blobs found
+	private int numBlobs;
+
+	// traces edge pixels
+	private ContourTracer tracer;
+	// binary image with a border of zero.
+	private ImageUInt8 border = new ImageUInt8(1,1);
+
+	// predeclared/recycled data structures
+	private FastQueue<Point2D_I32> storagePoints = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<List<Point2D_I32>>((Class)ArrayList.class,true);
+	private FastQueue<Contour> contours = new FastQueue<Contour>(Contour.class,true);
+
+	// blob statistics.  null if they are not computed
+	private BlobStatistics statistics;
+	// statistics computed inside of each strip
+	private FastQueue<BlobStatistics> stripStatistics = new FastQueue<BlobStatistics>(BlobStatistics.class,true);
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 * @param computeContours If true then the contour of each blob will be found.
+	 */
+	public ConnectedComponentLabel_MT( ConnectRule rule , boolean computeContours ) {
+		this.rule = rule;
+		this.computeContours = computeContours;
+		if( computeContours )
+			tracer = new ContourTracer(rule);
+	}
+
+	/**
+	 * Labels blobs in the binary image.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void process( final ImageUInt8 binary , final ImageSInt32 labeled ) {
+		InputSanityCheck.checkSameShape(binary, labeled);
+
+		int width = binary.width;
+		int height = binary.height;
+
+		// a new label requires a pixel with no labeled neighbor to its left, so at most every other pixel
+		labelsPerRow = (width+1)/2;
+		int N = labelsPerRow*height+1;
+		if( parent.length < N ) {
+			parent = new int[ N ];
+			blobID = new int[ N ];
+		}
+		if( stripLabels.length < height )
+			stripLabels = new int[ height ];
+		Arrays.fill(stripLabels,0,height,-1);
+
+		BoofConcurrency.loopBlocks(0, height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				labelStrip(binary, labeled, y0, y1);
+			}
+		});
+
+		for( int y = 1; y < height; y++ ) {
+			if( stripLabels[y] >= 0 )
+				mergeBoundary(binary,labeled,y);
+		}
+
+		assignBlobIDs(height);
+
+		if( statistics == null ) {
+			BoofConcurrency.loopBlocks(0, height, MIN_BAND_HEIGHT, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					relabel(labeled, y0, y1);
+				}
+			});
+		} else {
+			stripStatistics.reset();
+			BoofConcurrency.loopBlocks(0, height, MIN_BAND_HEIGHT, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					relabelStatistics(labeled, y0, y1, growStripStatistics());
+				}
+			});
+
+			statistics.reset(numBlobs);
+			for( int i = 0; i < stripStatistics.size; i++ ) {
+				statistics.add(stripStatistics.get(i));
+			}
+		}
+
+		if( computeContours )
+			traceContours(binary,labeled);
+	}
+
+	/**
+	 * Labels the pixels inside a strip using provisional labels.  Only pixels inside the strip are considered.
+	 */
+	private void labelStrip( ImageUInt8 binary , ImageSInt32 labeled , int y0 , int y1 ) {
+		final int width = binary.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+		final int offset = y0*labelsPerRow;
+		int last = offset;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = binary.startIndex + y*binary.stride;
+			int indexOut = labeled.startIndex + y*labeled.stride;
+			int indexAbove = indexOut - labeled.stride;
+			boolean hasAbove = y > y0;
+
+			for( int x = 0; x < width; x++ ) {
+				if( binary.data[indexIn+x] == 0 ) {
+					labeled.data[indexOut+x] = 0;
+					continue;
+				}
+
+				int left = x > 0 ? labeled.data[indexOut+x-1] : 0;
+				int label;
+
+				if( !hasAbove ) {
+					label = left;
+				} else if( eight ) {
+					// the pixels above and to the left are neighbors of the pixel directly above
+					// so they are already part of the same set
+					int above = labeled.data[indexAbove+x];
+					if( above != 0 ) {
+						label = above;
+					} else {
+						if( left == 0 && x > 0 )
+							left = labeled.data[indexAbove+x-1];
+						int right = x+1 < width ? labeled.data[indexAbove+x+1] : 0;
+						label = join(left,right);
+					}
+				} else {
+					label = join(left,labeled.data[indexAbove+x]);
+				}
+
+				if( label == 0 ) {
+					label = ++last;
+					parent[label] = label;
+				}
+				labeled.data[indexOut+x] = label;
+			}
+		}
+
+		stripLabels[y0] = last - offset;
+	}
+
+	/**
+	 * Joins the sets of pixels in the first row of a strip with the sets of pixels in the row above it
+	 */
+	private void mergeBoundary( ImageUInt8 binary , ImageSInt32 labeled , int y ) {
+		final int width = binary.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+
+		int indexIn = binary.startIndex + y*binary.stride;
+		int indexOut = labeled.startIndex + y*labeled.stride;
+		int indexAbove = indexOut - labeled.stride;
+
+		for( int x = 0; x < width; x++ ) {
+			if( binary.data[indexIn+x] == 0 )
+				continue;
+
+			int label = labeled.data[indexOut+x];
+			label = join(label, labeled.data[indexAbove+x]);
+			if( eight ) {
+				if( x > 0 )
+					label = join(label, labeled.data[indexAbove+x-1]);
+				if( x+1 < width )
+					join(label, labeled.data[indexAbove+x+1]);
+			}
+		}
+	}
+
+	/**
+	 * Goes through provisional labels in increasing order and assigns blob IDs.  Since a parent always comes
+	 * before its children its ID will already be known.
+	 */
+	private void assignBlobIDs( int height ) {
+		numBlobs = 0;
+		blobID[0] = 0;
+		for( int y = 0; y < height; y++ ) {
+			if( stripLabels[y] < 0 )
+				continue;
+
+			int first = y*labelsPerRow + 1;
+			int end = first + stripLabels[y];
+			for( int i = first; i < end; i++ ) {
+				int p = parent[i];
+				blobID[i] = p == i ? ++numBlobs : blobID[p];
+			}
+		}
+	}
+
+	/**
+	 * Replaces provisional labels with blob IDs
+	 */
+	private void relabel( ImageSInt32 labeled , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			int end = index + labeled.width;
+
+			for( ; index < end; index++ ) {
+				labeled.data[index] = blobID[labeled.data[index]];
+			}
+		}
+	}
+
+	/**
+	 * Replaces provisional labels with blob IDs and adds each pixel to the statistics of its blob
+	 */
+	private void relabelStatistics( ImageSInt32 labeled , int y0 , int y1 , BlobStatistics stats ) {
+		stats.reset(numBlobs);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+
+			for( int x = 0; x < labeled.width; x++ , index++ ) {
+				int id = blobID[labeled.data[index]];
+				labeled.data[index] = id;
+				if( id != 0 )
+					stats.add(id,x,y);
+			}
+		}
+	}
+
+	/**
+	 * Returns storage for the statistics of a strip.  Called from multiple threads.
+	 */
+	private BlobStatistics growStripStatistics() {
+		synchronized ( stripStatistics ) {
+			return stripStatistics.grow();
+		}
+	}
+
+	/**
+	 * Traces contours using the same steps as {@link LinearContourLabelChang2004}.  Pixels are already labeled
+	 * so a new blob is found when the first pixel with its ID is encountered.
+	 */
+	private void traceContours( ImageUInt8 binary , ImageSInt32 labeled ) {
+		// ensure that the image border pixels are filled with zero by enlarging the image
+		if( border.width != binary.width+2 || border.height != binary.height+2)  {
+			border.reshape(binary.width + 2, binary.height + 2);
+			ImageMiscOps.fillBorder(border, 0, 1);
+		}
+		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
+
+		storagePoints.reset();
+		storageLists.reset();
+		contours.reset();
+		tracer.setInputs(border,labeled,storagePoints);
+
+		for( int y = 1; y < border.height-1; y++ ) {
+			int indexIn = border.startIndex + y*border.stride+1;
+			int indexOut = labeled.startIndex + (y-1)*labeled.stride;
+
+			for( int x = 1; x < border.width-1; x++ , indexIn++ , indexOut++) {
+				if( border.data[indexIn] != 1 )
+					continue;
+
+				int label = labeled.data[indexOut];
+
+				// first pixel in a new blob, which must be on its external contour
+				if( label > contours.size ) {
+					Contour c = contours.grow();
+					c.reset();
+					c.id = label;
+					tracer.trace(label,x,y,true,c.external);
+				}
+				// pixel below is part of an internal contour which has not been traced yet
+				if( border.data[indexIn + border.stride ] == 0 ) {
+					Contour c = contours.get(label-1);
+					List<Point2D_I32> inner = storageLists.grow();
+					inner.clear();
+					c.internal.add(inner);
+					tracer.trace(label,x,y,false,inner);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Joins the two sets and returns the root.  A label of zero is background and is ignored.
+	 */
+	private int join( int a , int b ) {
+		if( a == 0 )
+			return b;
+		if( b == 0 || a == b )
+			return a;
+
+		int rootA = find(a);
+		int rootB = find(b);
+
+		if( rootA < rootB ) {
+			parent[rootB] = rootA;
+			return rootA;
+		} else {
+			parent[rootA] = rootB;
+			return rootB;
+		}
+	}
+
+	/**
+	 * Finds the root of the set using path halving
+	 */
+	private int find( int label ) {
+		while( parent[label] != label ) {
+			int p = parent[parent[label]];
+			parent[label] = p;
+			label = p;
+		}
+		return label;
+	}
+
+	/**
+	 * Number of blobs found in the most recently processed image
+	 */
+	public int getNumberOfBlobs() {
+		return numBlobs;
+	}
+
+	/**
+	 * Contours of each blob in the most recently processed image.  Only available if the contours are being
+	 * computed.
+	 */
+	public FastQueue<Contour> getContours() {
+		if( !computeContours )
+			throw new IllegalArgumentException("Contours are not being computed");
+		return contours;
+	}
+
+	/**
+	 * Specifies where blob statistics are saved when they are accumulated while the image is being labeled.
+	 * By default they are not computed.
+	 *
+	 * @param statistics Storage for blob statistics or null to not compute them
+	 */
+	public void setStatistics( BlobStatistics statistics ) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Statistics for each blob found in the most recently processed image.  The statistics of the blob with
+	 * ID 'i' are at index 'i'.
+	 *
+	 * @return Blob statistics or null if they are not computed
+	 */
+	public BlobStatistics getStatistics() {
+		return statistics;
+	}
+
+	public ConnectRule getRule() {
+		return rule;
+	}
+
+	public boolean isComputeContours() {
+		return computeContours;
+	}
+}
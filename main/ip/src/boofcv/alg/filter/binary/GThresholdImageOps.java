@@ -134,4 +134,63 @@ public class GThresholdImageOps {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * <p>
+	 * Same as {@link #adaptiveSquare} but the local mean is computed while streaming through the image, so no
+	 * intermediate images are needed.  The mean is not rounded for integer images.
+	 * See {@link ThresholdLocalStreaming}.
+	 * </p>
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param radius Radius of square region.
+	 * @param bias Bias used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 * @return Thresholded image.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 adaptiveSquareStreaming( T input , ImageUInt8 output ,
+										int radius , double bias , boolean down )
+	{
+		ThresholdLocalStreaming alg = new ThresholdLocalStreaming(radius,down);
+		alg.configureMean(bias);
+
+		return process(alg,input,output);
+	}
+
+	/**
+	 * <p>
+	 * Thresholds the image using Sauvola's rule, which is computed from the mean and standard deviation inside
+	 * a local square region centered on each pixel.  The threshold is T(x,y) = mean(x,y)*(1 + k*(std(x,y)/128 - 1)),
+	 * which assumes that pixel values range from 0 to 255.  If down is true then b(x,y) = I(x,y) <= T(x,y) ? 1 : 0.
+	 * Otherwise b(x,y) = I(x,y) >= T(x,y) ? 1 : 0.  See {@link ThresholdLocalStreaming}.
+	 * </p>
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param radius Radius of square region.
+	 * @param k Positive weight which controls how much the threshold drops in low contrast regions.  Try 0.3
+	 * @param down Should it threshold up or down.
+	 * @return Thresholded image.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 adaptiveSauvola( T input , ImageUInt8 output ,
+								int radius , double k , boolean down )
+	{
+		ThresholdLocalStreaming alg = new ThresholdLocalStreaming(radius,down);
+		alg.configureSauvola(k,128);
+
+		return process(alg,input,output);
+	}
+
+	private static ImageUInt8 process( ThresholdLocalStreaming alg , ImageSingleBand input , ImageUInt8 output ) {
+		if( input instanceof ImageFloat32 ) {
+			return alg.process((ImageFloat32)input,output);
+		} else if( input instanceof ImageUInt8 ) {
+			return alg.process((ImageUInt8)input,output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
 }
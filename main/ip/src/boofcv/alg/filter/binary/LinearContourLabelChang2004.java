@@ -48,6 +48,11 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Optionally, statistics for each blob (area, bounding box, centroid, and second moments) can be accumulated
+ * while the image is being labeled.  See {@link #setStatistics(BlobStatistics)}.
+ * </p>
+ *
+ * <p>
  * [1] Fu Chang and Chun-jen Chen and Chi-jen Lu, "A linear-time component-labeling algorithm using contour
  * tracing technique" Computer Vision and Image Understanding, 2004
  * </p>
@@ -67,6 +72,9 @@ public class LinearContourLabelChang2004 {
 	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<List<Point2D_I32>>((Class)ArrayList.class,true);
 	private FastQueue<Contour> contours = new FastQueue<Contour>(Contour.class,true);
 
+	// blob statistics.  null if they are not computed
+	private BlobStatistics statistics;
+
 	// internal book keeping variables
 	private int x,y,indexIn,indexOut;
 
@@ -102,6 +110,8 @@ public class LinearContourLabelChang2004 {
 		storagePoints.reset();
 		storageLists.reset();
 		contours.reset();
+		if( statistics != null )
+			statistics.reset();
 		tracer.setInputs(binary,labeled,storagePoints);
 
 		// Outside border is all zeros so it can be ignored
@@ -133,6 +143,9 @@ public class LinearContourLabelChang2004 {
 				if( !handled ) {
 					handleStep3(labeled);
 				}
+				// each pixel is visited once here, unlike the tracer, so this is where its statistics are added
+				if( statistics != null )
+					statistics.add(labeled.data[indexOut],x-1,y-1);
 			}
 		}
 	}
@@ -141,6 +154,26 @@ public class LinearContourLabelChang2004 {
 		return contours;
 	}
 
+	/**
+	 * Specifies where blob statistics are saved when they are accumulated while the image is being labeled.
+	 * By default they are not computed.
+	 *
+	 * @param statistics Storage for blob statistics or null to not compute them
+	 */
+	public void setStatistics( BlobStatistics statistics ) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Statistics for each blob found in the most recently processed image.  The statistics of the blob with
+	 * ID 'i' are at index 'i'.
+	 *
+	 * @return Blob statistics or null if they are not computed
+	 */
+	public BlobStatistics getStatistics() {
+		return statistics;
+	}
+
 	/**
 	 *  Step 1: If the pixel is unlabeled and the pixel above is white, then it
 	 *          must be an external contour of a newly encountered blob.
@@ -150,6 +183,8 @@ public class LinearContourLabelChang2004 {
 		c.reset();
 		c.id = contours.size();
 		tracer.trace(contours.size(),x,y,true,c.external);
+		if( statistics != null )
+			statistics.addBlob();
 	}
 
 	/**
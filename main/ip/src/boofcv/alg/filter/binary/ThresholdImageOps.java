@@ -84,6 +84,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageFloat32 input , ImageBinaryPacked output ,
+													float threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
 	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
@@ -133,6 +174,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageFloat64 input , ImageBinaryPacked output ,
+													double threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
 	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
@@ -182,6 +264,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageUInt8 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]& 0xFF) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]& 0xFF) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
 	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
@@ -231,6 +354,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageSInt16 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
 	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
@@ -280,6 +444,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageUInt16 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]& 0xFFFF) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]& 0xFFFF) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  If 'down' is true, then pixels with values <=
 	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >=
@@ -329,6 +534,47 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a packed
+	 * binary image.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the
+	 * others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1 and
+	 * the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageSInt32 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS , indexOut++ ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width-x);
+
+				long word = 0;
+				if( down ) {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) <= threshold ? 1L : 0L) << j;
+					}
+				} else {
+					for( int j = 0; j < length; j++ , indexIn++ ) {
+						word |= ((input.data[indexIn]) >= threshold ? 1L : 0L) << j;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * Thresholds the image using an adaptive threshold that is computed using a local square region centered
 	 * on each pixel.  The threshold is equal to the average value of the surrounding pixels plus the bias.
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Adaptive threshold which is computed from the mean and variance inside a local square region centered on each
+ * pixel.  Unlike {@link ThresholdImageOps#adaptiveSquare}, the local statistics are not written to an intermediate
+ * image.  The image is processed one row at a time and sums for each column of the square region are updated by
+ * adding the row which enters the region and removing the row which leaves it.  Only a few arrays the width of
+ * the image are needed and the input is read twice, once when a row enters the region and once when it leaves.
+ * At the image border the region is clipped to the inside of the image.
+ * </p>
+ *
+ * <p>
+ * Two rules for computing the threshold T(x,y) are supported:
+ * <ul>
+ * <li>Mean: T(x,y) = mean(x,y) + bias.  Same as {@link ThresholdImageOps#adaptiveSquare} for ImageFloat32.
+ * For ImageUInt8 the mean is not rounded to an integer, while adaptiveSquare rounds the mean after both the
+ * horizontal and vertical pass.  Pixels which are within 1 of the threshold can be different.</li>
+ * <li>Sauvola [1]: T(x,y) = mean(x,y)*(1 + k*(std(x,y)/R - 1)), where std is the local standard deviation
+ * and R is the dynamic range of the standard deviation.</li>
+ * </ul>
+ * If down is true then b(x,y) = I(x,y) <= T(x,y) ? 1 : 0.  Otherwise b(x,y) = I(x,y) >= T(x,y) ? 1 : 0.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is split into bands of rows which are
+ * processed in parallel.  Each band starts its column sums from scratch.  For ImageUInt8 the sums are exact and
+ * the output is identical.  For ImageFloat32 the sums can differ by round off error.
+ * </p>
+ *
+ * <p>
+ * [1] J. Sauvola and M. Pietikainen, "Adaptive document image binarization" Pattern Recognition, 2000
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ThresholdLocalStreaming {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	// radius of the square region
+	private int radius;
+	// threshold down or up
+	private boolean down;
+
+	// if true the Sauvola rule is used, otherwise the mean rule
+	private boolean sauvola;
+	// bias added to the mean
+	private double bias;
+	// Sauvola's parameters
+	private double k, range;
+
+	// storage for each band of rows
+	private FastQueue<RowBuffers> buffers = new FastQueue<RowBuffers>(RowBuffers.class,true);
+
+	/**
+	 * Configures the algorithm.  By default the mean rule is used with a bias of zero.
+	 *
+	 * @param radius Radius of the square region.  Must be &gt; 0
+	 * @param down Should it threshold up or down.
+	 */
+	public ThresholdLocalStreaming( int radius , boolean down ) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+		this.radius = radius;
+		this.down = down;
+	}
+
+	/**
+	 * Use the mean of the local region plus a bias as the threshold.
+	 *
+	 * @param bias Bias used to adjust threshold
+	 */
+	public void configureMean( double bias ) {
+		this.sauvola = false;
+		this.bias = bias;
+	}
+
+	/**
+	 * Use Sauvola's rule to compute the threshold.
+	 *
+	 * @param k Positive weight which controls how much the threshold drops in low contrast regions.  Try 0.3
+	 * @param range Dynamic range of the standard deviation.  128 for 8-bit images.
+	 */
+	public void configureSauvola( double k , double range ) {
+		this.sauvola = true;
+		this.k = k;
+		this.range = range;
+	}
+
+	/**
+	 * Thresholds the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output binary image.  If null it will be declared internally.  Modified.
+	 * @return Thresholded image.
+	 */
+	public ImageUInt8 process( ImageUInt8 input , ImageUInt8 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		processImage(input,output);
+		return output;
+	}
+
+	/**
+	 * Thresholds the image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output binary image.  If null it will be declared internally.  Modified.
+	 * @return Thresholded image.
+	 */
+	public ImageUInt8 process( ImageFloat32 input , ImageUInt8 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		processImage(input,output);
+		return output;
+	}
+
+	private void processImage( final ImageSingleBand input , final ImageUInt8 output ) {
+		buffers.reset();
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					processRows(input, output, y0, y1, growBuffers());
+				}
+			});
+		} else {
+			processRows(input, output, 0, input.height, buffers.grow());
+		}
+	}
+
+	/**
+	 * Returns storage for a band of rows.  Called from multiple threads.
+	 */
+	private RowBuffers growBuffers() {
+		synchronized ( buffers ) {
+			return buffers.grow();
+		}
+	}
+
+	/**
+	 * Thresholds rows from y0 to y1-1.  The column sums are initialized using all the rows inside the region
+	 * of the first row.
+	 */
+	private void processRows( ImageSingleBand input , ImageUInt8 output , int y0 , int y1 , RowBuffers b ) {
+		int width = input.width;
+		int height = input.height;
+
+		b.resize(width);
+		Arrays.fill(b.colSum,0,width,0);
+		Arrays.fill(b.colSq,0,width,0);
+
+		for( int y = Math.max(0,y0-radius); y < Math.min(height,y0+radius+1); y++ ) {
+			updateColumns(input, y, 1, b);
+		}
+
+		for( int x = 0; x < width; x++ ) {
+			b.cols[x] = Math.min(width,x+radius+1) - Math.max(0,x-radius);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 ) {
+				if( y+radius < height )
+					updateColumns(input, y+radius, 1, b);
+				if( y-radius-1 >= 0 )
+					updateColumns(input, y-radius-1, -1, b);
+			}
+
+			int rows = Math.min(height,y+radius+1) - Math.max(0,y-radius);
+
+			slideWindow(b.colSum, b.winSum, width);
+			if( sauvola )
+				slideWindow(b.colSq, b.winSq, width);
+
+			copyRow(input, y, b.pixel);
+
+			int indexOut = output.startIndex + y*output.stride;
+			if( sauvola )
+				thresholdSauvola(b, rows, width, output.data, indexOut);
+			else
+				thresholdMean(b, rows, width, output.data, indexOut);
+		}
+	}
+
+	/**
+	 * Adds or removes a row from the column sums
+	 */
+	private void updateColumns( ImageSingleBand input , int y , double sign , RowBuffers b ) {
+		copyRow(input, y, b.pixel);
+
+		int width = input.width;
+		double colSum[] = b.colSum;
+		double pixel[] = b.pixel;
+
+		if( sauvola ) {
+			double colSq[] = b.colSq;
+			for( int x = 0; x < width; x++ ) {
+				double v = pixel[x];
+				colSum[x] += sign*v;
+				colSq[x] += sign*v*v;
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				colSum[x] += sign*pixel[x];
+			}
+		}
+	}
+
+	/**
+	 * Sum of the column sums inside the region of each pixel in the row
+	 */
+	private void slideWindow( double colSum[] , double winSum[] , int width ) {
+		double sum = 0;
+		for( int x = 0; x < Math.min(width,radius+1); x++ ) {
+			sum += colSum[x];
+		}
+		winSum[0] = sum;
+
+		for( int x = 1; x < width; x++ ) {
+			if( x+radius < width )
+				sum += colSum[x+radius];
+			if( x-radius-1 >= 0 )
+				sum -= colSum[x-radius-1];
+			winSum[x] = sum;
+		}
+	}
+
+	private void copyRow( ImageSingleBand input , int y , double pixel[] ) {
+		if( input instanceof ImageUInt8 ) {
+			ImageUInt8 image = (ImageUInt8)input;
+			int index = image.startIndex + y*image.stride;
+			for( int x = 0; x < image.width; x++ ) {
+				pixel[x] = image.data[index++] & 0xFF;
+			}
+		} else {
+			ImageFloat32 image = (ImageFloat32)input;
+			int index = image.startIndex + y*image.stride;
+			for( int x = 0; x < image.width; x++ ) {
+				pixel[x] = image.data[index++];
+			}
+		}
+	}
+
+	/**
+	 * Mean rule.  To avoid a division, I <= sum/N + bias is computed as I*N <= sum + bias*N
+	 */
+	private void thresholdMean( RowBuffers b , int rows , int width , byte output[] , int indexOut ) {
+		double pixel[] = b.pixel;
+		double winSum[] = b.winSum;
+		int cols[] = b.cols;
+
+		if( down ) {
+			for( int x = 0; x < width; x++ ) {
+				int N = rows*cols[x];
+				output[indexOut++] = (byte)(pixel[x]*N <= winSum[x] + bias*N ? 1 : 0);
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				int N = rows*cols[x];
+				output[indexOut++] = (byte)(pixel[x]*N >= winSum[x] + bias*N ? 1 : 0);
+			}
+		}
+	}
+
+	private void thresholdSauvola( RowBuffers b , int rows , int width , byte output[] , int indexOut ) {
+		double pixel[] = b.pixel;
+		double winSum[] = b.winSum;
+		double winSq[] = b.winSq;
+		int cols[] = b.cols;
+
+		for( int x = 0; x < width; x++ ) {
+			double N = rows*cols[x];
+			double mean = winSum[x]/N;
+			double variance = winSq[x]/N - mean*mean;
+			// round off error can make it slightly negative
+			double std = variance > 0 ? Math.sqrt(variance) : 0;
+			double threshold = mean*(1 + k*(std/range - 1));
+
+			if( down )
+				output[indexOut++] = (byte)(pixel[x] <= threshold ? 1 : 0);
+			else
+				output[indexOut++] = (byte)(pixel[x] >= threshold ? 1 : 0);
+		}
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public boolean isDown() {
+		return down;
+	}
+
+	/**
+	 * Arrays which store the sums for a band of rows
+	 */
+	public static class RowBuffers {
+		// sum of each column inside the region
+		double colSum[] = new double[0];
+		// sum of squares of each column inside the region
+		double colSq[] = new double[0];
+		// sum of all the pixels inside the region of each pixel in the current row
+		double winSum[] = new double[0];
+		// sum of squares of all the pixels inside the region of each pixel in the current row
+		double winSq[] = new double[0];
+		// copy of the current row
+		double pixel[] = new double[0];
+		// number of columns in the region of each pixel
+		int cols[] = new int[0];
+
+		public void resize( int width ) {
+			if( colSum.length < width ) {
+				colSum = new double[ width ];
+				colSq = new double[ width ];
+				winSum = new double[ width ];
+				winSq = new double[ width ];
+				pixel = new double[ width ];
+				cols = new int[ width ];
+			}
+		}
+	}
+}
@@ -19,6 +19,9 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplGaussianRecursive;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
@@ -26,6 +29,7 @@ import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageFloat32;
@@ -41,6 +45,12 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class BlurImageOps {
 
+	/**
+	 * Median filters for {@link ImageUInt8} with a radius at least this large use
+	 * {@link ImplMedianHistogramConstant}, whose cost per pixel doesn't grow with the radius.
+	 */
+	public static int MEDIAN_CONSTANT_RADIUS = 4;
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -65,7 +75,8 @@ public class BlurImageOps {
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Applies a median filter.  Large radii are processed in constant time per pixel, see
+	 * {@link #MEDIAN_CONSTANT_RADIUS}.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
@@ -78,6 +89,14 @@ public class BlurImageOps {
 
 		output = InputSanityCheck.checkDeclare(input,output);
 
+		if( radius >= MEDIAN_CONSTANT_RADIUS ) {
+			if( BoofConcurrency.USE_CONCURRENT )
+				ImplMedianHistogramConstant_MT.process(input, output, radius);
+			else
+				new ImplMedianHistogramConstant().process(input, output, radius);
+			return output;
+		}
+
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
 		int histogram[] = new int[ 256 ];
@@ -111,6 +130,30 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur using a recursive filter, see {@link ImplGaussianRecursive}.  The cost per pixel is
+	 * independent of sigma, making it faster than {@link #gaussian} for large sigmas.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &gt; 0
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussianRecursive(ImageUInt8 input, ImageUInt8 output, double sigma,
+											   ImageFloat32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageFloat32.class);
+
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+		alg.setSigma(sigma);
+		alg.horizontal(input,storage);
+		alg.vertical(storage,storage);
+		ImplGaussianRecursive.round(storage,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -178,6 +221,26 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur using a recursive filter, see {@link ImplGaussianRecursive}.  The cost per pixel is
+	 * independent of sigma, making it faster than {@link #gaussian} for large sigmas.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &gt; 0
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussianRecursive(ImageFloat32 input, ImageFloat32 output, double sigma ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+		alg.setSigma(sigma);
+		alg.horizontal(input,output);
+		alg.vertical(output,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies mean box filter to a {@link MultiSpectral}
 	 *
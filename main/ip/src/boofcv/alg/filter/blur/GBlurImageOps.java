@@ -97,4 +97,27 @@ public class GBlurImageOps {
 			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Applies Gaussian blur to a {@link ImageSingleBand} using a recursive filter.  The cost per pixel is
+	 * independent of sigma.
+	 *
+	 * @see BlurImageOps#gaussianRecursive(ImageFloat32, ImageFloat32, double)
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &gt; 0
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageSingleBand>
+	T gaussianRecursive(T input, T output, double sigma ) {
+		if( input instanceof ImageUInt8 ) {
+			return (T)BlurImageOps.gaussianRecursive((ImageUInt8)input,(ImageUInt8)output,sigma,null);
+		} else if( input instanceof ImageFloat32) {
+			return (T)BlurImageOps.gaussianRecursive((ImageFloat32)input,(ImageFloat32)output,sigma);
+		} else  {
+			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Gaussian blur implemented as a recursive (IIR) filter, whose cost per pixel is independent of sigma.  Each
+ * row and column is filtered by a third order causal filter followed by a third order anti-causal filter.
+ * Coefficients are computed using the formulas from Young, van Vliet, and van Ginkel [1], which make the
+ * standard deviation of the filter's response exactly sigma.  Blurring twice is then the same as blurring once by
+ * the combined sigma, just like with a Gaussian.  The shape of the response is an approximation, with
+ * slightly heavier tails and a lower peak.
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are handled as if the image was extended by repeating its edge pixels.  The state of
+ * the anti-causal filter at the end of each row is computed from the causal filter's state, which is exact
+ * for the extended signal [2].  The matrix relating the two is found by running the filters on the decaying
+ * response to each state element, instead of the closed form solution in [2].
+ * </p>
+ *
+ * <p>
+ * Coefficients and storage are saved between calls and the same instance should not be used by multiple
+ * threads at once.
+ * </p>
+ *
+ * <p>
+ * [1] Young, I. T., van Vliet, L. J., and van Ginkel, M. "Recursive Gabor Filtering" IEEE Trans. Signal
+ * Processing, 2002<br>
+ * [2] Triggs, B. and Sdika, M. "Boundary Conditions for Young-van Vliet Recursive Filtering" IEEE Trans.
+ * Signal Processing, 2006
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplGaussianRecursive {
+
+	// sigma which the coefficients were computed for
+	private double sigma = -1;
+
+	// filter's gain and feedback coefficients
+	private float B;
+	private float a1,a2,a3;
+
+	// relates the causal filter's state at the end of a signal to the anti-causal filter's initial state
+	private float M[] = new float[9];
+
+	// storage for filtering a single row
+	private float work[] = new float[0];
+
+	// storage for the first and last rows of the input image and the anti-causal state past the last row
+	private float rowFirst[] = new float[0];
+	private float rowLast[] = new float[0];
+	private float rowV1[] = new float[0];
+	private float rowV2[] = new float[0];
+	private float rowV3[] = new float[0];
+
+	/**
+	 * Specifies the Gaussian's standard deviation.  Coefficients are only recomputed when it changes.
+	 *
+	 * @param sigma Gaussian's standard deviation.  Must be &gt; 0
+	 */
+	public void setSigma( double sigma ) {
+		if( sigma <= 0 )
+			throw new IllegalArgumentException("Sigma must be > 0");
+		if( sigma == this.sigma )
+			return;
+		this.sigma = sigma;
+
+		// poles of the filter for sigma = 2, which are scaled by q
+		double m0 = 1.16680, m1 = 1.10783, m2 = 1.40586;
+		double q = 1.31564*(Math.sqrt(1 + 0.490811*sigma*sigma) - 1);
+
+		double q2 = q*q, q3 = q2*q;
+		double scale = (m0 + q)*(m1*m1 + m2*m2 + 2*m1*q + q2);
+		double da1 = q*(2*m0*m1 + m1*m1 + m2*m2 + (2*m0 + 4*m1)*q + 3*q2)/scale;
+		double da2 = -q2*(m0 + 2*m1 + 3*q)/scale;
+		double da3 = q3/scale;
+		double dB = 1 - (da1 + da2 + da3);
+
+		a1 = (float)da1; a2 = (float)da2; a3 = (float)da3;
+		B = (float)dB;
+
+		computeBoundary(dB, da1, da2, da3);
+	}
+
+	/**
+	 * After the last pixel the input is constant, so the deviation of the causal filter's state from that
+	 * constant decays on its own.  The anti-causal filter's state at the last pixel is then a linear function
+	 * of the causal filter's state, found by filtering the decaying response to each state element.
+	 */
+	private void computeBoundary( double B , double a1 , double a2 , double a3 ) {
+		// number of samples until the response has decayed
+		int N = 0;
+		double s0 = 1, s1 = 1, s2 = 1;
+		while( Math.abs(s0) + Math.abs(s1) + Math.abs(s2) > 1e-12 ) {
+			double s = a1*s0 + a2*s1 + a3*s2;
+			s2 = s1; s1 = s0; s0 = s;
+			N++;
+		}
+
+		double response[] = new double[N];
+		for( int j = 0; j < 3; j++ ) {
+			s0 = j == 0 ? 1 : 0; s1 = j == 1 ? 1 : 0; s2 = j == 2 ? 1 : 0;
+			for( int k = 0; k < N; k++ ) {
+				double s = a1*s0 + a2*s1 + a3*s2;
+				response[k] = s;
+				s2 = s1; s1 = s0; s0 = s;
+			}
+
+			double v0 = 0, v1 = 0, v2 = 0;
+			for( int k = N-1; k >= 0; k-- ) {
+				double v = B*response[k] + a1*v0 + a2*v1 + a3*v2;
+				v2 = v1; v1 = v0; v0 = v;
+			}
+			M[j] = (float)v0;
+			M[3+j] = (float)v1;
+			M[6+j] = (float)v2;
+		}
+	}
+
+	/**
+	 * Filters each row in the image.  The input and output can be the same image.
+	 */
+	public void horizontal( ImageFloat32 input , ImageFloat32 output ) {
+		final int width = input.width;
+		if( work.length < width+3 )
+			work = new float[width+3];
+		final float w[] = work;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+
+			// causal pass, the first pixel is repeated before the row
+			float x0 = input.data[indexIn];
+			w[0] = w[1] = w[2] = x0;
+			for( int i = 0; i < width; i++ ) {
+				w[i+3] = B*input.data[indexIn+i] + a1*w[i+2] + a2*w[i+1] + a3*w[i];
+			}
+
+			backward(input.data[indexIn + width - 1], w, width, output.data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Filters each row in the image.
+	 */
+	public void horizontal( ImageUInt8 input , ImageFloat32 output ) {
+		final int width = input.width;
+		if( work.length < width+3 )
+			work = new float[width+3];
+		final float w[] = work;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+
+			// causal pass, the first pixel is repeated before the row
+			float x0 = input.data[indexIn] & 0xFF;
+			w[0] = w[1] = w[2] = x0;
+			for( int i = 0; i < width; i++ ) {
+				w[i+3] = B*(input.data[indexIn+i] & 0xFF) + a1*w[i+2] + a2*w[i+1] + a3*w[i];
+			}
+
+			backward(input.data[indexIn + width - 1] & 0xFF, w, width, output.data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Anti-causal pass along a row.  The output of the causal pass is in w, offset by 3.
+	 *
+	 * @param last Value of the last input pixel in the row
+	 */
+	private void backward( float last , float w[] , int width , float output[] , int indexOut ) {
+		float d0 = w[width+2] - last;
+		float d1 = w[width+1] - last;
+		float d2 = w[width] - last;
+
+		float v1 = last + M[0]*d0 + M[1]*d1 + M[2]*d2;
+		float v2 = last + M[3]*d0 + M[4]*d1 + M[5]*d2;
+		float v3 = last + M[6]*d0 + M[7]*d1 + M[8]*d2;
+
+		for( int i = width-1; i >= 0; i-- ) {
+			float v = B*w[i+3] + a1*v1 + a2*v2 + a3*v3;
+			output[indexOut+i] = v;
+			v3 = v2; v2 = v1; v1 = v;
+		}
+	}
+
+	/**
+	 * Filters each column in the image.  Entire rows are processed at once so that memory is accessed in order.
+	 * The input and output can be the same image.
+	 */
+	public void vertical( ImageFloat32 input , ImageFloat32 output ) {
+		final int width = input.width;
+		final int height = input.height;
+		declareRows(width);
+
+		// save the first and last rows since the input might be overwritten
+		System.arraycopy(input.data, input.startIndex, rowFirst, 0, width);
+		System.arraycopy(input.data, input.startIndex + (height-1)*input.stride, rowLast, 0, width);
+
+		// causal pass.  rows before the image are the same as the first row
+		for( int y = 0; y < height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			float r1[] = y >= 1 ? output.data : rowFirst;
+			float r2[] = y >= 2 ? output.data : rowFirst;
+			float r3[] = y >= 3 ? output.data : rowFirst;
+			int i1 = y >= 1 ? indexOut - output.stride : 0;
+			int i2 = y >= 2 ? indexOut - 2*output.stride : 0;
+			int i3 = y >= 3 ? indexOut - 3*output.stride : 0;
+
+			for( int x = 0; x < width; x++ ) {
+				output.data[indexOut+x] = B*input.data[indexIn+x] + a1*r1[i1+x] + a2*r2[i2+x] + a3*r3[i3+x];
+			}
+		}
+
+		// initial state of the anti-causal pass
+		int indexLast = output.startIndex + (height-1)*output.stride;
+		float u1[] = output.data;
+		float u2[] = height >= 2 ? output.data : rowFirst;
+		float u3[] = height >= 3 ? output.data : rowFirst;
+		int i2 = height >= 2 ? indexLast - output.stride : 0;
+		int i3 = height >= 3 ? indexLast - 2*output.stride : 0;
+
+		for( int x = 0; x < width; x++ ) {
+			float last = rowLast[x];
+			float d0 = u1[indexLast+x] - last;
+			float d1 = u2[i2+x] - last;
+			float d2 = u3[i3+x] - last;
+
+			rowV1[x] = last + M[0]*d0 + M[1]*d1 + M[2]*d2;
+			rowV2[x] = last + M[3]*d0 + M[4]*d1 + M[5]*d2;
+			rowV3[x] = last + M[6]*d0 + M[7]*d1 + M[8]*d2;
+		}
+
+		// anti-causal pass, in place
+		for( int y = height-1; y >= 0; y-- ) {
+			int indexOut = output.startIndex + y*output.stride;
+
+			float r1[] = y < height-1 ? output.data : rowV1;
+			float r2[] = y < height-2 ? output.data : (y == height-2 ? rowV1 : rowV2);
+			float r3[] = y < height-3 ? output.data : (y == height-3 ? rowV1 : (y == height-2 ? rowV2 : rowV3));
+			int j1 = y < height-1 ? indexOut + output.stride : 0;
+			int j2 = y < height-2 ? indexOut + 2*output.stride : 0;
+			int j3 = y < height-3 ? indexOut + 3*output.stride : 0;
+
+			for( int x = 0; x < width; x++ ) {
+				output.data[indexOut+x] = B*output.data[indexOut+x] + a1*r1[j1+x] + a2*r2[j2+x] + a3*r3[j3+x];
+			}
+		}
+	}
+
+	/**
+	 * Rounds the filtered image to the nearest integer and saves it into the output image.
+	 */
+	public static void round( ImageFloat32 input , ImageUInt8 output ) {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x++ ) {
+				int value = (int)(input.data[indexIn++] + 0.5f);
+				output.data[indexOut++] = (byte)(value < 0 ? 0 : (value > 255 ? 255 : value));
+			}
+		}
+	}
+
+	private void declareRows( int width ) {
+		if( rowFirst.length < width ) {
+			rowFirst = new float[width];
+			rowLast = new float[width];
+			rowV1 = new float[width];
+			rowV2 = new float[width];
+			rowV3 = new float[width];
+		}
+	}
+
+	public double getSigma() {
+		return sigma;
+	}
+}
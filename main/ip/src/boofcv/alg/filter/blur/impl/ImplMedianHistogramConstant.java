@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter whose cost per pixel is independent of the radius.  A histogram is maintained for each image
+ * column which contains the pixels inside the filter's rows.  Moving down one row requires one addition and one
+ * removal from each column histogram, and moving right one pixel requires adding one column histogram to the
+ * kernel's histogram and subtracting another.  To reduce the cost of adding histograms, each one is split into
+ * 16 coarse bins and 256 fine bins.  The coarse bins are always updated and tell which fine bins contain the
+ * median.  Fine bins are only brought up to date when the median falls inside of them.
+ * </p>
+ *
+ * <p>
+ * The entire image is processed, including the border, and the results are identical to {@link ImplMedianSortNaive}.
+ * Along the border only pixels which are inside the image are considered.  Storage is saved between calls and
+ * the same instance should not be used by multiple threads at once.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P. "Median Filtering in Constant Time" IEEE Trans. Image Processing, 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	// number of fine bins inside of each coarse bin
+	private static final int FINE = 16;
+	private static final int COARSE = 256/FINE;
+
+	// fine and coarse histograms of each column
+	int columnFine[] = new int[0];
+	int columnCoarse[] = new int[0];
+	// fine and coarse histograms of the kernel
+	int fine[] = new int[256];
+	int coarse[] = new int[COARSE];
+	// the x-coordinate each segment in the fine kernel histogram was last updated at
+	int updated[] = new int[COARSE];
+
+	/**
+	 * Applies the median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius ) {
+		process(input, output, radius, 0, input.height);
+	}
+
+	/**
+	 * Applies the median filter to a band of rows in the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row which is processed, inclusive.
+	 * @param y1 Last row which is processed, exclusive.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius , int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+
+		if( columnFine.length < width*256 ) {
+			columnFine = new int[ width*256 ];
+			columnCoarse = new int[ width*COARSE ];
+		} else {
+			Arrays.fill(columnFine, 0, width*256, 0);
+			Arrays.fill(columnCoarse, 0, width*COARSE, 0);
+		}
+
+		// add the rows above the first row, the bottom most row is added inside the loop
+		for( int y = Math.max(0,y0-radius); y < Math.min(height,y0+radius); y++ )
+			updateColumns(input, y, 1);
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y+radius < height )
+				updateColumns(input, y+radius, 1);
+			if( y > y0 && y-radius-1 >= 0 )
+				updateColumns(input, y-radius-1, -1);
+
+			int rows = Math.min(height-1,y+radius) - Math.max(0,y-radius) + 1;
+			processRow(output, y, radius, rows);
+		}
+	}
+
+	/**
+	 * Adds or removes a row of pixels from the column histograms
+	 */
+	private void updateColumns( ImageUInt8 input , int y , int amount ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int value = input.data[index++] & 0xFF;
+			columnFine[x*256 + value] += amount;
+			columnCoarse[x*COARSE + value/FINE] += amount;
+		}
+	}
+
+	/**
+	 * Slides the kernel across a row and finds the median at each pixel
+	 */
+	private void processRow( ImageUInt8 output , int y , int radius , int rows ) {
+		final int width = output.width;
+		final int windowWidth = 2*radius+1;
+
+		Arrays.fill(coarse, 0);
+		// force every segment in the fine histogram to be recomputed
+		Arrays.fill(updated, Integer.MIN_VALUE/2);
+
+		for( int x = 0; x <= Math.min(width-1,radius); x++ )
+			addCoarse(x, 1);
+
+		int indexOut = output.startIndex + y*output.stride;
+		for( int x = 0; x < width; x++ ) {
+			if( x > 0 )
+				slideCoarse(x+radius < width ? x+radius : -1, x-radius-1);
+
+			int cols = Math.min(width-1,x+radius) - Math.max(0,x-radius) + 1;
+			int threshold = (rows*cols)/2 + 1;
+
+			// find the coarse bin which contains the median
+			int count = 0;
+			int bin = 0;
+			while( count + coarse[bin] < threshold ) {
+				count += coarse[bin++];
+			}
+
+			// bring the fine bins up to date then search them
+			updateFine(bin, x, radius, windowWidth, width);
+			int median = bin*FINE;
+			while( count + fine[median] < threshold ) {
+				count += fine[median++];
+			}
+
+			output.data[indexOut++] = (byte)median;
+		}
+	}
+
+	private void addCoarse( int column , int amount ) {
+		int index = column*COARSE;
+		for( int i = 0; i < COARSE; i++ )
+			coarse[i] += amount*columnCoarse[index+i];
+	}
+
+	/**
+	 * Adds one column to the coarse kernel histogram and removes another.  Columns outside the image are
+	 * specified with a negative value and skipped.
+	 */
+	private void slideCoarse( int columnAdd , int columnRemove ) {
+		if( columnAdd >= 0 && columnRemove >= 0 ) {
+			int indexAdd = columnAdd*COARSE;
+			int indexRemove = columnRemove*COARSE;
+			for( int i = 0; i < COARSE; i++ )
+				coarse[i] += columnCoarse[indexAdd+i] - columnCoarse[indexRemove+i];
+		} else if( columnAdd >= 0 ) {
+			addCoarse(columnAdd, 1);
+		} else if( columnRemove >= 0 ) {
+			addCoarse(columnRemove, -1);
+		}
+	}
+
+	private void addFine( int bin , int column , int amount ) {
+		int indexCol = column*256 + bin*FINE;
+		int indexKer = bin*FINE;
+		for( int i = 0; i < FINE; i++ )
+			fine[indexKer+i] += amount*columnFine[indexCol+i];
+	}
+
+	private void slideFine( int bin , int columnAdd , int columnRemove ) {
+		if( columnAdd >= 0 && columnRemove >= 0 ) {
+			int indexAdd = columnAdd*256 + bin*FINE;
+			int indexRemove = columnRemove*256 + bin*FINE;
+			int indexKer = bin*FINE;
+			for( int i = 0; i < FINE; i++ )
+				fine[indexKer+i] += columnFine[indexAdd+i] - columnFine[indexRemove+i];
+		} else if( columnAdd >= 0 ) {
+			addFine(bin, columnAdd, 1);
+		} else if( columnRemove >= 0 ) {
+			addFine(bin, columnRemove, -1);
+		}
+	}
+
+	/**
+	 * Updates the fine histogram segment for the specified coarse bin so that it describes the kernel
+	 * centered at 'x'.  If it is more expensive to update it incrementally then it is recomputed from scratch.
+	 */
+	private void updateFine( int bin , int x , int radius , int windowWidth , int width ) {
+		int last = updated[bin];
+		if( last == x )
+			return;
+
+		if( x-last >= (windowWidth+1)/2 ) {
+			Arrays.fill(fine, bin*FINE, bin*FINE+FINE, 0);
+			int c1 = Math.min(width-1,x+radius);
+			for( int c = Math.max(0,x-radius); c <= c1; c++ )
+				addFine(bin, c, 1);
+		} else {
+			for( int t = last+1; t <= x; t++ ) {
+				slideFine(bin, t+radius < width ? t+radius : -1, t-radius-1);
+			}
+		}
+		updated[bin] = x;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Concurrent version of {@link ImplMedianHistogramConstant}.  The image is split into horizontal bands of rows which
+ * are filtered in parallel, each with its own set of column histograms.  The output is identical to the single
+ * threaded code.
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Applies the median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( final ImageUInt8 input , final ImageUInt8 output , final int radius ) {
+		// each band must initialize its column histograms with 2*radius rows, so don't make them too thin
+		int minBlock = Math.max(MIN_BAND_HEIGHT, 2*radius);
+
+		BoofConcurrency.loopBlocks(0, input.height, minBlock, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplMedianHistogramConstant().process(input, output, radius, y0, y1);
+			}
+		});
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Convolves a 2D kernel across an image using the Fast Fourier Transform (FFT).  The cost of spatial convolution
+ * grows with the number of elements in the kernel, while the cost of FFT convolution grows with the log of the
+ * tile size.  For large kernels this is much faster.  The output is the same as the spatial functions in
+ * {@link ConvolveImageNoBorder}, {@link ConvolveWithBorder}, and {@link ConvolveNormalized} up to floating
+ * point round off.
+ * </p>
+ *
+ * <p>
+ * The image is processed in square tiles using the overlap-save method.  Each tile of input, plus a margin
+ * the size of the kernel's radius, is transformed, multiplied by the kernel's transform, and transformed back.
+ * Only the inside of the tile, which isn't corrupted by the circular convolution, is written to the output.
+ * Pixels in the margin which are outside the image are read from the image border, when one is
+ * provided.  The kernel's transform is saved and only recomputed when the kernel or tile size changes.
+ * </p>
+ *
+ * <p>
+ * The same instance should not be used by multiple threads at the same time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveFourier_F32 {
+
+	// computes the Fourier transform of each tile
+	private DiscreteFourierTransform<ImageFloat32,InterleavedF32> dft =
+			DiscreteFourierTransformOps.createTransformF32();
+
+	// input tile and its transform
+	private ImageFloat32 tile = new ImageFloat32(1,1);
+	private InterleavedF32 tileTransform = new InterleavedF32(1,1,2);
+
+	// complex conjugate of the kernel's transform, conjugate since the kernel is correlated with the image
+	private InterleavedF32 kernelTransform = new InterleavedF32(1,1,2);
+	// copy of the kernel which the transform was computed for
+	private Kernel2D_F32 kernelPrevious = new Kernel2D_F32(1);
+	// tile size which the kernel's transform was computed for
+	private int kernelTileSize = -1;
+
+	public ConvolveFourier_F32() {
+		dft.setModifyInputs(true);
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public void convolve( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		int r = kernel.getRadius();
+		process(kernel, input, output, null, r, r, input.width - r, input.height - r);
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  Borders are handled as specified by the 'border'
+	 * parameter.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param border How the image borders are handled.
+	 */
+	public void convolve( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output , ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		border.setImage(input);
+		process(kernel, input, output, border, 0, 0, input.width, input.height);
+	}
+
+	/**
+	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.  The inner image is convolved using the FFT and the border spatially.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public void convolveNormalized( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( kernel.width >= input.width || kernel.width >= input.height ) {
+			ConvolveNormalized.convolve(kernel, input, output);
+		} else {
+			convolve(kernel, input, output);
+			ConvolveNormalized_JustBorder.convolve(kernel, input, output);
+		}
+	}
+
+	/**
+	 * Selects the width of the square tiles which the image is processed in.  Larger tiles waste less time
+	 * on the margin around each tile, but the cost per pixel of the FFT grows with the tile's size.  The tile
+	 * is a power of two and is about four times the width of the kernel, but no larger than is needed to cover
+	 * the image.
+	 *
+	 * @param kernelWidth Width of the kernel
+	 * @param regionWidth Width of the region being processed
+	 * @param regionHeight Height of the region being processed
+	 * @return Width of the tile
+	 */
+	public static int selectTileSize( int kernelWidth , int regionWidth , int regionHeight ) {
+		int margin = kernelWidth - 1;
+		int preferred = DiscreteFourierTransformOps.nextPow2(Math.max(32, 4*kernelWidth));
+		int covering = DiscreteFourierTransformOps.nextPow2(Math.max(regionWidth, regionHeight) + margin);
+		return Math.min(preferred, covering);
+	}
+
+	/**
+	 * Computes the convolution inside the specified region of the output image.  The region is processed
+	 * in tiles.
+	 */
+	private void process( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output , ImageBorder_F32 border ,
+						  int x0 , int y0 , int x1 , int y1 ) {
+		if( x1 <= x0 || y1 <= y0 )
+			return;
+
+		final int r = kernel.getRadius();
+		final int tileSize = selectTileSize(kernel.width, x1 - x0, y1 - y0);
+		final int step = tileSize - (kernel.width - 1);
+
+		tile.reshape(tileSize, tileSize);
+		tileTransform.reshape(tileSize, tileSize);
+		declareKernel(kernel, tileSize);
+
+		for( int ty = y0; ty < y1; ty += step ) {
+			for( int tx = x0; tx < x1; tx += step ) {
+				fillTile(input, border, tx - r, ty - r, x1 + r, y1 + r);
+
+				dft.forward(tile, tileTransform);
+				DiscreteFourierTransformOps.multiplyComplex(tileTransform, kernelTransform, tileTransform);
+				dft.inverse(tileTransform, tile);
+
+				int w = Math.min(step, x1 - tx);
+				int h = Math.min(step, y1 - ty);
+				for( int y = 0; y < h; y++ ) {
+					System.arraycopy(tile.data, y*tileSize,
+							output.data, output.startIndex + (ty + y)*output.stride + tx, w);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the input image into the tile, with the tile's top left corner at (x0,y0).  Pixels outside
+	 * the image are read from the border or set to zero.  Pixels at or after (maxX,maxY) can't influence
+	 * the output and are set to zero, which also keeps border lookups close to the image.
+	 */
+	private void fillTile( ImageFloat32 input , ImageBorder_F32 border , int x0 , int y0 , int maxX , int maxY ) {
+		final int size = tile.width;
+
+		// columns in the tile which are used
+		int used = Math.min(size, maxX - x0);
+		// portion of the tile's columns which are inside the image
+		int c0 = Math.max(0, -x0);
+		int c1 = Math.min(used, input.width - x0);
+
+		for( int y = 0; y < size; y++ ) {
+			int yy = y0 + y;
+			int indexTile = y*size;
+
+			if( yy >= maxY ) {
+				Arrays.fill(tile.data, indexTile, indexTile + size, 0);
+				continue;
+			}
+
+			if( yy < 0 || yy >= input.height || c1 <= c0 ) {
+				for( int x = 0; x < used; x++ )
+					tile.data[indexTile + x] = border == null ? 0 : border.get(x0 + x, yy);
+			} else {
+				for( int x = 0; x < c0; x++ )
+					tile.data[indexTile + x] = border == null ? 0 : border.get(x0 + x, yy);
+				System.arraycopy(input.data, input.startIndex + yy*input.stride + x0 + c0,
+						tile.data, indexTile + c0, c1 - c0);
+				for( int x = c1; x < used; x++ )
+					tile.data[indexTile + x] = border == null ? 0 : border.get(x0 + x, yy);
+			}
+			Arrays.fill(tile.data, indexTile + used, indexTile + size, 0);
+		}
+	}
+
+	/**
+	 * Computes the kernel's transform if the kernel or tile size has changed since the last time
+	 */
+	private void declareKernel( Kernel2D_F32 kernel , int tileSize ) {
+		if( tileSize == kernelTileSize && sameKernel(kernel) )
+			return;
+
+		kernelTileSize = tileSize;
+		kernelPrevious = new Kernel2D_F32(kernel.width, kernel.data);
+
+		// the kernel's top left corner is at the origin, which aligns output pixels with the tile's margin
+		ImageFloat32 padded = new ImageFloat32(tileSize, tileSize);
+		for( int y = 0; y < kernel.width; y++ ) {
+			for( int x = 0; x < kernel.width; x++ ) {
+				padded.data[y*tileSize + x] = kernel.get(x, y);
+			}
+		}
+
+		kernelTransform.reshape(tileSize, tileSize);
+		dft.forward(padded, kernelTransform);
+
+		for( int i = 1; i < kernelTransform.data.length; i += 2 )
+			kernelTransform.data[i] = -kernelTransform.data[i];
+	}
+
+	private boolean sameKernel( Kernel2D_F32 kernel ) {
+		if( kernel.width != kernelPrevious.width )
+			return false;
+		int N = kernel.width*kernel.width;
+		for( int i = 0; i < N; i++ ) {
+			if( kernel.data[i] != kernelPrevious.data[i] )
+				return false;
+		}
+		return true;
+	}
+}
@@ -23,6 +23,7 @@ import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General;
 import boofcv.alg.filter.convolve.noborder.ImplConvolveBox;
 import boofcv.core.image.border.ImageBorderValue;
 import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.*;
@@ -45,6 +46,11 @@ public class ConvolveImageBox {
 	public static void horizontal(ImageFloat32 input, ImageFloat32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,false);
 		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.horizontal(input, output, radius);
@@ -60,6 +66,11 @@ public class ConvolveImageBox {
 	public static void horizontal(ImageUInt8 input, ImageInt16 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.horizontal(input, output, radius);
@@ -75,6 +86,11 @@ public class ConvolveImageBox {
 	public static void horizontal(ImageUInt8 input, ImageSInt32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.horizontal(input, output, radius);
@@ -90,6 +106,11 @@ public class ConvolveImageBox {
 	public static void horizontal(ImageSInt16 input, ImageInt16 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.horizontal(input, output, radius);
@@ -105,6 +126,11 @@ public class ConvolveImageBox {
 	public static void vertical(ImageFloat32 input, ImageFloat32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output );
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,false);
 		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.vertical(input, output, radius);
@@ -120,6 +146,11 @@ public class ConvolveImageBox {
 	public static void vertical(ImageUInt8 input, ImageInt16 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.vertical(input, output, radius);
@@ -135,6 +166,11 @@ public class ConvolveImageBox {
 	public static void vertical(ImageUInt8 input, ImageSInt32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.vertical(input, output, radius);
@@ -150,6 +186,11 @@ public class ConvolveImageBox {
 	public static void vertical(ImageSInt16 input, ImageInt16 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageBox_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
 		ImplConvolveBox.vertical(input, output, radius);
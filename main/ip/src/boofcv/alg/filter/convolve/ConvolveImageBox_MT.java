@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General;
+import boofcv.alg.filter.convolve.noborder.ImplConvolveBox;
+import boofcv.core.image.border.ImageBorderValue;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link ConvolveImageBox}.  The inner image is convolved in parallel bands of rows
+ * using the same code as the single threaded version and the border is processed by a single thread.  Bands
+ * for vertical convolution overlap by the kernel's radius, which is only read from.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageBox_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Performs a horizontal 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final ImageFloat32 input, final ImageFloat32 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,false);
+		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+				ImplConvolveBox.horizontal(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final ImageFloat32 input, final ImageFloat32 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,false);
+		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
+
+		// each band is padded by the radius so that the kernel can read from rows outside of it
+		BoofConcurrency.loopBlocks(radius, input.height-radius, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0-radius, input.width, y1+radius, null);
+				ImageFloat32 bandOut = output.subimage(0, y0-radius, output.width, y1+radius, null);
+				ImplConvolveBox.vertical(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final ImageUInt8 input, final ImageInt16 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+				ImplConvolveBox.horizontal(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final ImageUInt8 input, final ImageInt16 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
+
+		// each band is padded by the radius so that the kernel can read from rows outside of it
+		BoofConcurrency.loopBlocks(radius, input.height-radius, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0-radius, input.width, y1+radius, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0-radius, output.width, y1+radius, null);
+				ImplConvolveBox.vertical(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final ImageUInt8 input, final ImageSInt32 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+				ImplConvolveBox.horizontal(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final ImageUInt8 input, final ImageSInt32 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
+
+		// each band is padded by the radius so that the kernel can read from rows outside of it
+		BoofConcurrency.loopBlocks(radius, input.height-radius, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0-radius, input.width, y1+radius, null);
+				ImageSInt32 bandOut = output.subimage(0, y0-radius, output.width, y1+radius, null);
+				ImplConvolveBox.vertical(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final ImageSInt16 input, final ImageInt16 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.horizontal(kernel,ImageBorderValue.wrap(input,0),output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+				ImplConvolveBox.horizontal(bandIn, bandOut, radius);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution of a box kernel across the image using row bands.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final ImageSInt16 input, final ImageInt16 output, final int radius) {
+		InputSanityCheck.checkSameShape(input , output);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+		ConvolveJustBorder_General.vertical(kernel,ImageBorderValue.wrap(input,0),output);
+
+		// each band is padded by the radius so that the kernel can read from rows outside of it
+		BoofConcurrency.loopBlocks(radius, input.height-radius, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0-radius, input.width, y1+radius, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0-radius, output.width, y1+radius, null);
+				ImplConvolveBox.vertical(bandIn, bandOut, radius);
+			}
+		});
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.ImplConvolveMean;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
 import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.*;
@@ -47,6 +48,11 @@ public class ConvolveImageMean {
 	public static void horizontal(ImageFloat32 input, ImageFloat32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input ,output );
 		ImplConvolveMean.horizontal(input, output, radius);
@@ -63,6 +69,11 @@ public class ConvolveImageMean {
 	public static void vertical(ImageFloat32 input, ImageFloat32 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		ConvolveNormalized_JustBorder.vertical(kernel, input ,output );
 		ImplConvolveMean.vertical(input, output, radius);
@@ -79,6 +90,11 @@ public class ConvolveImageMean {
 	public static void horizontal(ImageUInt8 input, ImageInt8 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input, output);
 		ImplConvolveMean.horizontal(input, output, radius);
@@ -95,6 +111,11 @@ public class ConvolveImageMean {
 	public static void vertical(ImageUInt8 input, ImageInt8 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.vertical(kernel, input, output);
 		ImplConvolveMean.vertical(input, output, radius);
@@ -111,6 +132,11 @@ public class ConvolveImageMean {
 	public static void horizontal(ImageSInt16 input, ImageInt16 output, int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.horizontal(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input, output);
 		ImplConvolveMean.horizontal(input, output, radius);
@@ -127,6 +153,11 @@ public class ConvolveImageMean {
 	public static void vertical(ImageSInt16 input, ImageInt16 output, int radius ) {
 		InputSanityCheck.checkSameShape(input , output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageMean_MT.vertical(input, output, radius);
+			return;
+		}
+
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.vertical(kernel, input, output);
 		ImplConvolveMean.vertical(input, output, radius);
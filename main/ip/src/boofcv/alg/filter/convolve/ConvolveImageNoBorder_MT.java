@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.convolve.*;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link ConvolveImageNoBorder}.  The image is split into horizontal bands of rows which are
+ * convolved in parallel using {@link BoofConcurrency}.  Each band is a sub-image which is processed by the same
+ * unrolled or standard implementation as the single threaded code, with extra rows above and below for the
+ * kernel to read from.  The output is identical to {@link ConvolveImageNoBorder}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageNoBorder_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_F32 kernel, final ImageFloat32 input, final ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_F32_F32.horizontal(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageInt8 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_U8_I16.horizontal(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+				ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_S16_I16.horizontal(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image using row bands.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageSInt32 input, final ImageSInt32 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+				if( !ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_F32 kernel, final ImageFloat32 input, final ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageFloat32 bandOut = output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_F32_F32.vertical(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageInt8 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_U8_I16.vertical(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageUInt8 input, final ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageSInt32 bandOut = output.subimage(0, y0 - before, output.width, y1 + after, null);
+				ConvolveImageStandard.vertical(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_S16_I16.vertical(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image using row bands.  The vertical border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt32 input, final ImageSInt32 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getOffset();
+		final int after = kernel.getWidth() - before - 1;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, minBandHeight(kernel), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageSInt32 bandOut = output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void convolve(final Kernel2D_F32 kernel, final ImageFloat32 input, final ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageFloat32 bandOut = output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_F32_F32.convolve(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.convolve(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, final ImageUInt8 input, final ImageInt8 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.convolve(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, final ImageUInt8 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_U8_I16.convolve(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.convolve(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, final ImageUInt8 input, final ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageSInt32 bandOut = output.subimage(0, y0 - before, output.width, y1 + after, null);
+				ConvolveImageStandard.convolve(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, final ImageSInt16 input, final ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_S16_I16.convolve(kernel, bandIn, bandOut) )
+					ConvolveImageStandard.convolve(kernel, bandIn, bandOut);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image using row bands.  The image's borders are not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, final ImageSInt16 input, final ImageInt16 output, final int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int before = kernel.getRadius();
+		final int after = before;
+
+		BoofConcurrency.loopBlocks(before, input.height - after, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0 - before, input.width, y1 + after, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0 - before, output.width, y1 + after, null);
+				if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel, bandIn, bandOut, divisor) )
+					ConvolveImageStandard.convolve(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * The unrolled vertical convolutions assume that the kernel's offset is equal to its radius.  If a kernel
+	 * violates that assumption then the image is not split, otherwise the bands would not line up with
+	 * the rows the single threaded code writes to.
+	 */
+	private static int minBandHeight( Kernel1D kernel ) {
+		if( kernel.getWidth() % 2 == 1 && kernel.getOffset() != kernel.getRadius() )
+			return Integer.MAX_VALUE;
+		return MIN_BAND_HEIGHT;
+	}
+}
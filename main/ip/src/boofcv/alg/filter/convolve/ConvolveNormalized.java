@@ -21,6 +21,7 @@ package boofcv.alg.filter.convolve;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -31,6 +32,9 @@ import boofcv.struct.image.*;
  * Convolves a kernel across an image and re-normalize the kernel along image borders.  This should only be used with
  * kernels that can be re-normalize.  Typically kernels for blurring images can be re-normalized.
  *
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the work is split across multiple threads
+ * by {@link ConvolveNormalized_MT}.
+ *
  * @author Peter Abeles
  */
 public class ConvolveNormalized {
@@ -45,6 +49,11 @@ public class ConvolveNormalized {
 	public static void horizontal(Kernel1D_F32 kernel, ImageFloat32 image, ImageFloat32 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.horizontal(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width ) {
 			ConvolveNormalizedNaive.horizontal(kernel,image,dest);
 		} else {
@@ -64,6 +73,11 @@ public class ConvolveNormalized {
 	public static void vertical(Kernel1D_F32 kernel, ImageFloat32 image, ImageFloat32 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.vertical(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.vertical(kernel,image,dest);
 		} else {
@@ -83,6 +97,11 @@ public class ConvolveNormalized {
 	public static void convolve(Kernel2D_F32 kernel, ImageFloat32 image, ImageFloat32 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.convolve(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width || kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.convolve(kernel,image,dest);
 		} else {
@@ -102,6 +121,11 @@ public class ConvolveNormalized {
 	public static void horizontal(Kernel1D_I32 kernel, ImageUInt8 image, ImageInt8 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.horizontal(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width ) {
 			ConvolveNormalizedNaive.horizontal(kernel,image,dest);
 		} else {
@@ -121,6 +145,11 @@ public class ConvolveNormalized {
 	public static void vertical(Kernel1D_I32 kernel, ImageUInt8 image, ImageInt8 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.vertical(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.vertical(kernel,image,dest);
 		} else {
@@ -140,6 +169,11 @@ public class ConvolveNormalized {
 	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 image, ImageInt8 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.convolve(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width || kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.convolve(kernel,image,dest);
 		} else {
@@ -159,6 +193,11 @@ public class ConvolveNormalized {
 	public static void horizontal(Kernel1D_I32 kernel, ImageSInt16 image, ImageInt16 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.horizontal(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width ) {
 			ConvolveNormalizedNaive.horizontal(kernel,image,dest);
 		} else {
@@ -178,6 +217,11 @@ public class ConvolveNormalized {
 	public static void horizontal(Kernel1D_I32 kernel, ImageSInt32 image, ImageSInt32 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.horizontal(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width ) {
 			ConvolveNormalizedNaive.horizontal(kernel,image,dest);
 		} else {
@@ -197,6 +241,11 @@ public class ConvolveNormalized {
 	public static void vertical(Kernel1D_I32 kernel, ImageSInt16 image, ImageInt16 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.vertical(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.vertical(kernel,image,dest);
 		} else {
@@ -216,6 +265,11 @@ public class ConvolveNormalized {
 	public static void vertical(Kernel1D_I32 kernel, ImageSInt32 image, ImageSInt32 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.vertical(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.vertical(kernel,image,dest);
 		} else {
@@ -235,6 +289,11 @@ public class ConvolveNormalized {
 	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 image, ImageInt16 dest ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveNormalized_MT.convolve(kernel, image, dest);
+			return;
+		}
+
 		if( kernel.width >= image.width || kernel.width >= image.height ) {
 			ConvolveNormalizedNaive.convolve(kernel,image,dest);
 		} else {
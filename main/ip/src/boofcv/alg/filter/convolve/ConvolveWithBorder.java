@@ -22,6 +22,7 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -33,6 +34,11 @@ import boofcv.struct.image.*;
  * Convolves a kernel across an image and handles the image border using the specified method.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the work is split across multiple threads
+ * by {@link ConvolveWithBorder_MT}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class ConvolveWithBorder {
@@ -49,6 +55,11 @@ public class ConvolveWithBorder {
 								  ImageFloat32 image, ImageFloat32 dest , ImageBorder_F32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.horizontal(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.horizontal(kernel,image,dest);
 		ConvolveJustBorder_General.horizontal(kernel, border,dest);
@@ -67,6 +78,11 @@ public class ConvolveWithBorder {
 								ImageFloat32 image, ImageFloat32 dest , ImageBorder_F32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.vertical(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.vertical(kernel,image,dest);
 		ConvolveJustBorder_General.vertical(kernel, border,dest);
@@ -85,6 +101,11 @@ public class ConvolveWithBorder {
 								ImageFloat32 image, ImageFloat32 dest , ImageBorder_F32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.convolve(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.convolve(kernel,image,dest);
 		ConvolveJustBorder_General.convolve(kernel,border,dest,kernel.getRadius());
@@ -103,6 +124,11 @@ public class ConvolveWithBorder {
 								  ImageUInt8 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.horizontal(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.horizontal(kernel,image,dest);
 		ConvolveJustBorder_General.horizontal(kernel, border,dest);
@@ -121,6 +147,11 @@ public class ConvolveWithBorder {
 								ImageUInt8 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.vertical(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.vertical(kernel,image,dest);
 		ConvolveJustBorder_General.vertical(kernel, border,dest);
@@ -139,6 +170,11 @@ public class ConvolveWithBorder {
 								ImageUInt8 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.convolve(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.convolve(kernel,image,dest);
 		ConvolveJustBorder_General.convolve(kernel,border,dest,kernel.getRadius());
@@ -157,6 +193,11 @@ public class ConvolveWithBorder {
 								  ImageUInt8 image, ImageSInt32 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.horizontal(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.horizontal(kernel, image, dest);
 		ConvolveJustBorder_General.horizontal(kernel, border, dest);
@@ -175,6 +216,11 @@ public class ConvolveWithBorder {
 								ImageUInt8 image, ImageSInt32 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.vertical(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.vertical(kernel,image,dest);
 		ConvolveJustBorder_General.vertical(kernel, border,dest);
@@ -193,6 +239,11 @@ public class ConvolveWithBorder {
 								ImageUInt8 image, ImageSInt32 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.convolve(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.convolve(kernel,image,dest);
 		ConvolveJustBorder_General.convolve(kernel,border,dest,kernel.getRadius());
@@ -211,6 +262,11 @@ public class ConvolveWithBorder {
 								  ImageSInt16 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.horizontal(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.horizontal(kernel,image,dest);
 		ConvolveJustBorder_General.horizontal(kernel, border, dest);
@@ -229,6 +285,11 @@ public class ConvolveWithBorder {
 								ImageSInt16 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.vertical(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.vertical(kernel,image,dest);
 		ConvolveJustBorder_General.vertical(kernel, border,dest);
@@ -247,6 +308,11 @@ public class ConvolveWithBorder {
 								ImageSInt16 image, ImageInt16 dest , ImageBorder_I32 border ) {
 		InputSanityCheck.checkSameShape(image, dest);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveWithBorder_MT.convolve(kernel, image, dest, border);
+			return;
+		}
+
 		border.setImage(image);
 		ConvolveImageNoBorder.convolve(kernel,image,dest);
 		ConvolveJustBorder_General.convolve(kernel,border,dest,kernel.getRadius());
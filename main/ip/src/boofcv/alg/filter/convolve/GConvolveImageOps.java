@@ -21,14 +21,80 @@ package boofcv.alg.filter.convolve;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.*;
 import boofcv.struct.image.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Image type agnostic convolution functions
+ * <p>
+ * Image type agnostic convolution functions.  Each function has a variant where it can be specified if the
+ * image should be processed by multiple threads.
+ * </p>
+ *
+ * <p>
+ * Large 2D {@link ImageFloat32} kernels are convolved with {@link ConvolveFourier_F32}, which has work space
+ * that grows with the kernel's size.  Instances which aren't in use are kept in a cache so that the work space
+ * and the kernel's transform can be reused.  At most {@link #FOURIER_CACHE_SIZE} instances are kept and
+ * {@link #clearFourierCache()} releases all of them.
+ * </p>
  */
 public class GConvolveImageOps {
 
+	/**
+	 * 2D {@link ImageFloat32} kernels which are this wide or wider are convolved in the frequency domain using
+	 * {@link ConvolveFourier_F32}.  Set to {@link Integer#MAX_VALUE} to always use spatial convolution.
+	 */
+	public static int FOURIER_MIN_WIDTH = 15;
+
+	/**
+	 * Maximum number of idle {@link ConvolveFourier_F32} instances which are saved for reuse.  Set to zero to
+	 * create a new instance for every call.
+	 */
+	public static int FOURIER_CACHE_SIZE = 4;
+
+	// FFT convolution has internal work space, so an instance is only used by one thread at a time
+	private static final List<ConvolveFourier_F32> fourierCache = new ArrayList<ConvolveFourier_F32>();
+
+	/**
+	 * Discards all the saved {@link ConvolveFourier_F32} instances and the memory they reference
+	 */
+	public static void clearFourierCache() {
+		synchronized( fourierCache ) {
+			fourierCache.clear();
+		}
+	}
+
+	/**
+	 * Takes an instance out of the cache or creates a new one if the cache is empty
+	 */
+	private static ConvolveFourier_F32 borrowFourier() {
+		synchronized( fourierCache ) {
+			if( fourierCache.size() > 0 )
+				return fourierCache.remove(fourierCache.size()-1);
+		}
+		return new ConvolveFourier_F32();
+	}
+
+	/**
+	 * Returns an instance to the cache, unless the cache is full
+	 */
+	private static void releaseFourier( ConvolveFourier_F32 alg ) {
+		synchronized( fourierCache ) {
+			if( fourierCache.size() < FOURIER_CACHE_SIZE )
+				fourierCache.add(alg);
+		}
+	}
+
+	/**
+	 * Returns true if the kernel is large enough that it should be convolved using the FFT
+	 */
+	private static boolean useFourier( Kernel2D kernel ) {
+		return kernel.getWidth() >= FOURIER_MIN_WIDTH;
+	}
+
 	/**
 	 * Performs a horizontal 1D convolution across the image.  Borders are handled as specified by the 'border'
 	 * parameter.
@@ -54,6 +120,38 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a horizontal 1D convolution across the image.  Borders are handled as specified by the 'border'
+	 * parameter.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param border How the image borders are handled.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D, B extends ImageBorder<T>>
+	void horizontal(K kernel, T input, T output , B border, boolean concurrent ) {
+		if( !concurrent ) {
+			horizontal(kernel, input, output, border);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveWithBorder_MT.horizontal((Kernel1D_F32)kernel,(ImageFloat32)input,(ImageFloat32)output,(ImageBorder_F32)border);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveWithBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageInt16)output,(ImageBorder_I32)border);
+			else
+				ConvolveWithBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageSInt32)output,(ImageBorder_I32)border);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveWithBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageSInt16)input,(ImageInt16)output,(ImageBorder_I32)border);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a vertical 1D convolution across the image.  Borders are handled as specified by the 'border'
 	 * parameter.
@@ -79,10 +177,48 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a vertical 1D convolution across the image.  Borders are handled as specified by the 'border'
+	 * parameter.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param border How the image borders are handled.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D, B extends ImageBorder<T>>
+	void vertical(K kernel, T input, T output , B border, boolean concurrent ) {
+		if( !concurrent ) {
+			vertical(kernel, input, output, border);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveWithBorder_MT.vertical((Kernel1D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveWithBorder_MT.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageInt16) output, (ImageBorder_I32) border);
+			else
+				ConvolveWithBorder_MT.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output, (ImageBorder_I32) border);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveWithBorder_MT.vertical((Kernel1D_I32) kernel, (ImageSInt16) input, (ImageInt16) output, (ImageBorder_I32) border);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a 2D convolution across the image.  Borders are handled as specified by the 'border'
 	 * parameter.
 	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT and
+	 * the results only match spatial convolution up to round off error.  Call {@link ConvolveWithBorder} directly
+	 * if the spatial result is required.
+	 * </p>
+	 *
 	 * @param input The original image. Not modified.
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
@@ -91,7 +227,16 @@ public class GConvolveImageOps {
 	public static <T extends ImageSingleBand, K extends Kernel2D, B extends ImageBorder<T>>
 	void convolve(K kernel, T input, T output , B border ) {
 		if( input instanceof ImageFloat32 ) {
-			ConvolveWithBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+			if( useFourier(kernel) ) {
+				ConvolveFourier_F32 alg = borrowFourier();
+				try {
+					alg.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+				} finally {
+					releaseFourier(alg);
+				}
+			} else {
+				ConvolveWithBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+			}
 		} else if( input instanceof ImageUInt8 ) {
 			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
 				ConvolveWithBorder.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output, (ImageBorder_I32) border);
@@ -104,6 +249,44 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a 2D convolution across the image.  Borders are handled as specified by the 'border'
+	 * parameter.
+	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT in
+	 * a single thread, even if concurrent is true, so that the output is the same as the single threaded variant.
+	 * </p>
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param border How the image borders are handled.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D, B extends ImageBorder<T>>
+	void convolve(K kernel, T input, T output , B border, boolean concurrent ) {
+		// large kernels are faster with the FFT than with spatial convolution split across threads
+		if( !concurrent || (input instanceof ImageFloat32 && useFourier(kernel)) ) {
+			convolve(kernel, input, output, border);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveWithBorder_MT.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveWithBorder_MT.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output, (ImageBorder_I32) border);
+			else
+				ConvolveWithBorder_MT.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output, (ImageBorder_I32) border);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveWithBorder_MT.convolve((Kernel2D_I32) kernel, (ImageSInt16) input, (ImageInt16) output, (ImageBorder_I32) border);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
 	 *
@@ -127,6 +310,36 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void horizontal(K kernel, T input, T output, boolean concurrent ) {
+		if( !concurrent ) {
+			horizontal(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveImageNoBorder_MT.horizontal((Kernel1D_F32)kernel,(ImageFloat32)input,(ImageFloat32)output);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveImageNoBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageInt16)output);
+			else
+				ConvolveImageNoBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageSInt32)output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveImageNoBorder_MT.horizontal((Kernel1D_I32)kernel,(ImageSInt16)input,(ImageInt16)output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
 	 *
@@ -150,9 +363,45 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void vertical(K kernel, T input, T output, boolean concurrent ) {
+		if( !concurrent ) {
+			vertical(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveImageNoBorder_MT.vertical((Kernel1D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveImageNoBorder_MT.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageInt16) output);
+			else
+				ConvolveImageNoBorder_MT.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveImageNoBorder_MT.vertical((Kernel1D_I32) kernel, (ImageSInt16) input, (ImageInt16) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a 2D convolution across the image.  The image's borders are not processed.
 	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT and
+	 * the results only match spatial convolution up to round off error.  Call {@link ConvolveImageNoBorder}
+	 * directly if the spatial result is required.
+	 * </p>
+	 *
 	 * @param kernel A square kernel that will be convolved across the source image
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
@@ -160,7 +409,16 @@ public class GConvolveImageOps {
 	public static <T extends ImageSingleBand, K extends Kernel2D>
 	void convolve(K kernel, T input, T output ) {
 		if( input instanceof ImageFloat32 ) {
-			ConvolveImageNoBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			if( useFourier(kernel) ) {
+				ConvolveFourier_F32 alg = borrowFourier();
+				try {
+					alg.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+				} finally {
+					releaseFourier(alg);
+				}
+			} else {
+				ConvolveImageNoBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			}
 		} else if( input instanceof ImageUInt8 ) {
 			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
 				ConvolveImageNoBorder.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output);
@@ -173,6 +431,42 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT in
+	 * a single thread, even if concurrent is true, so that the output is the same as the single threaded variant.
+	 * </p>
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D>
+	void convolve(K kernel, T input, T output, boolean concurrent ) {
+		// large kernels are faster with the FFT than with spatial convolution split across threads
+		if( !concurrent || (input instanceof ImageFloat32 && useFourier(kernel)) ) {
+			convolve(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveImageNoBorder_MT.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+		} else if( input instanceof ImageUInt8 ) {
+			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
+				ConvolveImageNoBorder_MT.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output);
+			else
+				ConvolveImageNoBorder_MT.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveImageNoBorder_MT.convolve((Kernel2D_I32) kernel, (ImageSInt16) input, (ImageInt16) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a horizontal 1D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
@@ -194,6 +488,34 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a horizontal 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void horizontalNormalized(K kernel, T input, T output, boolean concurrent ) {
+		if( !concurrent ) {
+			horizontalNormalized(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveNormalized_MT.horizontal((Kernel1D_F32)kernel,(ImageFloat32)input,(ImageFloat32)output);
+		} else if( input instanceof ImageUInt8 ) {
+			ConvolveNormalized_MT.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageInt8)output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveNormalized_MT.horizontal((Kernel1D_I32)kernel,(ImageSInt16)input,(ImageInt16)output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a vertical 1D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
@@ -215,10 +537,44 @@ public class GConvolveImageOps {
 		}
 	}
 
+	/**
+	 * Performs a vertical 1D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel1D>
+	void verticalNormalized(K kernel, T input, T output, boolean concurrent ) {
+		if( !concurrent ) {
+			verticalNormalized(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveNormalized_MT.vertical((Kernel1D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+		} else if( input instanceof ImageUInt8 ) {
+			ConvolveNormalized_MT.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageInt8) output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveNormalized_MT.vertical((Kernel1D_I32) kernel, (ImageSInt16) input, (ImageInt16) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
+
 	/**
 	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
 	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT and
+	 * the results only match spatial convolution up to round off error.  Call {@link ConvolveNormalized} directly
+	 * if the spatial result is required.
+	 * </p>
+	 *
 	 * @param input	 The original image. Not modified.
 	 * @param output	 Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
@@ -226,7 +582,16 @@ public class GConvolveImageOps {
 	public static <T extends ImageSingleBand, K extends Kernel2D>
 	void convolveNormalized(K kernel, T input, T output ) {
 		if( input instanceof ImageFloat32 ) {
-			ConvolveNormalized.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			if( useFourier(kernel) ) {
+				ConvolveFourier_F32 alg = borrowFourier();
+				try {
+					alg.convolveNormalized((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+				} finally {
+					releaseFourier(alg);
+				}
+			} else {
+				ConvolveNormalized.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			}
 		} else if( input instanceof ImageUInt8 ) {
 			ConvolveNormalized.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt8) output);
 		} else if( input instanceof ImageSInt16 ) {
@@ -235,4 +600,38 @@ public class GConvolveImageOps {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
 		}
 	}
+
+	/**
+	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
+	 * overlap with the image.
+	 *
+	 * <p>
+	 * {@link ImageFloat32} kernels which are {@link #FOURIER_MIN_WIDTH} or wider are convolved using the FFT in
+	 * a single thread, even if concurrent is true, so that the output is the same as the single threaded variant.
+	 * </p>
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param concurrent If true the image is split into bands of rows which are processed in parallel.
+	 *                   If false the global setting in {@link BoofConcurrency} is used.
+	 */
+	public static <T extends ImageSingleBand, K extends Kernel2D>
+	void convolveNormalized(K kernel, T input, T output, boolean concurrent ) {
+		// large kernels are faster with the FFT than with spatial convolution split across threads
+		if( !concurrent || (input instanceof ImageFloat32 && useFourier(kernel)) ) {
+			convolveNormalized(kernel, input, output);
+			return;
+		}
+
+		if( input instanceof ImageFloat32 ) {
+			ConvolveNormalized_MT.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+		} else if( input instanceof ImageUInt8 ) {
+			ConvolveNormalized_MT.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt8) output);
+		} else if( input instanceof ImageSInt16 ) {
+			ConvolveNormalized_MT.convolve((Kernel2D_I32) kernel, (ImageSInt16) input, (ImageInt16) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
+		}
+	}
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Blurs an image and computes its gradient, and optionally its Hessian, in a single pass through the image.
+ * The results are the same as calling {@link boofcv.alg.filter.convolve.ConvolveNormalized} horizontally then
+ * vertically followed by {@link GradientSobel} or {@link GradientThree} and {@link HessianFromGradient}
+ * with an {@link boofcv.core.image.border.BorderType#EXTENDED extended} border, up to floating point round off
+ * along the image border.
+ * </p>
+ *
+ * <p>
+ * Instead of writing each intermediate result to a full size image, the image is processed one row at a time.
+ * Each stage writes its rows into a small circular buffer which is read by the next stage while it is still in
+ * the cache.  The blurred image and gradient are only written to memory if requested.
+ * </p>
+ *
+ * @see FusedBlurGradient_U8
+ *
+ * @author Peter Abeles
+ */
+public class FusedBlurGradient_F32 {
+
+	// blur kernel
+	Kernel1D_F32 kernel;
+	// true for a Sobel operator and false for a three tap derivative
+	boolean sobel;
+
+	// circular buffers containing the most recent rows output by each stage
+	float[][] ringHorizontal = new float[0][];
+	float[][] ringBlur = new float[3][];
+	float[][] ringX = new float[3][];
+	float[][] ringY = new float[3][];
+	// difference along each column, used when computing the Sobel derivative YY
+	float[] colDiff = new float[0];
+
+	/**
+	 * Configures the operator.
+	 *
+	 * @param kernel Symmetric blur kernel with an odd width.
+	 * @param sobel If true the Sobel operator is used, otherwise {@link GradientThree}'s operator.
+	 */
+	public FusedBlurGradient_F32(Kernel1D_F32 kernel, boolean sobel) {
+		if( kernel.getWidth() % 2 == 0 )
+			throw new IllegalArgumentException("Kernel must have an odd width");
+		this.kernel = kernel;
+		this.sobel = sobel;
+		ringHorizontal = new float[kernel.getWidth()][];
+	}
+
+	/**
+	 * Computes the blurred image, gradient, and Hessian.  Outputs which are not needed can be null, but
+	 * the gradient must be either entirely provided or null and the same for the Hessian.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param blurred (Optional) Output blurred image.  Modified.
+	 * @param derivX (Optional) Output derivative along x-axis of the blurred image.  Modified.
+	 * @param derivY (Optional) Output derivative along y-axis of the blurred image.  Modified.
+	 * @param derivXX (Optional) Output second derivative XX of the blurred image.  Modified.
+	 * @param derivYY (Optional) Output second derivative YY of the blurred image.  Modified.
+	 * @param derivXY (Optional) Output second derivative XY of the blurred image.  Modified.
+	 */
+	public void process( ImageFloat32 input , ImageFloat32 blurred ,
+						 ImageFloat32 derivX , ImageFloat32 derivY ,
+						 ImageFloat32 derivXX , ImageFloat32 derivYY , ImageFloat32 derivXY ) {
+		if( (derivX == null) != (derivY == null) )
+			throw new IllegalArgumentException("Both or neither of the gradient images must be provided");
+		if( (derivXX == null) != (derivYY == null) || (derivXX == null) != (derivXY == null) )
+			throw new IllegalArgumentException("All or none of the Hessian images must be provided");
+		checkShape(input, blurred);
+		checkShape(input, derivX);
+		checkShape(input, derivY);
+		checkShape(input, derivXX);
+		checkShape(input, derivYY);
+		checkShape(input, derivXY);
+
+		final int width = input.width;
+		final int height = input.height;
+		final int radius = kernel.getRadius();
+
+		declareStorage(width);
+
+		boolean hessian = derivXX != null;
+		boolean gradient = derivX != null || hessian;
+
+		// each stage lags one row behind the previous one, since it needs the next row from it
+		int end = height + radius + (hessian ? 2 : (gradient ? 1 : 0));
+		for( int i = 0; i < end; i++ ) {
+			if( i < height )
+				horizontal(input, i);
+
+			int yb = i - radius;
+			if( yb >= 0 && yb < height ) {
+				vertical(yb, height);
+				if( blurred != null )
+					System.arraycopy(ringBlur[yb % 3], 0, blurred.data, blurred.startIndex + yb*blurred.stride, width);
+			}
+
+			int yg = yb - 1;
+			if( gradient && yg >= 0 && yg < height ) {
+				float[] a = ringBlur[Math.max(0,yg-1) % 3];
+				float[] b = ringBlur[yg % 3];
+				float[] c = ringBlur[Math.min(height-1,yg+1) % 3];
+				if( hessian ) {
+					// the Hessian needs the gradient from the neighboring rows too
+					float[] gx = ringX[yg % 3];
+					float[] gy = ringY[yg % 3];
+					derivative(a, b, c, gx, 0, gy, 0, width);
+					if( derivX != null ) {
+						System.arraycopy(gx, 0, derivX.data, derivX.startIndex + yg*derivX.stride, width);
+						System.arraycopy(gy, 0, derivY.data, derivY.startIndex + yg*derivY.stride, width);
+					}
+				} else {
+					derivative(a, b, c, derivX.data, derivX.startIndex + yg*derivX.stride,
+							derivY.data, derivY.startIndex + yg*derivY.stride, width);
+				}
+			}
+
+			int yh = yg - 1;
+			if( hessian && yh >= 0 && yh < height ) {
+				int indexA = Math.max(0,yh-1) % 3;
+				int indexC = Math.min(height-1,yh+1) % 3;
+				int rowXX = derivXX.startIndex + yh*derivXX.stride;
+				int rowYY = derivYY.startIndex + yh*derivYY.stride;
+				int rowXY = derivXY.startIndex + yh*derivXY.stride;
+
+				// XX and XY from the x-derivative, YY from the y-derivative
+				derivative(ringX[indexA], ringX[yh % 3], ringX[indexC], derivXX.data, rowXX, derivXY.data, rowXY, width);
+				derivativeY(ringY[indexA], ringY[yh % 3], ringY[indexC], derivYY.data, rowYY, width);
+			}
+		}
+	}
+
+	private static void checkShape( ImageFloat32 input , ImageFloat32 output ) {
+		if( output != null )
+			InputSanityCheck.checkSameShape(input, output);
+	}
+
+	private void declareStorage( int width ) {
+		if( ringBlur[0] != null && ringBlur[0].length == width )
+			return;
+
+		for( int i = 0; i < ringHorizontal.length; i++ )
+			ringHorizontal[i] = new float[width];
+		for( int i = 0; i < 3; i++ ) {
+			ringBlur[i] = new float[width];
+			ringX[i] = new float[width];
+			ringY[i] = new float[width];
+		}
+		colDiff = new float[width];
+	}
+
+	/**
+	 * Horizontally blurs a row in the input image.  Along the border the kernel is normalized.
+	 */
+	private void horizontal( ImageFloat32 input , int y ) {
+		final float[] dataSrc = input.data;
+		final float[] dataKer = kernel.data;
+		final float[] dst = ringHorizontal[y % ringHorizontal.length];
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int rowStart = input.startIndex + y*input.stride;
+
+		int x0 = Math.min(radius,width);
+		int x1 = Math.max(x0,width-radius);
+
+		for( int x = 0; x < x0; x++ )
+			dst[x] = horizontalBorder(dataSrc, rowStart, x, width, dataKer, radius, kernelWidth);
+
+		// loop through the kernel then the row so that the inner loop can be vectorized
+		final float w0 = dataKer[0];
+		for( int x = x0; x < x1; x++ )
+			dst[x] = dataSrc[rowStart - radius + x]*w0;
+		for( int k = 1; k < kernelWidth; k++ ) {
+			final float w = dataKer[k];
+			final int offset = rowStart - radius + k;
+			for( int x = x0; x < x1; x++ ) {
+				dst[x] += dataSrc[offset + x]*w;
+			}
+		}
+
+		for( int x = x1; x < width; x++ )
+			dst[x] = horizontalBorder(dataSrc, rowStart, x, width, dataKer, radius, kernelWidth);
+	}
+
+	private static float horizontalBorder( float[] dataSrc , int rowStart , int x , int width ,
+										   float[] dataKer , int radius , int kernelWidth ) {
+		int k0 = Math.max(0,radius-x);
+		int k1 = Math.min(kernelWidth,width-x+radius);
+		float total = 0;
+		float weight = 0;
+		int indexSrc = rowStart + x - radius + k0;
+		for( int k = k0; k < k1; k++ ) {
+			float w = dataKer[k];
+			weight += w;
+			total += dataSrc[indexSrc++]*w;
+		}
+		return total/weight;
+	}
+
+	/**
+	 * Vertically blurs the horizontally blurred rows.  Along the border the kernel is normalized.
+	 */
+	private void vertical( int y , int height ) {
+		final float[] dataKer = kernel.data;
+		final float[] dst = ringBlur[y % 3];
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = dst.length;
+		final int ringSize = ringHorizontal.length;
+
+		int k0 = Math.max(0,radius-y);
+		int k1 = Math.min(kernelWidth,height-y+radius);
+
+		float weight = 0;
+		for( int k = k0; k < k1; k++ )
+			weight += dataKer[k];
+
+		// the first row initializes the output so that it doesn't need to be zeroed
+		float[] first = ringHorizontal[(y - radius + k0) % ringSize];
+		float w0 = dataKer[k0];
+		for( int x = 0; x < width; x++ )
+			dst[x] = first[x]*w0;
+
+		for( int k = k0+1; k < k1; k++ ) {
+			float[] src = ringHorizontal[(y - radius + k) % ringSize];
+			float w = dataKer[k];
+			for( int x = 0; x < width; x++ ) {
+				dst[x] += src[x]*w;
+			}
+		}
+
+		if( k0 != 0 || k1 != kernelWidth ) {
+			for( int x = 0; x < width; x++ )
+				dst[x] /= weight;
+		}
+	}
+
+	/**
+	 * Computes the derivative along the x and y axes of row 'b'
+	 */
+	private void derivative( float[] a , float[] b , float[] c ,
+							 float[] gx , int indexX , float[] gy , int indexY , int width ) {
+		if( sobel ) {
+			for( int x = 1; x < width-1; x++ ) {
+				float v = (c[x+1] - a[x-1])*0.25f;
+				float w = (c[x-1] - a[x+1])*0.25f;
+				gy[indexY+x] = (c[x] - a[x])*0.5f + v + w;
+				gx[indexX+x] = (b[x+1] - b[x-1])*0.5f + v - w;
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				float v = (c[r] - a[l])*0.25f;
+				float w = (c[l] - a[r])*0.25f;
+				gy[indexY+x] = (c[x] - a[x])*0.5f + v + w;
+				gx[indexX+x] = (b[r] - b[l])*0.5f + v - w;
+			}
+		} else {
+			for( int x = 1; x < width-1; x++ ) {
+				gx[indexX+x] = (b[x+1] - b[x-1])*0.5f;
+				gy[indexY+x] = (c[x] - a[x])*0.5f;
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				gx[indexX+x] = (b[r] - b[l])*0.5f;
+				gy[indexY+x] = (c[x] - a[x])*0.5f;
+			}
+		}
+	}
+
+	/**
+	 * Computes only the derivative along the y-axis of row 'b'
+	 */
+	private void derivativeY( float[] a , float[] b , float[] c , float[] out , int index , int width ) {
+		if( sobel ) {
+			final float[] d = colDiff;
+			for( int x = 0; x < width; x++ )
+				d[x] = c[x] - a[x];
+			for( int x = 1; x < width-1; x++ )
+				out[index+x] = (d[x-1] + d[x+1])*0.25f + d[x]*0.5f;
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				out[index+x] = (d[l] + d[r])*0.25f + d[x]*0.5f;
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				out[index+x] = (c[x] - a[x])*0.5f;
+			}
+		}
+	}
+
+	public Kernel1D_F32 getKernel() {
+		return kernel;
+	}
+
+	public boolean isSobel() {
+		return sobel;
+	}
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Blurs an image and computes its gradient, and optionally its Hessian, in a single pass through the image.
+ * Produces exactly the same results as calling {@link boofcv.alg.filter.convolve.ConvolveNormalized}
+ * horizontally then vertically followed by {@link GradientSobel} or {@link GradientThree} and
+ * {@link HessianFromGradient} with an {@link boofcv.core.image.border.BorderType#EXTENDED extended} border.
+ * </p>
+ *
+ * <p>
+ * See {@link FusedBlurGradient_F32} for a description of how it works.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FusedBlurGradient_U8 {
+
+	// blur kernel
+	Kernel1D_I32 kernel;
+	// sum of the kernel's elements
+	int divisor;
+	// true for a Sobel operator and false for a three tap derivative
+	boolean sobel;
+
+	// circular buffers containing the most recent rows output by each stage
+	int[][] ringHorizontal = new int[0][];
+	int[][] ringBlur = new int[3][];
+	int[][] ringX = new int[3][];
+	int[][] ringY = new int[3][];
+	// sum and difference along each column, used by the separable Sobel operator
+	int[] colSum = new int[0];
+	int[] colDiff = new int[0];
+
+	/**
+	 * Configures the operator.
+	 *
+	 * @param kernel Symmetric blur kernel with an odd width.
+	 * @param sobel If true the Sobel operator is used, otherwise {@link GradientThree}'s operator.
+	 */
+	public FusedBlurGradient_U8(Kernel1D_I32 kernel, boolean sobel) {
+		if( kernel.getWidth() % 2 == 0 )
+			throw new IllegalArgumentException("Kernel must have an odd width");
+		this.kernel = kernel;
+		this.divisor = kernel.computeSum();
+		this.sobel = sobel;
+		ringHorizontal = new int[kernel.getWidth()][];
+	}
+
+	/**
+	 * Computes the blurred image, gradient, and Hessian.  Outputs which are not needed can be null, but
+	 * the gradient must be either entirely provided or null and the same for the Hessian.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param blurred (Optional) Output blurred image.  Modified.
+	 * @param derivX (Optional) Output derivative along x-axis of the blurred image.  Modified.
+	 * @param derivY (Optional) Output derivative along y-axis of the blurred image.  Modified.
+	 * @param derivXX (Optional) Output second derivative XX of the blurred image.  Modified.
+	 * @param derivYY (Optional) Output second derivative YY of the blurred image.  Modified.
+	 * @param derivXY (Optional) Output second derivative XY of the blurred image.  Modified.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 blurred ,
+						 ImageSInt16 derivX , ImageSInt16 derivY ,
+						 ImageSInt16 derivXX , ImageSInt16 derivYY , ImageSInt16 derivXY ) {
+		if( (derivX == null) != (derivY == null) )
+			throw new IllegalArgumentException("Both or neither of the gradient images must be provided");
+		if( (derivXX == null) != (derivYY == null) || (derivXX == null) != (derivXY == null) )
+			throw new IllegalArgumentException("All or none of the Hessian images must be provided");
+		checkShape(input, blurred);
+		checkShape(input, derivX);
+		checkShape(input, derivY);
+		checkShape(input, derivXX);
+		checkShape(input, derivYY);
+		checkShape(input, derivXY);
+
+		final int width = input.width;
+		final int height = input.height;
+		final int radius = kernel.getRadius();
+
+		declareStorage(width);
+
+		boolean hessian = derivXX != null;
+		boolean gradient = derivX != null || hessian;
+
+		// each stage lags one row behind the previous one, since it needs the next row from it
+		int end = height + radius + (hessian ? 2 : (gradient ? 1 : 0));
+		for( int i = 0; i < end; i++ ) {
+			if( i < height )
+				horizontal(input, i);
+
+			int yb = i - radius;
+			if( yb >= 0 && yb < height ) {
+				vertical(yb, height);
+				if( blurred != null ) {
+					int[] src = ringBlur[yb % 3];
+					int index = blurred.startIndex + yb*blurred.stride;
+					for( int x = 0; x < width; x++ )
+						blurred.data[index++] = (byte)src[x];
+				}
+			}
+
+			int yg = yb - 1;
+			if( gradient && yg >= 0 && yg < height ) {
+				int[] a = ringBlur[Math.max(0,yg-1) % 3];
+				int[] b = ringBlur[yg % 3];
+				int[] c = ringBlur[Math.min(height-1,yg+1) % 3];
+				if( hessian ) {
+					// the Hessian needs the gradient from the neighboring rows too
+					int[] gx = ringX[yg % 3];
+					int[] gy = ringY[yg % 3];
+					derivative(a, b, c, gx, gy, width);
+					if( derivX != null ) {
+						copy(gx, derivX, yg);
+						copy(gy, derivY, yg);
+					}
+				} else {
+					derivative(a, b, c, derivX.data, derivX.startIndex + yg*derivX.stride,
+							derivY.data, derivY.startIndex + yg*derivY.stride, width);
+				}
+			}
+
+			int yh = yg - 1;
+			if( hessian && yh >= 0 && yh < height ) {
+				int indexA = Math.max(0,yh-1) % 3;
+				int indexC = Math.min(height-1,yh+1) % 3;
+
+				// XX and XY from the x-derivative, YY from the y-derivative
+				derivative(ringX[indexA], ringX[yh % 3], ringX[indexC], derivXX.data,
+						derivXX.startIndex + yh*derivXX.stride, derivXY.data, derivXY.startIndex + yh*derivXY.stride, width);
+				derivativeY(ringY[indexA], ringY[yh % 3], ringY[indexC], derivYY.data,
+						derivYY.startIndex + yh*derivYY.stride, width);
+			}
+		}
+	}
+
+	private static void checkShape( ImageUInt8 input , ImageBase output ) {
+		if( output != null )
+			InputSanityCheck.checkSameShape(input, output);
+	}
+
+	private static void copy( int[] src , ImageSInt16 output , int y ) {
+		int index = output.startIndex + y*output.stride;
+		for( int x = 0; x < output.width; x++ )
+			output.data[index++] = (short)src[x];
+	}
+
+	private void declareStorage( int width ) {
+		if( ringBlur[0] != null && ringBlur[0].length == width )
+			return;
+
+		for( int i = 0; i < ringHorizontal.length; i++ )
+			ringHorizontal[i] = new int[width];
+		for( int i = 0; i < 3; i++ ) {
+			ringBlur[i] = new int[width];
+			ringX[i] = new int[width];
+			ringY[i] = new int[width];
+		}
+		colSum = new int[width];
+		colDiff = new int[width];
+	}
+
+	/**
+	 * Horizontally blurs a row in the input image.  Along the border the kernel is normalized.
+	 */
+	private void horizontal( ImageUInt8 input , int y ) {
+		final byte[] dataSrc = input.data;
+		final int[] dataKer = kernel.data;
+		final int[] dst = ringHorizontal[y % ringHorizontal.length];
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.width;
+		final int rowStart = input.startIndex + y*input.stride;
+		final int halfDivisor = divisor/2;
+
+		int x0 = Math.min(radius,width);
+		int x1 = Math.max(x0,width-radius);
+
+		for( int x = 0; x < x0; x++ )
+			dst[x] = horizontalBorder(dataSrc, rowStart, x, width, dataKer, radius, kernelWidth);
+
+		// loop through the kernel then the row so that the inner loop can be vectorized
+		for( int x = x0; x < x1; x++ )
+			dst[x] = halfDivisor;
+		for( int k = 0; k < kernelWidth; k++ ) {
+			final int w = dataKer[k];
+			final int offset = rowStart - radius + k;
+			for( int x = x0; x < x1; x++ ) {
+				dst[x] += (dataSrc[offset + x] & 0xFF)*w;
+			}
+		}
+		for( int x = x0; x < x1; x++ )
+			dst[x] /= divisor;
+
+		for( int x = x1; x < width; x++ )
+			dst[x] = horizontalBorder(dataSrc, rowStart, x, width, dataKer, radius, kernelWidth);
+	}
+
+	private static int horizontalBorder( byte[] dataSrc , int rowStart , int x , int width ,
+										 int[] dataKer , int radius , int kernelWidth ) {
+		int k0 = Math.max(0,radius-x);
+		int k1 = Math.min(kernelWidth,width-x+radius);
+		int total = 0;
+		int weight = 0;
+		int indexSrc = rowStart + x - radius + k0;
+		for( int k = k0; k < k1; k++ ) {
+			int w = dataKer[k];
+			weight += w;
+			total += (dataSrc[indexSrc++] & 0xFF)*w;
+		}
+		return (total+weight/2)/weight;
+	}
+
+	/**
+	 * Vertically blurs the horizontally blurred rows.  Along the border the kernel is normalized.
+	 */
+	private void vertical( int y , int height ) {
+		final int[] dataKer = kernel.data;
+		final int[] dst = ringBlur[y % 3];
+		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
+		final int width = dst.length;
+		final int ringSize = ringHorizontal.length;
+
+		int k0 = Math.max(0,radius-y);
+		int k1 = Math.min(kernelWidth,height-y+radius);
+
+		int weight = 0;
+		for( int k = k0; k < k1; k++ )
+			weight += dataKer[k];
+		int halfWeight = weight/2;
+
+		for( int x = 0; x < width; x++ )
+			dst[x] = 0;
+
+		for( int k = k0; k < k1; k++ ) {
+			int[] src = ringHorizontal[(y - radius + k) % ringSize];
+			int w = dataKer[k];
+			for( int x = 0; x < width; x++ ) {
+				dst[x] += src[x]*w;
+			}
+		}
+
+		for( int x = 0; x < width; x++ )
+			dst[x] = (dst[x]+halfWeight)/weight;
+	}
+
+	/**
+	 * Computes the sum and difference along each column which the Sobel operator is separated into.
+	 */
+	private void columns( int[] a , int[] b , int[] c , int width ) {
+		final int[] s = colSum;
+		final int[] d = colDiff;
+		for( int x = 0; x < width; x++ ) {
+			s[x] = a[x] + 2*b[x] + c[x];
+			d[x] = c[x] - a[x];
+		}
+	}
+
+	/**
+	 * Computes the derivative along the x and y axes of row 'b' and saves it in the circular buffers.  Values are
+	 * truncated to 16-bit the same as if they had been saved in an {@link ImageSInt16}.
+	 */
+	private void derivative( int[] a , int[] b , int[] c , int[] gx , int[] gy , int width ) {
+		if( sobel ) {
+			columns(a, b, c, width);
+			final int[] s = colSum;
+			final int[] d = colDiff;
+			for( int x = 1; x < width-1; x++ ) {
+				gx[x] = (short)(s[x+1] - s[x-1]);
+				gy[x] = (short)(d[x-1] + 2*d[x] + d[x+1]);
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				gx[x] = (short)(s[r] - s[l]);
+				gy[x] = (short)(d[l] + 2*d[x] + d[r]);
+			}
+		} else {
+			for( int x = 1; x < width-1; x++ ) {
+				gx[x] = (short)(b[x+1] - b[x-1]);
+				gy[x] = (short)(c[x] - a[x]);
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				gx[x] = (short)(b[r] - b[l]);
+				gy[x] = (short)(c[x] - a[x]);
+			}
+		}
+	}
+
+	/**
+	 * Computes the derivative along the x and y axes of row 'b' and writes it directly into the output images.
+	 */
+	private void derivative( int[] a , int[] b , int[] c ,
+							 short[] gx , int indexX , short[] gy , int indexY , int width ) {
+		if( sobel ) {
+			columns(a, b, c, width);
+			final int[] s = colSum;
+			final int[] d = colDiff;
+			for( int x = 1; x < width-1; x++ ) {
+				gx[indexX+x] = (short)(s[x+1] - s[x-1]);
+				gy[indexY+x] = (short)(d[x-1] + 2*d[x] + d[x+1]);
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				gx[indexX+x] = (short)(s[r] - s[l]);
+				gy[indexY+x] = (short)(d[l] + 2*d[x] + d[r]);
+			}
+		} else {
+			for( int x = 1; x < width-1; x++ ) {
+				gx[indexX+x] = (short)(b[x+1] - b[x-1]);
+				gy[indexY+x] = (short)(c[x] - a[x]);
+			}
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				gx[indexX+x] = (short)(b[r] - b[l]);
+				gy[indexY+x] = (short)(c[x] - a[x]);
+			}
+		}
+	}
+
+	/**
+	 * Computes only the derivative along the y-axis of row 'b'
+	 */
+	private void derivativeY( int[] a , int[] b , int[] c , short[] out , int index , int width ) {
+		if( sobel ) {
+			final int[] d = colDiff;
+			for( int x = 0; x < width; x++ )
+				d[x] = c[x] - a[x];
+			for( int x = 1; x < width-1; x++ )
+				out[index+x] = (short)(d[x-1] + 2*d[x] + d[x+1]);
+			for( int x = 0; x < width; x += Math.max(1,width-1) ) {
+				int l = Math.max(0,x-1);
+				int r = Math.min(width-1,x+1);
+				out[index+x] = (short)(d[l] + 2*d[x] + d[r]);
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				out[index+x] = (short)(c[x] - a[x]);
+			}
+		}
+	}
+
+	public Kernel1D_I32 getKernel() {
+		return kernel;
+	}
+
+	public boolean isSobel() {
+		return sobel;
+	}
+}
@@ -230,6 +230,36 @@ public class GImageStatistics {
 		}
 	}
 
+	/**
+	 * Computes the sum of the absolute value of the difference between the two images.
+	 *
+	 * @param inputA Input image. Not modified.
+	 * @param inputB Input image. Not modified.
+	 * @return Sum of absolute differences
+	 */
+	public static <T extends ImageSingleBand> double sumDiffAbs( T inputA , T inputB ) {
+
+		if( ImageUInt8.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageUInt8)inputA,(ImageUInt8)inputB);
+		} else if( ImageSInt8.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageSInt8)inputA,(ImageSInt8)inputB);
+		} else if( ImageUInt16.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageUInt16)inputA,(ImageUInt16)inputB);
+		} else if( ImageSInt16.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageSInt16)inputA,(ImageSInt16)inputB);
+		} else if( ImageSInt32.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageSInt32)inputA,(ImageSInt32)inputB);
+		} else if( ImageSInt64.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageSInt64)inputA,(ImageSInt64)inputB);
+		} else if( ImageFloat32.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageFloat32)inputA,(ImageFloat32)inputB);
+		} else if( ImageFloat64.class == inputA.getClass() ) {
+			return ImageStatistics.sumDiffAbs((ImageFloat64)inputA,(ImageFloat64)inputB);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type");
+		}
+	}
+
 	/**
 	 * Computes the mean of the absolute value of the difference between the two images.
 	 *
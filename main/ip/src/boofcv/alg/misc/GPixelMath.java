@@ -228,6 +228,74 @@ public class GPixelMath {
 		}
 	}
 
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static <T extends ImageSingleBand> void multiplyPlus(T input, double scale, double offset, T output) {
+
+		if( ImageUInt8.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageUInt8) input, scale, offset, (ImageUInt8) output);
+		} else if( ImageSInt8.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt8) input, scale, offset, (ImageSInt8) output);
+		} else if( ImageUInt16.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageUInt16) input, scale, offset, (ImageUInt16) output);
+		} else if( ImageSInt16.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt16) input, scale, offset, (ImageSInt16) output);
+		} else if( ImageSInt32.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt32) input, scale, offset, (ImageSInt32) output);
+		} else if( ImageSInt64.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt64) input, scale, offset, (ImageSInt64) output);
+		} else if( ImageFloat32.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageFloat32) input, (float) scale, (float) offset, (ImageFloat32) output);
+		} else if( ImageFloat64.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageFloat64) input, scale, offset, (ImageFloat64) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static <T extends ImageSingleBand> void multiplyPlus(T input, double scale, double offset,
+															  double lower , double upper , T output)
+	{
+		if( ImageUInt8.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageUInt8)input,scale,offset,(int)lower,(int)upper,(ImageUInt8)output);
+		} else if( ImageSInt8.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt8)input,scale,offset,(int)lower,(int)upper,(ImageSInt8)output);
+		} else if( ImageUInt16.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageUInt16)input,scale,offset,(int)lower,(int)upper,(ImageUInt16)output);
+		} else if( ImageSInt16.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt16)input,scale,offset,(int)lower,(int)upper,(ImageSInt16)output);
+		} else if( ImageSInt32.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt32)input,scale,offset,(int)lower,(int)upper,(ImageSInt32)output);
+		} else if( ImageSInt64.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageSInt64)input,scale,offset,(long)lower,(long)upper,(ImageSInt64)output);
+		} else if( ImageFloat32.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageFloat32)input,(float)scale,(float)offset,(float)lower,(float)upper,(ImageFloat32)output);
+		} else if( ImageFloat64.class == input.getClass() ) {
+			PixelMath.multiplyPlus((ImageFloat64)input,scale,offset,lower,upper,(ImageFloat64)output);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+		}
+	}
+
 	/**
 	 * <p>
 	 * Performs pixel-wise multiplication<br>
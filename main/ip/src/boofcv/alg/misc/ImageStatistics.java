@@ -39,14 +39,20 @@ public class ImageStatistics {
 
 		int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] & 0xFF;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -62,14 +68,20 @@ public class ImageStatistics {
 
 		int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] & 0xFF;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -85,14 +97,20 @@ public class ImageStatistics {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index]& 0xFF;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -107,16 +125,18 @@ public class ImageStatistics {
 	 */
 	public static int sum( ImageUInt8 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] & 0xFF;
 			}
@@ -146,11 +166,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]& 0xFF) - mean; 
 				variance += d*d;
@@ -170,10 +196,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageUInt8 imgA, ImageUInt8 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
 				total += difference*difference;
 			}
@@ -183,25 +216,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageUInt8 imgA, ImageUInt8 imgB ) {
+	public static int sumDiffAbs(ImageUInt8 imgA, ImageUInt8 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageUInt8 imgA, ImageUInt8 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -213,10 +265,17 @@ public class ImageStatistics {
 	public static void histogram( ImageUInt8 input , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				histogram[input.data[index]& 0xFF]++;
@@ -234,14 +293,20 @@ public class ImageStatistics {
 
 		int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -257,14 +322,20 @@ public class ImageStatistics {
 
 		int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -280,14 +351,20 @@ public class ImageStatistics {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -302,16 +379,18 @@ public class ImageStatistics {
 	 */
 	public static int sum( ImageSInt8 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -341,11 +420,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -365,10 +450,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageSInt8 imgA, ImageSInt8 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -378,25 +470,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt8 imgA, ImageSInt8 imgB ) {
+	public static int sumDiffAbs(ImageSInt8 imgA, ImageSInt8 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageSInt8 imgA, ImageSInt8 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -409,10 +520,17 @@ public class ImageStatistics {
 	public static void histogram( ImageSInt8 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
@@ -431,14 +549,20 @@ public class ImageStatistics {
 
 		int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] & 0xFFFF;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -454,14 +578,20 @@ public class ImageStatistics {
 
 		int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] & 0xFFFF;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -477,14 +607,20 @@ public class ImageStatistics {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index]& 0xFFFF;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -499,16 +635,18 @@ public class ImageStatistics {
 	 */
 	public static int sum( ImageUInt16 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] & 0xFFFF;
 			}
@@ -538,11 +676,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]& 0xFFFF) - mean; 
 				variance += d*d;
@@ -562,10 +706,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageUInt16 imgA, ImageUInt16 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
 				total += difference*difference;
 			}
@@ -575,25 +726,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageUInt16 imgA, ImageUInt16 imgB ) {
+	public static int sumDiffAbs(ImageUInt16 imgA, ImageUInt16 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageUInt16 imgA, ImageUInt16 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -605,10 +775,17 @@ public class ImageStatistics {
 	public static void histogram( ImageUInt16 input , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				histogram[input.data[index]& 0xFFFF]++;
@@ -626,14 +803,20 @@ public class ImageStatistics {
 
 		int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -649,14 +832,20 @@ public class ImageStatistics {
 
 		int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -672,14 +861,20 @@ public class ImageStatistics {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -694,16 +889,18 @@ public class ImageStatistics {
 	 */
 	public static int sum( ImageSInt16 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -733,11 +930,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -757,10 +960,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageSInt16 imgA, ImageSInt16 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -770,25 +980,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt16 imgA, ImageSInt16 imgB ) {
+	public static int sumDiffAbs(ImageSInt16 imgA, ImageSInt16 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageSInt16 imgA, ImageSInt16 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -801,10 +1030,17 @@ public class ImageStatistics {
 	public static void histogram( ImageSInt16 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
@@ -823,14 +1059,20 @@ public class ImageStatistics {
 
 		int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -846,14 +1088,20 @@ public class ImageStatistics {
 
 		int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -869,14 +1117,20 @@ public class ImageStatistics {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -891,16 +1145,18 @@ public class ImageStatistics {
 	 */
 	public static int sum( ImageSInt32 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -930,11 +1186,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -954,10 +1216,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageSInt32 imgA, ImageSInt32 imgB ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -967,25 +1236,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt32 imgA, ImageSInt32 imgB ) {
+	public static int sumDiffAbs(ImageSInt32 imgA, ImageSInt32 imgB ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageSInt32 imgA, ImageSInt32 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -998,10 +1286,17 @@ public class ImageStatistics {
 	public static void histogram( ImageSInt32 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
@@ -1020,14 +1315,20 @@ public class ImageStatistics {
 
 		long min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				long v = input.data[index] ;
-				if( v < min )
-					min = v;
+				min = Math.min(min,v);
 			}
 		}
 		return min;
@@ -1043,14 +1344,20 @@ public class ImageStatistics {
 
 		long max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				long v = input.data[index] ;
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -1066,14 +1373,20 @@ public class ImageStatistics {
 
 		long max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				long v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				max = Math.max(max,v);
 			}
 		}
 		return max;
@@ -1088,16 +1401,18 @@ public class ImageStatistics {
 	 */
 	public static long sum( ImageSInt64 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		long total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -1127,11 +1442,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -1151,10 +1472,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageSInt64 imgA, ImageSInt64 imgB ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				long difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -1164,25 +1492,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt64 imgA, ImageSInt64 imgB ) {
+	public static long sumDiffAbs(ImageSInt64 imgA, ImageSInt64 imgB ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				long difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageSInt64 imgA, ImageSInt64 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1195,10 +1542,17 @@ public class ImageStatistics {
 	public static void histogram( ImageSInt64 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
@@ -1217,9 +1571,16 @@ public class ImageStatistics {
 
 		float min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				float v = input.data[index] ;
@@ -1240,9 +1601,16 @@ public class ImageStatistics {
 
 		float max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				float v = input.data[index] ;
@@ -1263,9 +1631,16 @@ public class ImageStatistics {
 
 		float max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				float v = Math.abs(input.data[index]);
@@ -1285,16 +1660,18 @@ public class ImageStatistics {
 	 */
 	public static float sum( ImageFloat32 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		float total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -1324,11 +1701,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -1348,10 +1731,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageFloat32 imgA, ImageFloat32 imgB ) {
 		double total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -1361,25 +1751,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageFloat32 imgA, ImageFloat32 imgB ) {
+	public static float sumDiffAbs(ImageFloat32 imgA, ImageFloat32 imgB ) {
 		float total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageFloat32 imgA, ImageFloat32 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1392,10 +1801,17 @@ public class ImageStatistics {
 	public static void histogram( ImageFloat32 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
@@ -1414,9 +1830,16 @@ public class ImageStatistics {
 
 		double min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				double v = input.data[index] ;
@@ -1437,9 +1860,16 @@ public class ImageStatistics {
 
 		double max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				double v = input.data[index] ;
@@ -1460,9 +1890,16 @@ public class ImageStatistics {
 
 		double max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				double v = Math.abs(input.data[index]);
@@ -1482,16 +1919,18 @@ public class ImageStatistics {
 	 */
 	public static double sum( ImageFloat64 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		double total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
 			}
@@ -1521,11 +1960,17 @@ public class ImageStatistics {
 
 		double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++ ) {
 				double d = (img.data[index]) - mean; 
 				variance += d*d;
@@ -1545,10 +1990,17 @@ public class ImageStatistics {
 	public static double meanDiffSq(ImageFloat64 imgA, ImageFloat64 imgB ) {
 		double total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += difference*difference;
 			}
@@ -1558,25 +2010,44 @@ public class ImageStatistics {
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the sum of absolute differences (SAD) between the two images.  The difference is
+	 * summed up as it is computed, so no image is created to store it.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
-	 * @return error between the two images.
+	 * @return sum of absolute differences between the two images.
 	 */
-	public static double meanDiffAbs(ImageFloat64 imgA, ImageFloat64 imgB ) {
+	public static double sumDiffAbs(ImageFloat64 imgA, ImageFloat64 imgB ) {
 		double total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			for (int x = 0; x < columns; x++,indexA++,indexB++) {
 				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
 				total += Math.abs(difference);
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(ImageFloat64 imgA, ImageFloat64 imgB ) {
+		return sumDiffAbs(imgA,imgB) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1589,10 +2060,17 @@ public class ImageStatistics {
 	public static void histogram( ImageFloat64 input , int minValue , int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+			int end = index + columns;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
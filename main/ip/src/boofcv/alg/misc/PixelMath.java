@@ -40,11 +40,18 @@ public class PixelMath {
 	public static void abs( ImageSInt8 input , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = (byte)Math.abs(input.data[indexSrc]);
@@ -62,10 +69,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = (byte)-input.data[indexSrc];
@@ -83,11 +97,18 @@ public class PixelMath {
 	public static void abs( ImageSInt16 input , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = (short)Math.abs(input.data[indexSrc]);
@@ -105,10 +126,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = (short)-input.data[indexSrc];
@@ -126,11 +154,18 @@ public class PixelMath {
 	public static void abs( ImageSInt32 input , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = Math.abs(input.data[indexSrc]);
@@ -148,10 +183,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = -input.data[indexSrc];
@@ -169,11 +211,18 @@ public class PixelMath {
 	public static void abs( ImageSInt64 input , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = Math.abs(input.data[indexSrc]);
@@ -191,10 +240,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = -input.data[indexSrc];
@@ -212,11 +268,18 @@ public class PixelMath {
 	public static void abs( ImageFloat32 input , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = Math.abs(input.data[indexSrc]);
@@ -234,10 +297,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = -input.data[indexSrc];
@@ -255,11 +325,18 @@ public class PixelMath {
 	public static void abs( ImageFloat64 input , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = Math.abs(input.data[indexSrc]);
@@ -277,10 +354,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = -input.data[indexSrc];
@@ -300,10 +384,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) * value);
@@ -325,15 +416,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] & 0xFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -350,10 +447,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) / denominator);
@@ -374,15 +478,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] & 0xFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -399,10 +509,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) + value);
@@ -423,15 +540,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (input.data[indexSrc] & 0xFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageUInt8 input , double scale , double offset , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF)*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageUInt8 input , double scale , double offset , int lower , int upper , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				int val = (int)((input.data[indexSrc] & 0xFF)*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -445,21 +635,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageUInt8 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		byte[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				int value = data[index]& 0xFF;
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+				data[index] = (byte)Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -475,17 +665,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
 			}
@@ -499,17 +692,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageUInt8> input , ImageUInt8 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageUInt8[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				int total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -532,10 +728,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] ) * value);
@@ -557,15 +760,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -582,10 +791,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] ) / denominator);
@@ -606,15 +822,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -631,10 +853,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (byte)((input.data[indexSrc] ) + value);
@@ -655,15 +884,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt8 input , double scale , double offset , ImageSInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (byte)((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt8 input , double scale , double offset , int lower , int upper , ImageSInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				int val = (int)((input.data[indexSrc] )*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (byte)val;
 			}
 		}
@@ -677,21 +979,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt8 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		byte[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+				data[index] = (byte)Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -707,17 +1009,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -731,17 +1036,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageSInt8> input , ImageSInt8 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageSInt8[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				int total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -764,10 +1072,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) * value);
@@ -789,15 +1104,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] & 0xFFFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -814,10 +1135,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) / denominator);
@@ -838,15 +1166,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] & 0xFFFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -863,10 +1197,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) + value);
@@ -887,15 +1228,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (input.data[indexSrc] & 0xFFFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageUInt16 input , double scale , double offset , ImageUInt16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF)*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageUInt16 input , double scale , double offset , int lower , int upper , ImageUInt16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				int val = (int)((input.data[indexSrc] & 0xFFFF)*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -909,21 +1323,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageUInt16 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		short[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				int value = data[index]& 0xFFFF;
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+				data[index] = (short)Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -939,17 +1353,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageUInt16 imgA , ImageUInt16 imgB , ImageUInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
 			}
@@ -963,17 +1380,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageUInt16> input , ImageUInt16 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageUInt16[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				int total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -996,10 +1416,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] ) * value);
@@ -1021,15 +1448,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -1046,10 +1479,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] ) / denominator);
@@ -1070,15 +1510,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -1095,10 +1541,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (short)((input.data[indexSrc] ) + value);
@@ -1119,15 +1572,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt16 input , double scale , double offset , ImageSInt16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (short)((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt16 input , double scale , double offset , int lower , int upper , ImageSInt16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				int val = (int)((input.data[indexSrc] )*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = (short)val;
 			}
 		}
@@ -1141,21 +1667,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt16 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		short[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+				data[index] = (short)Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -1171,17 +1697,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -1195,17 +1724,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageSInt16> input , ImageSInt16 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageSInt16[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				int total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -1228,10 +1760,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (int)((input.data[indexSrc] ) * value);
@@ -1253,15 +1792,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1278,10 +1823,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (int)((input.data[indexSrc] ) / denominator);
@@ -1302,15 +1854,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1327,10 +1885,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) + value);
@@ -1351,15 +1916,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt32 input , double scale , double offset , ImageSInt32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (int)((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt32 input , double scale , double offset , int lower , int upper , ImageSInt32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				int val = (int)((input.data[indexSrc] )*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1373,21 +2011,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt32 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		int[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -1403,17 +2041,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (int)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -1427,17 +2068,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageSInt32> input , ImageSInt32 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageSInt32[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				int total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -1460,10 +2104,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (long)((input.data[indexSrc] ) * value);
@@ -1485,15 +2136,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				long val = (long)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1510,10 +2167,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = (long)((input.data[indexSrc] ) / denominator);
@@ -1534,15 +2198,21 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				long val = (long)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1559,10 +2229,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) + value);
@@ -1583,15 +2260,88 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				long val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
+				val = Math.min(upper,Math.max(lower,val));
+				output.data[indexDst] = val;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt64 input , double scale , double offset , ImageSInt64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = (long)((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageSInt64 input , double scale , double offset , long lower , long upper , ImageSInt64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				long val = (long)((input.data[indexSrc] )*scale + offset);
+				val = Math.min(upper,Math.max(lower,val));
 				output.data[indexDst] = val;
 			}
 		}
@@ -1605,21 +2355,21 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt64 img , long min , long max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		long[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				long value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.min(max,Math.max(min,value));
 			}
 		}
 	}
@@ -1635,17 +2385,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = (long)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -1659,17 +2412,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageSInt64> input , ImageSInt64 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageSInt64[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				long total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -1692,10 +2448,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) * value);
@@ -1717,10 +2480,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				float val = ((input.data[indexSrc] ) * value);
@@ -1742,10 +2512,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
@@ -1766,10 +2543,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				float val = ((input.data[indexSrc] ) / denominator);
@@ -1791,10 +2575,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) + value);
@@ -1815,10 +2606,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				float val = (input.data[indexSrc] ) + value;
@@ -1829,6 +2627,74 @@ public class PixelMath {
 		}
 	}
 
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageFloat32 input , float scale , float offset , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = ((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageFloat32 input , float scale , float offset , float lower , float upper , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				float val = ((input.data[indexSrc] )*scale + offset);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst] = val;
+			}
+		}
+	}
+
 	/**
 	 * Bounds image pixels to be between these two values
 	 * 
@@ -1837,15 +2703,18 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageFloat32 img , float min , float max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		float[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				float value = data[index];
 				if( value < min )
@@ -1867,17 +2736,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -1891,17 +2763,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageFloat32> input , ImageFloat32 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageFloat32[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				float total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -1924,10 +2799,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) * value);
@@ -1949,10 +2831,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				double val = ((input.data[indexSrc] ) * value);
@@ -1974,10 +2863,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
@@ -1998,10 +2894,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				double val = ((input.data[indexSrc] ) / denominator);
@@ -2023,10 +2926,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				output.data[indexDst] = ((input.data[indexSrc] ) + value);
@@ -2047,10 +2957,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
 				double val = (input.data[indexSrc] ) + value;
@@ -2061,6 +2978,74 @@ public class PixelMath {
 		}
 	}
 
+	/**
+	 * Multiply each element by a scalar value and then add an offset to it, in a single pass.
+	 * output(x,y) = input(x,y)*scale + offset.  Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageFloat64 input , double scale , double offset , ImageFloat64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				output.data[indexDst] = ((input.data[indexSrc] )*scale + offset);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value, add an offset to it, and bound the result, in a single pass.
+	 * output(x,y) = min(upper,max(lower,input(x,y)*scale + offset)).  Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param scale What each element is multiplied by.
+	 * @param offset What is added to each element after it has been multiplied.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiplyPlus( ImageFloat64 input , double scale , double offset , double lower , double upper , ImageFloat64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y* input.stride;
+			int indexDst = output.startIndex + y* output.stride;
+			int end = indexSrc + columns;
+
+			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+				double val = ((input.data[indexSrc] )*scale + offset);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst] = val;
+			}
+		}
+	}
+
 	/**
 	 * Bounds image pixels to be between these two values
 	 * 
@@ -2069,15 +3054,18 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageFloat64 img , double min , double max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
-
 		double[] data = img.data;
 
-		for (int y = 0; y < h; y++) {
+		int rows = img.height;
+		int columns = img.width;
+		if( !img.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = index+columns;
 			for (; index < indexEnd; index++) {
 				double value = data[index];
 				if( value < min )
@@ -2099,17 +3087,20 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !diff.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexDiff = diff.getStartIndex() + y * diff.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
 				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2123,17 +3114,20 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand( MultiSpectral<ImageFloat64> input , ImageFloat64 output ) {
-		final int h = input.getHeight();
-		final int w = input.getWidth();
-
 		ImageFloat64[] bands = input.bands;
-		
-		for (int y = 0; y < h; y++) {
+
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexInput = input.getStartIndex() + y * input.getStride();
 			int indexOutput = output.getStartIndex() + y * output.getStride();
 
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexInput+columns;
 			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
 				double total = 0;
 				for( int i = 0; i < bands.length; i++ ) {
@@ -2155,17 +3149,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) + (imgB.data[indexB] & 0xFF));
 			}
@@ -2183,17 +3180,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageUInt8 imgA , ImageUInt8 imgB , ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
 			}
@@ -2211,17 +3211,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (short)((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2239,17 +3242,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (short)((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2267,17 +3273,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) + (imgB.data[indexB] & 0xFFFF));
 			}
@@ -2295,17 +3304,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
 			}
@@ -2323,17 +3335,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2351,17 +3366,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2379,17 +3397,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2407,17 +3428,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2435,17 +3459,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (long)((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2463,17 +3490,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = (long)((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2491,17 +3521,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2519,17 +3552,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2547,17 +3583,20 @@ public class PixelMath {
 	 */
 	public static void multiply( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
 			}
@@ -2575,17 +3614,20 @@ public class PixelMath {
 	 */
 	public static void divide( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
 			}
@@ -2603,10 +3645,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = (float)Math.log(1 + input.data[indexSrc]);
@@ -2625,17 +3674,20 @@ public class PixelMath {
 	 */
 	public static void add( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
 			}
@@ -2653,17 +3705,20 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
 			}
@@ -2681,17 +3736,20 @@ public class PixelMath {
 	 */
 	public static void multiply( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
 			}
@@ -2709,17 +3767,20 @@ public class PixelMath {
 	 */
 	public static void divide( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
+		int rows = imgA.height;
+		int columns = imgA.width;
+		if( !imgA.isSubimage() && !imgB.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for (int y = 0; y < rows; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			int indexOut = output.getStartIndex() + y * output.getStride();
 			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
+			int indexEnd = indexA+columns;
 			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
 				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
 			}
@@ -2737,10 +3798,17 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
+		int rows = input.height;
+		int columns = input.width;
+		if( !input.isSubimage() && !output.isSubimage() ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+			int end = indexSrc + columns;
 
 			for( ; indexSrc < end; indexSrc++ , indexDst++) {
 				output.data[indexDst] = Math.log(1 + input.data[indexSrc]);
@@ -27,8 +27,8 @@ package boofcv.alg.transform.fft;
  * </p><p>
  * This code has a bit of a history.  Originally from General Purpose FFT.  Which was then ported into
  * JFFTPack written by Baoshe Zhang (http://jfftpack.sourceforge.net/), and then into JTransforms by Piotr Wendykier.
- * The major modification from JTransforms is that the SMP code has been stripped out.  It might be added back in
- * once an SMP strategy has been finalized in BoofCV.
+ * The major modification from JTransforms is that the SMP code has been stripped out.  See
+ * {@link GeneralPurposeFFT_F32_2D_MT} for a concurrent implementation.
  * </p>
  * <p>
  * Code License:  The original license of General Purpose FFT Package is shown below.  This file will fall
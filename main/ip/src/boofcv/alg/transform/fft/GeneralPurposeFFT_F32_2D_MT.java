@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Computes the 2D Discrete Fourier Transform (DFT) of complex and real, float precision data, using multiple
+ * threads.  Data is stored in the same format as {@link GeneralPurposeFFT_F32_2D} and the results are the same up
+ * to floating point round off.  Image size can be an arbitrary number.
+ * </p>
+ *
+ * <p>
+ * The 1D transform is applied to each row and then to each column, with the rows and columns split into
+ * blocks which are processed in parallel by {@link BoofConcurrency}.  Columns are not transformed in place, since
+ * walking down a column jumps through memory.  Instead, a block of neighboring columns is copied into a
+ * contiguous buffer, transformed, and then copied back.  Each copy reads consecutive elements from every row.
+ * </p>
+ *
+ * <p>
+ * When the input is real, only the left half of the columns is transformed.  The other half is a mirror image
+ * of the first because the transform of real data is symmetric,
+ * <pre>
+ * Re[k1][k2] = Re[rows-k1][columns-k2],  Im[k1][k2] = -Im[rows-k1][columns-k2]</pre>
+ * {@link #realForwardHalf} outputs only the unique half of the transform.
+ * </p>
+ *
+ * <p>
+ * {@link GeneralPurposeFFT_F32_1D} contains internal storage, so each thread is given its own copy.  Copies are
+ * saved and reused by later calls.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GeneralPurposeFFT_F32_2D_MT {
+
+	// number of columns which are copied into the work buffer and transformed together
+	private static final int BLOCK_COLUMNS = 8;
+
+	private final int rows;
+	private final int columns;
+
+	// storage for each thread which is currently unused
+	private final List<Worker> workers = new ArrayList<Worker>();
+
+	/**
+	 * Creates a new instance for data of the specified size.
+	 *
+	 * @param rows number of rows
+	 * @param columns number of columns
+	 */
+	public GeneralPurposeFFT_F32_2D_MT(int rows, int columns) {
+		if (rows < 1 || columns < 1 ) {
+			throw new IllegalArgumentException("rows and columns must be greater than 0");
+		}
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Computes 2D forward DFT of complex data leaving the result in <code>a</code>.  See
+	 * {@link GeneralPurposeFFT_F32_2D#complexForward(float[])} for the data format.
+	 *
+	 * @param a data to transform
+	 */
+	public void complexForward(final float[] a) {
+		transformRows(a, true, false);
+		transformColumns(a, columns, columns, true, false);
+	}
+
+	/**
+	 * Computes 2D inverse DFT of complex data leaving the result in <code>a</code>.  See
+	 * {@link GeneralPurposeFFT_F32_2D#complexInverse(float[], boolean)} for the data format.
+	 *
+	 * @param a data to transform
+	 * @param scale if true then scaling is performed
+	 */
+	public void complexInverse(final float[] a, final boolean scale) {
+		transformRows(a, false, scale);
+		transformColumns(a, columns, columns, false, scale);
+	}
+
+	/**
+	 * Computes 2D forward DFT of real data leaving the full complex result in <code>a</code>.  The input
+	 * array must be of size rows*2*columns, with only the first rows*columns elements filled with real data.
+	 * The output is the same as {@link GeneralPurposeFFT_F32_2D#realForwardFull(float[])}.
+	 *
+	 * @param a data to transform
+	 */
+	public void realForwardFull(final float[] a) {
+		// move each row to where its transform will be stored.  Start at the last row since its destination
+		// doesn't overlap with any of the rows which have yet to be moved
+		for (int r = rows-1; r > 0; r--) {
+			System.arraycopy(a, r*columns, a, r*2*columns, columns);
+		}
+
+		BoofConcurrency.loopBlocks(0, rows, 1, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				Worker w = checkout();
+				for (int r = r0; r < r1; r++) {
+					// the 1D transform assumes the unused portion of the row is zero
+					int index = r*2*columns;
+					Arrays.fill(a, index + columns, index + 2*columns, 0);
+					w.fftRows.realForwardFull(a, index);
+				}
+				release(w);
+			}
+		});
+
+		transformColumns(a, columns, columns/2+1, true, false);
+		fillSymmetric(a);
+	}
+
+	/**
+	 * <p>
+	 * Computes 2D forward DFT of real data and outputs only the unique half of the transform, i.e.
+	 * the first columns/2+1 columns.  The remaining columns can be found from the symmetry of the transform.
+	 * The layout of the output is:
+	 * <pre>
+	 * output[k1*2*(columns/2+1)+2*k2] = Re[k1][k2],
+	 * output[k1*2*(columns/2+1)+2*k2+1] = Im[k1][k2], 0&le;k1&lt;rows, 0&le;k2&le;columns/2,</pre>
+	 * </p>
+	 *
+	 * @param input (Input) real data of size rows*columns.  Not modified.
+	 * @param output (Output) transform of size rows*2*(columns/2+1).  Modified.
+	 */
+	public void realForwardHalf(final float[] input, final float[] output) {
+		final int halfColumns = columns/2+1;
+		if( input.length < rows*columns )
+			throw new IllegalArgumentException("input is too small");
+		if( output.length < rows*2*halfColumns )
+			throw new IllegalArgumentException("output is too small");
+
+		BoofConcurrency.loopBlocks(0, rows, 1, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				Worker w = checkout();
+				for (int r = r0; r < r1; r++) {
+					System.arraycopy(input, r*columns, w.row, 0, columns);
+					Arrays.fill(w.row, columns, 2*columns, 0);
+					w.fftRows.realForwardFull(w.row, 0);
+					System.arraycopy(w.row, 0, output, r*2*halfColumns, 2*halfColumns);
+				}
+				release(w);
+			}
+		});
+
+		transformColumns(output, halfColumns, halfColumns, true, false);
+	}
+
+	/**
+	 * Applies the 1D transform to each row in the complex data.
+	 */
+	private void transformRows(final float[] a, final boolean forward, final boolean scale) {
+		BoofConcurrency.loopBlocks(0, rows, 1, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				Worker w = checkout();
+				for (int r = r0; r < r1; r++) {
+					if (forward)
+						w.fftRows.complexForward(a, r*2*columns);
+					else
+						w.fftRows.complexInverse(a, r*2*columns, scale);
+				}
+				release(w);
+			}
+		});
+	}
+
+	/**
+	 * Applies the 1D transform to each of the first 'numColumns' columns in the complex data.  Columns
+	 * are processed in blocks which are copied into a contiguous buffer.
+	 *
+	 * @param stride Number of complex elements in each row.
+	 * @param numColumns Number of columns, starting from zero, which are transformed.
+	 */
+	private void transformColumns(final float[] a, final int stride, final int numColumns,
+								  final boolean forward, final boolean scale) {
+		final int numBlocks = (numColumns + BLOCK_COLUMNS - 1)/BLOCK_COLUMNS;
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int b0, int b1) {
+				Worker w = checkout();
+				final float[] buffer = w.block;
+				final int length = 2*rows;
+
+				for (int b = b0; b < b1; b++) {
+					int c0 = b*BLOCK_COLUMNS;
+					int blockWidth = Math.min(numColumns, c0 + BLOCK_COLUMNS) - c0;
+
+					// copy the columns into the buffer, one after the other
+					for (int r = 0; r < rows; r++) {
+						int indexA = 2*(r*stride + c0);
+						for (int j = 0; j < blockWidth; j++) {
+							buffer[j*length + 2*r] = a[indexA++];
+							buffer[j*length + 2*r+1] = a[indexA++];
+						}
+					}
+
+					for (int j = 0; j < blockWidth; j++) {
+						if (forward)
+							w.fftColumns.complexForward(buffer, j*length);
+						else
+							w.fftColumns.complexInverse(buffer, j*length, scale);
+					}
+
+					for (int r = 0; r < rows; r++) {
+						int indexA = 2*(r*stride + c0);
+						for (int j = 0; j < blockWidth; j++) {
+							a[indexA++] = buffer[j*length + 2*r];
+							a[indexA++] = buffer[j*length + 2*r+1];
+						}
+					}
+				}
+				release(w);
+			}
+		});
+	}
+
+	/**
+	 * Fills in the right half of the transform using the left half and the symmetry of real transforms
+	 */
+	private void fillSymmetric(final float[] a) {
+		BoofConcurrency.loopBlocks(0, rows, 1, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					int indexDst = 2*(r*columns + columns/2 + 1);
+					int indexSrc = 2*(((rows - r) % rows)*columns + columns - (columns/2 + 1));
+					for (int c = columns/2 + 1; c < columns; c++) {
+						a[indexDst++] = a[indexSrc];
+						a[indexDst++] = -a[indexSrc+1];
+						indexSrc -= 2;
+					}
+				}
+			}
+		});
+	}
+
+	private Worker checkout() {
+		synchronized (workers) {
+			if( workers.isEmpty() )
+				return new Worker();
+			return workers.remove(workers.size()-1);
+		}
+	}
+
+	private void release( Worker w ) {
+		synchronized (workers) {
+			workers.add(w);
+		}
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Storage used by a single thread
+	 */
+	private class Worker {
+		GeneralPurposeFFT_F32_1D fftRows = new GeneralPurposeFFT_F32_1D(columns);
+		GeneralPurposeFFT_F32_1D fftColumns = rows == columns ? fftRows : new GeneralPurposeFFT_F32_1D(rows);
+		float[] row = new float[2*columns];
+		float[] block = new float[BLOCK_COLUMNS*2*rows];
+	}
+}
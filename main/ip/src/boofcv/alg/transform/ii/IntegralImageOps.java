@@ -20,6 +20,8 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +31,11 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then integral images are computed by multiple threads
+ * using {@link ImplIntegralImageOps_MT}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +50,10 @@ public class IntegralImageOps {
 	public static ImageFloat32 transform( ImageFloat32 input , ImageFloat32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -58,7 +68,10 @@ public class IntegralImageOps {
 	public static ImageFloat64 transform( ImageFloat64 input , ImageFloat64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -73,7 +86,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageUInt8 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -88,7 +104,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageSInt32 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		else
+			ImplIntegralImageOps.transform(input, transformed);
 
 		return transformed;
 	}
@@ -103,7 +122,10 @@ public class IntegralImageOps {
 	public static ImageSInt64 transform( ImageSInt64 input , ImageSInt64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		else
+			ImplIntegralImageOps.transform(input, transformed);
 
 		return transformed;
 	}
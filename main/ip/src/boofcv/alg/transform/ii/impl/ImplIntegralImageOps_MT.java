@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link ImplIntegralImageOps#transform}.  The integral image is computed in two passes.
+ * First the prefix sum along each row is computed in parallel bands of rows.  Then each thread is assigned a
+ * block of columns and adds the previous row to each row in its block, going from the top of the image to the
+ * bottom.  The same additions are done as in the single threaded code, so the output is identical.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplIntegralImageOps_MT {
+
+	/**
+	 * Images with fewer rows than this will not be split up when computing row sums.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Images with fewer columns than this will not be split up when adding rows.
+	 */
+	public static int MIN_BLOCK_WIDTH = 64;
+
+	public static void transform( final ImageFloat32 input , final ImageFloat32 transformed )
+	{
+		// prefix sum along each row
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					float total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		// add the previous row, with each thread processing a block of columns
+		BoofConcurrency.loopBlocks(0, input.width, MIN_BLOCK_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] += transformed.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageFloat64 input , final ImageFloat64 transformed )
+	{
+		// prefix sum along each row
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					double total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		// add the previous row, with each thread processing a block of columns
+		BoofConcurrency.loopBlocks(0, input.width, MIN_BLOCK_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] += transformed.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
+	{
+		// prefix sum along each row
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+					}
+				}
+			}
+		});
+
+		// add the previous row, with each thread processing a block of columns
+		BoofConcurrency.loopBlocks(0, input.width, MIN_BLOCK_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] += transformed.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
+	{
+		// prefix sum along each row
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		// add the previous row, with each thread processing a block of columns
+		BoofConcurrency.loopBlocks(0, input.width, MIN_BLOCK_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] += transformed.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageSInt64 input , final ImageSInt64 transformed )
+	{
+		// prefix sum along each row
+		BoofConcurrency.loopBlocks(0, input.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		// add the previous row, with each thread processing a block of columns
+		BoofConcurrency.loopBlocks(0, input.width, MIN_BLOCK_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + (x1-x0);
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] += transformed.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+}
@@ -18,11 +18,13 @@
 
 package boofcv.alg.transform.pyramid;
 
+import boofcv.abst.filter.blur.GaussianRecursiveFilter;
 import boofcv.abst.filter.convolve.ConvolveInterface;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.convolve.FactoryConvolve;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.BoofDefaults;
@@ -62,6 +64,9 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 	BorderType borderDeriv = BoofDefaults.DERIV_BORDER_TYPE;
 	BorderType borderBlur = BorderType.NORMALIZED;
 
+	// if not null the blur is applied using a recursive filter
+	private GaussianRecursiveFilter<I> recursive;
+
 	/**
 	 * Declares internal data structures.
 	 *
@@ -100,6 +105,14 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 	public void setActiveScale(int index) {
 		this.currentScale = index;
 		double sigma = scales[index];
+
+		if( recursive != null ) {
+			recursive.setSigma(sigma);
+			recursive.process(originalImage,scaledImage);
+			anyDeriv.setInput(scaledImage);
+			return;
+		}
+
 		int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
 
 		Class<I> inputType = inputGen.getType();
@@ -138,6 +151,21 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 		setActiveScale(currentScale);
 	}
 
+	public boolean isRecursiveBlur() {
+		return recursive != null;
+	}
+
+	/**
+	 * If true then blur is applied using {@link GaussianRecursiveFilter}, whose cost doesn't grow with the scale.
+	 * The border type is then ignored when blurring and image borders are extended.
+	 */
+	public void setRecursiveBlur( boolean recursiveBlur ) {
+		if( recursiveBlur )
+			recursive = FactoryBlurFilter.gaussianRecursive(inputGen.getType(), 1);
+		else
+			recursive = null;
+	}
+
 	@Override
 	public BorderType getBorderType() {
 		return borderDeriv;
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+/**
+ * <p>
+ * Discrete image pyramid for {@link ImageUInt8} which only uses integer arithmetic.  Each layer is blurred
+ * using a binomial kernel, which is an integer approximation of a Gaussian, and then sub-sampled.  The kernel's
+ * weights sum up to a power of two so inside the image normalization is done with a bit shift instead of
+ * a division.  The horizontal pass is written to a 32-bit intermediate image without being normalized, so inside
+ * the image the only rounding is done once when the vertical pass is written to the output layer.  Along the
+ * image border the kernel is truncated and re-normalized, the same as {@link PyramidDiscreteSampleBlur} does
+ * with a normalized border.
+ * </p>
+ *
+ * <p>
+ * A binomial kernel with radius r has the weights C(2r,k) for k = 0 to 2r and is equivalent to a Gaussian
+ * with sigma = sqrt(r/2).  For example, r = 2 yields [1 4 6 4 1]/16 and sigma = 1.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidDiscreteFixedPoint_U8 extends PyramidDiscrete<ImageUInt8> {
+
+	// largest radius which can be processed without the 32-bit sums overflowing
+	public static final int MAX_RADIUS = 5;
+
+	// radius of the binomial kernel
+	private int radius;
+	// binomial kernel
+	private int kernel[];
+	// number of bits in the sum of the 1D kernel
+	private int shift;
+
+	// stores the results from the horizontal pass
+	private ImageSInt32 temp = new ImageSInt32(1,1);
+	// sum of each output column along a row
+	private int rowSum[] = new int[1];
+
+	// amount of blur applied to each layer
+	private double sigmas[];
+
+	/**
+	 *
+	 * @param radius Radius of the binomial kernel.  From 1 to {@link #MAX_RADIUS}.  Try 2.
+	 * @param saveOriginalReference If a reference to the full resolution image should be saved instead of copied.
+	 *                              Set to false if you don't know what you are doing.
+	 * @param scaleFactors Scale factor for each layer in the pyramid relative to the input layer
+	 */
+	public PyramidDiscreteFixedPoint_U8( int radius , boolean saveOriginalReference, int... scaleFactors ) {
+		super(ImageUInt8.class,saveOriginalReference,scaleFactors);
+
+		if( radius < 1 || radius > MAX_RADIUS )
+			throw new IllegalArgumentException("Radius must be from 1 to "+MAX_RADIUS);
+
+		this.radius = radius;
+		this.kernel = binomial(radius);
+		this.shift = 2*radius;
+
+		double sigma = sigmaForRadius(radius);
+		sigmas = new double[ scaleFactors.length ];
+		sigmas[0] = 0;
+		for( int i = 1; i < sigmas.length; i++ ) {
+			// blur in previous layer
+			double prev = sigmas[i-1];
+			// the effective amount of blur applied to previous layer while being down sampled
+			double applied = sigma*scaleFactors[i-1];
+			// The amount of blur which has been applied to this layer
+			sigmas[i] = Math.sqrt(prev*prev + applied*applied);
+		}
+	}
+
+	/**
+	 * Creates a binomial kernel with the specified radius.  The sum of its weights is 2<sup>2*radius</sup>.
+	 *
+	 * @param radius Kernel radius
+	 * @return binomial kernel with width 2*radius+1
+	 */
+	public static int[] binomial( int radius ) {
+		int n = 2*radius;
+		int kernel[] = new int[ n+1 ];
+		kernel[0] = 1;
+		for( int k = 1; k <= n; k++ ) {
+			kernel[k] = kernel[k-1]*(n-k+1)/k;
+		}
+		return kernel;
+	}
+
+	/**
+	 * Standard deviation of the Gaussian which a binomial kernel approximates.
+	 *
+	 * @param radius Kernel radius
+	 * @return sigma
+	 */
+	public static double sigmaForRadius( int radius ) {
+		return Math.sqrt(radius/2.0);
+	}
+
+	@Override
+	public void process(ImageUInt8 input) {
+		process(input,null);
+	}
+
+	@Override
+	public void process(ImageUInt8 input, ImageRectangle region) {
+		super.initialize(input.width,input.height);
+		computeRegions(region,radius);
+
+		ImageRectangle r = regions[0];
+		if (scale[0] == 1) {
+			if (isSaveOriginalReference()) {
+				setFirstLayer(input);
+			} else if( region == null ) {
+				getLayer(0).setTo(input);
+			} else if( r.x1 > r.x0 && r.y1 > r.y0 ) {
+				getLayer(0).subimage(r.x0,r.y0,r.x1,r.y1,null).setTo(input.subimage(r.x0,r.y0,r.x1,r.y1,null));
+			}
+		} else {
+			downSample(input,getLayer(0),scale[0],r);
+		}
+
+		for (int index = 1; index < getNumLayers(); index++) {
+			int skip = scale[index]/scale[index-1];
+			downSample(getLayer(index-1),getLayer(index),skip,regions[index]);
+		}
+	}
+
+	/**
+	 * Blurs the input image and samples every 'skip' pixel along each axis, starting at pixel (0,0).  Only
+	 * output pixels inside the region are computed.
+	 */
+	protected void downSample( ImageUInt8 input , ImageUInt8 output , int skip , ImageRectangle region ) {
+		if( region.x1 <= region.x0 || region.y1 <= region.y0 )
+			return;
+
+		// rows in the input image which are needed by the vertical pass
+		int y0 = Math.max(0,region.y0*skip-radius);
+		int y1 = Math.min(input.height,(region.y1-1)*skip+radius+1);
+
+		temp.reshape(output.width,input.height);
+		horizontal(input,skip,region.x0,region.x1,y0,y1);
+		vertical(output,skip,region);
+	}
+
+	/**
+	 * Convolves along each row and saves the unnormalized sum, which has a weight of 2<sup>shift</sup>, into
+	 * the temporary image.
+	 */
+	private void horizontal( ImageUInt8 input , int skip , int x0 , int x1 , int y0 , int y1 ) {
+		final byte dataIn[] = input.data;
+		final int dataTemp[] = temp.data;
+		final int kernelWidth = kernel.length;
+
+		// output columns [innerStart,innerEnd) can be computed without going outside the image
+		int innerStart = Math.min(x1,Math.max(x0,(radius+skip-1)/skip));
+		int innerEnd = Math.min(x1,(input.width-radius-1)/skip+1);
+		if( innerEnd < innerStart ) innerEnd = innerStart;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexRow = input.startIndex + y*input.stride;
+			int indexTemp = temp.startIndex + y*temp.stride;
+
+			for( int x = x0; x < innerStart; x++ ) {
+				dataTemp[indexTemp+x] = horizontalBorder(dataIn, indexRow, input.width, x*skip);
+			}
+
+			int indexIn = indexRow + innerStart*skip - radius;
+			if( radius == 2 ) {
+				for( int x = innerStart; x < innerEnd; x++ , indexIn += skip ) {
+					dataTemp[indexTemp+x] = (dataIn[indexIn] & 0xFF) + (dataIn[indexIn+4] & 0xFF) +
+							(((dataIn[indexIn+1] & 0xFF) + (dataIn[indexIn+3] & 0xFF)) << 2) +
+							(dataIn[indexIn+2] & 0xFF)*6;
+				}
+			} else {
+				for( int x = innerStart; x < innerEnd; x++ , indexIn += skip ) {
+					int total = 0;
+					for( int k = 0; k < kernelWidth; k++ ) {
+						total += (dataIn[indexIn+k] & 0xFF)*kernel[k];
+					}
+					dataTemp[indexTemp+x] = total;
+				}
+			}
+
+			for( int x = innerEnd; x < x1; x++ ) {
+				dataTemp[indexTemp+x] = horizontalBorder(dataIn, indexRow, input.width, x*skip);
+			}
+		}
+	}
+
+	/**
+	 * Computes the horizontal sum for a pixel where the kernel extends outside the image.  The result is
+	 * rescaled so that it has the same weight as an inner pixel.
+	 */
+	private int horizontalBorder( byte dataIn[] , int indexRow , int inputWidth , int centerX ) {
+		int startX = Math.max(0,centerX-radius);
+		int endX = Math.min(inputWidth-1,centerX+radius);
+		int total = 0;
+		int weight = 0;
+		for( int j = startX; j <= endX; j++ ) {
+			int w = kernel[j-centerX+radius];
+			total += (dataIn[indexRow+j] & 0xFF)*w;
+			weight += w;
+		}
+		return ((total << shift) + weight/2)/weight;
+	}
+
+	/**
+	 * Convolves along each column of the temporary image, then normalizes and rounds the result
+	 */
+	private void vertical( ImageUInt8 output , int skip , ImageRectangle region ) {
+		final int dataTemp[] = temp.data;
+		final byte dataOut[] = output.data;
+		final int x0 = region.x0;
+		final int x1 = region.x1;
+		final int height = temp.height;
+		final int stride = temp.stride;
+
+		if( rowSum.length < output.width )
+			rowSum = new int[ output.width ];
+
+		final int innerShift = 2*shift;
+		final int innerRound = 1 << (innerShift-1);
+
+		for( int y = region.y0; y < region.y1; y++ ) {
+			int centerY = y*skip;
+			int startY = Math.max(0,centerY-radius);
+			int endY = Math.min(height-1,centerY+radius);
+			int indexOut = output.startIndex + y*output.stride;
+
+			if( radius == 2 && endY-startY+1 == kernel.length ) {
+				int index = temp.startIndex + startY*stride + x0;
+				for( int x = x0; x < x1; x++ , index++ ) {
+					int total = dataTemp[index] + dataTemp[index+4*stride] +
+							((dataTemp[index+stride] + dataTemp[index+3*stride]) << 2) +
+							dataTemp[index+2*stride]*6;
+					dataOut[indexOut+x] = (byte)((total + innerRound) >> innerShift);
+				}
+				continue;
+			}
+
+			for( int x = x0; x < x1; x++ )
+				rowSum[x] = 0;
+
+			int weight = 0;
+			for( int i = startY; i <= endY; i++ ) {
+				int w = kernel[i-centerY+radius];
+				int indexTemp = temp.startIndex + i*stride;
+				for( int x = x0; x < x1; x++ ) {
+					rowSum[x] += dataTemp[indexTemp+x]*w;
+				}
+				weight += w;
+			}
+
+			if( endY-startY+1 == kernel.length ) {
+				for( int x = x0; x < x1; x++ ) {
+					dataOut[indexOut+x] = (byte)((rowSum[x] + innerRound) >> innerShift);
+				}
+			} else {
+				int div = weight << shift;
+				for( int x = x0; x < x1; x++ ) {
+					dataOut[indexOut+x] = (byte)((rowSum[x] + div/2)/div);
+				}
+			}
+		}
+	}
+
+	/**
+	 * There is no offset since a symmetric kernel is applied starting at pixel (0,0)
+	 *
+	 * @param layer Layer in the pyramid
+	 * @return offset
+	 */
+	@Override
+	public double getSampleOffset(int layer) {
+		return 0;
+	}
+
+	@Override
+	public double getSigma(int layer) {
+		return sigmas[layer];
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.alg.transform.pyramid;
 import boofcv.abst.filter.convolve.GenericConvolveDown;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -54,6 +55,9 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	// amount of blur applied to each layer
 	double sigmas[];
 
+	// radius of the blur kernel
+	int radius;
+
 	/**
 	 *
 	 * @param kernel A blur kernel
@@ -73,6 +77,8 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 		vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
 				BorderType.NORMALIZED,false,1);
 
+		radius = kernel.getRadius();
+
 		sigmas = new double[ scaleFactors.length ];
 		sigmas[0] = 0;
 		for( int i = 1; i < sigmas.length; i++ ) {
@@ -87,41 +93,73 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 
 	@Override
 	public void process(T input) {
+		process(input,null);
+	}
+
+	@Override
+	public void process(T input, ImageRectangle region) {
 		super.initialize(input.width,input.height);
+		computeRegions(region,radius);
 
 		if( temp == null ) {
 			// declare it to be the latest image that it might need to be, resize below
 			temp = (T)input._createNew(1,1);
 		}
 
+		ImageRectangle r = regions[0];
 		if (scale[0] == 1) {
 			if (isSaveOriginalReference()) {
 				setFirstLayer(input);
-			} else {
+			} else if( region == null ) {
 				getLayer(0).setTo(input);
+			} else if( r.x1 > r.x0 && r.y1 > r.y0 ) {
+				getLayer(0).subimage(r.x0,r.y0,r.x1,r.y1,null).setTo(input.subimage(r.x0,r.y0,r.x1,r.y1,null));
 			}
 		} else {
-			int skip = scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
-
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			downSample(input,getLayer(0),scale[0],region == null ? null : r);
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+			downSample(getLayer(index-1),getLayer(index),skip,region == null ? null : regions[index]);
+		}
+	}
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+	/**
+	 * Blurs and down samples the input image.  If a region is specified then the convolution is only
+	 * applied to the part of the input needed to compute the region.  Output pixels close to the sub-image's
+	 * edge and outside the region will be invalid.
+	 */
+	private void downSample( T input , T output , int skip , ImageRectangle region ) {
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+		temp.reshape(input.width/skip,input.height);
+
+		if( region == null ) {
+			horizontal.process(input,temp);
+			vertical.process(temp,output);
+			return;
 		}
+
+		if( region.x1 <= region.x0 || region.y1 <= region.y0 )
+			return;
+
+		// number of output pixels needed to cover the kernel.  The sub-image must start at a multiple of skip
+		int m = (radius+skip-1)/skip;
+		int x0 = Math.max(0,(region.x0-m)*skip);
+		int y0 = Math.max(0,(region.y0-m)*skip);
+		int x1 = Math.min(input.width,(region.x1-1+m)*skip+1);
+		int y1 = Math.min(input.height,(region.y1-1+m)*skip+1);
+
+		int outX0 = x0/skip, outX1 = outX0 + (x1-x0)/skip;
+		int outY0 = y0/skip, outY1 = outY0 + (y1-y0)/skip;
+		if( outX1 <= outX0 || outY1 <= outY0 )
+			return;
+
+		T subTemp = (T)temp.subimage(outX0,y0,outX1,y1,null);
+		horizontal.process((T)input.subimage(x0,y0,x1,y1,null),subTemp);
+		vertical.process(subTemp,(T)output.subimage(outX0,outY0,outX1,outY1,null));
 	}
 
 	/**
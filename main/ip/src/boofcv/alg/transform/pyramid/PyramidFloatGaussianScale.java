@@ -18,7 +18,8 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.abst.filter.blur.BlurStorageFilter;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.abst.filter.blur.GaussianRecursiveFilter;
 import boofcv.alg.distort.DistortImageOps;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
@@ -58,6 +59,10 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// The effective amount of blur in each pyramid layer relative to the input image
 	protected double[] sigma;
 
+	// if true the blur is applied using a recursive filter
+	protected boolean recursiveBlur = false;
+	protected GaussianRecursiveFilter<T> recursive;
+
 	/**
 	 * Configures the pyramid
 	 *
@@ -103,7 +108,16 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 			T layer = getLayer(i);
 
 			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
+			BlurFilter<T> blur;
+			if( recursiveBlur ) {
+				if( recursive == null )
+					recursive = FactoryBlurFilter.gaussianRecursive((Class<T>)layer.getClass(), sigmaLayers[i]);
+				else
+					recursive.setSigma(sigmaLayers[i]);
+				blur = recursive;
+			} else {
+				blur = FactoryBlurFilter.gaussian((Class<T>)layer.getClass(), sigmaLayers[i],-1);
+			}
 			tempImage.reshape(prev.width,prev.height);
 			blur.process(prev,tempImage);
 
@@ -138,4 +152,16 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	public float[] getSigmaLayers() {
 		return sigmaLayers;
 	}
+
+	public boolean isRecursiveBlur() {
+		return recursiveBlur;
+	}
+
+	/**
+	 * If true then blur is applied using {@link GaussianRecursiveFilter}, whose cost doesn't grow with sigma.
+	 * Only {@link boofcv.struct.image.ImageUInt8} and {@link boofcv.struct.image.ImageFloat32} are supported.
+	 */
+	public void setRecursiveBlur(boolean recursiveBlur) {
+		this.recursiveBlur = recursiveBlur;
+	}
 }
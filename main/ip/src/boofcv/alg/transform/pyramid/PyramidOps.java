@@ -22,8 +22,10 @@ import boofcv.abst.filter.FilterImageInterface;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
 
 import java.lang.reflect.Array;
 
@@ -122,6 +124,38 @@ public class PyramidOps {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Computes the gradient for each layer in the pyramid, but only inside the region of each layer which was
+	 * updated by the last call to {@link PyramidDiscrete#process(ImageSingleBand, ImageRectangle)}.  Outside
+	 * of the region the gradient is not modified.
+	 * </p>
+	 *
+	 * <p>
+	 * The gradient is computed on a sub-image.  Along the region's edge, where it is not also the image's border,
+	 * the gradient is computed as if it was the image border.
+	 * </p>
+	 *
+	 * @param input Input pyramid.
+	 * @param gradient Computes image gradient
+	 * @param derivX Pyramid where x-derivative is stored.
+	 * @param derivY Pyramid where y-derivative is stored.
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void gradientRegion(PyramidDiscrete<I> input, ImageGradient<I, O> gradient, O[] derivX, O[] derivY )
+	{
+		for( int i = 0; i < input.getNumLayers(); i++ ) {
+			ImageRectangle r = input.getRegion(i);
+			if( r.x1 <= r.x0 || r.y1 <= r.y0 )
+				continue;
+
+			I imageIn = (I)input.getLayer(i).subimage(r.x0,r.y0,r.x1,r.y1,null);
+			O dx = (O)derivX[i].subimage(r.x0,r.y0,r.x1,r.y1,null);
+			O dy = (O)derivY[i].subimage(r.x0,r.y0,r.x1,r.y1,null);
+			gradient.process(imageIn,dx,dy);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Computes the hessian (2nd order derivative) for each image the pyramid.
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.PixelMath;
+import boofcv.alg.transform.wavelet.impl.ImplWaveletLifting;
+import boofcv.core.image.border.BorderIndex1D_Reflect;
+import boofcv.core.image.border.BorderIndex1D_Wrap;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.factory.transform.wavelet.FactoryWaveletHaar;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Multilevel wavelet transform which is computed in place using the lifting scheme, see {@link ImplWaveletLifting}.
+ * Unlike {@link WaveletTransformOps}, which convolves the image with the filter bank, no storage image is needed
+ * for each level.  Each row, or block of columns, is copied into a small buffer where it is transformed and then
+ * copied back with the scaling coefficients in the first half and the wavelet coefficients in the second half.
+ * The coefficients are laid out the same as in {@link WaveletTransformOps}.
+ * </p>
+ *
+ * <p>
+ * Only the Haar, Daubechies 4, and biorthogonal 5 wavelets have a lifting implementation.  Use
+ * {@link #isSupported(WaveletDescription)} to check a description.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then rows and blocks of columns are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WaveletLifting_F32 {
+
+	/**
+	 * Images with fewer rows than this will not be split up.
+	 */
+	public static int MIN_BAND_HEIGHT = 16;
+
+	/**
+	 * Number of columns which are transformed at the same time in a vertical pass
+	 */
+	public static int BLOCK_COLUMNS = 16;
+
+	private static final int HAAR = 0;
+	private static final int DAUB4 = 1;
+	private static final int BIORTHOGONAL5 = 2;
+
+	// which wavelet is being computed
+	private int type;
+	// if true the border wraps around, otherwise it's reflected
+	private boolean wrap;
+
+	private WaveletDescription<WlCoef_F32> desc;
+
+	// storage for each thread
+	private FastQueue<LineBuffer> buffers = new FastQueue<LineBuffer>(LineBuffer.class,true);
+
+	/**
+	 * Configures the transform.
+	 *
+	 * @param desc Description of the wavelet.  Must be supported, see {@link #isSupported(WaveletDescription)}.
+	 */
+	public WaveletLifting_F32( WaveletDescription<WlCoef_F32> desc ) {
+		this.type = selectType(desc);
+		if( type < 0 )
+			throw new IllegalArgumentException("There is no lifting implementation of this wavelet");
+		this.desc = desc;
+		this.wrap = desc.getBorder() instanceof BorderIndex1D_Wrap;
+	}
+
+	/**
+	 * Checks to see if the wavelet has a lifting implementation
+	 *
+	 * @param desc Description of the wavelet
+	 * @return true if it is supported
+	 */
+	public static boolean isSupported( WaveletDescription<WlCoef_F32> desc ) {
+		return selectType(desc) >= 0;
+	}
+
+	/**
+	 * Compares the forward coefficients against those of the known wavelets
+	 */
+	private static int selectType( WaveletDescription<WlCoef_F32> desc ) {
+		WlCoef_F32 coef = desc.getForward();
+
+		if( isEqual(coef, (WlCoef_F32)FactoryWaveletHaar.generate(false,32).getForward()) )
+			return HAAR;
+		if( desc.getBorder() instanceof BorderIndex1D_Wrap &&
+				isEqual(coef, FactoryWaveletDaub.daubJ_F32(4).getForward()) )
+			return DAUB4;
+		if( (desc.getBorder() instanceof BorderIndex1D_Wrap || desc.getBorder() instanceof BorderIndex1D_Reflect) &&
+				isEqual(coef, FactoryWaveletDaub.biorthogonal_F32(5,BorderType.WRAP).getForward()) )
+			return BIORTHOGONAL5;
+
+		return -1;
+	}
+
+	private static boolean isEqual( WlCoef_F32 a , WlCoef_F32 b ) {
+		if( a.offsetScaling != b.offsetScaling || a.offsetWavelet != b.offsetWavelet )
+			return false;
+		return isEqual(a.scaling,b.scaling) && isEqual(a.wavelet,b.wavelet);
+	}
+
+	private static boolean isEqual( float a[] , float b[] ) {
+		if( a.length != b.length )
+			return false;
+		for( int i = 0; i < a.length; i++ ) {
+			if( Math.abs(a[i]-b[i]) > 1e-6f )
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Performs a level N wavelet transform.  The input image is copied into the output image, which is then
+	 * transformed in place.  The output is identical to {@link WaveletTransformOps#transformN}, up to
+	 * floating point round off error.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Where the multilevel wavelet transform is written to.  Must have the shape specified by
+	 * {@link UtilWavelet#transformDimension}. Modified.
+	 * @param numLevels Number of levels which should be computed in the transform.
+	 */
+	public void transformN( ImageFloat32 input , ImageFloat32 output , int numLevels ) {
+		UtilWavelet.checkShape(desc.getForward(),input,output,numLevels);
+
+		if( output.width != input.width || output.height != input.height )
+			ImageMiscOps.fill(output,0);
+		output.subimage(0,0,input.width,input.height, null).setTo(input);
+
+		// On the first level only the input's width, rounded up to be even, is transformed along each row.
+		// Same as WaveletTransformOps.
+		int width = input.width + input.width%2;
+
+		ImageFloat32 level = output;
+		for( int i = 0; i < numLevels; i++ ) {
+			horizontal(level, width, true);
+			vertical(level, true);
+
+			// the scaling image is transformed next.  Same as WaveletTransformOps, if it has an odd size the
+			// region is enlarged and will include one row or column of the previous level's wavelet coefficients
+			width = level.width/2;
+			int height = level.height/2;
+			width += width%2;
+			height += height%2;
+			level = output.subimage(0,0,width,height, null);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs a level N inverse wavelet transform.  To save memory the transform is inverted in place and is
+	 * modified.
+	 * </p>
+	 *
+	 * @param input Input wavelet transform and is used as internal workspace. Modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param numLevels Number of levels in the transform.
+	 * @param minValue Minimum allowed pixel value
+	 * @param maxValue Maximum allowed pixel value
+	 */
+	public void inverseN( ImageFloat32 input , ImageFloat32 output , int numLevels ,
+						  float minValue , float maxValue ) {
+		UtilWavelet.checkShape(desc.getForward(),output,input,numLevels);
+
+		int scale = UtilWavelet.computeScale(numLevels);
+		for( int i = numLevels-1; i >= 0; i-- , scale /= 2 ) {
+			int levelWidth = input.width/scale;
+			int levelHeight = input.height/scale;
+			levelWidth += levelWidth%2;
+			levelHeight += levelHeight%2;
+
+			ImageFloat32 level = input.subimage(0,0,levelWidth,levelHeight, null);
+			int width = i == 0 ? output.width + output.width%2 : level.width;
+
+			vertical(level, false);
+			horizontal(level, width, false);
+		}
+
+		output.setTo(input.subimage(0,0,output.width,output.height, null));
+
+		if( minValue != -Float.MAX_VALUE && maxValue != Float.MAX_VALUE )
+			PixelMath.boundImage(output, minValue, maxValue);
+	}
+
+	/**
+	 * Transforms the first 'width' pixels in each row.  The scaling coefficients are written to the first half
+	 * of the row and wavelet coefficients start at the second half.  Any gap after either is filled with zeros.
+	 */
+	private void horizontal( final ImageFloat32 image , final int width , final boolean forward ) {
+		buffers.reset();
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, image.height, MIN_BAND_HEIGHT, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					horizontal(image, width, forward, y0, y1, growBuffer());
+				}
+			});
+		} else {
+			horizontal(image, width, forward, 0, image.height, buffers.grow());
+		}
+	}
+
+	private void horizontal( ImageFloat32 image , int width , boolean forward , int y0 , int y1 , LineBuffer b ) {
+		int half = width/2;
+		int offsetD = image.width/2;
+		float data[] = b.resize(width,1);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = image.startIndex + y*image.stride;
+
+			if( forward ) {
+				System.arraycopy(image.data,index,data,0,width);
+				lift(data, width, 1, b.work, true);
+				for( int i = 0; i < half; i++ ) {
+					image.data[index+i] = data[2*i];
+					image.data[index+offsetD+i] = data[2*i+1];
+				}
+				if( half < offsetD ) {
+					for( int i = half; i < offsetD; i++ ) {
+						image.data[index+i] = 0;
+						image.data[index+offsetD+i] = 0;
+					}
+				}
+			} else {
+				for( int i = 0; i < half; i++ ) {
+					data[2*i] = image.data[index+i];
+					data[2*i+1] = image.data[index+offsetD+i];
+				}
+				lift(data, width, 1, b.work, false);
+				System.arraycopy(data,0,image.data,index,width);
+			}
+		}
+	}
+
+	/**
+	 * Transforms the image along each column.  The scaling coefficients are written to the top half
+	 * and the wavelet coefficients to the bottom half.
+	 */
+	private void vertical( final ImageFloat32 image , final boolean forward ) {
+		buffers.reset();
+
+		int numBlocks = (image.width + BLOCK_COLUMNS - 1)/BLOCK_COLUMNS;
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+				@Override
+				public void process(int block0, int block1) {
+					vertical(image, forward, block0, block1, growBuffer());
+				}
+			});
+		} else {
+			vertical(image, forward, 0, numBlocks, buffers.grow());
+		}
+	}
+
+	private void vertical( ImageFloat32 image , boolean forward , int block0 , int block1 , LineBuffer b ) {
+		int height = image.height;
+		int half = height/2;
+
+		for( int block = block0; block < block1; block++ ) {
+			int x0 = block*BLOCK_COLUMNS;
+			int B = Math.min(image.width,x0+BLOCK_COLUMNS) - x0;
+			float data[] = b.resize(height,B);
+
+			if( forward ) {
+				for( int y = 0; y < height; y++ ) {
+					System.arraycopy(image.data,image.startIndex + y*image.stride + x0,data,y*B,B);
+				}
+				lift(data, height, B, b.work, true);
+				for( int i = 0; i < half; i++ ) {
+					System.arraycopy(data,2*i*B,image.data,image.startIndex + i*image.stride + x0,B);
+					System.arraycopy(data,(2*i+1)*B,image.data,image.startIndex + (half+i)*image.stride + x0,B);
+				}
+			} else {
+				for( int i = 0; i < half; i++ ) {
+					System.arraycopy(image.data,image.startIndex + i*image.stride + x0,data,2*i*B,B);
+					System.arraycopy(image.data,image.startIndex + (half+i)*image.stride + x0,data,(2*i+1)*B,B);
+				}
+				lift(data, height, B, b.work, false);
+				for( int y = 0; y < height; y++ ) {
+					System.arraycopy(data,y*B,image.data,image.startIndex + y*image.stride + x0,B);
+				}
+			}
+		}
+	}
+
+	private void lift( float data[] , int length , int B , float work[] , boolean forward ) {
+		switch( type ) {
+			case HAAR:
+				if( forward )
+					ImplWaveletLifting.haarForward(data, length, B);
+				else
+					ImplWaveletLifting.haarInverse(data, length, B);
+				break;
+
+			case DAUB4:
+				if( forward )
+					ImplWaveletLifting.daub4Forward(data, length, B, work);
+				else
+					ImplWaveletLifting.daub4Inverse(data, length, B, work);
+				break;
+
+			case BIORTHOGONAL5:
+				if( forward )
+					ImplWaveletLifting.biorthogonal5Forward(data, length, B, wrap);
+				else
+					ImplWaveletLifting.biorthogonal5Inverse(data, length, B, wrap);
+				break;
+		}
+	}
+
+	/**
+	 * Returns storage for a thread.  Called from multiple threads.
+	 */
+	private LineBuffer growBuffer() {
+		synchronized ( buffers ) {
+			return buffers.grow();
+		}
+	}
+
+	public WaveletDescription<WlCoef_F32> getDescription() {
+		return desc;
+	}
+
+	/**
+	 * Storage for the line, or block of columns, which is being transformed
+	 */
+	public static class LineBuffer {
+		float data[] = new float[0];
+		float work[] = new float[0];
+
+		public float[] resize( int length , int B ) {
+			if( data.length < length*B )
+				data = new float[ length*B ];
+			if( work.length < B )
+				work = new float[ B ];
+			return data;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+/**
+ * <p>
+ * Single level wavelet transforms along one axis which are computed using the lifting scheme [1].  The signal is
+ * split into even and odd samples, which are then updated in place using each other.  Each step can be undone by
+ * reversing its sign, so the inverse transform is exact up to floating point round off error.
+ * </p>
+ *
+ * <p>
+ * To process several signals at once, each sample is a vector of B elements.  The signal is stored interleaved,
+ * element 'c' of sample 'i' is at index i*B + c in the array.  After the forward transform even samples contain
+ * the scaling coefficients and odd samples contain the wavelet coefficients.  The coefficients are the same as
+ * the ones computed by convolving the signal with the matching description in
+ * {@link boofcv.factory.transform.wavelet.FactoryWaveletHaar} or
+ * {@link boofcv.factory.transform.wavelet.FactoryWaveletDaub}.  The length of the signal must be even.
+ * </p>
+ *
+ * <p>
+ * [1] W. Sweldens, "The lifting scheme: A construction of second generation wavelets" SIAM Journal on
+ * Mathematical Analysis, 1998
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplWaveletLifting {
+
+	private static final float SQRT2 = (float)Math.sqrt(2);
+
+	// constants used by the Daubechies 4 wavelet
+	private static final float D4_P = (float)Math.sqrt(3);
+	private static final float D4_U0 = (float)(Math.sqrt(3)/4);
+	private static final float D4_U1 = (float)((Math.sqrt(3)-2)/4);
+	private static final float D4_SCALING = (float)((1+Math.sqrt(3))/Math.sqrt(2));
+	private static final float D4_WAVELET = (float)((1-Math.sqrt(3))/Math.sqrt(2));
+
+	/**
+	 * Haar wavelet.  s = (e+o)/sqrt(2), d = (e-o)/sqrt(2)
+	 *
+	 * @param data Interleaved signal.  Modified.
+	 * @param length Number of samples in the signal.
+	 * @param B Number of elements in each sample.
+	 */
+	public static void haarForward( float data[] , int length , int B ) {
+		for( int i = 0; i < length*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				float d = data[c+B] - data[c];
+				float s = data[c] + d*0.5f;
+				data[c] = s*SQRT2;
+				data[c+B] = -d/SQRT2;
+			}
+		}
+	}
+
+	/**
+	 * Inverse of {@link #haarForward}
+	 */
+	public static void haarInverse( float data[] , int length , int B ) {
+		for( int i = 0; i < length*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				float d = -data[c+B]*SQRT2;
+				float s = data[c]/SQRT2;
+				float e = s - d*0.5f;
+				data[c] = e;
+				data[c+B] = d + e;
+			}
+		}
+	}
+
+	/**
+	 * Daub 5/3 biorthogonal wavelet.  d[k] = o[k] - (e[k] + e[k+1])/2 and s[k] = e[k] + (d[k-1] + d[k])/4
+	 *
+	 * @param data Interleaved signal.  Modified.
+	 * @param length Number of samples in the signal.
+	 * @param B Number of elements in each sample.
+	 * @param wrap If true the signal wraps around at the border, otherwise it is reflected.
+	 */
+	public static void biorthogonal5Forward( float data[] , int length , int B , boolean wrap ) {
+		int M = length/2;
+		int last = (length-2)*B;
+
+		// predict
+		for( int i = 0; i < last; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] -= 0.5f*(data[c] + data[c+2*B]);
+			}
+		}
+		for( int c = 0; c < B; c++ ) {
+			// reflect: e[M] = e[M-1]  wrap: e[M] = e[0]
+			float next = wrap ? data[c] : data[last+c];
+			data[last+c+B] -= 0.5f*(data[last+c] + next);
+		}
+
+		// update
+		for( int c = 0; c < B; c++ ) {
+			// reflect: d[-1] = d[0]  wrap: d[-1] = d[M-1]
+			float prev = wrap ? data[last+c+B] : data[c+B];
+			data[c] += 0.25f*(prev + data[c+B]);
+		}
+		for( int i = 2*B; i < M*2*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] += 0.25f*(data[c-B] + data[c+B]);
+			}
+		}
+	}
+
+	/**
+	 * Inverse of {@link #biorthogonal5Forward}
+	 */
+	public static void biorthogonal5Inverse( float data[] , int length , int B , boolean wrap ) {
+		int M = length/2;
+		int last = (length-2)*B;
+
+		// undo update
+		for( int c = 0; c < B; c++ ) {
+			float prev = wrap ? data[last+c+B] : data[c+B];
+			data[c] -= 0.25f*(prev + data[c+B]);
+		}
+		for( int i = 2*B; i < M*2*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] -= 0.25f*(data[c-B] + data[c+B]);
+			}
+		}
+
+		// undo predict
+		for( int i = 0; i < last; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] += 0.5f*(data[c] + data[c+2*B]);
+			}
+		}
+		for( int c = 0; c < B; c++ ) {
+			float next = wrap ? data[c] : data[last+c];
+			data[last+c+B] += 0.5f*(data[last+c] + next);
+		}
+	}
+
+	/**
+	 * Daubechies 4 wavelet with a signal that wraps around at the border.  The lifting steps were found by
+	 * factoring the polyphase matrix of the filters in {@link boofcv.factory.transform.wavelet.FactoryWaveletDaub#daubJ_F32}
+	 *
+	 * @param data Interleaved signal.  Modified.
+	 * @param length Number of samples in the signal.
+	 * @param B Number of elements in each sample.
+	 * @param work Work space which is at least B elements long.
+	 */
+	public static void daub4Forward( float data[] , int length , int B , float work[] ) {
+		int M = length/2;
+		int last = (length-2)*B;
+
+		// o[k] = o[k] - sqrt(3)*e[k]
+		for( int i = 0; i < length*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] -= D4_P*data[c];
+			}
+		}
+
+		// e[k] = e[k] + sqrt(3)/4*o[k] + (sqrt(3)-2)/4*o[k+1]
+		for( int i = 0; i < last; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] += D4_U0*data[c+B] + D4_U1*data[c+3*B];
+			}
+		}
+		for( int c = 0; c < B; c++ ) {
+			data[last+c] += D4_U0*data[last+c+B] + D4_U1*data[c+B];
+		}
+
+		// o[k] = o[k+1] + e[k].  o[0] is saved since it is overwritten before it's needed
+		System.arraycopy(data,B,work,0,B);
+		for( int i = 0; i < last; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] = data[c+3*B] + data[c];
+			}
+		}
+		for( int c = 0; c < B; c++ ) {
+			data[last+c+B] = work[c] + data[last+c];
+		}
+
+		// normalize
+		for( int i = 0; i < M*2*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] *= D4_SCALING;
+				data[c+B] *= D4_WAVELET;
+			}
+		}
+	}
+
+	/**
+	 * Inverse of {@link #daub4Forward}
+	 */
+	public static void daub4Inverse( float data[] , int length , int B , float work[] ) {
+		int M = length/2;
+		int last = (length-2)*B;
+
+		// undo normalize
+		for( int i = 0; i < M*2*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] /= D4_SCALING;
+				data[c+B] /= D4_WAVELET;
+			}
+		}
+
+		// o[k+1] = o[k] - e[k].  Traversed backwards so that o[k] is read before it's overwritten
+		for( int c = 0; c < B; c++ ) {
+			work[c] = data[last+c+B] - data[last+c];
+		}
+		for( int i = last; i > 0; i -= 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] = data[c-B] - data[c-2*B];
+			}
+		}
+		System.arraycopy(work,0,data,B,B);
+
+		// e[k] = e[k] - sqrt(3)/4*o[k] - (sqrt(3)-2)/4*o[k+1]
+		for( int i = 0; i < last; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c] -= D4_U0*data[c+B] + D4_U1*data[c+3*B];
+			}
+		}
+		for( int c = 0; c < B; c++ ) {
+			data[last+c] -= D4_U0*data[last+c+B] + D4_U1*data[c+B];
+		}
+
+		// o[k] = o[k] + sqrt(3)*e[k]
+		for( int i = 0; i < length*B; i += 2*B ) {
+			for( int c = i; c < i+B; c++ ) {
+				data[c+B] += D4_P*data[c];
+			}
+		}
+	}
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Functions for converting between {@link ImageByteBuffer} and array based images.  When the data types match
+ * each row is moved with a single bulk copy, which is much faster than reading one element at a time from
+ * the buffer.  The buffer's position and limit are not modified.
+ * </p>
+ *
+ * <p>
+ * If a U8 buffer is backed by an accessible array, see {@link ByteBuffer#hasArray()}, then converting it into
+ * {@link ImageUInt8} or {@link InterleavedU8} doesn't copy anything.  Instead the output image references the
+ * buffer's array and changes to one are seen by the other.  Direct buffers, memory mapped files, and read only
+ * buffers don't have an accessible array and are always copied.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertByteBuffer {
+
+	/**
+	 * Converts a single band {@link ImageByteBuffer} of type U8 into an {@link ImageUInt8}.  If the buffer is
+	 * backed by an array then the output will reference the buffer's array instead of copying it.  The output
+	 * is then marked as a sub-image since it doesn't own its data.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageUInt8 convert(ImageByteBuffer input, ImageUInt8 output) {
+		checkInput(input, 1, ImageDataType.U8);
+		if( output != null )
+			InputSanityCheck.checkSameShape(input, output);
+
+		if( input.data.hasArray() ) {
+			if( output == null ) {
+				output = new ImageUInt8();
+				output.imageType = ImageType.single(ImageUInt8.class);
+			}
+			output.data = input.data.array();
+			wrapArray(input, output);
+			return output;
+		}
+
+		if (output == null)
+			output = new ImageUInt8(input.width, input.height);
+
+		copyRows(input, output.data, output.startIndex, output.stride, output.width, output.height);
+
+		return output;
+	}
+
+	/**
+	 * Converts a single band {@link ImageByteBuffer} of type U8 or F32 into an {@link ImageFloat32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert(ImageByteBuffer input, ImageFloat32 output) {
+		if (output == null) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		if( input.dataType == ImageDataType.U8 ) {
+			checkInput(input, 1, ImageDataType.U8);
+			copyRowsU8(input, output.data, output.startIndex, output.stride, output.width, output.height);
+		} else {
+			checkInput(input, 1, ImageDataType.F32);
+			copyRows(input, output.data, output.startIndex, output.stride, output.width, output.height);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link ImageByteBuffer} of type U8 into an {@link InterleavedU8}.  If the buffer is
+	 * backed by an array then the output will reference the buffer's array instead of copying it.  The output
+	 * is then marked as a sub-image since it doesn't own its data.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static InterleavedU8 convert(ImageByteBuffer input, InterleavedU8 output) {
+		if( output != null ) {
+			InputSanityCheck.checkSameShape(input, output);
+			checkInput(input, output.numBands, ImageDataType.U8);
+		} else {
+			checkInput(input, input.numBands, ImageDataType.U8);
+		}
+
+		if( input.data.hasArray() ) {
+			if( output == null ) {
+				output = new InterleavedU8();
+				output.numBands = input.numBands;
+				output.imageType = (ImageType)ImageType.interleaved(input.numBands, InterleavedU8.class);
+			}
+			output.data = input.data.array();
+			wrapArray(input, output);
+			return output;
+		}
+
+		if (output == null)
+			output = new InterleavedU8(input.width, input.height, input.numBands);
+
+		copyRows(input, output.data, output.startIndex, output.stride, output.width*output.numBands, output.height);
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link ImageByteBuffer} of type F32 into an {@link InterleavedF32}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static InterleavedF32 convert(ImageByteBuffer input, InterleavedF32 output) {
+		if (output == null) {
+			output = new InterleavedF32(input.width, input.height, input.numBands);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+		checkInput(input, output.numBands, ImageDataType.F32);
+
+		copyRows(input, output.data, output.startIndex, output.stride, output.width*output.numBands, output.height);
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link ImageUInt8} into a single band {@link ImageByteBuffer} of type U8.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageByteBuffer convert(ImageUInt8 input, ImageByteBuffer output) {
+		if (output == null) {
+			output = new ImageByteBuffer(input.width, input.height, 1, ImageDataType.U8);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+		checkInput(output, 1, ImageDataType.U8);
+
+		copyRows(input.data, input.startIndex, input.stride, input.width, input.height, output);
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link ImageFloat32} into a single band {@link ImageByteBuffer} of type F32.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageByteBuffer convert(ImageFloat32 input, ImageByteBuffer output) {
+		if (output == null) {
+			output = new ImageByteBuffer(input.width, input.height, 1, ImageDataType.F32);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+		checkInput(output, 1, ImageDataType.F32);
+
+		copyRows(input.data, input.startIndex, input.stride, input.width, input.height, output);
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link InterleavedU8} into an {@link ImageByteBuffer} of type U8.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageByteBuffer convert(InterleavedU8 input, ImageByteBuffer output) {
+		if (output == null) {
+			output = new ImageByteBuffer(input.width, input.height, input.numBands, ImageDataType.U8);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+		checkInput(output, input.numBands, ImageDataType.U8);
+
+		copyRows(input.data, input.startIndex, input.stride, input.width*input.numBands, input.height, output);
+
+		return output;
+	}
+
+	/**
+	 * Converts an {@link InterleavedF32} into an {@link ImageByteBuffer} of type F32.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageByteBuffer convert(InterleavedF32 input, ImageByteBuffer output) {
+		if (output == null) {
+			output = new ImageByteBuffer(input.width, input.height, input.numBands, ImageDataType.F32);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+		checkInput(output, input.numBands, ImageDataType.F32);
+
+		copyRows(input.data, input.startIndex, input.stride, input.width*input.numBands, input.height, output);
+
+		return output;
+	}
+
+	/**
+	 * Sets the output's shape so that it references the same pixels as the input inside of the buffer's array
+	 */
+	private static void wrapArray( ImageByteBuffer input , ImageBase output ) {
+		output.width = input.width;
+		output.height = input.height;
+		output.startIndex = input.data.arrayOffset() + input.startIndex;
+		output.stride = input.stride;
+		output.subImage = true;
+	}
+
+	private static void checkInput( ImageByteBuffer image , int numBands , ImageDataType dataType ) {
+		if( image.dataType != dataType )
+			throw new IllegalArgumentException("Expected data type "+dataType+" not "+image.dataType);
+		if( image.numBands != numBands )
+			throw new IllegalArgumentException("Expected "+numBands+" bands not "+image.numBands);
+	}
+
+	/**
+	 * Creates a view of the buffer which can be moved around without modifying the original
+	 */
+	private static ByteBuffer view( ImageByteBuffer image ) {
+		ByteBuffer ret = image.data.duplicate();
+		ret.order(image.data.order());
+		ret.clear();
+		return ret;
+	}
+
+	private static void copyRows( ImageByteBuffer input , byte[] output , int startIndex , int stride ,
+								  int rowLength , int numRows ) {
+		ByteBuffer src = view(input);
+
+		for (int y = 0; y < numRows; y++) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output, startIndex + y*stride, rowLength);
+		}
+	}
+
+	private static void copyRows( ImageByteBuffer input , float[] output , int startIndex , int stride ,
+								  int rowLength , int numRows ) {
+		FloatBuffer src = view(input).asFloatBuffer();
+
+		for (int y = 0; y < numRows; y++) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output, startIndex + y*stride, rowLength);
+		}
+	}
+
+	private static void copyRowsU8( ImageByteBuffer input , float[] output , int startIndex , int stride ,
+									int rowLength , int numRows ) {
+		ByteBuffer src = input.data;
+
+		for (int y = 0; y < numRows; y++) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = startIndex + y*stride;
+			int indexEnd = indexDst + rowLength;
+
+			while( indexDst < indexEnd ) {
+				output[indexDst++] = src.get(indexSrc++) & 0xFF;
+			}
+		}
+	}
+
+	private static void copyRows( byte[] input , int startIndex , int stride , int rowLength , int numRows ,
+								  ImageByteBuffer output ) {
+		ByteBuffer dst = view(output);
+
+		for (int y = 0; y < numRows; y++) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input, startIndex + y*stride, rowLength);
+		}
+	}
+
+	private static void copyRows( float[] input , int startIndex , int stride , int rowLength , int numRows ,
+								  ImageByteBuffer output ) {
+		FloatBuffer dst = view(output).asFloatBuffer();
+
+		for (int y = 0; y < numRows; y++) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input, startIndex + y*stride, rowLength);
+		}
+	}
+}
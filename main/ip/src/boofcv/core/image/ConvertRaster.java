@@ -18,6 +18,8 @@
 
 package boofcv.core.image;
 
+import boofcv.struct.image.ImageByteBuffer;
+import boofcv.struct.image.ImageDataType;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageInt16;
 import boofcv.struct.image.ImageUInt8;
@@ -28,6 +30,7 @@ import sun.awt.image.ShortInterleavedRaster;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
 
 /**
  * Routines for converting to and from {@link BufferedImage} that use its internal
@@ -1361,4 +1364,55 @@ public class ConvertRaster {
 			}
 		}
 	}
+
+	/**
+	 * Copies the raster into a U8 {@link ImageByteBuffer} with the same number of bands.  Bands are not
+	 * reordered, e.g. if the raster is BGR then so will the output.  Each row is copied with a single bulk copy.
+	 */
+	public static void bufferedToByteBuffer(ByteInterleavedRaster src, ImageByteBuffer dst) {
+		checkByteBuffer(dst, src.getNumBands());
+
+		byte[] srcData = src.getDataStorage();
+
+		int srcStride = src.getScanlineStride();
+		int srcOffset = src.getDataOffset(0)-src.getPixelStride()+1;
+		int rowLength = dst.width*dst.numBands;
+
+		ByteBuffer buffer = dst.data.duplicate();
+		buffer.clear();
+
+		for (int y = 0; y < dst.height; y++) {
+			buffer.position(dst.startIndex + dst.stride * y);
+			buffer.put(srcData, srcOffset + srcStride * y, rowLength);
+		}
+	}
+
+	/**
+	 * Copies a U8 {@link ImageByteBuffer} into a raster with the same number of bands.  Bands are not
+	 * reordered, e.g. if the raster is BGR then the input should be too.  Each row is copied with a single bulk copy.
+	 */
+	public static void byteBufferToBuffered(ImageByteBuffer src, ByteInterleavedRaster dst) {
+		checkByteBuffer(src, dst.getNumBands());
+
+		byte[] dstData = dst.getDataStorage();
+
+		int dstStride = dst.getScanlineStride();
+		int dstOffset = dst.getDataOffset(0)-dst.getPixelStride()+1;
+		int rowLength = src.width*src.numBands;
+
+		ByteBuffer buffer = src.data.duplicate();
+		buffer.clear();
+
+		for (int y = 0; y < src.height; y++) {
+			buffer.position(src.startIndex + src.stride * y);
+			buffer.get(dstData, dstOffset + dstStride * y, rowLength);
+		}
+	}
+
+	private static void checkByteBuffer(ImageByteBuffer image, int numBands) {
+		if (image.dataType != ImageDataType.U8)
+			throw new IllegalArgumentException("Image data type must be U8");
+		if (image.numBands != numBands)
+			throw new IllegalArgumentException("Image and raster must have the same number of bands");
+	}
 }
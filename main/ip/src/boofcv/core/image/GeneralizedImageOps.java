@@ -19,6 +19,7 @@
 package boofcv.core.image;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.impl.ImplConvertImage;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
@@ -148,9 +149,24 @@ public class GeneralizedImageOps {
 		return createSingleBand(typeClass, width, height);
 	}
 
+	/**
+	 * Creates a single band image which is filled with zeros.  If an image of the same type and shape has
+	 * been released to the {@link ImagePool#getGlobal() global image pool} by the calling thread then it is reused.
+	 *
+	 * @param type Type of image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @return New image.
+	 */
 	public static <T extends ImageSingleBand> T createSingleBand(Class<T> type, int width, int height) {
 		type = BoofTesting.convertGenericToSpecificType(type);
 
+		T cached = ImagePool.getGlobal().take(type, width, height);
+		if( cached != null ) {
+			GImageMiscOps.fill(cached, 0);
+			return cached;
+		}
+
 		if (type == ImageUInt8.class) {
 			return (T)new ImageUInt8(width, height);
 		} else if (type == ImageSInt8.class) {
@@ -19,8 +19,12 @@
 package boofcv.factory.distort;
 
 import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortTableBilinear;
+import boofcv.alg.distort.ImageDistort_MT;
 import boofcv.alg.distort.impl.*;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.core.image.border.BorderType;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.image.*;
 
@@ -94,4 +98,43 @@ public class FactoryDistort {
 			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
 		}
 	}
+
+	/**
+	 * Distortion which breaks the destination image up into tiles which are processed concurrently.  Each
+	 * thread has its own interpolation and border, which is why their type is specified instead of an instance.
+	 * Like {@link #distortCached} the distortion is computed once and cached.
+	 *
+	 * @see ImageDistort_MT
+	 *
+	 * @param interpType Which interpolation algorithm should be used.
+	 * @param borderType How pixels outside the source image are handled.  SKIP leaves them unmodified
+	 *                   and VALUE sets them to zero.
+	 * @param imageType Type of image being processed.
+	 * @return Concurrent image distort.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageDistort_MT<T> distortConcurrent(TypeInterpolate interpType, BorderType borderType, Class<T> imageType)
+	{
+		return new ImageDistort_MT<T>(interpType,borderType,imageType);
+	}
+
+	/**
+	 * Bilinear interpolation using a fixed point lookup table.  The table uses less memory than
+	 * {@link #distortCached} and can be shared between threads, see {@link ImageDistortTableBilinear}.
+	 *
+	 * @param border Specifies how requests to pixels outside the image should be handled.  If null then no change
+	 * @param imageType Type of image being processed.
+	 * @return Image distort which uses a fixed point lookup table.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageDistortTableBilinear<T> distortTableBilinear(ImageBorder border, Class<T> imageType)
+	{
+		if( imageType == ImageFloat32.class ) {
+			return (ImageDistortTableBilinear<T>)new ImplImageDistortTableBilinear_F32(border);
+		} else if( imageType == ImageUInt8.class ) {
+			return (ImageDistortTableBilinear<T>)new ImplImageDistortTableBilinear_U8(border);
+		} else {
+			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+		}
+	}
 }
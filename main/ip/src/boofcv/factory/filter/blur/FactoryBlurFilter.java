@@ -19,6 +19,7 @@
 package boofcv.factory.filter.blur;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
+import boofcv.abst.filter.blur.GaussianRecursiveFilter;
 import boofcv.abst.filter.blur.MedianImageFilter;
 import boofcv.struct.image.ImageSingleBand;
 
@@ -61,4 +62,16 @@ public class FactoryBlurFilter {
 	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ) {
 		return new BlurStorageFilter<T>("gaussian",type,sigma,radius);
 	}
+
+	/**
+	 * Creates a Gaussian filter for the specified image type which is implemented using a recursive filter.
+	 * Its cost doesn't grow with sigma, making it faster than {@link #gaussian} for large sigmas.
+	 *
+	 * @param type Image type.  {@link boofcv.struct.image.ImageUInt8} or {@link boofcv.struct.image.ImageFloat32}
+	 * @param sigma Gaussian's standard deviation.  Must be &gt; 0
+	 * @return Gaussian image filter.
+	 */
+	public static <T extends ImageSingleBand> GaussianRecursiveFilter<T> gaussianRecursive( Class<T> type , double sigma ) {
+		return new GaussianRecursiveFilter<T>(type,sigma);
+	}
 }
@@ -108,6 +108,35 @@ public class FactoryDerivative {
 		return new ImageGradient_Gaussian<I,D>(sigma,radius,inputType,derivType);
 	}
 
+	/**
+	 * Gradient of an image after it has been blurred by a Gaussian kernel.  The blur and gradient are
+	 * computed in a single pass without saving the blurred image.
+	 *
+	 * @param sigma Gaussian blur's standard deviation.  If &le; 0 then computed from the radius.
+	 * @param radius Gaussian blur's radius.  If &le; 0 then computed from sigma.
+	 * @param gradientType Gradient operator.  {@link GradientSobel} or {@link GradientThree}
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	ImageGradient<I,D> blurGradient( double sigma , int radius , Class<?> gradientType ,
+									 Class<I> inputType , Class<D> derivType ) {
+		return new ImageGradient_BlurFused<I,D>(sigma,radius,gradientType,inputType,derivType);
+	}
+
+	/**
+	 * Hessian of an image after it has been blurred by a Gaussian kernel.  The blur, gradient, and Hessian are
+	 * computed in a single pass without saving the blurred image or gradient.
+	 *
+	 * @param sigma Gaussian blur's standard deviation.  If &le; 0 then computed from the radius.
+	 * @param radius Gaussian blur's radius.  If &le; 0 then computed from sigma.
+	 * @param gradientType Gradient operator the Hessian is computed from.  {@link GradientSobel} or
+	 * {@link GradientThree}
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	ImageHessianDirect<I,D> blurHessianDirect( double sigma , int radius , Class<?> gradientType ,
+											   Class<I> inputType , Class<D> derivType ) {
+		return new ImageHessianDirect_BlurFused<I,D>(sigma,radius,gradientType,inputType,derivType);
+	}
+
 	public static ImageGradient<ImageFloat32,ImageFloat32> gaussian_F32( double sigma , int radius ) {
 		return gaussian(sigma,radius, ImageFloat32.class,ImageFloat32.class);
 	}
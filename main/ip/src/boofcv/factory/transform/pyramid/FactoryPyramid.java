@@ -19,13 +19,18 @@
 package boofcv.factory.transform.pyramid;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.transform.pyramid.PyramidDiscreteFixedPoint_U8;
 import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
 import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_F64;
+import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -57,6 +62,49 @@ public class FactoryPyramid {
 		return new PyramidDiscreteSampleBlur<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
 	}
 
+	/**
+	 * Creates an updater for discrete pyramids where a binomial kernel is convolved across the input
+	 * prior to sub-sampling.  A binomial kernel is an integer approximation of a Gaussian.  For {@link ImageUInt8}
+	 * images {@link PyramidDiscreteFixedPoint_U8} is used, which only uses integer arithmetic.
+	 *
+	 * @see PyramidDiscreteFixedPoint_U8
+	 *
+	 * @param scaleFactors Scale factor for each layer in the pyramid relative to the input layer
+	 * @param radius Radius of the binomial kernel.  Try 2.
+	 * @param saveOriginalReference If a reference to the full resolution image should be saved instead of copied.
+	 * @param imageType Type of input image.
+	 * @return PyramidDiscrete
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidDiscrete<T> discreteBinomial( int[] scaleFactors , int radius ,
+										 boolean saveOriginalReference, Class<T> imageType )
+	{
+		if( imageType == ImageUInt8.class )
+			return (PyramidDiscrete<T>)new PyramidDiscreteFixedPoint_U8(radius,saveOriginalReference,scaleFactors);
+
+		int weights[] = PyramidDiscreteFixedPoint_U8.binomial(radius);
+		double sigma = PyramidDiscreteFixedPoint_U8.sigmaForRadius(radius);
+
+		Class kernelType = FactoryKernel.getKernelType(imageType,1);
+		double total = 1 << (2*radius);
+		Kernel1D kernel;
+		if( kernelType == Kernel1D_F32.class ) {
+			Kernel1D_F32 k = new Kernel1D_F32(weights.length);
+			for( int i = 0; i < weights.length; i++ )
+				k.data[i] = (float)(weights[i]/total);
+			kernel = k;
+		} else if( kernelType == Kernel1D_F64.class ) {
+			Kernel1D_F64 k = new Kernel1D_F64(weights.length);
+			for( int i = 0; i < weights.length; i++ )
+				k.data[i] = weights[i]/total;
+			kernel = k;
+		} else {
+			kernel = new Kernel1D_I32(weights,weights.length);
+		}
+
+		return new PyramidDiscreteSampleBlur<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
+	}
+
 	/**
 	 * Creates a float pyramid where each layer is blurred using a Gaussian with the specified
 	 * sigma.  Bilinear interpolation is used when sub-sampling.
@@ -21,6 +21,7 @@ package boofcv.factory.transform.wavelet;
 import boofcv.abst.transform.wavelet.WaveletTransform;
 import boofcv.abst.transform.wavelet.impl.WaveletTransformFloat32;
 import boofcv.abst.transform.wavelet.impl.WaveletTransformInt;
+import boofcv.abst.transform.wavelet.impl.WaveletTransformLiftingFloat32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageInteger;
 import boofcv.struct.image.ImageSInt32;
@@ -90,4 +91,24 @@ public class FactoryWaveletTransform {
 	{
 		return new WaveletTransformFloat32(waveletDesc,numLevels,minPixelValue,maxPixelValue);
 	}
+
+	/**
+	 * Creates a wavelet transform for images that are of type {@link ImageFloat32} which is computed in place
+	 * using the lifting scheme.  Only the Haar, Daubechies 4, and biorthogonal 5 wavelets are supported.
+	 *
+	 * @see boofcv.alg.transform.wavelet.WaveletLifting_F32
+	 *
+	 * @param waveletDesc Description of the wavelet.
+	 * @param numLevels Number of levels in the multi-level transform.
+	 * @param minPixelValue Minimum pixel intensity value
+	 * @param maxPixelValue Maximum pixel intensity value
+	 * @return The transform class.
+	 */
+	public static
+	WaveletTransform<ImageFloat32, ImageFloat32,WlCoef_F32>
+	createLifting_F32( WaveletDescription<WlCoef_F32> waveletDesc ,
+					   int numLevels, float minPixelValue , float maxPixelValue )
+	{
+		return new WaveletTransformLiftingFloat32(waveletDesc,numLevels,minPixelValue,maxPixelValue);
+	}
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Global settings and a shared thread pool for algorithms which can split their work into independent blocks,
+ * e.g. bands of image rows.  Work is divided into at most {@link #getMaxThreads()} contiguous blocks.  The calling
+ * thread processes the first block itself while the remaining blocks are handed to the thread pool, then it waits
+ * for all of them to finish.
+ * </p>
+ *
+ * <p>
+ * Calls to {@link #loopBlocks} from inside of a block are processed sequentially by the thread which made the call.
+ * This prevents a fixed size pool from dead locking when concurrent algorithms are nested inside each other.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	/**
+	 * If true then operations with a concurrent implementation will use it by default.
+	 */
+	public static boolean USE_CONCURRENT = false;
+
+	// maximum number of blocks work is split into
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+	// thread pool which blocks are processed inside of
+	private static ExecutorService executor;
+	// true if the executor was created internally and should be shutdown when replaced
+	private static boolean ownsExecutor;
+
+	// true if the current thread is already processing a block
+	private static final ThreadLocal<Boolean> insideBlock = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return false;
+		}
+	};
+
+	/**
+	 * Specifies the maximum number of threads work can be split across.  The internal thread pool is
+	 * discarded and a new one is created the next time it is needed.
+	 *
+	 * @param threads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		maxThreads = threads;
+		discardExecutor();
+	}
+
+	/**
+	 * Maximum number of threads work can be split across.
+	 */
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Specifies the thread pool that work is processed in.  The pool is not shutdown by BoofCV.
+	 *
+	 * @param executor Thread pool which work is submitted to.  If null the default pool will be used.
+	 * @param threads Maximum number of threads work is split across.  Must be &ge; 1.
+	 */
+	public static synchronized void setExecutor( ExecutorService executor , int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		discardExecutor();
+		BoofConcurrency.maxThreads = threads;
+		BoofConcurrency.executor = executor;
+	}
+
+	/**
+	 * Returns the thread pool that work is submitted to.  If none has been specified a pool with daemon threads
+	 * is created.
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if( executor == null ) {
+			executor = Executors.newFixedThreadPool(maxThreads,new WorkerFactory());
+			ownsExecutor = true;
+		}
+		return executor;
+	}
+
+	private static void discardExecutor() {
+		if( ownsExecutor && executor != null )
+			executor.shutdown();
+		executor = null;
+		ownsExecutor = false;
+	}
+
+	/**
+	 * Computes the number of blocks a range will be split into.
+	 *
+	 * @param length Number of elements in the range.
+	 * @param minBlock Minimum number of elements in each block.
+	 * @return Number of blocks.  Always &ge; 1.
+	 */
+	public static int numBlocks( int length , int minBlock ) {
+		int threads = getMaxThreads();
+		int blocks = minBlock <= 0 ? length : length/minBlock;
+		return Math.max(1,Math.min(threads,blocks));
+	}
+
+	/**
+	 * Splits the range [start,end) into contiguous blocks and processes them concurrently.  Blocks
+	 * do not overlap and together they cover the entire range.  The function returns after every block has
+	 * been processed.
+	 *
+	 * @param start First index in the range, inclusive.
+	 * @param end Last index in the range, exclusive.
+	 * @param minBlock Minimum number of indexes in each block.  Prevents small ranges from being split up.
+	 * @param task Processes a single block.  Must be safe to call from multiple threads at once.
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , IntRangeTask task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		int numBlocks = numBlocks(length,minBlock);
+
+		if( numBlocks == 1 || insideBlock.get() ) {
+			task.process(start,end);
+			return;
+		}
+
+		ExecutorService executor = getExecutor();
+
+		List<Future<?>> futures = new ArrayList<Future<?>>(numBlocks-1);
+		for( int i = 1; i < numBlocks; i++ ) {
+			int index0 = start + (int)((long)length*i/numBlocks);
+			int index1 = start + (int)((long)length*(i+1)/numBlocks);
+			futures.add(executor.submit(new Block(task,index0,index1)));
+		}
+
+		RuntimeException error = null;
+		try {
+			new Block(task,start,start + length/numBlocks).run();
+		} catch( RuntimeException e ) {
+			error = e;
+		}
+
+		// wait for everything to finish, even if there was an error, so that no thread is still writing
+		// to the output after this function returns
+		boolean interrupted = false;
+		for( Future<?> f : futures ) {
+			while( true ) {
+				try {
+					f.get();
+					break;
+				} catch( InterruptedException e ) {
+					interrupted = true;
+				} catch( ExecutionException e ) {
+					if( error == null )
+						error = wrap(e.getCause());
+					break;
+				}
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		if( error != null )
+			throw error;
+	}
+
+	private static RuntimeException wrap( Throwable t ) {
+		if( t instanceof RuntimeException )
+			return (RuntimeException)t;
+		if( t instanceof Error )
+			throw (Error)t;
+		return new RuntimeException(t);
+	}
+
+	/**
+	 * Processes a single block and marks the thread as being inside a block while doing so.
+	 */
+	private static class Block implements Runnable {
+		IntRangeTask task;
+		int index0,index1;
+
+		private Block(IntRangeTask task, int index0, int index1) {
+			this.task = task;
+			this.index0 = index0;
+			this.index1 = index1;
+		}
+
+		@Override
+		public void run() {
+			insideBlock.set(true);
+			try {
+				task.process(index0,index1);
+			} finally {
+				insideBlock.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Creates daemon threads so that the pool does not prevent the application from exiting.
+	 */
+	private static class WorkerFactory implements ThreadFactory {
+		AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r,"BoofCV-Worker-"+count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.struct.image;
 
+import java.util.Arrays;
 
 /**
  * Used to create new images from its type alone
@@ -27,8 +28,18 @@ package boofcv.struct.image;
 @SuppressWarnings({"unchecked"})
 public class FactoryImage {
 
+	/**
+	 * Creates a single band image which is filled with zeros.  Images released to the
+	 * {@link ImagePool#getGlobal() global image pool} by the calling thread are reused.
+	 */
 	public static <T extends ImageSingleBand> T create( Class<T> type , int width , int height )
 	{
+		T cached = ImagePool.getGlobal().take(type, width, height);
+		if( cached != null ) {
+			fillZero(cached);
+			return cached;
+		}
+
 		if( type == ImageUInt8.class) {
 			return (T)new ImageUInt8(width,height);
 		} else if( type == ImageSInt8.class) {
@@ -45,4 +56,32 @@ public class FactoryImage {
 			throw new IllegalArgumentException("Unknown image type: "+type);
 		}
 	}
+
+	/**
+	 * Sets every pixel in the image to zero.  Done here instead of with the functions in boofcv.alg so that
+	 * image structures don't depend on algorithms.
+	 */
+	private static void fillZero( ImageSingleBand image ) {
+		Object data = image._getData();
+
+		for( int y = 0; y < image.height; y++ ) {
+			int start = image.startIndex + y*image.stride;
+			int end = start + image.width;
+
+			if( data instanceof byte[] )
+				Arrays.fill((byte[])data, start, end, (byte)0);
+			else if( data instanceof short[] )
+				Arrays.fill((short[])data, start, end, (short)0);
+			else if( data instanceof int[] )
+				Arrays.fill((int[])data, start, end, 0);
+			else if( data instanceof long[] )
+				Arrays.fill((long[])data, start, end, 0);
+			else if( data instanceof float[] )
+				Arrays.fill((float[])data, start, end, 0);
+			else if( data instanceof double[] )
+				Arrays.fill((double[])data, start, end, 0);
+			else
+				throw new IllegalArgumentException("Unknown data type: "+data.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit.  Each row is packed into 64-bit words with the left
+ * most pixel in the least significant bit.  Compared to a binary {@link ImageUInt8} it uses 1/8 the memory and
+ * operations can process 64 pixels at once.
+ * </p>
+ *
+ * <p>
+ * Bits in the last word of a row which are past the image's width are always zero.  Any code which writes
+ * directly to the data array must preserve this, see {@link #getLastWordMask()}.  Sub-images are not supported
+ * since a sub-image would rarely start on a word boundary.
+ * </p>
+ *
+ * <p>
+ * The bit for pixel (x,y) is found at: (data[ y*stride + x/64 ] >>> (x%64)) &amp; 1
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBinaryPacked implements Serializable {
+
+	/**
+	 * Number of pixels packed into each element of the data array
+	 */
+	public static final int BITS = 64;
+
+	/**
+	 * Packed pixels
+	 */
+	public long data[];
+	/**
+	 * Number of words in each row
+	 */
+	public int stride;
+	/**
+	 * Number of columns in the image.
+	 */
+	public int width;
+	/**
+	 * Number of rows in the image.
+	 */
+	public int height;
+
+	/**
+	 * Creates a new image with every pixel set to zero.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBinaryPacked(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = wordsPerRow(width);
+		this.data = new long[ stride*height ];
+	}
+
+	public ImageBinaryPacked() {
+		this.data = new long[0];
+	}
+
+	/**
+	 * Number of words needed to store a row with the specified number of pixels
+	 */
+	public static int wordsPerRow( int width ) {
+		return (width + BITS - 1)/BITS;
+	}
+
+	/**
+	 * Changes the image's shape.  The data array is only declared again if it is too small.  All pixels are
+	 * set to zero.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public void reshape(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = wordsPerRow(width);
+
+		int N = stride*height;
+		if( data.length < N )
+			data = new long[ N ];
+		else
+			Arrays.fill(data,0,N,0);
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return 0 or 1
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		return unsafe_get(x,y);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return (int)(data[y*stride + (x >> 6)] >>> (x & 0x3F)) & 1;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any value which is not zero is set to one.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set(int x, int y, int value) {
+		int index = y*stride + (x >> 6);
+		long bit = 1L << (x & 0x3F);
+		if( value != 0 )
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	public final boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Mask which selects the bits inside the image in the last word of each row.
+	 */
+	public long getLastWordMask() {
+		int r = width % BITS;
+		return r == 0 ? -1L : (1L << r) - 1;
+	}
+
+	/**
+	 * Sets this image to be identical to the passed in image.  This image is reshaped if needed.
+	 *
+	 * @param orig Image which is to be copied
+	 */
+	public void setTo( ImageBinaryPacked orig ) {
+		if( orig.width != width || orig.height != height )
+			reshape(orig.width,orig.height);
+
+		System.arraycopy(orig.data,0,data,0,stride*height);
+	}
+
+	/**
+	 * Returns true if the two images have the same shape
+	 */
+	public boolean isSameShape( ImageBinaryPacked image ) {
+		return width == image.width && height == image.height;
+	}
+
+	@SuppressWarnings({"CloneDoesntDeclareCloneNotSupportedException", "CloneDoesntCallSuperClone"})
+	@Override
+	public ImageBinaryPacked clone() {
+		ImageBinaryPacked ret = new ImageBinaryPacked(width,height);
+		ret.setTo(this);
+		return ret;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getStride() {
+		return stride;
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>
+ * Image which stores its pixels inside of a {@link ByteBuffer} instead of a primitive array.  Used to wrap memory
+ * which is owned by something else without copying it, e.g. a direct buffer filled in by a camera driver or a
+ * memory mapped file.  Pixels are interleaved and indexed the same way as {@link ImageInterleaved}. startIndex
+ * and stride are in units of elements and not bytes.  Multi-byte elements are read using the buffer's byte order.
+ * </p>
+ *
+ * <p>
+ * Algorithms operate on primitive arrays and can't process this image directly.  Use
+ * {@link boofcv.core.image.ConvertByteBuffer} to move pixels into or out of array based images.  U8 images in
+ * a buffer which is backed by an array are wrapped without copying, otherwise entire rows are moved with bulk
+ * copies.  The {@link ImageType} describes the equivalent interleaved image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageByteBuffer extends ImageBase<ImageByteBuffer> {
+
+	/**
+	 * Buffer which contains the image's pixels
+	 */
+	public ByteBuffer data;
+
+	/**
+	 * Primitive type of each element
+	 */
+	public ImageDataType dataType;
+
+	/**
+	 * Number of bands in each pixel
+	 */
+	public int numBands;
+
+	/**
+	 * Creates a new image backed by a direct buffer in native byte order.
+	 *
+	 * @param width	number of columns in the image.
+	 * @param height   number of rows in the image.
+	 * @param numBands number of bands/colors in the image.
+	 * @param dataType primitive type of each element.
+	 */
+	public ImageByteBuffer(int width, int height, int numBands, ImageDataType dataType) {
+		this(ByteBuffer.allocateDirect(width*height*numBands*dataType.getNumBits()/8).order(ByteOrder.nativeOrder()),
+				width,height,numBands,dataType);
+	}
+
+	/**
+	 * Creates a new image which wraps around the provided buffer.  The first pixel is at the start of the buffer and
+	 * rows are packed next to each other.  The buffer's position and limit are ignored.
+	 *
+	 * @param data Buffer containing the pixels.  Not copied.
+	 * @param width	number of columns in the image.
+	 * @param height   number of rows in the image.
+	 * @param numBands number of bands/colors in the image.
+	 * @param dataType primitive type of each element.
+	 */
+	public ImageByteBuffer(ByteBuffer data, int width, int height, int numBands, ImageDataType dataType) {
+		if( dataType.isAbstract() )
+			throw new IllegalArgumentException("Data type must not be abstract: "+dataType);
+		if( data.capacity() < width*height*numBands*dataType.getNumBits()/8 )
+			throw new IllegalArgumentException("Buffer is too small for the image");
+
+		this.data = data;
+		this.dataType = dataType;
+		this.numBands = numBands;
+		this.width = width;
+		this.height = height;
+		this.startIndex = 0;
+		this.stride = width*numBands;
+		this.imageType = new ImageType(ImageType.Family.INTERLEAVED,dataType,numBands);
+	}
+
+	public ImageByteBuffer() {
+	}
+
+	/**
+	 * Number of bytes in each element
+	 */
+	public int getBytesPerElement() {
+		return dataType.getNumBits()/8;
+	}
+
+	@Override
+	public int getIndex(int x, int y) {
+		return startIndex + y * stride + x * numBands;
+	}
+
+	public int getIndex(int x, int y, int band) {
+		return startIndex + y * stride + x * numBands + band;
+	}
+
+	/**
+	 * Returns the value of the specified band in the specified pixel.
+	 *
+	 * @param x	pixel coordinate.
+	 * @param y	pixel coordinate.
+	 * @param band which color band in the pixel
+	 * @return The pixel's value.
+	 */
+	public double get(int x, int y, int band) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds.");
+		if (band < 0 || band >= numBands)
+			throw new ImageAccessException("Invalid band requested.");
+
+		int i = getIndex(x,y,band)*getBytesPerElement();
+		switch( dataType ) {
+			case U8: return data.get(i) & 0xFF;
+			case S8: return data.get(i);
+			case U16: return data.getShort(i) & 0xFFFF;
+			case S16: return data.getShort(i);
+			case S32: return data.getInt(i);
+			case S64: return data.getLong(i);
+			case F32: return data.getFloat(i);
+			case F64: return data.getDouble(i);
+		}
+		throw new RuntimeException("Unsupported data type: "+dataType);
+	}
+
+	/**
+	 * Sets the value of the specified band in the specified pixel.  The value is typecast into the data type.
+	 *
+	 * @param x	pixel coordinate.
+	 * @param y	pixel coordinate.
+	 * @param band which color band in the pixel
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int band, double value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds.");
+		if (band < 0 || band >= numBands)
+			throw new ImageAccessException("Invalid band requested.");
+
+		int i = getIndex(x,y,band)*getBytesPerElement();
+		switch( dataType ) {
+			case U8: case S8: data.put(i, (byte) value); break;
+			case U16: case S16: data.putShort(i, (short) value); break;
+			case S32: data.putInt(i, (int) value); break;
+			case S64: data.putLong(i, (long) value); break;
+			case F32: data.putFloat(i, (float) value); break;
+			case F64: data.putDouble(i, value); break;
+			default: throw new RuntimeException("Unsupported data type: "+dataType);
+		}
+	}
+
+	@Override
+	public ImageByteBuffer subimage(int x0, int y0, int x1, int y1, ImageByteBuffer subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		ImageByteBuffer ret = _createNew(-1, -1);
+		ret.data = data;
+		ret.stride = Math.max(width * numBands, stride);
+		ret.width = x1 - x0;
+		ret.height = y1 - y0;
+		ret.startIndex = startIndex + y0 * stride + x0 * numBands;
+		ret.subImage = true;
+
+		return ret;
+	}
+
+	/**
+	 * Changes the image's shape.  If the buffer is too small then a new direct buffer is allocated, which
+	 * means the image will no longer wrap around the original buffer.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		if( isSubimage() )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		int bytes = width*height*numBands*getBytesPerElement();
+		if( data == null || data.capacity() < bytes ) {
+			ByteOrder order = data == null ? ByteOrder.nativeOrder() : data.order();
+			data = ByteBuffer.allocateDirect(bytes).order(order);
+		}
+
+		this.width = width;
+		this.height = height;
+		this.stride = width*numBands;
+	}
+
+	@Override
+	public void setTo(ImageByteBuffer orig) {
+		if (orig.width != width || orig.height != height)
+			throw new IllegalArgumentException("The width and/or height of 'orig' is not the same as this class");
+		if (orig.numBands != numBands)
+			throw new IllegalArgumentException("The two images have different number of bands");
+		if (orig.dataType != dataType)
+			throw new IllegalArgumentException("The two images have different data types");
+		if (getBytesPerElement() > 1 && orig.data.order() != data.order())
+			throw new IllegalArgumentException("The two images have a different byte order");
+
+		int bytes = getBytesPerElement();
+		ByteBuffer src = orig.data.duplicate();
+		ByteBuffer dst = data.duplicate();
+
+		for (int y = 0; y < height; y++) {
+			int indexSrc = (orig.startIndex + y*orig.stride)*bytes;
+			int indexDst = (startIndex + y*stride)*bytes;
+
+			src.limit(indexSrc + width*numBands*bytes).position(indexSrc);
+			dst.position(indexDst);
+			dst.put(src);
+		}
+	}
+
+	@Override
+	public ImageByteBuffer _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			ImageByteBuffer ret = new ImageByteBuffer();
+			ret.dataType = dataType;
+			ret.numBands = numBands;
+			ret.imageType = imageType;
+			return ret;
+		}
+		ImageByteBuffer ret = new ImageByteBuffer(imgWidth, imgHeight, numBands, dataType);
+		ret.data.order(data.order());
+		return ret;
+	}
+}
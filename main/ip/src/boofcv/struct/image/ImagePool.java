@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Cache of images which are no longer being used, so that algorithms which need temporary images can reuse
+ * memory instead of declaring new images.  Images are borrowed with {@link #borrow} and given back with
+ * {@link #release}.  An image will only be handed out again if it has the same {@link ImageType} and shape as
+ * the one requested.  The contents of a borrowed image are not defined.
+ * </p>
+ *
+ * <p>
+ * Each thread has its own cache, which avoids the need for synchronization, and an image released by one thread
+ * can only be borrowed by the same thread.  Each cache holds at most {@link #getMaxImages()} images, when full
+ * the image which was released the longest time ago is discarded.
+ * </p>
+ *
+ * <p>
+ * NOTE: An image must not be used after it has been released, since it could be handed out again at any time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// pool used by BoofCV's algorithms and GeneralizedImageOps
+	private static final ImagePool global = new ImagePool(20);
+
+	// maximum number of images each thread will cache
+	private volatile int maxImages;
+
+	// images which have been released, oldest first
+	private final ThreadLocal<List<ImageBase>> cache = new ThreadLocal<List<ImageBase>>() {
+		@Override
+		protected List<ImageBase> initialValue() {
+			return new ArrayList<ImageBase>();
+		}
+	};
+
+	/**
+	 * Creates a new pool
+	 *
+	 * @param maxImages Maximum number of images each thread will cache.  If 0 then nothing is cached.
+	 */
+	public ImagePool(int maxImages) {
+		setMaxImages(maxImages);
+	}
+
+	/**
+	 * Returns the pool which is shared by all of BoofCV.
+	 */
+	public static ImagePool getGlobal() {
+		return global;
+	}
+
+	/**
+	 * Returns an image with the specified type and shape.  A cached image is returned if one is available,
+	 * otherwise a new image is declared.  The contents of the image are not defined.
+	 *
+	 * @param type Type of image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @return An image which is not being used by anything else.
+	 */
+	public <T extends ImageBase> T borrow( ImageType<T> type , int width , int height ) {
+		T found = take(type, width, height);
+		if( found != null )
+			return found;
+		return type.createImage(width,height);
+	}
+
+	/**
+	 * Returns a single band image with the specified type and shape.  See {@link #borrow(ImageType, int, int)}.
+	 */
+	public <T extends ImageSingleBand> T borrow( Class<T> type , int width , int height ) {
+		return borrow(ImageType.single(type), width, height);
+	}
+
+	/**
+	 * Removes and returns a cached image with the specified type and shape.  Unlike {@link #borrow} a new image
+	 * is not declared if none is available.
+	 *
+	 * @param type Type of image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @return The cached image or null if there is none.
+	 */
+	public <T extends ImageBase> T take( ImageType<T> type , int width , int height ) {
+		List<ImageBase> list = cache.get();
+
+		// search the most recently released first
+		for( int i = list.size()-1; i >= 0; i-- ) {
+			ImageBase image = list.get(i);
+			if( image.width != width || image.height != height )
+				continue;
+
+			ImageType found = image.getImageType();
+			if( found.getFamily() == type.getFamily() && found.getDataType() == type.getDataType() &&
+					found.getNumBands() == type.getNumBands() ) {
+				list.remove(i);
+				return (T)image;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Single band version of {@link #take(ImageType, int, int)}.
+	 */
+	public <T extends ImageSingleBand> T take( Class<T> type , int width , int height ) {
+		if( cache.get().isEmpty() )
+			return null;
+		return take(ImageType.single(type), width, height);
+	}
+
+	/**
+	 * Gives images back to the pool so that they can be borrowed again.  The images must not be used by
+	 * the caller after this function has been called.  Null images are ignored.
+	 *
+	 * @param images Images which are no longer being used.
+	 */
+	public void release( ImageBase... images ) {
+		List<ImageBase> list = cache.get();
+		int maxImages = this.maxImages;
+
+		for( ImageBase image : images ) {
+			if( image == null )
+				continue;
+			if( image.isSubimage() )
+				throw new IllegalArgumentException("Sub-images can't be added to the pool");
+
+			for( int i = 0; i < list.size(); i++ ) {
+				if( list.get(i) == image )
+					throw new IllegalArgumentException("Image has already been released");
+			}
+
+			if( maxImages <= 0 )
+				continue;
+
+			while( list.size() >= maxImages )
+				list.remove(0);
+			list.add(image);
+		}
+	}
+
+	/**
+	 * Discards all the images cached by the calling thread.
+	 */
+	public void clear() {
+		cache.get().clear();
+	}
+
+	/**
+	 * Number of images cached by the calling thread.
+	 */
+	public int size() {
+		return cache.get().size();
+	}
+
+	public int getMaxImages() {
+		return maxImages;
+	}
+
+	/**
+	 * Specifies the maximum number of images each thread will cache.  Threads will discard images the next time
+	 * an image is released.
+	 *
+	 * @param maxImages Maximum number of cached images.  If 0 then caching is turned off.
+	 */
+	public void setMaxImages(int maxImages) {
+		if( maxImages < 0 )
+			throw new IllegalArgumentException("maxImages must be >= 0");
+		this.maxImages = maxImages;
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.struct.pyramid;
 
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 
 
@@ -27,6 +28,11 @@ import boofcv.struct.image.ImageSingleBand;
  * divisible by the previous layer.  This added constraint allows further optimization to be performed.
  * </p>
  *
+ * <p>
+ * The pyramid can be updated inside a region of interest only, see {@link #process(ImageSingleBand, ImageRectangle)}.
+ * After each update {@link #getRegion(int)} specifies which part of each layer contains valid data.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -35,6 +41,9 @@ public abstract class PyramidDiscrete<T extends ImageSingleBand> extends ImagePy
 	// scale of each layer relative to the previous layer
 	public int scale[];
 
+	// region inside of each layer which was updated by the last call to process
+	protected ImageRectangle regions[] = new ImageRectangle[0];
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -70,6 +79,99 @@ public abstract class PyramidDiscrete<T extends ImageSingleBand> extends ImagePy
 		checkScales();
 	}
 
+	/**
+	 * <p>
+	 * Updates the pyramid only inside the specified region.  Each layer is updated inside the region scaled to
+	 * that layer, plus the margin which is needed to compute the region in the layers above it.  Pixels outside
+	 * of the updated region are undefined.  Use {@link #getRegion(int)} to see which pixels in each layer
+	 * were updated.
+	 * </p>
+	 *
+	 * <p>
+	 * The default implementation updates the entire image.
+	 * </p>
+	 *
+	 * @param input Input image
+	 * @param region Region in the input image's coordinates.  Upper extents are exclusive.  If null the entire
+	 *               image is updated.
+	 */
+	public void process( T input , ImageRectangle region ) {
+		process(input);
+		computeRegions(null,0);
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		if( bottomWidth != width || bottomHeight != height )
+			regions = new ImageRectangle[0];
+		super.initialize(width, height);
+	}
+
+	/**
+	 * Returns the region inside the specified layer which was updated by the last call to process.  Upper
+	 * extents are exclusive.
+	 *
+	 * @param layer Layer in the pyramid
+	 * @return region in the layer's coordinates
+	 */
+	public ImageRectangle getRegion( int layer ) {
+		// the entire image has been processed if the regions have not been specified
+		if( regions.length != getNumLayers() )
+			computeRegions(null,0);
+		return regions[layer];
+	}
+
+	/**
+	 * Computes the region inside each layer which needs to be updated.  The region in each layer is
+	 * the requested region scaled to that layer, expanded to include the pixels needed to compute the region
+	 * in the layer above it.
+	 *
+	 * @param region Region in input image coordinates.  If null the entire image is used.
+	 * @param radius Radius of the kernel applied when a layer is down sampled.
+	 */
+	protected void computeRegions( ImageRectangle region , int radius ) {
+		int N = getNumLayers();
+		if( regions.length != N ) {
+			regions = new ImageRectangle[N];
+			for( int i = 0; i < N; i++ )
+				regions[i] = new ImageRectangle();
+		}
+
+		for( int i = N-1; i >= 0; i-- ) {
+			// the first layer might not be declared yet if it references the input image
+			int width = (bottomWidth+scale[i]-1)/scale[i];
+			int height = (bottomHeight+scale[i]-1)/scale[i];
+
+			if( region == null ) {
+				regions[i].set(0,0,width,height);
+				continue;
+			}
+
+			int x0 = region.x0/scale[i];
+			int y0 = region.y0/scale[i];
+			int x1 = (region.x1+scale[i]-1)/scale[i];
+			int y1 = (region.y1+scale[i]-1)/scale[i];
+
+			if( i < N-1 ) {
+				int skip = scale[i+1]/scale[i];
+				ImageRectangle up = regions[i+1];
+				if( up.x0 < up.x1 && up.y0 < up.y1 ) {
+					x0 = Math.min(x0, up.x0*skip - radius);
+					y0 = Math.min(y0, up.y0*skip - radius);
+					x1 = Math.max(x1, (up.x1-1)*skip + radius + 1);
+					y1 = Math.max(y1, (up.y1-1)*skip + radius + 1);
+				}
+			}
+
+			x0 = Math.max(0,x0); y0 = Math.max(0,y0);
+			x1 = Math.min(width,x1); y1 = Math.min(height,y1);
+			if( x1 < x0 ) x1 = x0;
+			if( y1 < y0 ) y1 = y0;
+
+			regions[i].set(x0,y0,x1,y1);
+		}
+	}
+
 	public int[] getScales() {
 		return scale;
 	}
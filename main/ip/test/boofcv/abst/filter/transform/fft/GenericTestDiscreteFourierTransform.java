@@ -22,6 +22,7 @@ import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.testing.BoofTesting;
@@ -121,6 +122,52 @@ public abstract class GenericTestDiscreteFourierTransform<T extends ImageSingleB
 		checkMultipleCalls(new int[]{1,10,100});
 	}
 
+	/**
+	 * Switch back and forth between image sizes so that previously declared transforms are reused
+	 */
+	@Test
+	public void multipleCalls_repeatedSizes() {
+		checkMultipleCalls(new int[]{10,31,10,31,64,5,7,9,10});
+	}
+
+	/**
+	 * The concurrent implementation should produce the same results
+	 */
+	@Test
+	public void concurrent() {
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+
+		try {
+			BoofConcurrency.setMaxThreads(3);
+
+			DiscreteFourierTransform<T,I> alg = createAlgorithm();
+
+			for( int s : new int[]{1,16,41} ) {
+				T input = createImage(s+3,s);
+				I expected = createTransform(s+3,s);
+				I transform = createTransform(s+3,s);
+				T found = createImage(s+3,s);
+
+				GImageMiscOps.fillUniform(input,rand,-20,20);
+
+				BoofConcurrency.USE_CONCURRENT = false;
+				alg.forward(input,expected);
+				BoofConcurrency.USE_CONCURRENT = true;
+				alg.forward(input,transform);
+				alg.inverse(transform,found);
+
+				// the magnitude of the transform grows with the image size
+				double tolTransform = tolerance*Math.sqrt(input.width*input.height);
+				BoofTesting.assertEquals(expected, transform, tolTransform);
+				BoofTesting.assertEquals(input, found, tolerance);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
 	private void checkMultipleCalls(int[] sizes) {
 		DiscreteFourierTransform<T,I> alg = createAlgorithm();
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.transform.wavelet.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWaveletTransformLiftingFloat32 {
+	Random rand = new Random(3445);
+	int width = 30;
+	int height = 40;
+
+	@Test
+	public void compareToWaveletTransformFloat32() {
+		ImageFloat32 orig = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(orig, rand, 0, 20);
+		ImageFloat32 origCopy = orig.clone();
+
+		int N = 3;
+		WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.daubJ_F32(4);
+
+		WaveletTransformFloat32 standard = new WaveletTransformFloat32(desc,N,0,255);
+		ImageFloat32 expected = standard.transform(orig,null);
+
+		WaveletTransformLiftingFloat32 alg = new WaveletTransformLiftingFloat32(desc,N,0,255);
+		ImageFloat32 found = alg.transform(orig,null);
+
+		// make sure the original input was not modified
+		BoofTesting.assertEquals(origCopy,orig, 1e-4);
+		// see if the two techniques produced the same results
+		BoofTesting.assertEquals(expected,found, 1e-4);
+
+		// test inverse transform
+		ImageFloat32 reconstructed = new ImageFloat32(width,height);
+		alg.invert(found,reconstructed);
+		BoofTesting.assertEquals(orig,reconstructed, 1e-4);
+		// make sure the input has not been modified
+		BoofTesting.assertEquals(expected,found, 1e-4);
+	}
+}
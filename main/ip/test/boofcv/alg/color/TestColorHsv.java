@@ -20,6 +20,7 @@ package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 import org.junit.Test;
 
@@ -122,4 +123,25 @@ public class TestColorHsv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c,found[2],tol);
 	}
+
+	@Test
+	public void rgbToHsv_U8_interleaved() {
+		InterleavedU8 rgb = new InterleavedU8(10,15,3);
+		MultiSpectral<ImageFloat32> hsv = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		ColorHsv.rgbToHsv_U8(rgb, hsv);
+
+		for( int y = 0; y < rgb.height; y++ ) {
+			for( int x = 0; x < rgb.width; x++ ) {
+				ColorHsv.rgbToHsv(rgb.getBand(x,y,0),rgb.getBand(x,y,1),rgb.getBand(x,y,2),hsv_F32);
+
+				assertEquals(hsv_F32[0],hsv.getBand(0).get(x,y),1e-4);
+				assertEquals(hsv_F32[1],hsv.getBand(1).get(x,y),1e-4);
+				assertEquals(hsv_F32[2],hsv.getBand(2).get(x,y),1e-4);
+			}
+		}
+	}
+
 }
@@ -18,10 +18,13 @@
 
 package boofcv.alg.color;
 
+import boofcv.alg.color.impl.ImplColorLab;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -93,4 +96,77 @@ public class TestColorLab {
 		}
 	}
 
+	/**
+	 * Interleaved input should produce the same results as the equivalent {@link MultiSpectral} input
+	 */
+	@Test
+	public void rgbToLab_U8_interleaved() {
+		InterleavedU8 input = new InterleavedU8(20,25,3);
+		MultiSpectral<ImageUInt8> inputMS = new MultiSpectral<ImageUInt8>(ImageUInt8.class,20,25,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,20,25,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,20,25,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		copy(input,inputMS);
+
+		ColorLab.rgbToLab_U8(inputMS, expected);
+		ColorLab.rgbToLab_U8(input, found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),1e-4);
+	}
+
+	/**
+	 * Checks the 8-bit encoding of LAB.  Rounding of the floating point values can be off by one
+	 */
+	@Test
+	public void rgbToLab_U8_interleaved_U8() {
+		InterleavedU8 input = new InterleavedU8(20,25,3);
+		InterleavedU8 output = new InterleavedU8(20,25,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorLab.rgbToLab_U8(input, output);
+
+		float expected[] = new float[3];
+
+		for (int y = 0; y < input.height; y++) {
+			for (int x = 0; x < input.width; x++) {
+				float R = input.getBand(x,y,0);
+				float G = input.getBand(x,y,1);
+				float B = input.getBand(x,y,2);
+
+				ColorLab.srgbToLab(R/255f,G/255f,B/255f,expected);
+
+				int L = (int)Math.round(expected[0]*2.55);
+				int A = (int)Math.round(expected[1]+128);
+				int B_ = (int)Math.round(expected[2]+128);
+
+				assertEquals(Math.min(255,Math.max(0,L)),output.getBand(x,y,0),1);
+				assertEquals(Math.min(255,Math.max(0,A)),output.getBand(x,y,1),1);
+				assertEquals(Math.min(255,Math.max(0,B_)),output.getBand(x,y,2),1);
+			}
+		}
+	}
+
+	/**
+	 * Compare the table based cube root against the exact one across the range of values used by LAB
+	 */
+	@Test
+	public void cubeRoot() {
+		for( int i = 0; i <= 10000; i++ ) {
+			float t = i/10000f;
+			assertEquals(Math.cbrt(t),ImplColorLab.cubeRoot(t),1e-6);
+		}
+		// outside the table
+		assertEquals(Math.cbrt(1.2),ImplColorLab.cubeRoot(1.2f),1e-6);
+	}
+
+	public static void copy( InterleavedU8 input , MultiSpectral<ImageUInt8> output ) {
+		for (int y = 0; y < input.height; y++) {
+			for (int x = 0; x < input.width; x++) {
+				for( int i = 0; i < input.numBands; i++ )
+					output.getBand(i).set(x,y,input.getBand(x,y,i));
+			}
+		}
+	}
+
 }
@@ -21,7 +21,9 @@ package boofcv.alg.color;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -187,4 +189,20 @@ public class TestColorXyz {
 		}
 	}
 
+	@Test
+	public void rgbToXyz_U8_interleaved() {
+		InterleavedU8 input = new InterleavedU8(20,25,3);
+		MultiSpectral<ImageUInt8> inputMS = new MultiSpectral<ImageUInt8>(ImageUInt8.class,20,25,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,20,25,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,20,25,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		TestColorLab.copy(input,inputMS);
+
+		ColorXyz.rgbToXyz_U8(inputMS, expected);
+		ColorXyz.rgbToXyz_U8(input, found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),1e-4);
+	}
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorXyz_MT {
+
+	Random rand = new Random(234);
+
+	// tall enough to be split into several bands
+	int width = 20;
+	int height = 151;
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void rgbToXyz_F32() {
+		MultiSpectral<ImageFloat32> input = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorXyz.rgbToXyz_F32(input,expected);
+		ColorXyz_MT.rgbToXyz_F32(input,found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),1e-4);
+	}
+
+	@Test
+	public void rgbToXyz_U8_multispectral() {
+		MultiSpectral<ImageUInt8> input = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorXyz.rgbToXyz_U8(input,expected);
+		ColorXyz_MT.rgbToXyz_U8(input,found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),1e-4);
+	}
+
+	@Test
+	public void rgbToXyz_U8_interleaved() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorXyz.rgbToXyz_U8(input,expected);
+		ColorXyz_MT.rgbToXyz_U8(input,found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),1e-4);
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.alg.color;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 import org.junit.Test;
 
@@ -174,4 +175,27 @@ public class TestColorYuv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c, found[2], tol);
 	}
+
+	@Test
+	public void rgbToYCbCr_U8_interleaved() {
+		InterleavedU8 rgb = new InterleavedU8(10,15,3);
+		MultiSpectral<ImageUInt8> yuv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		ColorYuv.rgbToYCbCr_U8(rgb, yuv);
+
+		byte []expected = new byte[3];
+
+		for( int y = 0; y < rgb.height; y++ ) {
+			for( int x = 0; x < rgb.width; x++ ) {
+				ColorYuv.rgbToYCbCr(rgb.getBand(x,y,0),rgb.getBand(x,y,1),rgb.getBand(x,y,2),expected);
+
+				assertEquals(expected[0]&0xFF,yuv.getBand(0).get(x,y));
+				assertEquals(expected[1]&0xFF,yuv.getBand(1).get(x,y));
+				assertEquals(expected[2]&0xFF,yuv.getBand(2).get(x,y));
+			}
+		}
+	}
+
 }
@@ -20,11 +20,16 @@ package boofcv.alg.denoise.impl;
 
 import boofcv.abst.transform.wavelet.WaveletTransform;
 import boofcv.alg.denoise.GenericDenoiseTests;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.transform.wavelet.FactoryWaveletTransform;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.wavelet.WaveletDescription;
 import boofcv.testing.BoofTesting;
 
+import java.util.Random;
+
 
 /**
  * Handles the forward and inverse wavelet transform
@@ -61,4 +66,28 @@ public abstract class GenericWaveletDenoiseTests<T extends ImageSingleBand> exte
 
 		transform.invert(transformedImg,imageDenoised);
 	}
+
+	/**
+	 * Denoising the transform concurrently should produce the same results as a single thread
+	 */
+	public void performConcurrentTest() {
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(transform.getOriginalType(), 64, 48);
+		GImageMiscOps.fillUniform(expected, new Random(234), -20, 20);
+		ImageSingleBand found = (ImageSingleBand)expected.clone();
+
+		denoiseWavelet(expected,transform.getLevels());
+
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			BoofConcurrency.setMaxThreads(4);
+			denoiseWavelet(found,transform.getLevels());
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
 }
@@ -39,6 +39,11 @@ public class TestDenoiseSureShrink_F32 extends GenericWaveletDenoiseTests<ImageF
 		performTest();
 	}
 
+	@Test
+	public void concurrent() {
+		performConcurrentTest();
+	}
+
 	@Override
 	public void denoiseWavelet(ImageSingleBand transformedImg, int numLevels ) {
 		DenoiseSureShrink_F32 alg = new DenoiseSureShrink_F32();
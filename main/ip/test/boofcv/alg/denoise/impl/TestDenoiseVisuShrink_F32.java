@@ -39,6 +39,11 @@ public class TestDenoiseVisuShrink_F32 extends GenericWaveletDenoiseTests<ImageF
 		performTest();
 	}
 
+	@Test
+	public void concurrent() {
+		performConcurrentTest();
+	}
+
 	@Override
 	public void denoiseWavelet(ImageSingleBand transformedImg, int numLevels ) {
 		DenoiseVisuShrink_F32 alg = new DenoiseVisuShrink_F32();
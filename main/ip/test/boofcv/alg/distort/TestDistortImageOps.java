@@ -20,9 +20,15 @@ package boofcv.alg.distort;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import georegression.struct.affine.Affine2D_F32;
 import georegression.struct.shapes.Rectangle2D_F32;
 import georegression.struct.shapes.Rectangle2D_I32;
@@ -105,6 +111,67 @@ public class TestDistortImageOps {
 		assertTrue(error / (width * height) < 0.1);
 	}
 
+	/**
+	 * The concurrent version should produce the same results
+	 */
+	@Test
+	public void distortSingle_concurrent() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		PixelTransform_F32 tran = DistortSupport.transformRotate(width/2,height/2,width/2,height/2,0.5f);
+
+		DistortImageOps.distortSingle(input, expected, tran, false, TypeInterpolate.BILINEAR);
+		DistortImageOps.distortSingle(input, found, tran, false, TypeInterpolate.BILINEAR, true);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	/**
+	 * Both images should be distorted by their own distortion
+	 */
+	@Test
+	public void distortPair() {
+		ImageFloat32 inputA = new ImageFloat32(width,height);
+		ImageFloat32 inputB = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(inputA, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputB, rand, 0, 100);
+
+		PixelTransform_F32 tranA = DistortSupport.transformRotate(width/2,height/2,width/2,height/2,0.5f);
+		PixelTransform_F32 tranB = DistortSupport.transformRotate(width/2,height/2,width/2,height/2,-0.2f);
+
+		ImageFloat32 expectedA = new ImageFloat32(width,height);
+		ImageFloat32 expectedB = new ImageFloat32(width,height);
+		DistortImageOps.distortSingle(inputA, expectedA, tranA, false, TypeInterpolate.BILINEAR);
+		DistortImageOps.distortSingle(inputB, expectedB, tranB, false, TypeInterpolate.BILINEAR);
+
+		for( int i = 0; i < 2; i++ ) {
+			ImageDistort<ImageFloat32> distortA,distortB;
+			if( i == 0 ) {
+				distortA = FactoryDistort.distort(FactoryInterpolation.bilinearPixelS(ImageFloat32.class),
+						FactoryImageBorder.value(ImageFloat32.class,0),ImageFloat32.class);
+				distortB = FactoryDistort.distort(FactoryInterpolation.bilinearPixelS(ImageFloat32.class),
+						FactoryImageBorder.value(ImageFloat32.class,0),ImageFloat32.class);
+			} else {
+				distortA = FactoryDistort.distortConcurrent(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+				distortB = FactoryDistort.distortConcurrent(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+			}
+			distortA.setModel(tranA);
+			distortB.setModel(tranB);
+
+			ImageFloat32 foundA = new ImageFloat32(width,height);
+			ImageFloat32 foundB = new ImageFloat32(width,height);
+
+			DistortImageOps.distortPair(distortA, inputA, foundA, distortB, inputB, foundB);
+
+			BoofTesting.assertEquals(expectedA, foundA, 1e-4);
+			BoofTesting.assertEquals(expectedB, foundB, 1e-4);
+		}
+	}
+
 	/**
 	 * boundBox that checks to see if it is contained inside the output image.
 	 */
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDistortTableFixed {
+
+	@Test
+	public void constructor_transform() {
+		DistortTableFixed table = new DistortTableFixed(10,15,new TestDistortTable_F32.Transform());
+
+		assertEquals(10,table.width);
+		assertEquals(15,table.height);
+
+		for( int y = 0; y < 15; y++ ) {
+			for( int x = 0; x < 10; x++ ) {
+				assertEquals(x*0.5f-1,table.getX(x,y),1e-6f);
+				assertEquals(y*2f+0.25f,table.getY(x,y),1e-6f);
+			}
+		}
+	}
+
+	@Test
+	public void constructor_table() {
+		TestDistortTable_F32.Transform tran = new TestDistortTable_F32.Transform();
+		DistortTableFixed expected = new DistortTableFixed(10,15,tran);
+		DistortTableFixed found = new DistortTableFixed(new DistortTable_F32(10,15,tran));
+
+		for( int i = 0; i < expected.pixel.length; i++ ) {
+			assertEquals(expected.pixel[i],found.pixel[i]);
+			assertEquals(expected.fraction[i],found.fraction[i]);
+		}
+	}
+
+	/**
+	 * Check the encoding for positive, negative, and rounded values
+	 */
+	@Test
+	public void encoding() {
+		checkEncoding(2.5f, 2, 128);
+		checkEncoding(-0.25f, -1, 192);
+		checkEncoding(3.999f, 4, 0);
+		checkEncoding(-3.999f, -4, 0);
+		checkEncoding(7.001f, 7, 0);
+	}
+
+	private void checkEncoding( float value , int pixel , int fraction ) {
+		DistortTableFixed table = new DistortTableFixed(1,1,new Constant(value,value));
+		assertEquals(pixel,table.pixel[0]);
+		assertEquals(pixel,table.pixel[1]);
+		assertEquals(fraction,table.fraction[0] & 0xFF);
+		assertEquals(fraction,table.fraction[1] & 0xFF);
+	}
+
+	/**
+	 * Values which can't be represented should be outside of any image
+	 */
+	@Test
+	public void encoding_extreme() {
+		DistortTableFixed table = new DistortTableFixed(1,1,new Constant(1e8f,-1e8f));
+		assertTrue(table.pixel[0] >= Short.MAX_VALUE-1);
+		assertEquals(Short.MIN_VALUE,table.pixel[1]);
+
+		table = new DistortTableFixed(1,1,new Constant(Float.NaN,2));
+		assertEquals(Short.MIN_VALUE,table.pixel[0]);
+		assertEquals(2,table.pixel[1]);
+	}
+
+	private static class Constant extends PixelTransform_F32 {
+		float x,y;
+
+		private Constant(float x, float y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public void compute(int x, int y) {
+			distX = this.x;
+			distY = this.y;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDistortTable_F32 {
+
+	@Test
+	public void constructor() {
+		DistortTable_F32 table = new DistortTable_F32(10,15,new Transform());
+
+		assertEquals(10,table.width);
+		assertEquals(15,table.height);
+		assertEquals(10*15*2,table.data.length);
+
+		for( int y = 0; y < 15; y++ ) {
+			for( int x = 0; x < 10; x++ ) {
+				assertEquals(x*0.5f-1,table.getX(x,y),1e-6f);
+				assertEquals(y*2f+0.25f,table.getY(x,y),1e-6f);
+			}
+		}
+	}
+
+	public static class Transform extends PixelTransform_F32 {
+		@Override
+		public void compute(int x, int y) {
+			distX = x*0.5f-1;
+			distY = y*2f+0.25f;
+		}
+	}
+}
@@ -27,6 +27,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Peter Abeles
@@ -98,6 +99,56 @@ public class TestImageDistortCache {
 		assertEquals(9*14,alg.getTotal());
 	}
 
+	/**
+	 * The table should only be computed when the model changes
+	 */
+	@Test
+	public void computeTableOnce() {
+		Helper alg = new Helper(interp,null);
+		CountTransform counter = new CountTransform();
+
+		alg.setModel(counter);
+		alg.apply(new ImageFloat32(10,15),new ImageFloat32(10,15));
+		alg.apply(new ImageFloat32(10,15),new ImageFloat32(10,15));
+		assertEquals(150,counter.total);
+
+		alg.setModel(counter);
+		alg.apply(new ImageFloat32(10,15),new ImageFloat32(10,15));
+		assertEquals(300,counter.total);
+	}
+
+	/**
+	 * Share a table between two instances
+	 */
+	@Test
+	public void setTable() {
+		DistortTable_F32 table = new DistortTable_F32(10,15,tran);
+
+		Helper alg = new Helper(interp,border);
+		alg.setTable(table);
+		assertTrue(table == alg.getTable());
+		alg.apply(new ImageFloat32(10,15),new ImageFloat32(10,15));
+		assertEquals(150,alg.getTotal());
+		assertTrue(table == alg.getTable());
+
+		// no model to compute a new table from
+		try {
+			alg.apply(new ImageFloat32(10,15),new ImageFloat32(11,15));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	private static class CountTransform extends PixelTransform_F32 {
+		int total = 0;
+
+		@Override
+		public void compute(int x, int y) {
+			total++;
+			distX = x;
+			distY = y;
+		}
+	}
+
 	private static class Helper extends ImageDistortCache {
 
 		int total = 0;
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageDistort_MT {
+
+	Random rand = new Random(234);
+	int width = 150;
+	int height = 130;
+
+	int originalThreads;
+
+	PixelTransform_F32 tran = DistortSupport.transformRotate(width/2,height/2,width/2,height/2,0.4f);
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Compare against the single threaded implementation for each border type
+	 */
+	@Test
+	public void compareToSingleThread() {
+		compareToSingleThread(ImageFloat32.class, BorderType.SKIP);
+		compareToSingleThread(ImageFloat32.class, BorderType.VALUE);
+		compareToSingleThread(ImageFloat32.class, BorderType.EXTENDED);
+		compareToSingleThread(ImageUInt8.class, BorderType.SKIP);
+		compareToSingleThread(ImageUInt8.class, BorderType.VALUE);
+	}
+
+	private <T extends ImageSingleBand> void compareToSingleThread( Class<T> imageType , BorderType borderType ) {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		T expected = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		T found = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		// the initial value can be seen when border pixels are skipped
+		GImageMiscOps.fill(expected, 5);
+		GImageMiscOps.fill(found, 5);
+
+		createSingle(imageType, borderType).apply(input, expected);
+
+		ImageDistort_MT<T> alg = new ImageDistort_MT<T>(TypeInterpolate.BILINEAR,borderType,imageType);
+		alg.setTileSize(16);
+		alg.setModel(tran);
+		alg.apply(input, found);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	/**
+	 * Only the specified region should be processed
+	 */
+	@Test
+	public void applyRegion() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		createSingle(ImageFloat32.class,BorderType.VALUE).apply(input, expected, 10, 15, 121, 100);
+
+		ImageDistort_MT<ImageFloat32> alg =
+				new ImageDistort_MT<ImageFloat32>(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+		alg.setTileSize(20);
+		alg.setModel(tran);
+		alg.apply(input, found, 10, 15, 121, 100);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	/**
+	 * Sub-images should be handled correctly
+	 */
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		createSingle(ImageFloat32.class,BorderType.VALUE).apply(input, expected);
+
+		ImageFloat32 inputSub = BoofTesting.createSubImageOf(input);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+
+		ImageDistort_MT<ImageFloat32> alg =
+				new ImageDistort_MT<ImageFloat32>(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+		alg.setTileSize(16);
+		alg.setModel(tran);
+		alg.apply(inputSub, found);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	/**
+	 * A precomputed table can be shared and a new one is only computed if the model changes
+	 */
+	@Test
+	public void setTable() {
+		DistortTable_F32 table = new DistortTable_F32(width,height,tran);
+
+		ImageDistort_MT<ImageFloat32> alg =
+				new ImageDistort_MT<ImageFloat32>(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+		alg.setTable(table);
+		alg.apply(new ImageFloat32(width,height),new ImageFloat32(width,height));
+		assertTrue(table == alg.getTable());
+
+		// no model to compute a new table from
+		try {
+			alg.apply(new ImageFloat32(width,height),new ImageFloat32(width+1,height));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+
+		alg.setModel(tran);
+		alg.apply(new ImageFloat32(width,height),new ImageFloat32(width,height));
+		assertTrue(table != alg.getTable());
+	}
+
+	/**
+	 * The table is computed while the first image is distorted.  The entire table should be computed, even when
+	 * only a region is distorted, and it should then be reused by the next call
+	 */
+	@Test
+	public void tableComputedWhileDistorting() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ImageDistort_MT<ImageFloat32> alg =
+				new ImageDistort_MT<ImageFloat32>(TypeInterpolate.BILINEAR,BorderType.VALUE,ImageFloat32.class);
+		alg.setModel(tran);
+		alg.apply(input, new ImageFloat32(width,height), 10, 15, 121, 100);
+
+		DistortTable_F32 expectedTable = new DistortTable_F32(width,height,tran);
+		DistortTable_F32 table = alg.getTable();
+		for( int i = 0; i < expectedTable.data.length; i++ )
+			assertTrue(expectedTable.data[i] == table.data[i]);
+
+		// the cached table is used to distort the whole image
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		createSingle(ImageFloat32.class,BorderType.VALUE).apply(input, expected);
+		alg.apply(input, found);
+		assertTrue(table == alg.getTable());
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+
+	private <T extends ImageSingleBand> ImageDistort<T> createSingle( Class<T> imageType , BorderType borderType ) {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
+		ImageBorder<T> border;
+		if( borderType == BorderType.SKIP )
+			border = null;
+		else if( borderType == BorderType.VALUE )
+			border = FactoryImageBorder.value(imageType, 0);
+		else
+			border = FactoryImageBorder.general(imageType, borderType);
+
+		ImageDistort<T> alg = FactoryDistort.distort(interp, border, imageType);
+		alg.setModel(tran);
+		return alg;
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.DistortTableFixed;
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortTableBilinear;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public abstract class CommonImageDistortTableBilinearTests<T extends ImageSingleBand>
+		extends GeneralImageDistortTests<T>
+{
+	// rotation and scale with a translation so that part of the output is outside the source image
+	Affine2D_F32 affine = new Affine2D_F32(0.9f,-0.2f,0.25f,0.85f,-5,10);
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(affine);
+
+	// tolerance when compared against floating point bilinear interpolation
+	double tol;
+
+	protected CommonImageDistortTableBilinearTests(Class<T> imageType, double tol) {
+		super(imageType);
+		this.tol = tol;
+	}
+
+	public abstract ImageDistortTableBilinear<T> create( ImageBorder<T> border );
+
+	@Override
+	public ImageDistort<T> createDistort(PixelTransform_F32 dstToSrc, InterpolatePixelS<T> interp,
+										 ImageBorder<T> border) {
+		ImageDistort<T> ret = create(border);
+		ret.setModel(dstToSrc);
+		return ret;
+	}
+
+	/**
+	 * Compare against the regular implementation with bilinear interpolation
+	 */
+	@Test
+	public void compareToStandard() {
+		compareToStandard(0,0,60,50);
+		compareToStandard(10,15,50,40);
+	}
+
+	private void compareToStandard( int x0 , int y0 , int x1 , int y1 ) {
+		Class<T> imageType = (Class<T>)this.imageType;
+		T src = GeneralizedImageOps.createSingleBand(imageType,70,60);
+		T expected = GeneralizedImageOps.createSingleBand(imageType,60,50);
+		T found = GeneralizedImageOps.createSingleBand(imageType,60,50);
+
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+
+		ImageBorder<T> border = FactoryImageBorder.general(imageType, BorderType.EXTENDED);
+
+		ImageDistort<T> standard = FactoryDistort.distort(FactoryInterpolation.bilinearPixelS(imageType),
+				border,imageType);
+		standard.setModel(tran);
+		standard.apply(src,expected,x0,y0,x1,y1);
+
+		ImageDistort<T> alg = createDistort(tran,null,border);
+		alg.apply(src,found,x0,y0,x1,y1);
+
+		// pixels which map outside the image are handled differently, so only compare pixels inside the image
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				tran.compute(x,y);
+				if( tran.distX < 0 || tran.distY < 0 || tran.distX > src.width-1 || tran.distY > src.height-1 )
+					GeneralizedImageOps.set(expected,x,y,GeneralizedImageOps.get(found,x,y));
+			}
+		}
+
+		BoofTesting.assertEquals(expected,found,tol);
+	}
+
+	/**
+	 * A table shared between two instances should produce the same results as computing the table
+	 */
+	@Test
+	public void sharedTable() {
+		Class<T> imageType = (Class<T>)this.imageType;
+		T src = GeneralizedImageOps.createSingleBand(imageType,70,60);
+		T expected = GeneralizedImageOps.createSingleBand(imageType,60,50);
+		T found = GeneralizedImageOps.createSingleBand(imageType,60,50);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+
+		ImageDistortTableBilinear<T> algA = create(null);
+		algA.setModel(tran);
+		algA.apply(src,expected);
+
+		ImageDistortTableBilinear<T> algB = create(null);
+		algB.setTable(new DistortTableFixed(60,50,tran));
+		algB.apply(src,found);
+
+		BoofTesting.assertEquals(expected,found,1e-4);
+
+		// the image must match the table's size
+		try {
+			algB.apply(src,GeneralizedImageOps.createSingleBand(imageType,61,50));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	/**
+	 * Input and output are sub-images
+	 */
+	@Test
+	public void subimage() {
+		Class<T> imageType = (Class<T>)this.imageType;
+		T src = GeneralizedImageOps.createSingleBand(imageType,70,60);
+		T expected = GeneralizedImageOps.createSingleBand(imageType,60,50);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+
+		ImageBorder<T> border = FactoryImageBorder.general(imageType, BorderType.EXTENDED);
+
+		createDistort(tran,null,border).apply(src,expected);
+
+		T srcSub = BoofTesting.createSubImageOf(src);
+		T found = BoofTesting.createSubImageOf(expected);
+		GImageMiscOps.fill(found,0);
+
+		createDistort(tran,null,border).apply(srcSub,found);
+
+		BoofTesting.assertEquals(expected,found,1e-4);
+	}
+}
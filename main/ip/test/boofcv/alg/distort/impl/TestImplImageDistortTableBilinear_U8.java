@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortTableBilinear;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplImageDistortTableBilinear_U8 extends CommonImageDistortTableBilinearTests<ImageUInt8> {
+
+	public TestImplImageDistortTableBilinear_U8() {
+		// the standard implementation truncates while this one rounds
+		super(ImageUInt8.class, 1);
+	}
+
+	@Override
+	public ImageDistortTableBilinear<ImageUInt8> create(ImageBorder<ImageUInt8> border) {
+		return new ImplImageDistortTableBilinear_U8(border);
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.filter.binary;
 
 import boofcv.alg.filter.binary.impl.CompareToBinaryNaive;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
@@ -192,6 +193,32 @@ public class TestBinaryImageOps {
 		BoofTesting.assertEquals(expected,output,0);
 	}
 
+	/**
+	 * The labeled image should be the same as contour() with and without concurrency
+	 */
+	@Test
+	public void labelBlobs() {
+		ImageUInt8 input = new ImageUInt8(40,50);
+		ImageMiscOps.fillUniform(input,rand,0,2);
+
+		ImageSInt32 expected = new ImageSInt32(40,50);
+		int numBlobs = BinaryImageOps.contour(input, ConnectRule.EIGHT, expected).size();
+
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		try {
+			for( boolean concurrent : new boolean[]{false,true}) {
+				BoofConcurrency.USE_CONCURRENT = concurrent;
+				ImageSInt32 found = new ImageSInt32(40,50);
+				BlobStatistics stats = new BlobStatistics();
+				assertEquals(numBlobs, BinaryImageOps.labelBlobs(input, ConnectRule.EIGHT, found, stats));
+				assertEquals(numBlobs, stats.getNumBlobs());
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+		}
+	}
+
 	@Test
 	public void relabel() {
 		ImageSInt32 input = new ImageSInt32(4,5);
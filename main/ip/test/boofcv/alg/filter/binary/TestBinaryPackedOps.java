@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageBinaryPacked;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Compares each function against its equivalent in {@link BinaryImageOps}.
+ *
+ * @author Peter Abeles
+ */
+public class TestBinaryPackedOps {
+
+	Random rand = new Random(234);
+
+	// widths which are smaller than, equal to, and span multiple words
+	int widths[] = new int[]{1,5,63,64,65,130};
+	int height = 15;
+
+	@Test
+	public void convert() {
+		for( int width : widths ) {
+			ImageUInt8 input = randomImage(width);
+			ImageBinaryPacked packed = BinaryPackedOps.convert(input,(ImageBinaryPacked)null);
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(input.get(x,y),packed.get(x,y));
+				}
+			}
+			checkPadding(packed);
+
+			ImageUInt8 found = BinaryPackedOps.convert(packed,(ImageUInt8)null);
+			BoofTesting.assertEquals(input,found,0);
+		}
+	}
+
+	/**
+	 * Values which are not zero should be set to one
+	 */
+	@Test
+	public void convert_notOne() {
+		ImageUInt8 input = new ImageUInt8(70,3);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		ImageBinaryPacked packed = BinaryPackedOps.convert(input,(ImageBinaryPacked)null);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				assertEquals(input.get(x,y) != 0 ? 1 : 0,packed.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void logicAnd() {
+		for( int width : widths ) {
+			ImageUInt8 a = randomImage(width);
+			ImageUInt8 b = randomImage(width);
+
+			ImageUInt8 expected = BinaryImageOps.logicAnd(a,b,null);
+			ImageBinaryPacked found = BinaryPackedOps.logicAnd(pack(a),pack(b),null);
+
+			check(expected,found);
+		}
+	}
+
+	@Test
+	public void logicOr() {
+		for( int width : widths ) {
+			ImageUInt8 a = randomImage(width);
+			ImageUInt8 b = randomImage(width);
+
+			ImageUInt8 expected = BinaryImageOps.logicOr(a,b,null);
+			ImageBinaryPacked found = BinaryPackedOps.logicOr(pack(a),pack(b),null);
+
+			check(expected,found);
+		}
+	}
+
+	@Test
+	public void logicXor() {
+		for( int width : widths ) {
+			ImageUInt8 a = randomImage(width);
+			ImageUInt8 b = randomImage(width);
+
+			ImageUInt8 expected = BinaryImageOps.logicXor(a,b,null);
+			ImageBinaryPacked found = BinaryPackedOps.logicXor(pack(a),pack(b),null);
+
+			check(expected,found);
+		}
+	}
+
+	@Test
+	public void erode4() {
+		for( int width : widths ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				// mostly ones so that something survives the erosion
+				ImageUInt8 input = randomImage(width,0.9);
+
+				ImageUInt8 expected = BinaryImageOps.erode4(input,numTimes,null);
+				ImageBinaryPacked found = BinaryPackedOps.erode4(pack(input),numTimes,null);
+
+				check(expected,found);
+			}
+		}
+	}
+
+	@Test
+	public void dilate4() {
+		for( int width : widths ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				ImageUInt8 input = randomImage(width,0.1);
+
+				ImageUInt8 expected = BinaryImageOps.dilate4(input,numTimes,null);
+				ImageBinaryPacked found = BinaryPackedOps.dilate4(pack(input),numTimes,null);
+
+				check(expected,found);
+			}
+		}
+	}
+
+	@Test
+	public void erode8() {
+		for( int width : widths ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				ImageUInt8 input = randomImage(width,0.9);
+
+				ImageUInt8 expected = BinaryImageOps.erode8(input,numTimes,null);
+				ImageBinaryPacked found = BinaryPackedOps.erode8(pack(input),numTimes,null);
+
+				check(expected,found);
+			}
+		}
+	}
+
+	@Test
+	public void dilate8() {
+		for( int width : widths ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				ImageUInt8 input = randomImage(width,0.1);
+
+				ImageUInt8 expected = BinaryImageOps.dilate8(input,numTimes,null);
+				ImageBinaryPacked found = BinaryPackedOps.dilate8(pack(input),numTimes,null);
+
+				check(expected,found);
+			}
+		}
+	}
+
+	@Test
+	public void edge4() {
+		for( int width : widths ) {
+			ImageUInt8 input = randomImage(width,0.7);
+
+			ImageUInt8 expected = BinaryImageOps.edge4(input,null);
+			ImageBinaryPacked found = BinaryPackedOps.edge4(pack(input),null);
+
+			check(expected,found);
+		}
+	}
+
+	@Test
+	public void edge8() {
+		for( int width : widths ) {
+			ImageUInt8 input = randomImage(width,0.7);
+
+			ImageUInt8 expected = BinaryImageOps.edge8(input,null);
+			ImageBinaryPacked found = BinaryPackedOps.edge8(pack(input),null);
+
+			check(expected,found);
+		}
+	}
+
+	@Test
+	public void removePointNoise() {
+		for( int width : widths ) {
+			for( double fraction : new double[]{0.1,0.5,0.9}) {
+				ImageUInt8 input = randomImage(width,fraction);
+
+				ImageUInt8 expected = BinaryImageOps.removePointNoise(input,null);
+				ImageBinaryPacked found = BinaryPackedOps.removePointNoise(pack(input),null);
+
+				check(expected,found);
+			}
+		}
+	}
+
+	@Test
+	public void sameInstance() {
+		ImageBinaryPacked input = pack(randomImage(20));
+
+		try {
+			BinaryPackedOps.erode4(input,1,input);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	private ImageUInt8 randomImage( int width ) {
+		return randomImage(width,0.5);
+	}
+
+	/**
+	 * Creates a binary image where the specified fraction of pixels are one
+	 */
+	private ImageUInt8 randomImage( int width , double fraction ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (byte)(rand.nextDouble() < fraction ? 1 : 0);
+		}
+		return image;
+	}
+
+	private static ImageBinaryPacked pack( ImageUInt8 image ) {
+		return BinaryPackedOps.convert(image,(ImageBinaryPacked)null);
+	}
+
+	private static void check( ImageUInt8 expected , ImageBinaryPacked found ) {
+		BoofTesting.assertEquals(expected,BinaryPackedOps.convert(found,(ImageUInt8)null),0);
+		checkPadding(found);
+	}
+
+	/**
+	 * Bits past the end of each row must be zero
+	 */
+	private static void checkPadding( ImageBinaryPacked image ) {
+		long mask = image.getLastWordMask();
+		for( int y = 0; y < image.height; y++ ) {
+			long last = image.data[y*image.stride + image.stride-1];
+			assertEquals(0,last & ~mask);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.ImageSInt32;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBlobStatistics {
+
+	@Test
+	public void addBlob_grow() {
+		BlobStatistics alg = new BlobStatistics();
+
+		for( int i = 1; i <= 20; i++ ) {
+			assertEquals(i, alg.addBlob());
+			alg.add(i, i, 2*i);
+		}
+		assertEquals(20,alg.getNumBlobs());
+
+		// make sure values were not lost when the arrays grew
+		for( int i = 1; i <= 20; i++ ) {
+			assertEquals(1,alg.getArea(i));
+			assertEquals(i,alg.minX[i]);
+			assertEquals(2*i,alg.maxY[i]);
+		}
+
+		alg.reset();
+		assertEquals(0,alg.getNumBlobs());
+		assertEquals(1,alg.addBlob());
+		assertEquals(0,alg.getArea(1));
+	}
+
+	@Test
+	public void add_pixels() {
+		BlobStatistics alg = new BlobStatistics();
+		alg.reset(2);
+
+		alg.add(2,1,4);
+		alg.add(2,3,4);
+		alg.add(2,2,7);
+
+		assertEquals(0,alg.getArea(1));
+		assertEquals(3,alg.getArea(2));
+		assertEquals(1,alg.minX[2]);
+		assertEquals(3,alg.maxX[2]);
+		assertEquals(4,alg.minY[2]);
+		assertEquals(7,alg.maxY[2]);
+		assertEquals(2,alg.getCentroidX(2),1e-8);
+		assertEquals(5,alg.getCentroidY(2),1e-8);
+		assertEquals(2.0/3.0,alg.getCentralXX(2),1e-8);
+		assertEquals(6.0/3.0,alg.getCentralYY(2),1e-8);
+		assertEquals(0,alg.getCentralXY(2),1e-8);
+	}
+
+	@Test
+	public void add_statistics() {
+		BlobStatistics a = new BlobStatistics();
+		BlobStatistics b = new BlobStatistics();
+		BlobStatistics expected = new BlobStatistics();
+		a.reset(3);
+		b.reset(3);
+		expected.reset(3);
+
+		add(1,5,6,a,expected);
+		add(1,2,9,b,expected);
+		add(3,7,1,b,expected);
+		add(3,8,2,b,expected);
+
+		a.add(b);
+
+		for( int id = 1; id <= 3; id++ ) {
+			assertEquals(expected.area[id],a.area[id]);
+			assertEquals(expected.minX[id],a.minX[id]);
+			assertEquals(expected.minY[id],a.minY[id]);
+			assertEquals(expected.maxX[id],a.maxX[id]);
+			assertEquals(expected.maxY[id],a.maxY[id]);
+			assertEquals(expected.sumX[id],a.sumX[id]);
+			assertEquals(expected.sumY[id],a.sumY[id]);
+			assertEquals(expected.sumXX[id],a.sumXX[id]);
+			assertEquals(expected.sumYY[id],a.sumYY[id]);
+			assertEquals(expected.sumXY[id],a.sumXY[id]);
+		}
+	}
+
+	private static void add( int id , int x , int y , BlobStatistics a , BlobStatistics b ) {
+		a.add(id,x,y);
+		b.add(id,x,y);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void add_statistics_mismatch() {
+		BlobStatistics a = new BlobStatistics();
+		BlobStatistics b = new BlobStatistics();
+		a.reset(2);
+		b.reset(3);
+		a.add(b);
+	}
+
+	/**
+	 * Computes the statistics of each blob directly from the labeled image and compares them
+	 */
+	public static void checkStatistics( ImageSInt32 labeled , int numBlobs , BlobStatistics found ) {
+		BlobStatistics expected = new BlobStatistics();
+		expected.reset(numBlobs);
+
+		for( int y = 0; y < labeled.height; y++ ) {
+			for( int x = 0; x < labeled.width; x++ ) {
+				int id = labeled.get(x,y);
+				if( id != 0 ) {
+					expected.area[id]++;
+					expected.minX[id] = Math.min(expected.minX[id],x);
+					expected.minY[id] = Math.min(expected.minY[id],y);
+					expected.maxX[id] = Math.max(expected.maxX[id],x);
+					expected.maxY[id] = Math.max(expected.maxY[id],y);
+					expected.sumX[id] += x;
+					expected.sumY[id] += y;
+					expected.sumXX[id] += x*x;
+					expected.sumYY[id] += y*y;
+					expected.sumXY[id] += x*y;
+				}
+			}
+		}
+
+		assertEquals(numBlobs,found.getNumBlobs());
+		for( int id = 1; id <= numBlobs; id++ ) {
+			assertEquals(expected.area[id],found.area[id]);
+			assertEquals(expected.minX[id],found.minX[id]);
+			assertEquals(expected.minY[id],found.minY[id]);
+			assertEquals(expected.maxX[id],found.maxX[id]);
+			assertEquals(expected.maxY[id],found.maxY[id]);
+			assertEquals(expected.sumX[id],found.sumX[id]);
+			assertEquals(expected.sumY[id],found.sumY[id]);
+			assertEquals(expected.sumXX[id],found.sumXX[id]);
+			assertEquals(expected.sumYY[id],found.sumYY[id]);
+			assertEquals(expected.sumXY[id],found.sumXY[id]);
+		}
+	}
+}
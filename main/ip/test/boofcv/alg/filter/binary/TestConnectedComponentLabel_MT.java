@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the results against {@link LinearContourLabelChang2004}
+ *
+ * @author Peter Abeles
+ */
+public class TestConnectedComponentLabel_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+	int originalBandHeight;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalBandHeight = ConnectedComponentLabel_MT.MIN_BAND_HEIGHT;
+		BoofConcurrency.setMaxThreads(4);
+		// small strips so that blobs cross several boundaries
+		ConnectedComponentLabel_MT.MIN_BAND_HEIGHT = 3;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		ConnectedComponentLabel_MT.MIN_BAND_HEIGHT = originalBandHeight;
+	}
+
+	@Test
+	public void compareToChang2004_random() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+			for( int trial = 0; trial < 10; trial++ ) {
+				ImageUInt8 binary = new ImageUInt8(30+trial,25);
+				ImageMiscOps.fillUniform(binary,rand,0,2);
+
+				compare(binary,rule);
+			}
+		}
+	}
+
+	/**
+	 * A few large blobs with holes which cross every strip
+	 */
+	@Test
+	public void compareToChang2004_structured() {
+		ImageUInt8 binary = new ImageUInt8(40,30);
+		ImageMiscOps.fillRectangle(binary,1,2,1,30,28);
+		ImageMiscOps.fillRectangle(binary,0,5,5,4,4);
+		ImageMiscOps.fillRectangle(binary,0,15,3,2,20);
+		ImageMiscOps.fillRectangle(binary,1,34,0,6,30);
+
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+			compare(binary,rule);
+		}
+
+		// a "U" where the two arms are only joined in the last strip
+		binary = new ImageUInt8(10,30);
+		ImageMiscOps.fillRectangle(binary,1,1,0,2,30);
+		ImageMiscOps.fillRectangle(binary,1,6,0,2,30);
+		ImageMiscOps.fillRectangle(binary,1,1,28,7,2);
+		compare(binary,ConnectRule.FOUR);
+	}
+
+	@Test
+	public void subimage() {
+		ImageUInt8 binary = new ImageUInt8(30,25);
+		ImageMiscOps.fillUniform(binary,rand,0,2);
+
+		ImageSInt32 expected = new ImageSInt32(binary.width,binary.height);
+		ImageSInt32 found = BoofTesting.createSubImageOf(expected);
+
+		LinearContourLabelChang2004 chang = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		chang.process(binary,expected);
+
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(ConnectRule.EIGHT,false);
+		alg.process(BoofTesting.createSubImageOf(binary),found);
+
+		BoofTesting.assertEquals(expected,found,0);
+		assertEquals(chang.getContours().size,alg.getNumberOfBlobs());
+	}
+
+	@Test
+	public void statistics() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+			ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(rule,false);
+			alg.setStatistics(new BlobStatistics());
+
+			for( int trial = 0; trial < 5; trial++ ) {
+				ImageUInt8 binary = new ImageUInt8(30+trial,25);
+				ImageMiscOps.fillUniform(binary,rand,0,2);
+				ImageSInt32 labeled = BoofTesting.createSubImageOf(new ImageSInt32(binary.width,binary.height));
+
+				alg.process(BoofTesting.createSubImageOf(binary),labeled);
+
+				TestBlobStatistics.checkStatistics(labeled,alg.getNumberOfBlobs(),alg.getStatistics());
+			}
+		}
+	}
+
+	private void compare( ImageUInt8 binary , ConnectRule rule ) {
+		ImageSInt32 expected = new ImageSInt32(binary.width,binary.height);
+		ImageSInt32 found = new ImageSInt32(binary.width,binary.height);
+
+		LinearContourLabelChang2004 chang = new LinearContourLabelChang2004(rule);
+		chang.process(binary,expected);
+
+		// process twice to make sure it is correctly reset
+		ConnectedComponentLabel_MT alg = new ConnectedComponentLabel_MT(rule,true);
+		for( int i = 0; i < 2; i++ ) {
+			ImageMiscOps.fill(found,-2);
+			alg.process(binary,found);
+
+			BoofTesting.assertEquals(expected,found,0);
+			assertEquals(chang.getContours().size,alg.getNumberOfBlobs());
+
+			FastQueue<Contour> a = chang.getContours();
+			FastQueue<Contour> b = alg.getContours();
+			assertEquals(a.size,b.size);
+			for( int j = 0; j < a.size; j++ ) {
+				Contour ca = a.get(j);
+				Contour cb = b.get(j);
+				assertEquals(ca.id,cb.id);
+				compare(ca.external,cb.external);
+				assertEquals(ca.internal.size(),cb.internal.size());
+				for( int k = 0; k < ca.internal.size(); k++ ) {
+					compare(ca.internal.get(k),cb.internal.get(k));
+				}
+			}
+		}
+	}
+
+	private void compare( List<Point2D_I32> a , List<Point2D_I32> b ) {
+		assertEquals(a.size(),b.size());
+		for( int i = 0; i < a.size(); i++ ) {
+			assertEquals(a.get(i).x,b.get(i).x);
+			assertEquals(a.get(i).y,b.get(i).y);
+		}
+	}
+}
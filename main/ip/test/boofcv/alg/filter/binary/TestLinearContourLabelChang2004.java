@@ -192,6 +192,32 @@ public class TestLinearContourLabelChang2004 {
 		assertEquals(4, c.internal.get(0).size());
 	}
 
+	/**
+	 * Statistics computed while labeling should match the labeled image
+	 */
+	@Test
+	public void statistics() {
+		byte[][] tests = new byte[][]{TEST1,TEST2,TEST4};
+		int[] widths = new int[]{13,13,7};
+		int[] heights = new int[]{8,8,8};
+
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+			LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+			alg.setStatistics(new BlobStatistics());
+
+			// the same instance is used for every image to make sure it is correctly reset
+			for( int i = 0; i < tests.length; i++ ) {
+				ImageUInt8 input = new ImageUInt8(widths[i],heights[i]);
+				input.data = tests[i];
+
+				ImageSInt32 labeled = new ImageSInt32(input.width,input.height);
+				alg.process(input, labeled);
+
+				TestBlobStatistics.checkStatistics(labeled,alg.getContours().size,alg.getStatistics());
+			}
+		}
+	}
+
 	/**
 	 * Creates a list of every pixel with the specified label that is on the contour.  Removes duplicate points
 	 * in the found contour.  Sees if the two lists are equivalent.
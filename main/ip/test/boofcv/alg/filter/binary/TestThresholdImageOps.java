@@ -25,6 +25,7 @@ import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -243,6 +244,41 @@ public class TestThresholdImageOps {
 		assertEquals(6,total);
 	}
 
+	/**
+	 * Compares the packed output against the regular threshold function.  The width spans several words.
+	 */
+	@Test
+	public void thresholdPacked() throws InvocationTargetException, IllegalAccessException {
+		int total = 0;
+		Method[] list = ThresholdImageOps.class.getMethods();
+
+		for( Method m : list ) {
+			if( !m.getName().equals("thresholdPacked"))
+				continue;
+
+			Class param[] = m.getParameterTypes();
+			Method regular = BoofTesting.findMethod(ThresholdImageOps.class,"threshold",
+					param[0],ImageUInt8.class,param[2],boolean.class);
+
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], 130, height);
+			GImageMiscOps.fillUniform(input, rand, 0, 200);
+			input = BoofTesting.createSubImageOf_S(input);
+
+			ImageUInt8 expected = new ImageUInt8(input.width,input.height);
+			ImageBinaryPacked found = new ImageBinaryPacked(input.width,input.height);
+
+			for( boolean down : new boolean[]{true,false} ) {
+				regular.invoke(null,input,expected,100,down);
+				m.invoke(null,input,found,100,down);
+
+				BoofTesting.assertEquals(expected, BinaryPackedOps.convert(found, (ImageUInt8) null), 0);
+			}
+			total++;
+		}
+
+		assertEquals(6,total);
+	}
+
 	public void performThreshold( Method m , ImageSingleBand input , ImageUInt8 output )
 			throws InvocationTargetException, IllegalAccessException
 	{
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestThresholdLocalStreaming {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+
+	/**
+	 * The mean rule should produce the same results as the original function
+	 */
+	@Test
+	public void mean_compareToAdaptiveSquare() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			ImageUInt8 expected = ThresholdImageOps.adaptiveSquare(input,null,4,5,down,null,null);
+
+			ThresholdLocalStreaming alg = new ThresholdLocalStreaming(4,down);
+			alg.configureMean(5);
+			ImageUInt8 found = alg.process(input,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * For ImageUInt8 the original function rounds the mean twice, so only pixels which are within 1 of the
+	 * threshold can be different
+	 */
+	@Test
+	public void mean_compareToAdaptiveSquare_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		int radius = 4, bias = 5;
+		for( boolean down : new boolean[]{true,false}) {
+			ImageUInt8 expected = ThresholdImageOps.adaptiveSquare(input,null,radius,bias,down,null,null);
+
+			ThresholdLocalStreaming alg = new ThresholdLocalStreaming(radius,down);
+			alg.configureMean(bias);
+			ImageUInt8 found = alg.process(input,null);
+
+			int numDifferent = 0;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					if( expected.get(x,y) == found.get(x,y) )
+						continue;
+					numDifferent++;
+					double threshold = localMean(input,x,y,radius) + bias;
+					assertTrue(Math.abs(input.get(x,y) - threshold) <= 1);
+				}
+			}
+			// differences should be rare
+			assertTrue(numDifferent < width*height/20);
+		}
+	}
+
+	@Test
+	public void mean_bruteForce() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(inputU8,rand,0,255);
+		ImageMiscOps.fillUniform(inputF32,rand,0,255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			for( int radius : new int[]{1,3,14,40}) {
+				ThresholdLocalStreaming alg = new ThresholdLocalStreaming(radius,down);
+				alg.configureMean(-3);
+
+				checkBruteForce(inputU8,alg.process(inputU8,null),radius,down,false,-3,0);
+				checkBruteForce(inputF32,alg.process(inputF32,null),radius,down,false,-3,0);
+			}
+		}
+	}
+
+	@Test
+	public void sauvola_bruteForce() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(inputU8,rand,0,255);
+		ImageMiscOps.fillUniform(inputF32,rand,0,255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			for( int radius : new int[]{1,3,14,40}) {
+				ThresholdLocalStreaming alg = new ThresholdLocalStreaming(radius,down);
+				alg.configureSauvola(0.3,128);
+
+				checkBruteForce(inputU8,alg.process(inputU8,null),radius,down,true,0.3,128);
+				checkBruteForce(inputF32,alg.process(inputF32,null),radius,down,true,0.3,128);
+			}
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		ThresholdLocalStreaming alg = new ThresholdLocalStreaming(3,true);
+		alg.configureSauvola(0.3,128);
+
+		ImageUInt8 expected = alg.process(input,null);
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+		alg.process(BoofTesting.createSubImageOf(input),found);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Bands of rows should produce the same results as processing the whole image at once
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		ThresholdLocalStreaming alg = new ThresholdLocalStreaming(5,true);
+		alg.configureSauvola(0.3,128);
+		ImageUInt8 expected = alg.process(input,null);
+
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBandHeight = ThresholdLocalStreaming.MIN_BAND_HEIGHT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			BoofConcurrency.setMaxThreads(4);
+			ThresholdLocalStreaming.MIN_BAND_HEIGHT = 3;
+
+			ImageUInt8 found = alg.process(input,null);
+			BoofTesting.assertEquals(expected,found,0);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			ThresholdLocalStreaming.MIN_BAND_HEIGHT = originalBandHeight;
+		}
+	}
+
+	private void checkBruteForce( ImageSingleBand input , ImageUInt8 found , int radius , boolean down ,
+								  boolean sauvola , double param , double range ) {
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double sum = 0, sq = 0;
+				int N = 0;
+				for( int i = Math.max(0,y-radius); i <= Math.min(input.height-1,y+radius); i++ ) {
+					for( int j = Math.max(0,x-radius); j <= Math.min(input.width-1,x+radius); j++ ) {
+						double v = get(input,j,i);
+						sum += v;
+						sq += v*v;
+						N++;
+					}
+				}
+				double mean = sum/N;
+				double threshold;
+				if( sauvola ) {
+					double std = Math.sqrt(Math.max(0,sq/N - mean*mean));
+					threshold = mean*(1 + param*(std/range - 1));
+				} else {
+					threshold = mean + param;
+				}
+
+				double v = get(input,x,y);
+				int expected;
+				if( down )
+					expected = v <= threshold ? 1 : 0;
+				else
+					expected = v >= threshold ? 1 : 0;
+
+				assertEquals(expected,found.get(x,y));
+			}
+		}
+	}
+
+	private static double localMean( ImageSingleBand input , int x , int y , int radius ) {
+		double sum = 0;
+		int N = 0;
+		for( int i = Math.max(0,y-radius); i <= Math.min(input.height-1,y+radius); i++ ) {
+			for( int j = Math.max(0,x-radius); j <= Math.min(input.width-1,x+radius); j++ ) {
+				sum += get(input,j,i);
+				N++;
+			}
+		}
+		return sum/N;
+	}
+
+	private static double get( ImageSingleBand input , int x , int y ) {
+		if( input instanceof ImageUInt8 )
+			return ((ImageUInt8)input).get(x,y);
+		return ((ImageFloat32)input).get(x,y);
+	}
+}
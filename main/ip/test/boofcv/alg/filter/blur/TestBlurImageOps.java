@@ -19,11 +19,17 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
+import boofcv.alg.filter.convolve.ConvolveWithBorder;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.image.ImageFloat32;
@@ -176,4 +182,78 @@ public class TestBlurImageOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * When the global concurrent setting is on the Gaussian blur should be computed using multiple threads and
+	 * produce exactly the same output
+	 */
+	@Test
+	public void gaussian_concurrent() {
+		ImageUInt8 inputU8 = new ImageUInt8(200,150);
+		ImageFloat32 inputF32 = new ImageFloat32(200,150);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(inputF32, rand, 0, 200);
+
+		ImageUInt8 expectedU8 = BlurImageOps.gaussian(inputU8,null,-1,6,null);
+		ImageFloat32 expectedF32 = BlurImageOps.gaussian(inputF32,null,-1,6,null);
+
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			BoofConcurrency.setMaxThreads(4);
+
+			BoofTesting.assertEquals(expectedU8,BlurImageOps.gaussian(inputU8,null,-1,6,null),0);
+			BoofTesting.assertEquals(expectedF32,BlurImageOps.gaussian(inputF32,null,-1,6,null),0);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	/**
+	 * Compare against convolution with a Gaussian kernel on a smooth image.  The recursive filter is only an
+	 * approximation, so the tolerance is loose
+	 */
+	@Test
+	public void gaussianRecursive_F32() {
+		ImageFloat32 input = new ImageFloat32(60,50);
+		ImageFloat32 work = new ImageFloat32(60,50);
+		ImageFloat32 expected = new ImageFloat32(60,50);
+
+		// smooth image with structure at several scales
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				input.set(x,y,(float)(100 + 50*Math.sin(x*0.15)*Math.cos(y*0.1) + x + 0.5*y));
+			}
+		}
+
+		for( double sigma : new double[]{2,4} ) {
+			Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,(int)(6*sigma));
+			ConvolveWithBorder.horizontal(kernel,input,work,
+					(ImageBorder_F32)FactoryImageBorder.general(input, BorderType.EXTENDED));
+			ConvolveWithBorder.vertical(kernel,work,expected,
+					(ImageBorder_F32)FactoryImageBorder.general(work, BorderType.EXTENDED));
+
+			ImageFloat32 found = BlurImageOps.gaussianRecursive(input,null,sigma);
+
+			BoofTesting.assertEquals(expected,found,1.5);
+		}
+	}
+
+	@Test
+	public void gaussianRecursive_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+		for( int i = 0; i < input.data.length; i++ )
+			inputF.data[i] = input.data[i] & 0xFF;
+
+		ImageFloat32 expected = BlurImageOps.gaussianRecursive(inputF,null,3);
+		BlurImageOps.gaussianRecursive(input,found,3,null);
+
+		BoofTesting.assertEquals(expected,found,0.5 + 1e-3);
+	}
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplGaussianRecursive {
+
+	Random rand = new Random(234);
+
+	double sigmas[] = new double[]{0.8,2,5,12};
+
+	/**
+	 * The response to an impulse should sum to one and have the requested standard deviation
+	 */
+	@Test
+	public void impulse() {
+		ImageFloat32 input = new ImageFloat32(301,301);
+		ImageFloat32 output = new ImageFloat32(301,301);
+
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+
+		for( double sigma : sigmas ) {
+			ImageMiscOps.fill(input,0);
+			input.set(150,150,1);
+
+			alg.setSigma(sigma);
+			alg.horizontal(input,output);
+			alg.vertical(output,output);
+
+			assertEquals(1, ImageStatistics.sum(output), 1e-3);
+
+			// response should be symmetric and peak at the impulse
+			assertEquals(output.get(147,150), output.get(153,150), 1e-5);
+			assertEquals(output.get(150,147), output.get(150,153), 1e-5);
+			assertTrue(output.get(150,150) > output.get(151,150));
+
+			double varX = 0, varY = 0;
+			for( int y = 0; y < output.height; y++ ) {
+				for( int x = 0; x < output.width; x++ ) {
+					float v = output.get(x,y);
+					varX += (x-150)*(x-150)*v;
+					varY += (y-150)*(y-150)*v;
+				}
+			}
+			assertEquals(sigma, Math.sqrt(varX), sigma*1e-3);
+			assertEquals(sigma, Math.sqrt(varY), sigma*1e-3);
+		}
+	}
+
+	/**
+	 * Pixels outside the image should be the same as the edge pixels.  Compare against an image which has been
+	 * padded by a large amount.
+	 */
+	@Test
+	public void border() {
+		int pad = 200;
+
+		for( double sigma : sigmas ) {
+			ImageFloat32 input = new ImageFloat32(30,25);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			ImageFloat32 padded = new ImageFloat32(input.width+2*pad, input.height+2*pad);
+			for( int y = 0; y < padded.height; y++ ) {
+				int yy = Math.min(input.height-1,Math.max(0,y-pad));
+				for( int x = 0; x < padded.width; x++ ) {
+					int xx = Math.min(input.width-1,Math.max(0,x-pad));
+					padded.set(x,y,input.get(xx,yy));
+				}
+			}
+
+			ImplGaussianRecursive alg = new ImplGaussianRecursive();
+			alg.setSigma(sigma);
+
+			ImageFloat32 found = new ImageFloat32(input.width,input.height);
+			alg.horizontal(input,found);
+			alg.vertical(found,found);
+
+			ImageFloat32 expected = new ImageFloat32(padded.width,padded.height);
+			alg.horizontal(padded,expected);
+			alg.vertical(expected,expected);
+			expected = expected.subimage(pad,pad,pad+input.width,pad+input.height,null);
+
+			BoofTesting.assertEquals(expected, found, 1e-2);
+		}
+	}
+
+	/**
+	 * Images which are smaller than the filter's state
+	 */
+	@Test
+	public void smallImage() {
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+		alg.setSigma(3);
+
+		for( int size = 1; size <= 3; size++ ) {
+			ImageFloat32 input = new ImageFloat32(size,size+1);
+			ImageMiscOps.fill(input,7);
+			ImageFloat32 output = new ImageFloat32(size,size+1);
+
+			alg.horizontal(input,output);
+			alg.vertical(output,output);
+
+			for( int i = 0; i < output.data.length; i++ )
+				assertEquals(7, output.data[i], 1e-4);
+		}
+	}
+
+	@Test
+	public void uint8() {
+		ImageUInt8 input = new ImageUInt8(40,35);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+		ImageFloat32 inputF = new ImageFloat32(40,35);
+		for( int i = 0; i < input.data.length; i++ )
+			inputF.data[i] = input.data[i] & 0xFF;
+
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+		alg.setSigma(2.5);
+
+		ImageFloat32 expected = new ImageFloat32(40,35);
+		alg.horizontal(inputF,expected);
+		alg.vertical(expected,expected);
+
+		ImageFloat32 storage = new ImageFloat32(40,35);
+		ImageUInt8 found = new ImageUInt8(40,35);
+		alg.horizontal(input,storage);
+		alg.vertical(storage,storage);
+		ImplGaussianRecursive.round(storage,found);
+
+		BoofTesting.assertEquals(expected, found, 0.5 + 1e-3);
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(40,35);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImplGaussianRecursive alg = new ImplGaussianRecursive();
+		alg.setSigma(4);
+
+		ImageFloat32 expected = new ImageFloat32(40,35);
+		alg.horizontal(input,expected);
+		alg.vertical(expected,expected);
+
+		ImageFloat32 inputSub = BoofTesting.createSubImageOf(input);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(40,35));
+		alg.horizontal(inputSub,found);
+		alg.vertical(found,found);
+
+		BoofTesting.assertEquals(expected, found, 1e-4);
+
+		// process the input in place
+		alg.horizontal(inputSub,inputSub);
+		alg.vertical(inputSub,inputSub);
+
+		BoofTesting.assertEquals(expected, inputSub, 1e-4);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSort() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort", true, image, found, expected);
+	}
+
+	public void compareToSort(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		for( int radius = 1; radius <= 6; radius++ ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			alg.process(image,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Values are clustered together so that the median is often found at the edge of a coarse bin
+	 */
+	@Test
+	public void clusteredValues() {
+		ImageUInt8 image = new ImageUInt8(25,22);
+		ImageMiscOps.fillUniform(image,rand, 14, 19);
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		ImplMedianSortNaive.process(image,expected,3,null);
+		new ImplMedianHistogramConstant().process(image,found,3);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * The filter is larger than the image
+	 */
+	@Test
+	public void radiusLargerThanImage() {
+		ImageUInt8 image = new ImageUInt8(5,3);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		for( int radius = 2; radius <= 8; radius += 3 ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			alg.process(image,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Process the image in several bands of rows.  Should produce the same output as a single call.
+	 */
+	@Test
+	public void bands() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		alg.process(image,expected,4);
+
+		alg.process(image,found,4,0,7);
+		alg.process(image,found,4,7,8);
+		alg.process(image,found,4,8,30);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+}
@@ -48,6 +48,10 @@ public class CompareToStandardConvolution extends CompareIdenticalFunctions
 		super(targetClass, ConvolveImageStandard.class);
 	}
 
+	public CompareToStandardConvolution( Class<?> targetClass , Class<?> validationClass ) {
+		super(targetClass, validationClass);
+	}
+
 	public void compareMethod( Method target , String validationName , int radius ) {
 		this.kernelRadius = radius;
 		super.compareMethod(target,validationName);
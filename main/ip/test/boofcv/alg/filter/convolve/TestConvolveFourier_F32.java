@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveFourier_F32 {
+
+	Random rand = new Random(234);
+
+	// radius of kernels and size of images.  Includes images which are split into several tiles
+	int radii[] = new int[]{1,4,12};
+	int sizes[][] = new int[][]{{30,25},{101,87}};
+
+	float tol = 1e-3f;
+
+	@Test
+	public void convolve_noBorder() {
+		ConvolveFourier_F32 alg = new ConvolveFourier_F32();
+
+		for( int[] size : sizes ) {
+			for( int radius : radii ) {
+				ImageFloat32 input = new ImageFloat32(size[0],size[1]);
+				ImageMiscOps.fillUniform(input, rand, 0, 10);
+				ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+				ImageFloat32 found = new ImageFloat32(input.width,input.height);
+				// the border should not be modified
+				ImageMiscOps.fill(expected,-5);
+				ImageMiscOps.fill(found,-5);
+
+				Kernel2D_F32 kernel = FactoryKernel.random2D_F32(radius, -1, 1, rand);
+				ConvolveImageNoBorder.convolve(kernel, input, expected);
+				alg.convolve(kernel, input, found);
+
+				BoofTesting.assertEquals(expected, found, tol);
+			}
+		}
+	}
+
+	@Test
+	public void convolve_border() {
+		ConvolveFourier_F32 alg = new ConvolveFourier_F32();
+
+		for( BorderType type : new BorderType[]{BorderType.EXTENDED, BorderType.REFLECT, BorderType.WRAP, BorderType.VALUE} ) {
+			for( int[] size : sizes ) {
+				for( int radius : radii ) {
+					ImageFloat32 input = new ImageFloat32(size[0],size[1]);
+					ImageMiscOps.fillUniform(input, rand, 0, 10);
+					ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+					ImageFloat32 found = new ImageFloat32(input.width,input.height);
+
+					ImageBorder_F32 border;
+					if( type == BorderType.VALUE )
+						border = (ImageBorder_F32)FactoryImageBorder.value(input, 2);
+					else
+						border = (ImageBorder_F32)FactoryImageBorder.general(input, type);
+
+					Kernel2D_F32 kernel = FactoryKernel.random2D_F32(radius, -1, 1, rand);
+					ConvolveWithBorder.convolve(kernel, input, expected, border);
+					alg.convolve(kernel, input, found, border);
+
+					BoofTesting.assertEquals(expected, found, tol);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void convolveNormalized() {
+		ConvolveFourier_F32 alg = new ConvolveFourier_F32();
+
+		for( int[] size : sizes ) {
+			for( int radius : radii ) {
+				ImageFloat32 input = new ImageFloat32(size[0],size[1]);
+				ImageMiscOps.fillUniform(input, rand, 0, 10);
+				ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+				ImageFloat32 found = new ImageFloat32(input.width,input.height);
+
+				Kernel2D_F32 kernel = FactoryKernel.random2D_F32(radius, 0, 1, rand);
+				ConvolveNormalized.convolve(kernel, input, expected);
+				alg.convolveNormalized(kernel, input, found);
+
+				BoofTesting.assertEqualsRelative(expected, found, tol);
+			}
+		}
+	}
+
+	/**
+	 * Sub-images should be handled correctly
+	 */
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(60,50);
+		ImageMiscOps.fillUniform(input, rand, 0, 10);
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = new ImageFloat32(input.width,input.height);
+
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(5, -1, 1, rand);
+		ConvolveImageNoBorder.convolve(kernel, input, expected);
+
+		ImageFloat32 inputSub = BoofTesting.createSubImageOf(input);
+		ImageFloat32 foundSub = BoofTesting.createSubImageOf(found);
+		new ConvolveFourier_F32().convolve(kernel, inputSub, foundSub);
+
+		BoofTesting.assertEquals(expected, foundSub, tol);
+	}
+
+	/**
+	 * Modify the kernel after it has been used once.  The cached transform should be recomputed.
+	 */
+	@Test
+	public void kernelChanged() {
+		ConvolveFourier_F32 alg = new ConvolveFourier_F32();
+
+		ImageFloat32 input = new ImageFloat32(40,35);
+		ImageMiscOps.fillUniform(input, rand, 0, 10);
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = new ImageFloat32(input.width,input.height);
+
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(3, -1, 1, rand);
+		alg.convolve(kernel, input, found);
+
+		kernel.data[5] += 2;
+		ConvolveImageNoBorder.convolve(kernel, input, expected);
+		alg.convolve(kernel, input, found);
+
+		BoofTesting.assertEquals(expected, found, tol);
+	}
+
+	@Test
+	public void selectTileSize() {
+		// tile is a power of two around four times the kernel's width
+		assertEquals(128, ConvolveFourier_F32.selectTileSize(25, 1000, 1000));
+		// never larger than needed to cover the image
+		assertEquals(32, ConvolveFourier_F32.selectTileSize(9, 20, 15));
+
+		int size = ConvolveFourier_F32.selectTileSize(51, 640, 480);
+		assertTrue(size - 50 > 0);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.CompareEquivalentFunctions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageBox_MT extends CompareEquivalentFunctions {
+
+	Random rand = new Random(0xFF);
+
+	int width = 37;
+	int height = 151;
+	int kernelRadius;
+
+	int originalThreads;
+
+	public TestConvolveImageBox_MT() {
+		super(ConvolveImageBox_MT.class, ConvolveImageBox.class);
+	}
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Image is tall enough to be split into several bands.  Integer images must be identical to the single
+	 * threaded code.  Floating point vertical sums are restarted in each band so a small error is allowed.
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( kernelRadius = 1; kernelRadius <= 10; kernelRadius += 3 ) {
+			performTests(8);
+		}
+	}
+
+	@Override
+	protected boolean isTestMethod(Method m) {
+		Class<?> params[] = m.getParameterTypes();
+
+		if( params.length != 3)
+			return false;
+
+		return ImageSingleBand.class.isAssignableFrom(params[0]);
+	}
+
+	@Override
+	protected boolean isEquivalent(Method candidate, Method validation) {
+		if( !candidate.getName().equals(validation.getName()))
+			return false;
+
+		Class<?> c[] = candidate.getParameterTypes();
+		Class<?> v[] = validation.getParameterTypes();
+
+		if( c.length != v.length )
+			return false;
+
+		for( int i = 0; i < c.length; i++ )
+			if( c[i] != v[i] )
+				return false;
+		return true;
+	}
+
+	@Override
+	protected Object[][] createInputParam(Method candidate, Method validation) {
+		Class c[] = candidate.getParameterTypes();
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(c[0], width, height);
+		ImageSingleBand output = GeneralizedImageOps.createSingleBand(c[1], width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		Object[][] ret = new Object[1][];
+		ret[0] = new Object[]{input,output,kernelRadius};
+
+		return ret;
+	}
+
+	@Override
+	protected Object[] reformatForValidation(Method m, Object[] targetParam) {
+		ImageSingleBand output = (ImageSingleBand)((ImageSingleBand)targetParam[1]).clone();
+
+		return new Object[]{targetParam[0],output,targetParam[2]};
+	}
+
+	@Override
+	protected void compareResults(Object targetResult, Object[] targetParam, Object validationResult, Object[] validationParam) {
+		ImageSingleBand expected = (ImageSingleBand)validationParam[1];
+		ImageSingleBand found = (ImageSingleBand)targetParam[1];
+
+		// floating point vertical sums restart in each band, so the order of summation and round off differ
+		double tol = expected.getDataType().isInteger() ? 0 : 1e-3;
+		BoofTesting.assertEquals(expected, found, tol);
+	}
+}
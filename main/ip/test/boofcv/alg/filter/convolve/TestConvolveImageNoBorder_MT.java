@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * The output must be identical to the single threaded code.  Image is tall enough to be split into
+	 * several bands.  Kernels sizes which are and are not unrolled are tested.
+	 */
+	@Test
+	public void compareToSingleThread() {
+		CompareToSingleThread a = new CompareToSingleThread();
+		a.height = 151;
+
+		for( int radius = 1; radius <= 7; radius += 3 ) {
+			a.kernelRadius = radius;
+			a.performTests(20);
+		}
+	}
+
+	private static class CompareToSingleThread extends CompareToStandardConvolution {
+		public CompareToSingleThread() {
+			super(ConvolveImageNoBorder_MT.class, ConvolveImageNoBorder.class);
+		}
+
+		@Override
+		protected void compareResults(Object targetResult, Object[] targetParam,
+									  Object validationResult, Object[] validationParam) {
+			for( int i = 0; i < targetParam.length; i++ ) {
+				if( !ImageSingleBand.class.isAssignableFrom(targetParam[i].getClass()) )
+					continue;
+
+				BoofTesting.assertEquals((ImageSingleBand)validationParam[i], (ImageSingleBand)targetParam[i], 0);
+			}
+		}
+	}
+}
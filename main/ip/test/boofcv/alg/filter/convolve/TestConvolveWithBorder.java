@@ -47,6 +47,10 @@ public class TestConvolveWithBorder extends CompareImageBorder {
 		super(ConvolveWithBorder.class);
 	}
 
+	protected TestConvolveWithBorder( Class<?> targetClass ) {
+		super(targetClass);
+	}
+
 	@Test
 	public void compareToNoBorder() {
 		performTests(12);
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.misc.BoofConcurrency;
+import org.junit.After;
+import org.junit.Before;
+
+/**
+ * Runs the same tests as the single threaded version on an image which is tall enough to be split into bands.
+ *
+ * @author Peter Abeles
+ */
+public class TestConvolveWithBorder_MT extends TestConvolveWithBorder {
+
+	int originalThreads;
+
+	public TestConvolveWithBorder_MT() {
+		super(ConvolveWithBorder_MT.class);
+		height = 100;
+	}
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+}
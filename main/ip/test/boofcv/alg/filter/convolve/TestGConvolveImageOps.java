@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGConvolveImageOps {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 70;
+
+	/**
+	 * Large kernels are convolved with the FFT.  The concurrent variants should select the same algorithm
+	 * and produce identical results.
+	 */
+	@Test
+	public void concurrent_fourier() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 10);
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(GConvolveImageOps.FOURIER_MIN_WIDTH/2+1, 0, 1, rand);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(input, BorderType.REFLECT);
+
+		GConvolveImageOps.convolve(kernel, input, expected, border, false);
+		GConvolveImageOps.convolve(kernel, input, found, border, true);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		GConvolveImageOps.convolve(kernel, input, expected, false);
+		GConvolveImageOps.convolve(kernel, input, found, true);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		GConvolveImageOps.convolveNormalized(kernel, input, expected, false);
+		GConvolveImageOps.convolveNormalized(kernel, input, found, true);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * The results should not change after the cache has been cleared or when the cache is disabled
+	 */
+	@Test
+	public void fourierCache() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 10);
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(GConvolveImageOps.FOURIER_MIN_WIDTH/2+1, 0, 1, rand);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		GConvolveImageOps.convolve(kernel, input, expected);
+
+		GConvolveImageOps.clearFourierCache();
+		GConvolveImageOps.convolve(kernel, input, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		int before = GConvolveImageOps.FOURIER_CACHE_SIZE;
+		try {
+			GConvolveImageOps.FOURIER_CACHE_SIZE = 0;
+			GConvolveImageOps.clearFourierCache();
+			ImageMiscOps.fill(found, 0);
+			GConvolveImageOps.convolve(kernel, input, found);
+			BoofTesting.assertEquals(expected, found, 0);
+		} finally {
+			GConvolveImageOps.FOURIER_CACHE_SIZE = before;
+		}
+	}
+}
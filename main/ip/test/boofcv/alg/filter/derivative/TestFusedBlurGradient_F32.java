@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFusedBlurGradient_F32 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against blurring and computing the derivatives one step at a time
+	 */
+	@Test
+	public void compareToSeparate() {
+		for( boolean sobel : new boolean[]{true,false} ) {
+			compareToSeparate(40,35,2,sobel,false);
+			compareToSeparate(40,35,5,sobel,true);
+			// image smaller than the kernel
+			compareToSeparate(7,6,5,sobel,false);
+		}
+		// the reference implementation of GradientThree can't handle tiny images
+		compareToSeparate(2,1,3,true,false);
+	}
+
+	private void compareToSeparate( int width , int height , int radius , boolean sobel , boolean subimage ) {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class, BorderType.EXTENDED);
+
+		ImageFloat32 expectedBlur = BlurImageOps.gaussian(input, null, -1, radius, null);
+		ImageFloat32 expectedX = new ImageFloat32(width,height);
+		ImageFloat32 expectedY = new ImageFloat32(width,height);
+		ImageFloat32 expectedXX = new ImageFloat32(width,height);
+		ImageFloat32 expectedYY = new ImageFloat32(width,height);
+		ImageFloat32 expectedXY = new ImageFloat32(width,height);
+
+		if( sobel ) {
+			GradientSobel.process(expectedBlur, expectedX, expectedY, border);
+			HessianFromGradient.hessianSobel(expectedX, expectedY, expectedXX, expectedYY, expectedXY, border);
+		} else {
+			GradientThree.process(expectedBlur, expectedX, expectedY, border);
+			HessianFromGradient.hessianThree(expectedX, expectedY, expectedXX, expectedYY, expectedXY, border);
+		}
+
+		ImageFloat32 blur = new ImageFloat32(width,height);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		ImageFloat32 derivXX = new ImageFloat32(width,height);
+		ImageFloat32 derivYY = new ImageFloat32(width,height);
+		ImageFloat32 derivXY = new ImageFloat32(width,height);
+
+		if( subimage ) {
+			input = BoofTesting.createSubImageOf(input);
+			blur = BoofTesting.createSubImageOf(blur);
+			derivX = BoofTesting.createSubImageOf(derivX);
+			derivY = BoofTesting.createSubImageOf(derivY);
+			derivXX = BoofTesting.createSubImageOf(derivXX);
+			derivYY = BoofTesting.createSubImageOf(derivYY);
+			derivXY = BoofTesting.createSubImageOf(derivXY);
+		}
+
+		FusedBlurGradient_F32 alg = new FusedBlurGradient_F32(kernel,sobel);
+		alg.process(input, blur, derivX, derivY, derivXX, derivYY, derivXY);
+
+		BoofTesting.assertEquals(expectedBlur, blur, 1e-4);
+		BoofTesting.assertEquals(expectedX, derivX, 1e-4);
+		BoofTesting.assertEquals(expectedY, derivY, 1e-4);
+		BoofTesting.assertEquals(expectedXX, derivXX, 1e-4);
+		BoofTesting.assertEquals(expectedYY, derivYY, 1e-4);
+		BoofTesting.assertEquals(expectedXY, derivXY, 1e-4);
+
+		// only the Hessian, the same instance being called multiple times
+		ImageMiscOps.fill(derivXX,0);
+		alg.process(input, null, null, null, derivXX, derivYY, derivXY);
+		BoofTesting.assertEquals(expectedXX, derivXX, 1e-4);
+
+		// only the gradient
+		ImageMiscOps.fill(derivX,0);
+		alg.process(input, null, derivX, derivY, null, null, null);
+		BoofTesting.assertEquals(expectedX, derivX, 1e-4);
+		BoofTesting.assertEquals(expectedY, derivY, 1e-4);
+	}
+
+	@Test
+	public void partialOutputs() {
+		FusedBlurGradient_F32 alg = new FusedBlurGradient_F32(
+				FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 2),true);
+		ImageFloat32 a = new ImageFloat32(10,12);
+		ImageFloat32 b = new ImageFloat32(10,12);
+
+		try {
+			alg.process(a, null, b, null, null, null, null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			alg.process(a, null, null, null, b, b, null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+}
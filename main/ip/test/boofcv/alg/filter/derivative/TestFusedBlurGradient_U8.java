@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFusedBlurGradient_U8 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against blurring and computing the derivatives one step at a time
+	 */
+	@Test
+	public void compareToSeparate() {
+		for( boolean sobel : new boolean[]{true,false} ) {
+			compareToSeparate(40,35,2,sobel,false);
+			compareToSeparate(40,35,5,sobel,true);
+			// image smaller than the kernel
+			compareToSeparate(7,6,5,sobel,false);
+		}
+		// the reference implementation of GradientThree can't handle tiny images
+		compareToSeparate(2,1,3,true,false);
+	}
+
+	private void compareToSeparate( int width , int height , int radius , boolean sobel , boolean subimage ) {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, radius);
+		ImageBorder_I32 borderU8 = (ImageBorder_I32)FactoryImageBorder.general(ImageUInt8.class, BorderType.EXTENDED);
+		ImageBorder_I32 border = (ImageBorder_I32)FactoryImageBorder.general(ImageSInt16.class, BorderType.EXTENDED);
+
+		ImageUInt8 expectedBlur = BlurImageOps.gaussian(input, null, -1, radius, null);
+		ImageSInt16 expectedX = new ImageSInt16(width,height);
+		ImageSInt16 expectedY = new ImageSInt16(width,height);
+		ImageSInt16 expectedXX = new ImageSInt16(width,height);
+		ImageSInt16 expectedYY = new ImageSInt16(width,height);
+		ImageSInt16 expectedXY = new ImageSInt16(width,height);
+
+		if( sobel ) {
+			GradientSobel.process(expectedBlur, expectedX, expectedY, borderU8);
+			HessianFromGradient.hessianSobel(expectedX, expectedY, expectedXX, expectedYY, expectedXY, border);
+		} else {
+			GradientThree.process(expectedBlur, expectedX, expectedY, borderU8);
+			HessianFromGradient.hessianThree(expectedX, expectedY, expectedXX, expectedYY, expectedXY, border);
+		}
+
+		ImageUInt8 blur = new ImageUInt8(width,height);
+		ImageSInt16 derivX = new ImageSInt16(width,height);
+		ImageSInt16 derivY = new ImageSInt16(width,height);
+		ImageSInt16 derivXX = new ImageSInt16(width,height);
+		ImageSInt16 derivYY = new ImageSInt16(width,height);
+		ImageSInt16 derivXY = new ImageSInt16(width,height);
+
+		if( subimage ) {
+			input = BoofTesting.createSubImageOf(input);
+			blur = BoofTesting.createSubImageOf(blur);
+			derivX = BoofTesting.createSubImageOf(derivX);
+			derivY = BoofTesting.createSubImageOf(derivY);
+			derivXX = BoofTesting.createSubImageOf(derivXX);
+			derivYY = BoofTesting.createSubImageOf(derivYY);
+			derivXY = BoofTesting.createSubImageOf(derivXY);
+		}
+
+		FusedBlurGradient_U8 alg = new FusedBlurGradient_U8(kernel,sobel);
+		alg.process(input, blur, derivX, derivY, derivXX, derivYY, derivXY);
+
+		BoofTesting.assertEquals(expectedBlur, blur, 0);
+		BoofTesting.assertEquals(expectedX, derivX, 0);
+		BoofTesting.assertEquals(expectedY, derivY, 0);
+		BoofTesting.assertEquals(expectedXX, derivXX, 0);
+		BoofTesting.assertEquals(expectedYY, derivYY, 0);
+		BoofTesting.assertEquals(expectedXY, derivXY, 0);
+
+		// only the Hessian, the same instance being called multiple times
+		ImageMiscOps.fill(derivXX,0);
+		alg.process(input, null, null, null, derivXX, derivYY, derivXY);
+		BoofTesting.assertEquals(expectedXX, derivXX, 0);
+
+		// only the gradient
+		ImageMiscOps.fill(derivX,0);
+		alg.process(input, null, derivX, derivY, null, null, null);
+		BoofTesting.assertEquals(expectedX, derivX, 0);
+		BoofTesting.assertEquals(expectedY, derivY, 0);
+	}
+
+	@Test
+	public void partialOutputs() {
+		FusedBlurGradient_U8 alg = new FusedBlurGradient_U8(
+				FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, 2),true);
+		ImageUInt8 a = new ImageUInt8(10,12);
+		ImageSInt16 b = new ImageSInt16(10,12);
+
+		try {
+			alg.process(a, null, b, null, null, null, null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			alg.process(a, null, null, null, b, b, null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+}
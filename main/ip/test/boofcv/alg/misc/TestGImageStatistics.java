@@ -37,7 +37,7 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 
 	@Test
 	public void compareToPixelMath() {
-		performTests(9);
+		performTests(10);
 	}
 
 	@Override
@@ -67,6 +67,10 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 			inputB = GeneralizedImageOps.createSingleBand((Class)param[1], width, height);
 			ret[0][0] = inputA;
 			ret[0][1] = inputB;
+		} else if( name.equals("sumDiffAbs")) {
+			inputB = GeneralizedImageOps.createSingleBand((Class)param[1], width, height);
+			ret[0][0] = inputA;
+			ret[0][1] = inputB;
 		} else if( name.equals("meanDiffAbs")) {
 			inputB = GeneralizedImageOps.createSingleBand((Class)param[1], width, height);
 			ret[0][0] = inputA;
@@ -39,7 +39,7 @@ public class TestGPixelMath extends BaseGClassChecksInMisc {
 
 	@Test
 	public void compareToPixelMath() {
-		performTests(16);
+		performTests(18);
 	}
 
 	@Override
@@ -108,6 +108,20 @@ public class TestGPixelMath extends BaseGClassChecksInMisc {
 			ret[0][2] = -10;
 			ret[0][3] = 12;
 			ret[0][4] = output;
+		} else if( name.equals("multiplyPlus") && param.length == 4) {
+			output = createImage(param[param.length - 1],null);
+			ret[0][0] = inputA;
+			ret[0][1] = 3;
+			ret[0][2] = 2;
+			ret[0][3] = output;
+		} else if( name.equals("multiplyPlus") && param.length == 6) {
+			output = createImage(param[param.length - 1],null);
+			ret[0][0] = inputA;
+			ret[0][1] = 3;
+			ret[0][2] = 2;
+			ret[0][3] = -20;
+			ret[0][4] = 12;
+			ret[0][5] = output;
 		} else if( name.equals("log") ) {
 			inputB = createImage(param[1],null);
 			ret[0][0] = inputA;
@@ -22,7 +22,10 @@ import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -41,7 +44,7 @@ public class TestImageStatistics {
 
 	@Test
 	public void checkAll() {
-		int numExpected = 9*8;
+		int numExpected = 10*8;
 		Method methods[] = ImageStatistics.class.getMethods();
 
 		// sanity check to make sure the functions are being found
@@ -66,6 +69,8 @@ public class TestImageStatistics {
 					testVariance(m);
 				} else if( m.getName().compareTo("meanDiffSq") == 0 ) {
 					testMeanDiffSq(m);
+				} else if( m.getName().compareTo("sumDiffAbs") == 0 ) {
+					testSumDiffAbs(m);
 				} else if( m.getName().compareTo("meanDiffAbs") == 0 ) {
 					testMeanDiffAbs(m);
 				} else if( m.getName().compareTo("histogram") == 0 ) {
@@ -87,6 +92,40 @@ public class TestImageStatistics {
 			throw new RuntimeException("Unexpected number of methods: Found "+numFound+"  expected "+numExpected);
 	}
 
+	/**
+	 * Images which are not sub-images are processed as a single row.  Make sure sub-images, which can't be,
+	 * produce the same results.
+	 */
+	@Test
+	public void subimage() {
+		ImageFloat32 inputA = new ImageFloat32(width,height);
+		ImageFloat32 inputB = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(inputA, rand, -20, 20);
+		GImageMiscOps.fillUniform(inputB, rand, -20, 20);
+
+		ImageFloat32 subA = BoofTesting.createSubImageOf(inputA);
+		ImageFloat32 subB = BoofTesting.createSubImageOf(inputB);
+
+		assertEquals(ImageStatistics.sum(inputA), ImageStatistics.sum(subA), 1e-4);
+		assertEquals(ImageStatistics.max(inputA), ImageStatistics.max(subA), 1e-8);
+		assertEquals(ImageStatistics.maxAbs(inputA), ImageStatistics.maxAbs(subA), 1e-8);
+		assertEquals(ImageStatistics.sumDiffAbs(inputA, inputB), ImageStatistics.sumDiffAbs(subA, subB), 1e-4);
+		assertEquals(ImageStatistics.meanDiffSq(inputA, inputB), ImageStatistics.meanDiffSq(subA, subB), 1e-4);
+
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		ImageUInt8 subU8 = BoofTesting.createSubImageOf(inputU8);
+
+		int histA[] = new int[256];
+		int histB[] = new int[256];
+		ImageStatistics.histogram(inputU8, histA);
+		ImageStatistics.histogram(subU8, histB);
+		for( int i = 0; i < histA.length; i++ )
+			assertEquals(histA[i], histB[i]);
+
+		assertEquals(ImageStatistics.min(inputU8), ImageStatistics.min(subU8));
+	}
+
 	private boolean isTestMethod(Method m ) {
 
 		Class param[] = m.getParameterTypes();
@@ -263,6 +302,34 @@ public class TestImageStatistics {
 		assertEquals(expected, ((Number) result).doubleValue(), 1e-4);
 	}
 
+	private void testSumDiffAbs(Method m) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageSingleBand inputA = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
+		ImageSingleBand inputB = GeneralizedImageOps.createSingleBand(paramTypes[1], width, height);
+
+		if( inputA.getDataType().isSigned() ) {
+			GImageMiscOps.fillUniform(inputA, rand, -20,20);
+			GImageMiscOps.fillUniform(inputB, rand, -20,20);
+		} else {
+			GImageMiscOps.fillUniform(inputA, rand, 0,20);
+			GImageMiscOps.fillUniform(inputB, rand, 0,20);
+		}
+
+		Object result = m.invoke(null,inputA,inputB);
+
+		double expected = 0;
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double a = GeneralizedImageOps.get(inputA,j,i);
+				double b = GeneralizedImageOps.get(inputB,j,i);
+				expected += Math.abs(a-b);
+			}
+		}
+
+		// floating point images accumulate the sum using single precision
+		assertEquals(expected, ((Number) result).doubleValue(), expected*1e-5);
+	}
+
 	private void testMeanDiffAbs(Method m) throws InvocationTargetException, IllegalAccessException {
 		Class paramTypes[] = m.getParameterTypes();
 		ImageSingleBand inputA = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
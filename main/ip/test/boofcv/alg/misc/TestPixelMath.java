@@ -22,8 +22,11 @@ import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -43,7 +46,7 @@ public class TestPixelMath {
 
 	@Test
 	public void checkAll() {
-		int numExpected = 2*9+11*8;
+		int numExpected = 2*9+13*8;
 		Method methods[] = PixelMath.class.getMethods();
 
 		// sanity check to make sure the functions are being found
@@ -76,6 +79,11 @@ public class TestPixelMath {
 						testPlus(m);
 					else
 						testPlusBounded(m);
+				} else if( m.getName().compareTo("multiplyPlus") == 0 ) {
+					if( m.getParameterTypes().length == 4 )
+						testMultiplyPlus(m);
+					else
+						testMultiplyPlusBounded(m);
 				} else if( m.getName().compareTo("add") == 0 ) {
 					testAdd(m);
 				} else if( m.getName().compareTo("log") == 0 ) {
@@ -109,6 +117,42 @@ public class TestPixelMath {
 			throw new RuntimeException("Unexpected number of methods: Found "+numFound+"  expected "+numExpected);
 	}
 
+	/**
+	 * Images which are not sub-images are processed as a single row.  Make sure sub-images, which can't be,
+	 * produce the same results.
+	 */
+	@Test
+	public void subimage() {
+		ImageUInt8 inputA = new ImageUInt8(width,height);
+		ImageUInt8 inputB = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(inputA, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputB, rand, 0, 100);
+
+		ImageUInt8 subA = BoofTesting.createSubImageOf(inputA);
+		ImageUInt8 subB = BoofTesting.createSubImageOf(inputB);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = BoofTesting.createSubImageOf(expected);
+
+		PixelMath.multiplyPlus(inputA, 1.5, 10, 20, 120, expected);
+		PixelMath.multiplyPlus(subA, 1.5, 10, 20, 120, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		PixelMath.diffAbs(inputA, inputB, expected);
+		PixelMath.diffAbs(subA, subB, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		ImageSInt16 expected16 = new ImageSInt16(width,height);
+		ImageSInt16 found16 = BoofTesting.createSubImageOf(expected16);
+		PixelMath.subtract(inputA, inputB, expected16);
+		PixelMath.subtract(subA, subB, found16);
+		BoofTesting.assertEquals(expected16, found16, 0);
+
+		PixelMath.boundImage(expected16, -20, 30);
+		PixelMath.boundImage(found16, -20, 30);
+		BoofTesting.assertEquals(expected16, found16, 0);
+	}
+
 	private boolean isTestMethod(Method m ) {
 
 		Class param[] = m.getParameterTypes();
@@ -395,6 +439,60 @@ public class TestPixelMath {
 		}
 	}
 
+	private void testMultiplyPlus( Method m ) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
+		ImageSingleBand output = GeneralizedImageOps.createSingleBand(paramTypes[3], width, height);
+
+		if( input.getDataType().isSigned() ) {
+			GImageMiscOps.fillUniform(input, rand, -20,20);
+		} else {
+			GImageMiscOps.fillUniform(input, rand, 0,20);
+		}
+
+		if( input.getDataType().isInteger() )
+			m.invoke(null,input,2,3,output);
+		else
+			m.invoke(null,input,2.0f,3.0f,output);
+
+		GImageSingleBand a = FactoryGImageSingleBand.wrap(input);
+		GImageSingleBand b = FactoryGImageSingleBand.wrap(output);
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				assertEquals(a.get(j,i).doubleValue()*2+3,b.get(j,i).doubleValue(),1e-4);
+			}
+		}
+	}
+
+	private void testMultiplyPlusBounded( Method m ) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
+		ImageSingleBand output = GeneralizedImageOps.createSingleBand(paramTypes[5], width, height);
+
+		if( input.getDataType().isSigned() ) {
+			GImageMiscOps.fillUniform(input, rand, -20,20);
+		} else {
+			GImageMiscOps.fillUniform(input, rand, 0,20);
+		}
+
+		if( input.getDataType().isInteger() )
+			m.invoke(null,input,2,3,-10,30,output);
+		else
+			m.invoke(null,input,2.0f,3.0f,-10f,30f,output);
+
+		GImageSingleBand a = FactoryGImageSingleBand.wrap(input);
+		GImageSingleBand b = FactoryGImageSingleBand.wrap(output);
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double expected = a.get(j,i).doubleValue()*2+3;
+				if( expected < -10 ) expected = -10;
+				if( expected > 30 ) expected = 30;
+
+				assertEquals(expected,b.get(j,i).doubleValue(),1e-4);
+			}
+		}
+	}
+
 	private void testBound( Method m ) throws InvocationTargetException, IllegalAccessException {
 		Class paramTypes[] = m.getParameterTypes();
 		ImageSingleBand input = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
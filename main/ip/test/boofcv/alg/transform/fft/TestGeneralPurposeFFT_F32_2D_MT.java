@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.fft;
+
+import boofcv.misc.BoofConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGeneralPurposeFFT_F32_2D_MT {
+
+	// tolerance is scaled by the square root of the number of elements, since that's how
+	// the typical magnitude of the transform grows with the size
+	float tol = 1e-4f;
+
+	Random rand = new Random(234);
+
+	int sizes[] = new int[]{1,2,3,16,17,32,100,103};
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void realForwardFull() {
+		for( int i = 0; i < sizes.length; i++ ) {
+			for( int j = 0; j < sizes.length; j++ ) {
+				int rows = sizes[i], cols = sizes[j];
+				float found[] = randomReal(rows, cols);
+				double expected[] = toDouble(found);
+
+				new GeneralPurposeFFT_F64_2D(rows,cols).realForwardFull(expected);
+				new GeneralPurposeFFT_F32_2D_MT(rows,cols).realForwardFull(found);
+
+				checkEquals(expected, found, rows, cols);
+			}
+		}
+	}
+
+	@Test
+	public void realForwardHalf() {
+		for( int i = 0; i < sizes.length; i++ ) {
+			for( int j = 0; j < sizes.length; j++ ) {
+				int rows = sizes[i], cols = sizes[j];
+				int halfCols = cols/2+1;
+				float input[] = randomReal(rows, cols);
+				double full[] = toDouble(input);
+				float found[] = new float[rows*2*halfCols];
+
+				new GeneralPurposeFFT_F64_2D(rows,cols).realForwardFull(full);
+				new GeneralPurposeFFT_F32_2D_MT(rows,cols).realForwardHalf(input, found);
+
+				for( int r = 0; r < rows; r++ ) {
+					for( int c = 0; c < 2*halfCols; c++ ) {
+						assertEquals(full[r*2*cols+c], found[r*2*halfCols+c], tolerance(rows,cols));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void complex() {
+		for( int i = 0; i < sizes.length; i++ ) {
+			for( int j = 0; j < sizes.length; j++ ) {
+				int rows = sizes[i], cols = sizes[j];
+				float found[] = new float[rows*cols*2];
+				for( int k = 0; k < found.length; k++ )
+					found[k] = (float)rand.nextGaussian();
+				double expected[] = toDouble(found);
+
+				GeneralPurposeFFT_F32_2D_MT alg = new GeneralPurposeFFT_F32_2D_MT(rows,cols);
+				GeneralPurposeFFT_F64_2D algExpected = new GeneralPurposeFFT_F64_2D(rows,cols);
+				algExpected.complexForward(expected);
+				alg.complexForward(found);
+				checkEquals(expected, found, rows, cols);
+
+				algExpected.complexInverse(expected, true);
+				alg.complexInverse(found, true);
+				checkEquals(expected, found, rows, cols);
+			}
+		}
+	}
+
+	/**
+	 * Call it multiple times and see if the internal storage is correctly reused
+	 */
+	@Test
+	public void multipleCalls() {
+		GeneralPurposeFFT_F32_2D_MT alg = new GeneralPurposeFFT_F32_2D_MT(40,35);
+		GeneralPurposeFFT_F64_2D expectedAlg = new GeneralPurposeFFT_F64_2D(40,35);
+
+		for( int trial = 0; trial < 3; trial++ ) {
+			float found[] = randomReal(40, 35);
+			double expected[] = toDouble(found);
+
+			expectedAlg.realForwardFull(expected);
+			alg.realForwardFull(found);
+
+			checkEquals(expected, found, 40, 35);
+		}
+	}
+
+	private float[] randomReal( int rows , int cols ) {
+		float a[] = new float[rows*cols*2];
+		for( int i = 0; i < rows*cols; i++ )
+			a[i] = (float)rand.nextGaussian();
+		return a;
+	}
+
+	private double[] toDouble( float a[] ) {
+		double b[] = new double[a.length];
+		for( int i = 0; i < a.length; i++ )
+			b[i] = a[i];
+		return b;
+	}
+
+	private void checkEquals( double expected[] , float found[] , int rows , int cols ) {
+		for( int i = 0; i < expected.length; i++ )
+			assertEquals(expected[i], found[i], tolerance(rows,cols));
+	}
+
+	private double tolerance( int rows , int cols ) {
+		return tol*Math.max(1,Math.sqrt(rows*cols));
+	}
+}
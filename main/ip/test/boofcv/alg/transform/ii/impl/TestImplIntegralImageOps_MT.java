@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageOps_MT {
+
+	Random rand = new Random(234);
+	int width = 150;
+	int height = 101;
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * The image is large enough to be split into several row bands and column blocks.  Results must be
+	 * identical to the single threaded code.
+	 */
+	@Test
+	public void transform() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps_MT.class,"transform");
+		Assert.assertEquals(5, numFound);
+	}
+
+	public void transform( Method m ) {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand integral = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this,"checkTransformResults",true,m,input,integral);
+	}
+
+	public void checkTransformResults(Method m , ImageSingleBand a, ImageSingleBand b)
+			throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+
+		ImageSingleBand expected = (ImageSingleBand)b.clone();
+		Method single = ImplIntegralImageOps.class.getMethod("transform",m.getParameterTypes());
+		single.invoke(null,a,expected);
+
+		m.invoke(null,a,b);
+
+		BoofTesting.assertEquals(expected, b, 0);
+	}
+}
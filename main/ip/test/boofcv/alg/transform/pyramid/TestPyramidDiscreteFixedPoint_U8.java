@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidDiscreteFixedPoint_U8 extends GenericPyramidTests<ImageUInt8> {
+
+	public TestPyramidDiscreteFixedPoint_U8() {
+		super(ImageUInt8.class);
+	}
+
+	@Test
+	public void binomial() {
+		assertArrayEquals(new int[]{1,2,1},PyramidDiscreteFixedPoint_U8.binomial(1));
+		assertArrayEquals(new int[]{1,4,6,4,1},PyramidDiscreteFixedPoint_U8.binomial(2));
+		assertArrayEquals(new int[]{1,6,15,20,15,6,1},PyramidDiscreteFixedPoint_U8.binomial(3));
+	}
+
+	/**
+	 * Compare against the floating point pyramid computed with the same kernel.  Each layer is rounded
+	 * before the next layer is computed, so they can differ by one.  The image size is evenly divisible by
+	 * all the scales since the float version doesn't fill in the last column or row otherwise.
+	 */
+	@Test
+	public void compareToFloat() {
+		ImageUInt8 input = new ImageUInt8(96,120);
+		ImageMiscOps.fillUniform(input,rand,0,256);
+
+		for( int radius = 1; radius <= 3; radius++ ) {
+			compareToFloat(input, radius, 1, 2, 4);
+			compareToFloat(input, radius, 2, 4, 8);
+			compareToFloat(input, radius, 1, 3, 6);
+		}
+	}
+
+	private void compareToFloat( ImageUInt8 input , int radius , int ...scales ) {
+		ImageFloat32 inputF = ConvertImage.convert(input,(ImageFloat32)null);
+
+		PyramidDiscrete<ImageFloat32> expected =
+				FactoryPyramid.discreteBinomial(scales,radius,false,ImageFloat32.class);
+		PyramidDiscreteFixedPoint_U8 alg = new PyramidDiscreteFixedPoint_U8(radius,false,scales);
+
+		expected.process(inputF);
+		alg.process(input);
+
+		for( int i = 0; i < scales.length; i++ ) {
+			ImageUInt8 found = alg.getLayer(i);
+			ImageFloat32 e = expected.getLayer(i);
+			assertEquals(e.width,found.width);
+			assertEquals(e.height,found.height);
+
+			for( int y = 0; y < found.height; y++ ) {
+				for( int x = 0; x < found.width; x++ ) {
+					assertEquals(e.get(x,y),found.get(x,y),1.0 + 1e-4);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Inside the image the result should be the exact 2D weighted sum rounded once
+	 */
+	@Test
+	public void inner_exact() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,256);
+
+		BoofTesting.checkSubImage(this, "inner_exact", true, input);
+	}
+
+	public void inner_exact( ImageUInt8 input ) {
+		int radius = 2;
+		int kernel[] = PyramidDiscreteFixedPoint_U8.binomial(radius);
+		PyramidDiscreteFixedPoint_U8 alg = new PyramidDiscreteFixedPoint_U8(radius,true,1,2);
+
+		alg.process(input);
+
+		ImageUInt8 found = alg.getLayer(1);
+		for( int y = 1; y < found.height-1; y++ ) {
+			for( int x = 1; x < found.width-1; x++ ) {
+				int total = 0;
+				for( int i = -radius; i <= radius; i++ ) {
+					for( int j = -radius; j <= radius; j++ ) {
+						total += input.get(x*2+j,y*2+i)*kernel[i+radius]*kernel[j+radius];
+					}
+				}
+				assertEquals((total+128)/256,found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Inside the updated region each layer should be identical to when the whole image is processed
+	 */
+	@Test
+	public void process_region() {
+		ImageUInt8 input = new ImageUInt8(width+3,height-1);
+		ImageMiscOps.fillUniform(input,rand,0,256);
+
+		ImageRectangle regions[] = new ImageRectangle[]{
+				new ImageRectangle(20,30,40,45),new ImageRectangle(0,0,10,7),
+				new ImageRectangle(70,100,width+3,height-1)};
+
+		for( int[] scales : new int[][]{{1,2,4},{2,4,8},{1,3,6}}) {
+			for( ImageRectangle r : regions ) {
+				PyramidDiscreteFixedPoint_U8 full = new PyramidDiscreteFixedPoint_U8(2,false,scales);
+				PyramidDiscreteFixedPoint_U8 alg = new PyramidDiscreteFixedPoint_U8(2,false,scales);
+
+				full.process(input);
+				alg.process(input,r);
+
+				for( int i = 0; i < scales.length; i++ ) {
+					ImageRectangle a = alg.getRegion(i);
+					ImageUInt8 expected = full.getLayer(i).subimage(a.x0,a.y0,a.x1,a.y1,null);
+					ImageUInt8 found = alg.getLayer(i).subimage(a.x0,a.y0,a.x1,a.y1,null);
+					BoofTesting.assertEquals(expected,found,0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void checkSigmas() {
+		PyramidDiscreteFixedPoint_U8 alg = new PyramidDiscreteFixedPoint_U8(2,true,1,2,4);
+
+		assertEquals(0,alg.getSigma(0),1e-8);
+		assertEquals(1,alg.getSigma(1),1e-8);
+		assertEquals(Math.sqrt(5),alg.getSigma(2),1e-8);
+	}
+
+	@Override
+	protected ImagePyramid<ImageUInt8> createPyramid(int... scales) {
+		return new PyramidDiscreteFixedPoint_U8(2,true,scales);
+	}
+}
@@ -19,7 +19,9 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.pyramid.ImagePyramid;
@@ -89,6 +91,45 @@ public class TestPyramidDiscreteSampleBlur extends GenericPyramidTests<ImageFloa
 		}
 	}
 
+	/**
+	 * Inside the updated region each layer should be the same as when the whole image is processed
+	 */
+	@Test
+	public void process_region() {
+		ImageFloat32 input = new ImageFloat32(width+3,height-1);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+
+		ImageRectangle regions[] = new ImageRectangle[]{
+				new ImageRectangle(20,30,40,45),new ImageRectangle(0,0,10,7),
+				new ImageRectangle(70,100,width+3,height-1)};
+
+		for( int[] scales : new int[][]{{1,2,4},{2,4,8},{1,3,6}}) {
+			for( ImageRectangle r : regions ) {
+				PyramidDiscreteSampleBlur<ImageFloat32> full =
+						new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,scales);
+				PyramidDiscreteSampleBlur<ImageFloat32> alg =
+						new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,scales);
+
+				full.process(input);
+				alg.process(input,r);
+
+				for( int i = 0; i < scales.length; i++ ) {
+					ImageRectangle a = alg.getRegion(i);
+					// the float pyramid doesn't fill in the last column or row when the size isn't divisible
+					int x1 = Math.min(a.x1,input.width/scales[i]);
+					int y1 = Math.min(a.y1,input.height/scales[i]);
+					if( x1 <= a.x0 || y1 <= a.y0 )
+						continue;
+					ImageFloat32 expected = full.getLayer(i).subimage(a.x0,a.y0,x1,y1,null);
+					ImageFloat32 found = alg.getLayer(i).subimage(a.x0,a.y0,x1,y1,null);
+					BoofTesting.assertEquals(expected,found,1e-4);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Makes sure the amount of Gaussian blur in each level is correctly computed
 	 */
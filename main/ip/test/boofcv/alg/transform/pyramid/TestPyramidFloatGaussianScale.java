@@ -20,8 +20,11 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.misc.BoofMiscOps;
@@ -85,6 +88,35 @@ public class TestPyramidFloatGaussianScale extends GenericPyramidTests<ImageFloa
 		BoofTesting.assertEquals(expected,found, 1e-4);
 	}
 
+	/**
+	 * Blur should be applied using the recursive filter when requested
+	 */
+	@Test
+	public void update_recursive() {
+		ImageFloat32 img = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(img,rand,0,100);
+
+		InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(img);
+
+		PyramidFloatGaussianScale<ImageFloat32> alg = new PyramidFloatGaussianScale<ImageFloat32>(interp,scales,sigmas,imageType);
+		alg.setRecursiveBlur(true);
+		alg.process(img);
+
+		ImageFloat32 prev = img;
+		for( int i = 0; i < scales.length; i++ ) {
+			BlurFilter<ImageFloat32> blur = FactoryBlurFilter.gaussianRecursive(ImageFloat32.class, sigmas[i]);
+			ImageFloat32 blurred = new ImageFloat32(prev.width, prev.height);
+			blur.process(prev,blurred);
+
+			ImageFloat32 expected = new ImageFloat32((int)Math.ceil(width/scales[i]),(int)Math.ceil(height/scales[i]));
+			PixelTransformAffine_F32 model = DistortSupport.transformScale(expected,blurred);
+			DistortImageOps.distortSingle(blurred,expected,model,null,interp);
+
+			BoofTesting.assertEquals(expected,alg.getLayer(i),1e-4);
+			prev = expected;
+		}
+	}
+
 	@Override
 	protected ImagePyramid<ImageFloat32> createPyramid(int... scales) {
 		double a[] = BoofMiscOps.convertTo_F64(scales);
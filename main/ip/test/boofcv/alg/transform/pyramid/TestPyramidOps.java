@@ -23,7 +23,10 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
@@ -106,6 +109,46 @@ public class TestPyramidOps {
 		}
 	}
 
+	/**
+	 * Compare against the gradient of the entire pyramid.  Next to the region's edge the results will be different,
+	 * unless it is also the image border.
+	 */
+	@Test
+	public void gradientRegion() {
+		ImageGradient<ImageFloat32,ImageFloat32> gradient = FactoryDerivative.sobel_F32();
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,2);
+
+		PyramidDiscreteSampleBlur<ImageFloat32> full =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,2,ImageFloat32.class,false,scales);
+		PyramidDiscreteSampleBlur<ImageFloat32> alg =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,2,ImageFloat32.class,false,scales);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		full.process(input);
+		alg.process(input,new ImageRectangle(0,20,30,35));
+
+		ImageFloat32[] expectedX = PyramidOps.declareOutput(full,ImageFloat32.class);
+		ImageFloat32[] expectedY = PyramidOps.declareOutput(full,ImageFloat32.class);
+		ImageFloat32[] foundX = PyramidOps.declareOutput(alg,ImageFloat32.class);
+		ImageFloat32[] foundY = PyramidOps.declareOutput(alg,ImageFloat32.class);
+
+		PyramidOps.gradient(full, gradient, expectedX, expectedY);
+		PyramidOps.gradientRegion(alg, gradient, foundX, foundY);
+
+		for( int i = 0; i < scales.length; i++ ) {
+			ImageRectangle r = alg.getRegion(i);
+			int x0 = r.x0 == 0 ? 0 : r.x0 + 1;
+			int y0 = r.y0 == 0 ? 0 : r.y0 + 1;
+			int x1 = r.x1 == alg.getWidth(i) ? r.x1 : r.x1 - 1;
+			int y1 = r.y1 == alg.getHeight(i) ? r.y1 : r.y1 - 1;
+
+			BoofTesting.assertEquals(expectedX[i].subimage(x0,y0,x1,y1,null),foundX[i].subimage(x0,y0,x1,y1,null),1e-4);
+			BoofTesting.assertEquals(expectedY[i].subimage(x0,y0,x1,y1,null),foundY[i].subimage(x0,y0,x1,y1,null),1e-4);
+		}
+	}
+
 	@Test
 	public void hessian() {
 		ImageHessian<ImageFloat32> gradient = FactoryDerivative.hessianThree(ImageFloat32.class);
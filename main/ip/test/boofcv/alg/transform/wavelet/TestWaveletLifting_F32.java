@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.transform.wavelet.FactoryWaveletCoiflet;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.factory.transform.wavelet.FactoryWaveletHaar;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageDimension;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWaveletLifting_F32 {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void isSupported() {
+		for( WaveletDescription<WlCoef_F32> desc : supported() )
+			assertTrue(WaveletLifting_F32.isSupported(desc));
+
+		assertFalse(WaveletLifting_F32.isSupported(FactoryWaveletCoiflet.generate_F32(6)));
+	}
+
+	/**
+	 * Compare against the transform computed using convolution
+	 */
+	@Test
+	public void compareToWaveletTransformOps() {
+		for( WaveletDescription<WlCoef_F32> desc : supported() ) {
+			for( int numLevels = 1; numLevels <= 3; numLevels++ ) {
+				compareToWaveletTransformOps(desc,40,32,numLevels);
+				compareToWaveletTransformOps(desc,30,41,numLevels);
+				compareToWaveletTransformOps(desc,35,27,numLevels);
+			}
+		}
+	}
+
+	private void compareToWaveletTransformOps( WaveletDescription<WlCoef_F32> desc ,
+											   int width , int height , int numLevels ) {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+		ImageFloat32 inputCopy = input.clone();
+
+		ImageDimension d = UtilWavelet.transformDimension(input,numLevels);
+		ImageFloat32 expected = new ImageFloat32(d.width,d.height);
+		ImageFloat32 found = new ImageFloat32(d.width,d.height);
+
+		WaveletTransformOps.transformN(desc,input.clone(),expected,null,numLevels);
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc);
+		alg.transformN(input,found,numLevels);
+
+		BoofTesting.assertEquals(inputCopy,input,0);
+		BoofTesting.assertEquals(expected,found,1e-3);
+	}
+
+	@Test
+	public void inverse() {
+		for( WaveletDescription<WlCoef_F32> desc : supported() ) {
+			for( int numLevels = 1; numLevels <= 3; numLevels++ ) {
+				inverse(desc,40,32,numLevels);
+				inverse(desc,30,41,numLevels);
+				inverse(desc,35,27,numLevels);
+			}
+		}
+	}
+
+	private void inverse( WaveletDescription<WlCoef_F32> desc , int width , int height , int numLevels ) {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		ImageDimension d = UtilWavelet.transformDimension(input,numLevels);
+		ImageFloat32 transform = new ImageFloat32(d.width,d.height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc);
+		alg.transformN(input,transform,numLevels);
+		alg.inverseN(transform,found,numLevels,-Float.MAX_VALUE,Float.MAX_VALUE);
+
+		BoofTesting.assertEquals(input,found,1e-3);
+	}
+
+	@Test
+	public void subimage() {
+		WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.daubJ_F32(4);
+
+		ImageFloat32 input = new ImageFloat32(30,41);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		ImageDimension d = UtilWavelet.transformDimension(input,2);
+		ImageFloat32 expected = new ImageFloat32(d.width,d.height);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(d.width,d.height));
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc);
+		alg.transformN(input,expected,2);
+		alg.transformN(BoofTesting.createSubImageOf(input),found,2);
+		BoofTesting.assertEquals(expected,found,0);
+
+		ImageFloat32 reconstructed = BoofTesting.createSubImageOf(new ImageFloat32(30,41));
+		alg.inverseN(found,reconstructed,2,-Float.MAX_VALUE,Float.MAX_VALUE);
+		BoofTesting.assertEquals(input,reconstructed,1e-3);
+	}
+
+	/**
+	 * Processing rows and blocks of columns in parallel should produce the same results
+	 */
+	@Test
+	public void concurrent() {
+		WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.biorthogonal_F32(5,BorderType.REFLECT);
+
+		ImageFloat32 input = new ImageFloat32(70,60);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		ImageDimension d = UtilWavelet.transformDimension(input,3);
+		ImageFloat32 expected = new ImageFloat32(d.width,d.height);
+		ImageFloat32 found = new ImageFloat32(d.width,d.height);
+		ImageFloat32 expectedInv = new ImageFloat32(input.width,input.height);
+		ImageFloat32 foundInv = new ImageFloat32(input.width,input.height);
+
+		WaveletLifting_F32 alg = new WaveletLifting_F32(desc);
+		alg.transformN(input,expected,3);
+		alg.inverseN(expected.clone(),expectedInv,3,0,100);
+
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBandHeight = WaveletLifting_F32.MIN_BAND_HEIGHT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			BoofConcurrency.setMaxThreads(4);
+			WaveletLifting_F32.MIN_BAND_HEIGHT = 3;
+
+			alg.transformN(input,found,3);
+			alg.inverseN(found.clone(),foundInv,3,0,100);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			WaveletLifting_F32.MIN_BAND_HEIGHT = originalBandHeight;
+		}
+
+		BoofTesting.assertEquals(expected,found,0);
+		BoofTesting.assertEquals(expectedInv,foundInv,0);
+	}
+
+	private List<WaveletDescription<WlCoef_F32>> supported() {
+		List<WaveletDescription<WlCoef_F32>> list = new ArrayList<WaveletDescription<WlCoef_F32>>();
+		list.add(FactoryWaveletHaar.<WlCoef_F32>generate(false,32));
+		list.add(FactoryWaveletDaub.daubJ_F32(4));
+		list.add(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.REFLECT));
+		list.add(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.WRAP));
+		return list;
+	}
+}
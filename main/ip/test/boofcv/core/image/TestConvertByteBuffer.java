@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertByteBuffer {
+
+	Random rand = new Random(234);
+
+	int width = 10;
+	int height = 15;
+
+	@Test
+	public void singleBand_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( int i = 0; i < 2; i++ ) {
+			ImageUInt8 in = i == 0 ? input : BoofTesting.createSubImageOf(input);
+
+			ImageByteBuffer buffer = createBuffer(width, height, 1, ImageDataType.U8, i == 1);
+			ConvertByteBuffer.convert(in, buffer);
+			check(in, buffer);
+
+			ImageUInt8 found = new ImageUInt8(width,height);
+			if( i == 1 )
+				found = BoofTesting.createSubImageOf(found);
+			ConvertByteBuffer.convert(buffer, found);
+			BoofTesting.assertEquals(in, found, 1e-8);
+
+			// U8 into float
+			ImageFloat32 foundF = ConvertByteBuffer.convert(buffer, (ImageFloat32)null);
+			BoofTesting.assertEquals(in, foundF, 1e-8);
+		}
+	}
+
+	@Test
+	public void singleBand_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, -100, 100);
+
+		for( int i = 0; i < 2; i++ ) {
+			ImageFloat32 in = i == 0 ? input : BoofTesting.createSubImageOf(input);
+
+			ImageByteBuffer buffer = createBuffer(width, height, 1, ImageDataType.F32, i == 1);
+			ConvertByteBuffer.convert(in, buffer);
+			check(in, buffer);
+
+			ImageFloat32 found = new ImageFloat32(width,height);
+			if( i == 1 )
+				found = BoofTesting.createSubImageOf(found);
+			ConvertByteBuffer.convert(buffer, found);
+			BoofTesting.assertEquals(in, found, 1e-8);
+		}
+	}
+
+	@Test
+	public void interleaved_U8() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( int i = 0; i < 2; i++ ) {
+			InterleavedU8 in = i == 0 ? input : BoofTesting.createSubImageOf(input);
+
+			ImageByteBuffer buffer = createBuffer(width, height, 3, ImageDataType.U8, i == 1);
+			ConvertByteBuffer.convert(in, buffer);
+			check(in, buffer);
+
+			InterleavedU8 found = ConvertByteBuffer.convert(buffer, (InterleavedU8)null);
+			BoofTesting.assertEquals(in, found, 1e-8);
+		}
+	}
+
+	@Test
+	public void interleaved_F32() {
+		InterleavedF32 input = new InterleavedF32(width,height,2);
+		GImageMiscOps.fillUniform(input, rand, -100, 100);
+
+		for( int i = 0; i < 2; i++ ) {
+			InterleavedF32 in = i == 0 ? input : BoofTesting.createSubImageOf(input);
+
+			ImageByteBuffer buffer = createBuffer(width, height, 2, ImageDataType.F32, i == 1);
+			ConvertByteBuffer.convert(in, buffer);
+			check(in, buffer);
+
+			InterleavedF32 found = ConvertByteBuffer.convert(buffer, (InterleavedF32)null);
+			BoofTesting.assertEquals(in, found, 1e-8);
+		}
+	}
+
+	/**
+	 * If the buffer is backed by an array then the image should reference the array and not copy it
+	 */
+	@Test
+	public void wrapArray_U8() {
+		byte array[] = new byte[ 5 + (width+3)*(height+2) ];
+		for( int i = 0; i < array.length; i++ )
+			array[i] = (byte)rand.nextInt(256);
+
+		// the buffer starts part way into the array and the image is a sub-image
+		ByteBuffer data = ByteBuffer.wrap(array,5,array.length-5).slice();
+		ImageByteBuffer larger = new ImageByteBuffer(data,width+3,height+2,1,ImageDataType.U8);
+		ImageByteBuffer buffer = larger.subimage(2,1,width+2,height+1,null);
+
+		for( int i = 0; i < 2; i++ ) {
+			ImageUInt8 found = i == 0 ? null : new ImageUInt8(width,height);
+			found = ConvertByteBuffer.convert(buffer, found);
+
+			assertTrue(array == found.data);
+			assertTrue(found.isSubimage());
+			assertEquals(ImageType.Family.SINGLE_BAND, found.getImageType().getFamily());
+			check(found, buffer);
+
+			// changes to one should be seen in the other
+			found.set(3, 4, 123);
+			assertEquals(123, buffer.get(3, 4, 0), 1e-8);
+		}
+	}
+
+	@Test
+	public void wrapArray_interleaved_U8() {
+		ImageByteBuffer buffer = new ImageByteBuffer(ByteBuffer.allocate(width*height*3),width,height,3,
+				ImageDataType.U8);
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ConvertByteBuffer.convert(input, buffer);
+
+		InterleavedU8 found = ConvertByteBuffer.convert(buffer, (InterleavedU8)null);
+
+		assertTrue(buffer.data.array() == found.data);
+		assertEquals(3, found.numBands);
+		assertEquals(ImageType.Family.INTERLEAVED, found.getImageType().getFamily());
+		assertEquals(3, found.getImageType().getNumBands());
+		BoofTesting.assertEquals(input, found, 1e-8);
+
+		found.setBand(3, 4, 2, (byte)123);
+		assertEquals(123, buffer.get(3, 4, 2), 1e-8);
+		input.setBand(3, 4, 2, (byte)123);
+
+		// a read only buffer has no accessible array and must be copied
+		ImageByteBuffer readOnly = new ImageByteBuffer(buffer.data.asReadOnlyBuffer(),width,height,3,
+				ImageDataType.U8);
+		found = ConvertByteBuffer.convert(readOnly, (InterleavedU8)null);
+		assertTrue(buffer.data.array() != found.data);
+		assertFalse(found.isSubimage());
+		BoofTesting.assertEquals(input, found, 1e-8);
+	}
+
+	/**
+	 * The buffer's byte order should be respected
+	 */
+	@Test
+	public void byteOrder() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, -100, 100);
+
+		ByteOrder orders[] = new ByteOrder[]{ByteOrder.BIG_ENDIAN,ByteOrder.LITTLE_ENDIAN};
+		for( ByteOrder order : orders ) {
+			ImageByteBuffer buffer = new ImageByteBuffer(width,height,1,ImageDataType.F32);
+			buffer.data.order(order);
+
+			ConvertByteBuffer.convert(input, buffer);
+			assertEquals(input.get(3,4), buffer.data.getFloat(buffer.getIndex(3,4)*4), 1e-8);
+		}
+	}
+
+	@Test
+	public void wrongType() {
+		try {
+			ConvertByteBuffer.convert(new ImageByteBuffer(width,height,1,ImageDataType.S16), (ImageUInt8)null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+
+		try {
+			ConvertByteBuffer.convert(new ImageByteBuffer(width,height,2,ImageDataType.U8), (ImageUInt8)null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	private ImageByteBuffer createBuffer( int width , int height , int numBands , ImageDataType type , boolean sub ) {
+		if( !sub )
+			return new ImageByteBuffer(width,height,numBands,type);
+		ImageByteBuffer larger = new ImageByteBuffer(width+3,height+2,numBands,type);
+		return larger.subimage(2,1,width+2,height+1,null);
+	}
+
+	private void check( ImageBase expected , ImageByteBuffer found ) {
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				for( int band = 0; band < found.numBands; band++ ) {
+					double value;
+					if( expected instanceof ImageSingleBand )
+						value = GeneralizedImageOps.get((ImageSingleBand) expected, x, y);
+					else
+						value = GeneralizedImageOps.get((ImageInterleaved)expected,x,y,band);
+					assertEquals(value, found.get(x, y, band), 1e-8);
+				}
+			}
+		}
+	}
+}
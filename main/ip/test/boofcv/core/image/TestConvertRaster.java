@@ -120,12 +120,54 @@ public class TestConvertRaster {
 		assertEquals(2005, out.get(0, 0));
 	}
 
+	/**
+	 * Copies the raster's bytes to and from a byte buffer without modifying them
+	 */
+	@Test
+	public void byteBuffer() {
+		int types[] = new int[]{BufferedImage.TYPE_3BYTE_BGR,BufferedImage.TYPE_4BYTE_ABGR,BufferedImage.TYPE_BYTE_GRAY};
+
+		for( int type : types ) {
+			BufferedImage img = createByteBuffByType(imgWidth, imgHeight, type, rand);
+			BufferedImage sub = img.getSubimage(1, 2, imgWidth - 1, imgHeight - 2);
+			int numBands = img.getRaster().getNumBands();
+
+			ImageByteBuffer buffer = new ImageByteBuffer(sub.getWidth(),sub.getHeight(),numBands,ImageDataType.U8);
+			ConvertRaster.bufferedToByteBuffer((ByteInterleavedRaster) sub.getRaster(), buffer);
+
+			for( int y = 0; y < sub.getHeight(); y++ ) {
+				for( int x = 0; x < sub.getWidth(); x++ ) {
+					for( int band = 0; band < numBands; band++ ) {
+						int expected = sub.getRaster().getSample(x, y, band);
+						// raster bands are numbered in RGB order while the bytes are stored in reverse order
+						assertEquals(expected, (int) buffer.get(x, y, numBands - 1 - band));
+					}
+				}
+			}
+
+			BufferedImage found = new BufferedImage(sub.getWidth(),sub.getHeight(),type);
+			ConvertRaster.byteBufferToBuffered(buffer, (ByteInterleavedRaster) found.getRaster());
+
+			for( int y = 0; y < sub.getHeight(); y++ ) {
+				for( int x = 0; x < sub.getWidth(); x++ ) {
+					for( int band = 0; band < numBands; band++ ) {
+						assertEquals(sub.getRaster().getSample(x, y, band), found.getRaster().getSample(x, y, band));
+					}
+				}
+			}
+		}
+	}
+
 	private boolean isTestMethod(Method m) {
 		Class<?> types[] = m.getParameterTypes();
 
 		if (types.length != 2)
 			return false;
 
+		// tested separately
+		if (types[0] == ImageByteBuffer.class || types[1] == ImageByteBuffer.class)
+			return false;
+
 		if (ImageBase.class.isAssignableFrom(types[0]) ||
 				ImageBase.class.isAssignableFrom(types[1]))
 			return true;
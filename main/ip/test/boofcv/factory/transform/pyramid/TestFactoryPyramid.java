@@ -18,8 +18,13 @@
 
 package boofcv.factory.transform.pyramid;
 
+import boofcv.alg.transform.pyramid.PyramidDiscreteFixedPoint_U8;
+import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
 import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
 import org.junit.Test;
 
@@ -47,4 +52,22 @@ public class TestFactoryPyramid {
 				assertTrue(Math.abs(ss[i] - ((PyramidFloatGaussianScale)pyramid).getSigmaLayers()[i])>0.1);
 		}
 	}
+
+	/**
+	 * The fixed point pyramid should only be used for ImageUInt8
+	 */
+	@Test
+	public void discreteBinomial() {
+		int scales[] = new int[]{1,2,4};
+
+		PyramidDiscrete a = FactoryPyramid.discreteBinomial(scales,2,false,ImageUInt8.class);
+		PyramidDiscrete b = FactoryPyramid.discreteBinomial(scales,2,false,ImageSInt16.class);
+		PyramidDiscrete c = FactoryPyramid.discreteBinomial(scales,2,false,ImageFloat32.class);
+
+		assertTrue(a instanceof PyramidDiscreteFixedPoint_U8);
+		assertTrue(b instanceof PyramidDiscreteSampleBlur);
+		assertTrue(c instanceof PyramidDiscreteSampleBlur);
+
+		assertEquals(a.getSigma(2),c.getSigma(2),1e-8);
+	}
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_coverage() {
+		final int counts[] = new int[103];
+		final AtomicInteger numBlocks = new AtomicInteger();
+
+		BoofConcurrency.loopBlocks(3, counts.length, 5, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				numBlocks.incrementAndGet();
+				for( int i = index0; i < index1; i++ )
+					counts[i]++;
+			}
+		});
+
+		assertEquals(4, numBlocks.get());
+		for( int i = 0; i < counts.length; i++ )
+			assertEquals(i < 3 ? 0 : 1, counts[i]);
+	}
+
+	/**
+	 * Ranges smaller than the minimum block size are not split up
+	 */
+	@Test
+	public void loopBlocks_minBlock() {
+		final AtomicInteger numBlocks = new AtomicInteger();
+
+		BoofConcurrency.loopBlocks(0, 15, 8, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				numBlocks.incrementAndGet();
+				assertEquals(0, index0);
+				assertEquals(15, index1);
+			}
+		});
+
+		assertEquals(1, numBlocks.get());
+	}
+
+	/**
+	 * Nested calls should be processed by the thread which made the call
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		final AtomicInteger total = new AtomicInteger();
+
+		BoofConcurrency.loopBlocks(0, 40, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				final Thread outer = Thread.currentThread();
+				BoofConcurrency.loopBlocks(index0, index1, 1, new IntRangeTask() {
+					@Override
+					public void process(int i0, int i1) {
+						assertTrue(outer == Thread.currentThread());
+						total.addAndGet(i1-i0);
+					}
+				});
+			}
+		});
+
+		assertEquals(40, total.get());
+	}
+
+	/**
+	 * An exception inside a worker thread should be thrown by the calling thread
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		try {
+			BoofConcurrency.loopBlocks(0, 40, 1, new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					if( index0 > 0 )
+						throw new IllegalArgumentException("Foo");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException e ) {
+			assertEquals("Foo",e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBinaryPacked {
+
+	@Test
+	public void constructor() {
+		ImageBinaryPacked img = new ImageBinaryPacked(65,3);
+
+		assertEquals(65,img.width);
+		assertEquals(3,img.height);
+		assertEquals(2,img.stride);
+		assertEquals(6,img.data.length);
+
+		img = new ImageBinaryPacked(64,3);
+		assertEquals(1,img.stride);
+	}
+
+	@Test
+	public void get_set() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,4);
+
+		img.set(0,0,1);
+		img.set(63,1,1);
+		img.set(64,1,1);
+		img.set(129,3,5);
+
+		assertEquals(1,img.get(0,0));
+		assertEquals(1,img.get(63,1));
+		assertEquals(1,img.get(64,1));
+		assertEquals(1,img.get(129,3));
+		assertEquals(0,img.get(1,0));
+		assertEquals(0,img.get(62,1));
+		assertEquals(0,img.get(65,1));
+
+		assertEquals(1L,img.data[0]);
+		assertEquals(1L << 63,img.data[3]);
+		assertEquals(1L,img.data[4]);
+		assertEquals(2L,img.data[11]);
+
+		img.set(64,1,0);
+		assertEquals(0,img.get(64,1));
+		assertEquals(1,img.get(63,1));
+	}
+
+	@Test
+	public void get_set_outOfBounds() {
+		ImageBinaryPacked img = new ImageBinaryPacked(10,4);
+
+		try {
+			img.get(10,0);
+			fail("Should have thrown an exception");
+		} catch( ImageAccessException ignore ) {}
+
+		try {
+			img.set(0,-1,1);
+			fail("Should have thrown an exception");
+		} catch( ImageAccessException ignore ) {}
+	}
+
+	@Test
+	public void reshape() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,4);
+		for( int i = 0; i < img.data.length; i++ )
+			img.data[i] = -1;
+		long[] original = img.data;
+
+		img.reshape(70,2);
+		assertEquals(70,img.width);
+		assertEquals(2,img.height);
+		assertEquals(2,img.stride);
+		assertEquals(original,img.data);
+		for( int i = 0; i < 4; i++ )
+			assertEquals(0,img.data[i]);
+
+		img.reshape(200,10);
+		assertEquals(4,img.stride);
+		assertEquals(40,img.data.length);
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(1L,new ImageBinaryPacked(1,1).getLastWordMask());
+		assertEquals(-1L,new ImageBinaryPacked(64,1).getLastWordMask());
+		assertEquals(0x7L,new ImageBinaryPacked(67,1).getLastWordMask());
+	}
+
+	@Test
+	public void setTo_clone() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,3);
+		img.set(5,1,1);
+		img.set(69,2,1);
+
+		ImageBinaryPacked copy = new ImageBinaryPacked(10,10);
+		copy.setTo(img);
+		assertEquals(70,copy.width);
+		assertEquals(3,copy.height);
+		assertEquals(1,copy.get(5,1));
+		assertEquals(1,copy.get(69,2));
+
+		ImageBinaryPacked c = img.clone();
+		assertEquals(1,c.get(5,1));
+		assertEquals(1,c.get(69,2));
+		assertEquals(0,c.get(6,1));
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageByteBuffer {
+
+	ImageDataType types[] = new ImageDataType[]{ImageDataType.U8,ImageDataType.S16,ImageDataType.F32,ImageDataType.F64};
+
+	/**
+	 * The image should read and write the wrapped buffer
+	 */
+	@Test
+	public void wrap() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(5*4*2*4).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putFloat((2*5*2 + 3*2 + 1)*4, 2.5f);
+
+		ImageByteBuffer img = new ImageByteBuffer(buffer,5,4,2,ImageDataType.F32);
+		assertTrue(buffer == img.data);
+		assertEquals(10, img.stride);
+		assertEquals(2.5f, img.get(3, 2, 1), 1e-8);
+
+		img.set(4, 3, 0, 6);
+		assertEquals(6f, buffer.getFloat(img.getIndex(4, 3, 0) * 4), 1e-8);
+
+		// buffer is too small
+		try {
+			new ImageByteBuffer(buffer,5,5,2,ImageDataType.F32);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void get_set() {
+		for( ImageDataType type : types ) {
+			ImageByteBuffer img = new ImageByteBuffer(5,4,3,type);
+			assertTrue(img.data.isDirect());
+
+			img.set(1, 2, 2, 120);
+			assertEquals(120, img.get(1, 2, 2), 1e-8);
+			assertEquals(0, img.get(1, 2, 1), 1e-8);
+			assertEquals(0, img.get(2, 2, 2), 1e-8);
+		}
+
+		// unsigned values
+		ImageByteBuffer img = new ImageByteBuffer(5,4,1,ImageDataType.U8);
+		img.set(1, 1, 0, 250);
+		assertEquals(250, img.get(1, 1, 0), 1e-8);
+	}
+
+	@Test
+	public void subimage() {
+		ImageByteBuffer img = new ImageByteBuffer(10,8,2,ImageDataType.S16);
+		img.set(4,5,1,23);
+
+		ImageByteBuffer sub = img.subimage(2,3,6,8,null);
+		assertTrue(sub.isSubimage());
+		assertTrue(img.data == sub.data);
+		assertEquals(4, sub.width);
+		assertEquals(5, sub.height);
+		assertEquals(img.stride, sub.stride);
+		assertEquals(23, sub.get(2, 2, 1), 1e-8);
+	}
+
+	@Test
+	public void setTo() {
+		ImageByteBuffer src = new ImageByteBuffer(10,8,2,ImageDataType.F32);
+		for( int y = 0; y < src.height; y++ )
+			for( int x = 0; x < src.width; x++ )
+				for( int band = 0; band < 2; band++ )
+					src.set(x,y,band,y*100+x*2+band);
+
+		// both regular and sub-images
+		ImageByteBuffer dst = new ImageByteBuffer(4,5,2,ImageDataType.F32);
+		ImageByteBuffer subSrc = src.subimage(2,3,6,8,null);
+		dst.setTo(subSrc);
+		check(subSrc,dst);
+
+		ImageByteBuffer subDst = new ImageByteBuffer(10,8,2,ImageDataType.F32).subimage(1,1,5,6,null);
+		subDst.setTo(subSrc);
+		check(subSrc,subDst);
+
+		// the data type must match
+		try {
+			new ImageByteBuffer(4,5,2,ImageDataType.S32).setTo(subSrc);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void reshape() {
+		ImageByteBuffer img = new ImageByteBuffer(10,8,2,ImageDataType.F32);
+		ByteBuffer original = img.data;
+
+		img.reshape(5,6);
+		assertTrue(original == img.data);
+		assertEquals(5, img.width);
+		assertEquals(6, img.height);
+		assertEquals(10, img.stride);
+
+		img.reshape(20,8);
+		assertTrue(original != img.data);
+		assertTrue(img.data.capacity() >= 20*8*2*4);
+	}
+
+	@Test
+	public void _createNew() {
+		ImageByteBuffer img = new ImageByteBuffer(10,8,2,ImageDataType.S16);
+		img.data.order(ByteOrder.BIG_ENDIAN);
+
+		ImageByteBuffer found = img._createNew(4,5);
+		assertEquals(4,found.width);
+		assertEquals(5,found.height);
+		assertEquals(2,found.numBands);
+		assertEquals(ImageDataType.S16,found.dataType);
+		assertEquals(ByteOrder.BIG_ENDIAN,found.data.order());
+	}
+
+	private void check( ImageByteBuffer expected , ImageByteBuffer found ) {
+		for( int y = 0; y < expected.height; y++ )
+			for( int x = 0; x < expected.width; x++ )
+				for( int band = 0; band < expected.numBands; band++ )
+					assertEquals(expected.get(x,y,band),found.get(x,y,band),1e-8);
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.core.image.GeneralizedImageOps;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void borrow_release() {
+		ImagePool alg = new ImagePool(5);
+
+		ImageFloat32 a = alg.borrow(ImageFloat32.class, 10, 20);
+		assertEquals(10, a.width);
+		assertEquals(20, a.height);
+		assertEquals(0, alg.size());
+
+		alg.release(a);
+		assertEquals(1, alg.size());
+
+		// wrong shape or type
+		assertTrue(a != alg.borrow(ImageFloat32.class, 11, 20));
+		assertTrue(a != (Object)alg.borrow(ImageUInt8.class, 10, 20));
+		assertTrue(a != (Object)alg.borrow(ImageType.ms(1, ImageFloat32.class), 10, 20));
+		assertEquals(1, alg.size());
+
+		// correct shape and type
+		assertTrue(a == alg.borrow(ImageFloat32.class, 10, 20));
+		assertEquals(0, alg.size());
+	}
+
+	@Test
+	public void borrow_multiBand() {
+		ImagePool alg = new ImagePool(5);
+
+		ImageType<MultiSpectral<ImageUInt8>> type = ImageType.ms(3, ImageUInt8.class);
+		MultiSpectral<ImageUInt8> a = alg.borrow(type, 10, 20);
+		assertEquals(3, a.getNumBands());
+		alg.release(a);
+
+		assertTrue(a != alg.borrow(ImageType.ms(2, ImageUInt8.class), 10, 20));
+		assertTrue(a != (Object)alg.borrow(ImageType.interleaved(3, InterleavedU8.class), 10, 20));
+		assertTrue(a == alg.borrow(type, 10, 20));
+	}
+
+	@Test
+	public void take() {
+		ImagePool alg = new ImagePool(5);
+
+		assertNull(alg.take(ImageUInt8.class, 10, 20));
+
+		ImageUInt8 a = new ImageUInt8(10,20);
+		alg.release(a);
+		assertNull(alg.take(ImageUInt8.class, 10, 21));
+		assertTrue(a == alg.take(ImageUInt8.class, 10, 20));
+		assertNull(alg.take(ImageUInt8.class, 10, 20));
+	}
+
+	/**
+	 * When full the oldest image should be discarded
+	 */
+	@Test
+	public void maxImages() {
+		ImagePool alg = new ImagePool(2);
+
+		ImageUInt8 a = new ImageUInt8(10,20);
+		ImageUInt8 b = new ImageUInt8(10,20);
+		ImageUInt8 c = new ImageUInt8(10,20);
+
+		alg.release(a, b, c);
+		assertEquals(2, alg.size());
+		assertTrue(c == alg.take(ImageUInt8.class, 10, 20));
+		assertTrue(b == alg.take(ImageUInt8.class, 10, 20));
+		assertNull(alg.take(ImageUInt8.class, 10, 20));
+
+		// caching is turned off
+		alg.setMaxImages(0);
+		alg.release(a);
+		assertEquals(0, alg.size());
+	}
+
+	@Test
+	public void release_bad() {
+		ImagePool alg = new ImagePool(5);
+
+		ImageUInt8 a = new ImageUInt8(10,20);
+		alg.release(a, null);
+
+		try {
+			alg.release(a);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+
+		try {
+			alg.release(a.subimage(0,0,5,5,null));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	/**
+	 * Images released in one thread can't be borrowed by another thread
+	 */
+	@Test
+	public void threadLocal() throws InterruptedException {
+		final ImagePool alg = new ImagePool(5);
+		alg.release(new ImageUInt8(10,20));
+
+		final AtomicReference<ImageUInt8> found = new AtomicReference<ImageUInt8>();
+		Thread t = new Thread() {
+			@Override
+			public void run() {
+				found.set(alg.take(ImageUInt8.class, 10, 20));
+			}
+		};
+		t.start();
+		t.join();
+
+		assertNull(found.get());
+		assertEquals(1, alg.size());
+	}
+
+	/**
+	 * Images created by GeneralizedImageOps should come from the global pool and be filled with zero
+	 */
+	@Test
+	public void global_createSingleBand() {
+		ImagePool global = ImagePool.getGlobal();
+		global.clear();
+
+		ImageFloat32 a = new ImageFloat32(10,20);
+		a.set(2, 3, 5);
+		global.release(a);
+
+		ImageFloat32 found = GeneralizedImageOps.createSingleBand(ImageFloat32.class, 10, 20);
+		assertTrue(a == found);
+		assertEquals(0, found.get(2, 3), 1e-8);
+
+		global.release(a);
+		found = FactoryImage.create(ImageFloat32.class, 10, 20);
+		assertTrue(a == found);
+		assertEquals(0, global.size());
+	}
+
+	/**
+	 * Images created by FactoryImage should be filled with zero for each type of image data
+	 */
+	@Test
+	public void global_FactoryImage() {
+		ImagePool global = ImagePool.getGlobal();
+		global.clear();
+
+		ImageUInt8 u8 = new ImageUInt8(10,20);
+		ImageSInt16 s16 = new ImageSInt16(10,20);
+		ImageSInt32 s32 = new ImageSInt32(10,20);
+		ImageFloat32 f32 = new ImageFloat32(10,20);
+		u8.set(2, 3, 5);
+		s16.set(9, 19, 5);
+		s32.set(0, 0, 5);
+		f32.set(2, 3, 5);
+		global.release(u8, s16, s32, f32);
+
+		assertTrue(u8 == FactoryImage.create(ImageUInt8.class, 10, 20));
+		assertTrue(s16 == FactoryImage.create(ImageSInt16.class, 10, 20));
+		assertTrue(s32 == FactoryImage.create(ImageSInt32.class, 10, 20));
+		assertTrue(f32 == FactoryImage.create(ImageFloat32.class, 10, 20));
+
+		assertEquals(0, u8.get(2, 3));
+		assertEquals(0, s16.get(9, 19));
+		assertEquals(0, s32.get(0, 0));
+		assertEquals(0, f32.get(2, 3), 1e-8);
+		assertEquals(0, global.size());
+	}
+}
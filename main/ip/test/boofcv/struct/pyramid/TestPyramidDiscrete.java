@@ -18,6 +18,7 @@
 
 package boofcv.struct.pyramid;
 
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 import org.junit.Test;
@@ -72,6 +73,56 @@ public class TestPyramidDiscrete {
 		} catch( RuntimeException e ){}
 	}
 
+	/**
+	 * Compare the region in each layer against hand computed solutions
+	 */
+	@Test
+	public void computeRegions() {
+		DummyDiscrete<ImageUInt8> pyramid = new DummyDiscrete<ImageUInt8>(ImageUInt8.class,false);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,200);
+
+		pyramid.computeRegions(new ImageRectangle(40,60,50,80),2);
+		checkRegion(pyramid.getRegion(2),10,15,13,20);
+		checkRegion(pyramid.getRegion(1),18,28,27,41);
+		checkRegion(pyramid.getRegion(0),34,54,55,83);
+
+		// clipped by the image border
+		pyramid.computeRegions(new ImageRectangle(0,190,10,200),2);
+		checkRegion(pyramid.getRegion(2),0,47,3,50);
+		checkRegion(pyramid.getRegion(1),0,92,7,100);
+		checkRegion(pyramid.getRegion(0),0,182,15,200);
+
+		// entire image
+		pyramid.computeRegions(null,2);
+		for( int i = 0; i < 3; i++ )
+			checkRegion(pyramid.getRegion(i),0,0,pyramid.getWidth(i),pyramid.getHeight(i));
+	}
+
+	/**
+	 * If no region has been specified it should be the entire image
+	 */
+	@Test
+	public void getRegion_default() {
+		DummyDiscrete<ImageUInt8> pyramid = new DummyDiscrete<ImageUInt8>(ImageUInt8.class,false);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,200);
+
+		checkRegion(pyramid.getRegion(1),0,0,50,100);
+
+		// changing the image size should reset it
+		pyramid.computeRegions(new ImageRectangle(40,60,50,80),2);
+		pyramid.initialize(60,80);
+		checkRegion(pyramid.getRegion(1),0,0,30,40);
+	}
+
+	private void checkRegion( ImageRectangle r , int x0 , int y0 , int x1 , int y1 ) {
+		assertEquals(x0,r.x0);
+		assertEquals(y0,r.y0);
+		assertEquals(x1,r.x1);
+		assertEquals(y1,r.y1);
+	}
+
 	private static class DummyDiscrete<T extends ImageSingleBand> extends PyramidDiscrete<T> {
 
 		public DummyDiscrete(Class<T> imageType, boolean saveOriginalReference) {
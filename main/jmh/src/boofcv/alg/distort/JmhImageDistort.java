@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.affine.Affine2D_F32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies an affine distortion to an image with and without a cached transform or lookup table, and
+ * concurrently across tiles.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhImageDistort {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"bilinear","nearest"})
+	public String interpolation;
+
+	ImageSingleBand input;
+	ImageSingleBand output;
+
+	ImageDistort distort;
+	ImageDistort distortCached;
+	ImageDistort distortTable;
+	ImageDistort distortConcurrent;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.random(size,imageType);
+		output = BenchmarkImages.blank(input,imageType);
+
+		// rotate the image around its center and scale it up slightly
+		double theta = 0.2;
+		float c = (float)(Math.cos(theta)*0.9), s = (float)(Math.sin(theta)*0.9);
+		float cx = input.width/2, cy = input.height/2;
+		Affine2D_F32 affine = new Affine2D_F32(c,-s,s,c,cx - c*cx + s*cy,cy - s*cx - c*cy);
+		PixelTransformAffine_F32 transform = new PixelTransformAffine_F32(affine);
+
+		distort = FactoryDistort.distort(interp(imageType),FactoryImageBorder.general(imageType,BorderType.EXTENDED),imageType);
+		distort.setModel(transform);
+		distortCached = FactoryDistort.distortCached(interp(imageType),FactoryImageBorder.general(imageType,BorderType.EXTENDED),imageType);
+		distortCached.setModel(transform);
+		distortCached.apply(input,output);
+		distortTable = FactoryDistort.distortTableBilinear(FactoryImageBorder.general(imageType,BorderType.EXTENDED),imageType);
+		distortTable.setModel(transform);
+		distortTable.apply(input,output);
+		TypeInterpolate interpType = interpolation.equals("bilinear") ?
+				TypeInterpolate.BILINEAR : TypeInterpolate.NEAREST_NEIGHBOR;
+		distortConcurrent = FactoryDistort.distortConcurrent(interpType,BorderType.EXTENDED,imageType);
+		distortConcurrent.setModel(transform);
+		distortConcurrent.apply(input,output);
+	}
+
+	private InterpolatePixelS interp( Class imageType ) {
+		if( interpolation.equals("bilinear") )
+			return FactoryInterpolation.bilinearPixelS(imageType);
+		else
+			return FactoryInterpolation.nearestNeighborPixelS(imageType);
+	}
+
+	@Benchmark
+	public ImageSingleBand distort() {
+		distort.apply(input,output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand distortCached() {
+		distortCached.apply(input,output);
+		return output;
+	}
+
+	/**
+	 * Always uses bilinear interpolation
+	 */
+	@Benchmark
+	public ImageSingleBand distortTableBilinear() {
+		distortTable.apply(input,output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand distortConcurrent() {
+		distortConcurrent.apply(input,output);
+		return output;
+	}
+}
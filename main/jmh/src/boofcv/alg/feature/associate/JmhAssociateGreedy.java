@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greedy association of randomly generated descriptors.  SURF-like floating point descriptors and BRIEF-like
+ * binary descriptors are both considered.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhAssociateGreedy {
+
+	@Param({"500","2000"})
+	public int numFeatures;
+
+	@Param({"true","false"})
+	public boolean backwards;
+
+	FastQueue<TupleDesc_F64> srcF64,dstF64;
+	FastQueue<TupleDesc_B> srcB,dstB;
+
+	AssociateDescription<TupleDesc_F64> euclidean;
+	AssociateDescription<TupleDesc_B> hamming;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		srcF64 = createF64(rand,64);
+		dstF64 = createF64(rand,64);
+		srcB = createB(rand,512);
+		dstB = createB(rand,512);
+
+		ScoreAssociation<TupleDesc_F64> scoreF64 = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
+		ScoreAssociation<TupleDesc_B> scoreB = FactoryAssociation.scoreHamming(TupleDesc_B.class);
+
+		euclidean = FactoryAssociation.greedy(scoreF64,Double.MAX_VALUE,backwards);
+		hamming = FactoryAssociation.greedy(scoreB,Double.MAX_VALUE,backwards);
+	}
+
+	private FastQueue<TupleDesc_F64> createF64( Random rand , int length ) {
+		FastQueue<TupleDesc_F64> list = new FastQueue<TupleDesc_F64>(numFeatures,TupleDesc_F64.class,false);
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(length);
+			for( int j = 0; j < length; j++ )
+				d.value[j] = rand.nextDouble();
+			list.add(d);
+		}
+		return list;
+	}
+
+	private FastQueue<TupleDesc_B> createB( Random rand , int numBits ) {
+		FastQueue<TupleDesc_B> list = new FastQueue<TupleDesc_B>(numFeatures,TupleDesc_B.class,false);
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_B d = new TupleDesc_B(numBits);
+			for( int j = 0; j < d.data.length; j++ )
+				d.data[j] = rand.nextInt();
+			list.add(d);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> euclidean() {
+		euclidean.setSource(srcF64);
+		euclidean.setDestination(dstF64);
+		euclidean.associate();
+		return euclidean.getMatches();
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> hamming() {
+		hamming.setSource(srcB);
+		hamming.setDestination(dstB);
+		hamming.associate();
+		return hamming.getMatches();
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe;
+
+import boofcv.abst.feature.describe.ConfigBrief;
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a fixed set of randomly selected points.  Includes the time to compute any image wide data structures,
+ * such as integral images, which are needed by the descriptor.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhDescribeRegionPoint {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"2000"})
+	public int numPoints;
+
+	ImageSingleBand input;
+
+	double pointX[],pointY[],orientation[],scale[];
+
+	DescribeRegionPoint<ImageSingleBand,SurfFeature> surfFast;
+	DescribeRegionPoint<ImageSingleBand,SurfFeature> surfStable;
+	DescribeRegionPoint<ImageSingleBand,TupleDesc_B> brief;
+
+	SurfFeature surfDesc;
+	TupleDesc_B briefDesc;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.random(size,imageType);
+
+		Random rand = new Random(234);
+		pointX = new double[numPoints];
+		pointY = new double[numPoints];
+		orientation = new double[numPoints];
+		scale = new double[numPoints];
+		for( int i = 0; i < numPoints; i++ ) {
+			pointX[i] = 20 + rand.nextDouble()*(input.width-40);
+			pointY[i] = 20 + rand.nextDouble()*(input.height-40);
+			orientation[i] = (rand.nextDouble()-0.5)*2*Math.PI;
+			scale[i] = 1 + rand.nextDouble();
+		}
+
+		surfFast = FactoryDescribeRegionPoint.surfFast(null,imageType);
+		surfStable = FactoryDescribeRegionPoint.surfStable(null,imageType);
+		brief = FactoryDescribeRegionPoint.brief(new ConfigBrief(true),imageType);
+
+		surfDesc = surfFast.createDescription();
+		briefDesc = brief.createDescription();
+	}
+
+	private <D extends TupleDesc> D describe( DescribeRegionPoint<ImageSingleBand,D> alg , D desc ) {
+		alg.setImage(input);
+		for( int i = 0; i < numPoints; i++ ) {
+			alg.process(pointX[i],pointY[i],orientation[i],scale[i],desc);
+		}
+		return desc;
+	}
+
+	@Benchmark
+	public SurfFeature surfFast() {
+		return describe(surfFast,surfDesc);
+	}
+
+	@Benchmark
+	public SurfFeature surfStable() {
+		return describe(surfStable,surfDesc);
+	}
+
+	@Benchmark
+	public TupleDesc_B brief() {
+		return describe(brief,briefDesc);
+	}
+}
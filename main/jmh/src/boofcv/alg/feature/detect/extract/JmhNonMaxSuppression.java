@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-maximum suppression using the block algorithm with strict and relaxed rules.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhNonMaxSuppression {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"2","5"})
+	public int radius;
+
+	ImageFloat32 intensity;
+
+	NonMaxSuppression strict;
+	NonMaxSuppression relaxed;
+
+	QueueCorner foundMin = new QueueCorner(100);
+	QueueCorner foundMax = new QueueCorner(100);
+
+	@Setup
+	public void setup() {
+		intensity = BenchmarkImages.random(size,ImageFloat32.class);
+
+		strict = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius,50,0,true,true,true));
+		relaxed = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius,50,0,false,true,true));
+	}
+
+	@Benchmark
+	public QueueCorner blockStrict() {
+		foundMin.reset();
+		foundMax.reset();
+		strict.process(intensity,null,null,foundMin,foundMax);
+		return foundMax;
+	}
+
+	@Benchmark
+	public QueueCorner blockRelaxed() {
+		foundMin.reset();
+		foundMax.reset();
+		relaxed.process(intensity,null,null,foundMin,foundMax);
+		return foundMax;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corner intensity images.  Image gradients are computed once during setup and are not included in the timing.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhFeatureIntensity {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX,derivY;
+
+	GeneralFeatureIntensity fast;
+	GeneralFeatureIntensity harris;
+	GeneralFeatureIntensity shiTomasi;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.random(size,imageType);
+		derivX = BenchmarkImages.blank(input,derivType);
+		derivY = BenchmarkImages.blank(input,derivType);
+
+		ImageGradient gradient = FactoryDerivative.sobel(imageType,derivType);
+		gradient.process(input,derivX,derivY);
+
+		fast = FactoryIntensityPoint.fast(20,9,imageType);
+		harris = FactoryIntensityPoint.harris(2,0.04f,false,derivType);
+		shiTomasi = FactoryIntensityPoint.shiTomasi(2,false,derivType);
+	}
+
+	@Benchmark
+	public ImageFloat32 fast() {
+		fast.process(input,null,null,null,null,null);
+		return fast.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 harris() {
+		harris.process(input,derivX,derivY,null,null,null);
+		return harris.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 shiTomasi() {
+		shiTomasi.process(input,derivX,derivY,null,null,null);
+		return shiTomasi.getIntensity();
+	}
+}
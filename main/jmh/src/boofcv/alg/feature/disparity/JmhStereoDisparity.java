@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dense stereo disparity using rectangular region winner take all.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhStereoDisparity {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"RECT","RECT_FIVE"})
+	public String algorithm;
+
+	@Param({"60"})
+	public int maxDisparity;
+
+	ImageSingleBand left,right;
+
+	StereoDisparity<ImageSingleBand,ImageUInt8> alg;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		left = BenchmarkImages.random(size,imageType);
+		right = BenchmarkImages.random(size,imageType);
+
+		DisparityAlgorithms which = DisparityAlgorithms.valueOf(algorithm);
+		alg = FactoryStereoDisparity.regionWta(which,0,maxDisparity,3,3,20,1,0.2,imageType);
+	}
+
+	@Benchmark
+	public ImageUInt8 regionWta() {
+		alg.process(left,right);
+		return alg.getDisparity();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convolution with and without normalization along the image border.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhConvolve {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"2","10"})
+	public int radius;
+
+	Kernel1D kernel1;
+	Kernel2D kernel2;
+	ImageSingleBand input;
+	ImageSingleBand output;
+	// output for convolution without normalization, which needs more bits for integer images
+	ImageSingleBand outputWide;
+	ImageSingleBand storage;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.random(size,imageType);
+		output = BenchmarkImages.blank(input,imageType);
+		storage = BenchmarkImages.blank(input,imageType);
+		outputWide = BenchmarkImages.blank(input,imageType == ImageUInt8.class ? ImageSInt32.class : imageType);
+
+		kernel1 = FactoryKernelGaussian.gaussian1D(imageType,-1,radius);
+		if( GeneralizedImageOps.isFloatingPoint(imageType) )
+			kernel2 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class,-1,radius);
+		else
+			kernel2 = FactoryKernelGaussian.gaussian(Kernel2D_I32.class,-1,radius);
+	}
+
+	@Benchmark
+	public ImageSingleBand horizontal() {
+		GConvolveImageOps.horizontal(kernel1,input,outputWide);
+		return outputWide;
+	}
+
+	@Benchmark
+	public ImageSingleBand vertical() {
+		GConvolveImageOps.vertical(kernel1,input,outputWide);
+		return outputWide;
+	}
+
+	@Benchmark
+	public ImageSingleBand horizontalNormalized() {
+		GConvolveImageOps.horizontalNormalized(kernel1,input,output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand verticalNormalized() {
+		GConvolveImageOps.verticalNormalized(kernel1,input,output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand convolve2D() {
+		GConvolveImageOps.convolveNormalized(kernel2,input,output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand blurGaussian() {
+		return GBlurImageOps.gaussian(input,output,-1,radius,storage);
+	}
+
+	@Benchmark
+	public ImageSingleBand blurMean() {
+		return GBlurImageOps.mean(input,output,radius,storage);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.abst.filter.derivative.ImageHessian;
+import boofcv.abst.filter.derivative.ImageHessianDirect;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image gradient and hessian operators.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhImageDerivative {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX,derivY;
+	ImageSingleBand derivXX,derivYY,derivXY;
+	ImageSingleBand blurred,storage;
+
+	ImageGradient sobel;
+	ImageGradient three;
+	ImageGradient prewitt;
+	ImageHessian hessianSobel;
+	ImageGradient blurSobelFused;
+	ImageHessianDirect blurHessianFused;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.random(size,imageType);
+		derivX = BenchmarkImages.blank(input,derivType);
+		derivY = BenchmarkImages.blank(input,derivType);
+		derivXX = BenchmarkImages.blank(input,derivType);
+		derivYY = BenchmarkImages.blank(input,derivType);
+		derivXY = BenchmarkImages.blank(input,derivType);
+
+		sobel = FactoryDerivative.sobel(imageType,derivType);
+		three = FactoryDerivative.three(imageType,derivType);
+		prewitt = FactoryDerivative.prewitt(imageType,derivType);
+		hessianSobel = FactoryDerivative.hessianSobel(derivType);
+		blurSobelFused = FactoryDerivative.blurGradient(-1,2,GradientSobel.class,imageType,derivType);
+		blurHessianFused = FactoryDerivative.blurHessianDirect(-1,2,GradientSobel.class,imageType,derivType);
+
+		blurred = BenchmarkImages.blank(input,imageType);
+		storage = BenchmarkImages.blank(input,imageType);
+
+		sobel.process(input,derivX,derivY);
+	}
+
+	@Benchmark
+	public ImageSingleBand sobel() {
+		sobel.process(input,derivX,derivY);
+		return derivY;
+	}
+
+	@Benchmark
+	public ImageSingleBand three() {
+		three.process(input,derivX,derivY);
+		return derivY;
+	}
+
+	@Benchmark
+	public ImageSingleBand prewitt() {
+		prewitt.process(input,derivX,derivY);
+		return derivY;
+	}
+
+	@Benchmark
+	public ImageSingleBand hessianSobel() {
+		hessianSobel.process(derivX,derivY,derivXX,derivYY,derivXY);
+		return derivXY;
+	}
+
+	@Benchmark
+	public ImageSingleBand blurSobel() {
+		GBlurImageOps.gaussian(input,blurred,-1,2,storage);
+		sobel.process(blurred,derivX,derivY);
+		return derivY;
+	}
+
+	@Benchmark
+	public ImageSingleBand blurSobelFused() {
+		blurSobelFused.process(input,derivX,derivY);
+		return derivY;
+	}
+
+	@Benchmark
+	public ImageSingleBand blurHessianSobel() {
+		GBlurImageOps.gaussian(input,blurred,-1,2,storage);
+		sobel.process(blurred,derivX,derivY);
+		hessianSobel.process(derivX,derivY,derivXX,derivYY,derivXY);
+		return derivXY;
+	}
+
+	@Benchmark
+	public ImageSingleBand blurHessianSobelFused() {
+		blurHessianFused.process(input,derivXX,derivYY,derivXY);
+		return derivXY;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pyramidal KLT feature tracking.  Creating the image pyramid and its gradient is benchmarked separately from
+ * tracking the features.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhPyramidKltTracker {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	@Param({"500"})
+	public int numFeatures;
+
+	int radius = 3;
+	int[] scales = new int[]{1,2,4,8};
+
+	ImageSingleBand input;
+
+	PyramidDiscrete pyramid;
+	ImageSingleBand[] derivX,derivY;
+	ImageGradient gradient;
+
+	PyramidKltTracker tracker;
+	PyramidKltFeature features[];
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		input = BenchmarkImages.random(size,imageType);
+		// smooth the random image so that the tracker has something to follow
+		input = GBlurImageOps.gaussian(input,null,-1,2,null);
+
+		pyramid = FactoryPyramid.discreteGaussian(scales,-1,2,true,imageType);
+		pyramid.process(input);
+		derivX = PyramidOps.declareOutput(pyramid,derivType);
+		derivY = PyramidOps.declareOutput(pyramid,derivType);
+		gradient = FactoryDerivative.sobel(imageType,derivType);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+
+		tracker = FactoryTrackerAlg.kltPyramid(new KltConfig(),imageType,derivType);
+		tracker.setImage(pyramid,derivX,derivY);
+
+		Random rand = new Random(234);
+		int border = radius*scales[scales.length-1]*2;
+		features = new PyramidKltFeature[numFeatures];
+		for( int i = 0; i < numFeatures; i++ ) {
+			features[i] = new PyramidKltFeature(scales.length,radius);
+			features[i].setPosition(border + rand.nextInt(input.width-2*border),
+					border + rand.nextInt(input.height-2*border));
+			tracker.setDescription(features[i]);
+		}
+	}
+
+	@Benchmark
+	public PyramidDiscrete pyramidGradient() {
+		pyramid.process(input);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+		return pyramid;
+	}
+
+	@Benchmark
+	public PyramidKltFeature[] track() {
+		tracker.setImage(pyramid,derivX,derivY);
+		for( int i = 0; i < features.length; i++ ) {
+			PyramidKltFeature f = features[i];
+			float x = f.x, y = f.y;
+			tracker.track(f);
+			// reset the location so that every iteration does the same amount of work
+			f.setPosition(x,y);
+		}
+		return features;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedF64;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward and inverse discrete Fourier transform of images which are and are not a power of two in size, with
+ * and without the concurrent implementation.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhFourierTransform {
+
+	@Param({"256x256","640x480","1024x1024"})
+	public String size;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	ImageFloat32 inputF32;
+	ImageFloat64 inputF64;
+	InterleavedF32 transformF32;
+	InterleavedF64 transformF64;
+
+	DiscreteFourierTransform<ImageFloat32,InterleavedF32> fftF32;
+	DiscreteFourierTransform<ImageFloat64,InterleavedF64> fftF64;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		inputF32 = BenchmarkImages.random(size,ImageFloat32.class);
+		inputF64 = BenchmarkImages.random(size,ImageFloat64.class);
+		transformF32 = new InterleavedF32(inputF32.width,inputF32.height,2);
+		transformF64 = new InterleavedF64(inputF64.width,inputF64.height,2);
+
+		fftF32 = DiscreteFourierTransformOps.createTransformF32();
+		fftF64 = DiscreteFourierTransformOps.createTransformF64();
+
+		// so that the inverse benchmarks start with a valid transform
+		fftF32.forward(inputF32,transformF32);
+		fftF64.forward(inputF64,transformF64);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public InterleavedF32 forward_F32() {
+		fftF32.forward(inputF32,transformF32);
+		return transformF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 inverse_F32() {
+		fftF32.inverse(transformF32,inputF32);
+		return inputF32;
+	}
+
+	@Benchmark
+	public InterleavedF64 forward_F64() {
+		fftF64.forward(inputF64,transformF64);
+		return transformF64;
+	}
+
+	@Benchmark
+	public ImageFloat64 inverse_F64() {
+		fftF64.inverse(transformF64,inputF64);
+		return inputF64;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.jmh.BenchmarkImages;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of discrete and floating point scale image pyramids.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhImagePyramid {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"U8","F32"})
+	public String type;
+
+	ImageSingleBand input;
+
+	PyramidDiscrete discrete;
+	PyramidFloat scaleFloat;
+
+	@Setup
+	public void setup() {
+		Class imageType = BenchmarkImages.imageType(type);
+		input = BenchmarkImages.random(size,imageType);
+
+		discrete = FactoryPyramid.discreteGaussian(new int[]{1,2,4,8},-1,2,true,imageType);
+		scaleFloat = FactoryPyramid.floatGaussian(new double[]{1,1.5,2,3,4},new double[]{1,1,1,1,1},imageType);
+	}
+
+	@Benchmark
+	public PyramidDiscrete discreteGaussian() {
+		discrete.process(input);
+		return discrete;
+	}
+
+	@Benchmark
+	public PyramidFloat floatGaussian() {
+		scaleFloat.process(input);
+		return scaleFloat;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Functions for decoding benchmark parameters and creating input images.  Parameters are encoded as strings
+ * so that they are readable in the JSON output, e.g. image size "640x480" and image type "U8".
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkImages {
+
+	/**
+	 * Parses an image size in the format "WIDTHxHEIGHT".
+	 *
+	 * @return array containing {width,height}
+	 */
+	public static int[] parseSize( String size ) {
+		String words[] = size.split("x");
+		if( words.length != 2 )
+			throw new IllegalArgumentException("Expected image size of the form 640x480 not "+size);
+		return new int[]{Integer.parseInt(words[0]),Integer.parseInt(words[1])};
+	}
+
+	/**
+	 * Converts the abbreviated name of an image type into its class.
+	 */
+	public static <T extends ImageSingleBand> Class<T> imageType( String name ) {
+		if( name.equals("U8") )
+			return (Class)ImageUInt8.class;
+		else if( name.equals("F32") )
+			return (Class)ImageFloat32.class;
+		else
+			throw new IllegalArgumentException("Unknown image type "+name);
+	}
+
+	/**
+	 * Creates an image of the specified size and type filled with random values.  Always seeded with the same
+	 * value so that results are comparable across runs.
+	 */
+	public static <T extends ImageSingleBand> T random( String size , Class<T> type ) {
+		int[] wh = parseSize(size);
+		T image = GeneralizedImageOps.createSingleBand(type,wh[0],wh[1]);
+		GImageMiscOps.fillUniform(image,new Random(234),0,100);
+		return image;
+	}
+
+	/**
+	 * Creates a blank image with the same shape as the input image.
+	 */
+	public static <T extends ImageSingleBand> T blank( ImageSingleBand input , Class<T> type ) {
+		return GeneralizedImageOps.createSingleBand(type,input.width,input.height);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the JMH benchmarks and saves the results in JSON format so that they can be compared between releases.
+ * </p>
+ *
+ * <pre>
+ * java -jar benchmarks.jar [regex] [output file]
+ * </pre>
+ *
+ * <p>
+ * By default every benchmark is run and the results are written to "boofcv_jmh.json".  For access to all of JMH's
+ * options use org.openjdk.jmh.Main instead.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRunner {
+
+	public static final String DEFAULT_INCLUDE = "boofcv\\..*";
+	public static final String DEFAULT_OUTPUT = "boofcv_jmh.json";
+
+	public static void main( String args[] ) throws RunnerException {
+		String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+		String output = args.length > 1 ? args[1] : DEFAULT_OUTPUT;
+
+		Options opt = new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(output)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
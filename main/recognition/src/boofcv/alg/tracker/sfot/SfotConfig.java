@@ -52,6 +52,19 @@ public class SfotConfig {
 	 */
 	public double maximumErrorFB = 10;
 
+	/**
+	 * If true the image pyramid and its gradient are only computed inside a region around the target instead of
+	 * the entire image.  Much faster when the target is small relative to the image, but the target can't move
+	 * further than the margin specified by {@link #regionMargin} between two frames.
+	 */
+	public boolean regionOnly = false;
+
+	/**
+	 * When {@link #regionOnly} is true, the target's bounding box is expanded along each side by this fraction of
+	 * its largest side.
+	 */
+	public double regionMargin = 1.0;
+
 	/**
 	 * Basic parameters for tracker.  KltConfig.createDefault() with maxIterations = 50 is suggested.
 	 */
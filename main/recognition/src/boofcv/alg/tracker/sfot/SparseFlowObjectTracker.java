@@ -26,13 +26,15 @@ import boofcv.alg.tracker.klt.KltTrackFault;
 import boofcv.alg.tracker.klt.PyramidKltFeature;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
 import boofcv.alg.tracker.tld.TldTracker;
+import boofcv.alg.transform.pyramid.PyramidOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.tracker.FactoryTrackerAlg;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.ImageRectangle;
 import boofcv.struct.RectangleRotate_F64;
 import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.sfm.ScaleTranslateRotate2D;
 import georegression.geometry.UtilPoint2D_F32;
 import org.ddogleg.fitting.modelset.lmeds.LeastMedianOfSquares;
@@ -45,19 +47,20 @@ import java.lang.reflect.Array;
  * is found robustly using {@link LeastMedianOfSquares} and a translation + rotation model.  Drift is a problem
  * since motion is estimated relative to the previous frame and it will eventually drift away from the original target.
  * When it works well it is very smooth and can handle partially obscured objects.  Can't recover after the target
- * has been lost.  Runs very fast.
+ * has been lost.  Runs very fast.  If {@link SfotConfig#regionOnly} is true then the image pyramids are only
+ * updated inside a region around the target, which makes it even faster on large images.
  *
  * @author Peter Abeles
  */
 public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative extends ImageSingleBand>
 {
 	// for the current image
-	private ImagePyramid<Image> currentImage;
+	private PyramidDiscrete<Image> currentImage;
 	private Derivative[] currentDerivX;
 	private Derivative[] currentDerivY;
 
 	// previous image
-	private ImagePyramid<Image> previousImage;
+	private PyramidDiscrete<Image> previousImage;
 	private Derivative[] previousDerivX;
 	private Derivative[] previousDerivY;
 
@@ -87,6 +90,9 @@ public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative e
 	// location of the target in the current frame
 	RectangleRotate_F64 region = new RectangleRotate_F64();
 
+	// region of the image in which the pyramid is updated when config.regionOnly is true
+	private ImageRectangle roi = new ImageRectangle();
+
 	public SparseFlowObjectTracker( SfotConfig config ,
 									Class<Image> imageType , Class<Derivative> derivType ,
 									ImageGradient<Image, Derivative> gradient ) {
@@ -113,15 +119,11 @@ public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative e
 			declarePyramid(input.width,input.height);
 		}
 
-		previousImage.process(input);
-		for( int i = 0; i < previousImage.getNumLayers(); i++ ) {
-			Image layer = previousImage.getLayer(i);
-			gradient.process(layer,previousDerivX[i],previousDerivY[i]);
-		}
+		this.region.set(region);
 
-		trackLost = false;
+		updatePyramid(input, previousImage, previousDerivX, previousDerivY);
 
-		this.region.set(region);
+		trackLost = false;
 
 	}
 
@@ -191,11 +193,7 @@ public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative e
 	private void trackFeatures(Image input, RectangleRotate_F64 region) {
 		pairs.reset();
 
-		currentImage.process(input);
-		for( int i = 0; i < currentImage.getNumLayers(); i++ ) {
-			Image layer = currentImage.getLayer(i);
-			gradient.process(layer,currentDerivX[i],currentDerivY[i]);
-		}
+		updatePyramid(input, currentImage, currentDerivX, currentDerivY);
 
 		// convert to float to avoid excessive conversions from double to float
 		float cx = (float)region.cx;
@@ -260,6 +258,45 @@ public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative e
 		}
 	}
 
+	/**
+	 * Computes the image pyramid and its gradient.  If configured to do so, only the region around the
+	 * target is updated.
+	 */
+	private void updatePyramid( Image input , PyramidDiscrete<Image> pyramid ,
+								Derivative[] derivX , Derivative[] derivY ) {
+		if( config.regionOnly ) {
+			selectRegion(input.width, input.height, pyramid);
+			pyramid.process(input,roi);
+			PyramidOps.gradientRegion(pyramid, gradient, derivX, derivY);
+		} else {
+			pyramid.process(input);
+			PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+		}
+	}
+
+	/**
+	 * Selects the region which is updated from the target's bounding box.  It is expanded by the allowed motion
+	 * and the size of the feature template in the top most layer.
+	 */
+	private void selectRegion( int imageWidth , int imageHeight , PyramidDiscrete<Image> pyramid ) {
+		double c = Math.abs(Math.cos(region.theta));
+		double s = Math.abs(Math.sin(region.theta));
+
+		// half the size of the bounding box
+		double halfW = (region.width*c + region.height*s)/2.0;
+		double halfH = (region.width*s + region.height*c)/2.0;
+
+		double topScale = pyramid.getScale(pyramid.getNumLayers()-1);
+		double margin = config.regionMargin*2*Math.max(halfW,halfH) + (config.trackerFeatureRadius+1)*topScale;
+
+		int x0 = (int)Math.floor(region.cx - halfW - margin);
+		int y0 = (int)Math.floor(region.cy - halfH - margin);
+		int x1 = (int)Math.ceil(region.cx + halfW + margin) + 1;
+		int y1 = (int)Math.ceil(region.cy + halfH + margin) + 1;
+
+		roi.set(Math.max(0,x0),Math.max(0,y0),Math.min(imageWidth,x1),Math.min(imageHeight,y1));
+	}
+
 	/**
 	 * Declares internal data structures
 	 */
@@ -295,7 +332,7 @@ public class SparseFlowObjectTracker<Image extends ImageSingleBand, Derivative e
 	 * Swaps the current and previous so that image derivative doesn't need to be recomputed or compied.
 	 */
 	private void swapImages() {
-		ImagePyramid<Image> tempP;
+		PyramidDiscrete<Image> tempP;
 
 		tempP = currentImage;
 		currentImage = previousImage;